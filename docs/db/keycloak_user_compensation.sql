@@ -0,0 +1,25 @@
+-- Queue of Keycloak users to delete after a failed password setup (MySQL 8).
+--
+-- PasswordServiceImpl queues the user created by a setup that failed afterwards
+-- (in its own transaction, so the row survives the rollback);
+-- KeycloakUserCompensationWorker deletes it in the background
+-- (keycloak.compensation.*) and removes the row once Keycloak confirmed.
+-- Rows that exhausted their attempts stay as DEAD and need a manual cleanup:
+--   SELECT keycloak_user_id, attempts, last_error, created_at
+--   FROM keycloak_user_compensation WHERE status = 'DEAD';
+-- or can be requeued with
+--   UPDATE keycloak_user_compensation
+--   SET status = 'PENDING', attempts = 0, next_attempt_at = NOW() WHERE status = 'DEAD';
+
+CREATE TABLE keycloak_user_compensation (
+    id               BINARY(16)   NOT NULL,
+    keycloak_user_id VARCHAR(64)  NOT NULL,
+    status           VARCHAR(20)  NOT NULL,
+    attempts         INT          NOT NULL,
+    next_attempt_at  DATETIME(6)  NOT NULL,
+    last_error       VARCHAR(255) NULL,
+    created_at       DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_keycloak_user_compensation_user UNIQUE (keycloak_user_id),
+    INDEX idx_compensation_status_next_attempt (status, next_attempt_at)
+);
@@ -0,0 +1,33 @@
+-- Outbox of notifications to the Members module (MySQL 8).
+--
+-- PasswordServiceImpl reserves the activation notification (status RESERVED) in the
+-- same transaction that consumes the setup token, then confirms it as PENDING with
+-- the Keycloak user id once the user is created, or deletes it if the setup fails.
+-- MemberNotificationDispatcher delivers PENDING rows in the background
+-- (members.notification.outbox.*) and deletes them once the Members module
+-- acknowledged them. A RESERVED row still there after reservation-timeout was left
+-- by a stopped instance: the dispatcher looks the member's Keycloak user up by
+-- email and confirms the row, or deletes it if there is no such user.
+--
+-- Rows that exhausted their attempts stay as DEAD:
+--   SELECT * FROM member_notification_outbox WHERE status = 'DEAD';
+-- and can be requeued with
+--   UPDATE member_notification_outbox
+--   SET status = 'PENDING', attempts = 0, next_attempt_at = NOW()
+--   WHERE status = 'DEAD' AND keycloak_user_id IS NOT NULL;
+
+CREATE TABLE member_notification_outbox (
+    id               BINARY(16)   NOT NULL,
+    type             VARCHAR(32)  NOT NULL,
+    member_id        BINARY(16)   NOT NULL,
+    keycloak_user_id VARCHAR(64)  NULL,
+    email            VARCHAR(255) NULL,
+    status           VARCHAR(20)  NOT NULL,
+    attempts         INT          NOT NULL,
+    next_attempt_at  DATETIME(6)  NOT NULL,
+    last_error       VARCHAR(255) NULL,
+    created_at       DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_outbox_status_next_attempt (status, next_attempt_at),
+    INDEX idx_outbox_member_id (member_id)
+);
@@ -0,0 +1,33 @@
+-- Binary storage for setup token hashes (MySQL 8).
+--
+-- token_hash (Base64 SHA-256 in a utf8mb4 VARCHAR(64)) is replaced by
+-- token_hash_bin (raw SHA-256 in BINARY(32)): a 32-byte key compared bytewise
+-- instead of a 256-byte collated one.
+--
+-- Rollout (auth.token.hash.storage-mode, BASE64 by default):
+--   1. Run step 1 below, then deploy every instance with DUAL. New tokens get both
+--      columns; lookups match either one, so tokens issued in BASE64 mode still work.
+--   2. Optionally run step 2 to backfill, or wait for the issued tokens without a
+--      binary hash to expire (auth.token.setup.ttl-hours) and be purged.
+--   3. When step 3 returns 0, switch to BINARY. token_hash is left NULL from then on.
+--      Do not stay on DUAL: its lookups match two unique indexes and its writes fill
+--      both columns, which is slower than BASE64 and BINARY.
+--
+-- The entity maps token_hash_bin, so step 1 must also run before deploying on a
+-- schema validated by Hibernate (prod), even when staying on BASE64.
+
+-- Step 1: add the binary column; allow token_hash to be NULL
+ALTER TABLE setup_token
+    ADD COLUMN token_hash_bin BINARY(32) NULL AFTER token_hash,
+    MODIFY COLUMN token_hash VARCHAR(64) NULL,
+    ADD CONSTRAINT uk_setup_token_hash_bin UNIQUE (token_hash_bin),
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+-- Step 2 (optional): backfill rows still pending
+UPDATE setup_token
+SET token_hash_bin = FROM_BASE64(token_hash)
+WHERE token_hash_bin IS NULL AND token_hash IS NOT NULL AND status = 'ISSUED';
+
+-- Step 3: must be 0 before switching to BINARY
+SELECT COUNT(*) FROM setup_token
+WHERE token_hash_bin IS NULL AND status = 'ISSUED' AND expires_at > NOW();
@@ -0,0 +1,9 @@
+-- Index for the setup token purge job (MySQL 8).
+--
+-- SetupTokenPurgeJob selects revoked rows that have not expired yet with
+-- status IN (...) AND expires_at >= ?; idx_status_expires_at serves that lookup.
+-- ddl-auto=validate does not create indexes, so run this before deploying the
+-- purge job on an existing database. The index is built online.
+
+CREATE INDEX idx_status_expires_at ON setup_token (status, expires_at)
+    ALGORITHM = INPLACE, LOCK = NONE;
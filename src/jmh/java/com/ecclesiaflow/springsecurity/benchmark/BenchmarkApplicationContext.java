@@ -0,0 +1,85 @@
+package com.ecclesiaflow.springsecurity.benchmark;
+
+import com.ecclesiaflow.springsecurity.SpringsecurityApplication;
+import com.ecclesiaflow.springsecurity.business.domain.member.MembersClient;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Boots the auth module against an in-memory H2 database for JMH benchmarks.
+ * <p>
+ * Reuses the {@code test} profile (H2, gRPC disabled, stubbed Keycloak settings)
+ * so benchmarks exercise the real Spring proxies, transactions and JPA mappings
+ * without any external service. Each fork gets its own database. With gRPC
+ * disabled there is no {@link MembersClient} adapter, so an unused stub is registered.
+ * </p>
+ */
+public final class BenchmarkApplicationContext {
+
+    private BenchmarkApplicationContext() {}
+
+    /**
+     * Starts the application on a random HTTP port, backed by a fresh H2 database.
+     *
+     * @param databaseName name of the in-memory database (one per benchmark class)
+     * @param extraArgs    additional {@code --key=value} overrides
+     * @return the running application context; callers must close it in {@code @TearDown}
+     */
+    public static ConfigurableApplicationContext start(String databaseName, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--server.port=0",
+                "--grpc.enabled=false",
+                "--logging.level.com.ecclesiaflow=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                // Console output for every rejected token would dominate the measurement
+                "--logging.level.com.ecclesiaflow.springsecurity.application.logging=OFF"));
+        args.addAll(List.of(extraArgs));
+        return new SpringApplicationBuilder(SpringsecurityApplication.class)
+                .profiles("test")
+                .initializers(context -> ((GenericApplicationContext) context)
+                        .registerBean(MembersClient.class, UnusedMembersClient::new))
+                // Command-line arguments take precedence over the profile's properties files
+                .run(args.toArray(String[]::new));
+    }
+
+    private static final class UnusedMembersClient implements MembersClient {
+
+        @Override
+        public boolean isEmailNotConfirmed(String email) {
+            throw new UnsupportedOperationException("Members module is not available in benchmarks");
+        }
+
+        @Override
+        public boolean notifyAccountActivated(UUID memberId, String keycloakUserId) {
+            throw new UnsupportedOperationException("Members module is not available in benchmarks");
+        }
+
+        @Override
+        public boolean notifyLocalCredentialsAdded(String keycloakUserId) {
+            throw new UnsupportedOperationException("Members module is not available in benchmarks");
+        }
+
+        @Override
+        public CompletableFuture<Boolean> notifyAccountActivatedAsync(UUID memberId, String keycloakUserId) {
+            throw new UnsupportedOperationException("Members module is not available in benchmarks");
+        }
+
+        @Override
+        public CompletableFuture<Boolean> notifyLocalCredentialsAddedAsync(String keycloakUserId) {
+            throw new UnsupportedOperationException("Members module is not available in benchmarks");
+        }
+
+        @Override
+        public CompletableFuture<Boolean> notifyAccountActivatedWithCredentialsAsync(UUID memberId, String keycloakUserId) {
+            throw new UnsupportedOperationException("Members module is not available in benchmarks");
+        }
+    }
+}
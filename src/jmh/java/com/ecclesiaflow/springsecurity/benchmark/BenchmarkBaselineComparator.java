@@ -0,0 +1,113 @@
+package com.ecclesiaflow.springsecurity.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result file against a saved baseline.
+ * <p>
+ * For every benchmark/mode pair present in both files, prints the primary score
+ * (throughput or mean sample time), the p99 for sample-time runs and the
+ * normalized allocation rate reported by the GC profiler. Exits with status 1
+ * when any metric regresses by more than the threshold, so it can gate CI.
+ * </p>
+ *
+ * <pre>
+ * java BenchmarkBaselineComparator &lt;baseline.json&gt; &lt;results.json&gt; [thresholdPercent]
+ * </pre>
+ */
+public final class BenchmarkBaselineComparator {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+    private static final String ALLOC_NORM_SUFFIX = "gc.alloc.rate.norm";
+
+    private BenchmarkBaselineComparator() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkBaselineComparator <baseline.json> <results.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+
+        Map<String, JsonNode> baseline = load(Path.of(args[0]));
+        Map<String, JsonNode> current = load(Path.of(args[1]));
+
+        boolean regression = false;
+        System.out.printf("%-90s %14s %14s %9s%n", "Metric", "Baseline", "Current", "Delta");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s%n", entry.getKey(), "(new)");
+                continue;
+            }
+            regression |= compare(entry.getKey(), before, entry.getValue(), threshold);
+        }
+
+        if (regression) {
+            System.out.printf("%nRegression above %.1f%% detected%n", threshold);
+            System.exit(1);
+        }
+    }
+
+    private static boolean compare(String key, JsonNode before, JsonNode after, double threshold) {
+        boolean throughput = "thrpt".equals(after.path("mode").asText());
+        JsonNode beforePrimary = before.path("primaryMetric");
+        JsonNode afterPrimary = after.path("primaryMetric");
+
+        boolean regression = report(key + " [" + afterPrimary.path("scoreUnit").asText() + "]",
+                beforePrimary.path("score").asDouble(), afterPrimary.path("score").asDouble(),
+                !throughput, threshold);
+
+        JsonNode beforeP99 = beforePrimary.path("scorePercentiles").path("99.0");
+        JsonNode afterP99 = afterPrimary.path("scorePercentiles").path("99.0");
+        if (!throughput && !beforeP99.isMissingNode() && !afterP99.isMissingNode()) {
+            regression |= report(key + " p99", beforeP99.asDouble(), afterP99.asDouble(), true, threshold);
+        }
+
+        JsonNode beforeAlloc = findAllocationRate(before);
+        JsonNode afterAlloc = findAllocationRate(after);
+        if (beforeAlloc != null && afterAlloc != null) {
+            regression |= report(key + " alloc [B/op]",
+                    beforeAlloc.path("score").asDouble(), afterAlloc.path("score").asDouble(),
+                    true, threshold);
+        }
+        return regression;
+    }
+
+    private static boolean report(String label, double before, double after,
+                                  boolean lowerIsBetter, double threshold) {
+        double delta = before == 0 ? 0 : (after - before) / before * 100.0;
+        boolean regression = lowerIsBetter ? delta > threshold : delta < -threshold;
+        System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s%n",
+                label, before, after, delta, regression ? "  <-- REGRESSION" : "");
+        return regression;
+    }
+
+    private static JsonNode findAllocationRate(JsonNode result) {
+        Iterator<Map.Entry<String, JsonNode>> fields = result.path("secondaryMetrics").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (field.getKey().endsWith(ALLOC_NORM_SUFFIX)) {
+                return field.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, JsonNode> load(Path file) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(Files.readString(file));
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : root) {
+            results.put(result.path("benchmark").asText() + " (" + result.path("mode").asText() + ")", result);
+        }
+        return results;
+    }
+}
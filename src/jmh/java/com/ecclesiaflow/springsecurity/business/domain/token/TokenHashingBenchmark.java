@@ -0,0 +1,57 @@
+package com.ecclesiaflow.springsecurity.business.domain.token;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SHA-256 + Base64 step run on every token generation and validation.
+ * <p>
+ * {@code legacy} is the previous inline implementation of
+ * {@code SetupTokenServiceImpl.hashToken} (new digest, UTF-8 copy and Base64
+ * string per call); {@code pooled} is {@link TokenHasher} with the Base64 encoding
+ * done for {@code BASE64} storage, {@code pooledBinary} the raw digest passed to
+ * {@code BINARY} storage. Compare the
+ * {@code gc.alloc.rate.norm} lines; run with {@code -t 8} to exercise pool contention.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenHashingBenchmark {
+
+    private final TokenHasher tokenHasher = new TokenHasher();
+    private String rawToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        byte[] randomBytes = new byte[32];
+        new SecureRandom().nextBytes(randomBytes);
+        rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
+    }
+
+    @Benchmark
+    public String legacy() throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] hashBytes = digest.digest(rawToken.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(hashBytes);
+    }
+
+    @Benchmark
+    public String pooled() {
+        return tokenHasher.hash(rawToken).base64();
+    }
+
+    @Benchmark
+    public TokenHash pooledBinary() {
+        return tokenHasher.hash(rawToken);
+    }
+}
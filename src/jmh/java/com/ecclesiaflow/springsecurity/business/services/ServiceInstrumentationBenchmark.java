@@ -0,0 +1,107 @@
+package com.ecclesiaflow.springsecurity.business.services;
+
+import ch.qos.logback.classic.Logger;
+import com.ecclesiaflow.springsecurity.application.logging.aspect.ServiceLoggingAspect;
+import com.ecclesiaflow.springsecurity.application.logging.interceptor.ServiceObservationInterceptor;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call overhead of the service method instrumentation
+ * ({@code logging.service-instrumentation}), on a trivial method under a
+ * {@code business.services} package, with both loggers at INFO as in production.
+ * <p>
+ * {@code direct} is the bare call and {@code proxy} a CGLIB proxy with a pass-through
+ * interceptor, the cost every instrumentation pays; {@code aspect} goes through
+ * {@link ServiceLoggingAspect}; {@code observationNoop} through {@link ServiceObservationInterceptor}
+ * without an observation registry, and {@code observationTimed} with a timer per call, as in the
+ * application. The difference to {@code proxy} is the instrumentation cost; compare
+ * {@code gc.alloc.rate.norm} for the garbage created per call.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceInstrumentationBenchmark {
+
+    private final InstrumentedService target = new InstrumentedService();
+    private InstrumentedService passThroughProxy;
+    private InstrumentedService aspectProxy;
+    private InstrumentedService observationNoopProxy;
+    private InstrumentedService observationTimedProxy;
+    private int argument;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(ServiceLoggingAspect.class)).setLevel(ch.qos.logback.classic.Level.INFO);
+        ((Logger) LoggerFactory.getLogger(ServiceObservationInterceptor.class)).setLevel(ch.qos.logback.classic.Level.INFO);
+
+        passThroughProxy = proxy(MethodInvocation::proceed);
+
+        AspectJProxyFactory aspectFactory = new AspectJProxyFactory(target);
+        aspectFactory.addAspect(new ServiceLoggingAspect());
+        aspectProxy = aspectFactory.getProxy();
+
+        observationNoopProxy = proxy(new ServiceObservationInterceptor(() -> ObservationRegistry.NOOP));
+
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig()
+                .observationHandler(new DefaultMeterObservationHandler(new SimpleMeterRegistry()));
+        observationTimedProxy = proxy(new ServiceObservationInterceptor(() -> observationRegistry));
+    }
+
+    @Benchmark
+    public int direct() {
+        return target.process(argument++);
+    }
+
+    @Benchmark
+    public int proxy() {
+        return passThroughProxy.process(argument++);
+    }
+
+    @Benchmark
+    public int aspect() {
+        return aspectProxy.process(argument++);
+    }
+
+    @Benchmark
+    public int observationNoop() {
+        return observationNoopProxy.process(argument++);
+    }
+
+    @Benchmark
+    public int observationTimed() {
+        return observationTimedProxy.process(argument++);
+    }
+
+    private InstrumentedService proxy(MethodInterceptor interceptor) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(interceptor);
+        return (InstrumentedService) factory.getProxy();
+    }
+}
+
+/**
+ * Benchmarked service: top-level in {@code business.services} so that the
+ * {@code ServiceLoggingAspect} pointcut matches it.
+ */
+class InstrumentedService {
+
+    public int process(int value) {
+        return value * 31 + 7;
+    }
+}
@@ -0,0 +1,66 @@
+package com.ecclesiaflow.springsecurity.business.services.impl;
+
+import com.ecclesiaflow.springsecurity.benchmark.BenchmarkApplicationContext;
+import com.ecclesiaflow.springsecurity.business.services.SetupTokenService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issuing tokens for a whole congregation import: one {@code generateSetupToken}
+ * transaction per member versus a single {@code generateSetupTokens} call
+ * (set-based revoke + batched inserts). Scores are per import of {@code members}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SetupTokenBatchIssuanceBenchmark {
+
+    private static final String EMAIL = "bench@ecclesiaflow.com";
+
+    @Param({"100", "1000"})
+    private int members;
+
+    private ConfigurableApplicationContext context;
+    private SetupTokenService setupTokenService;
+    private Map<UUID, String> emailsByMemberId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplicationContext.start("setup-token-batch-bench",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                "--spring.jpa.properties.hibernate.order_inserts=true");
+        setupTokenService = context.getBean(SetupTokenService.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void newImport() {
+        emailsByMemberId = new LinkedHashMap<>();
+        for (int i = 0; i < members; i++) {
+            emailsByMemberId.put(UUID.randomUUID(), EMAIL);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int individually() {
+        emailsByMemberId.forEach((memberId, email) -> setupTokenService.generateSetupToken(email, memberId));
+        return emailsByMemberId.size();
+    }
+
+    @Benchmark
+    public Map<UUID, String> batch() {
+        return setupTokenService.generateSetupTokens(emailsByMemberId);
+    }
+}
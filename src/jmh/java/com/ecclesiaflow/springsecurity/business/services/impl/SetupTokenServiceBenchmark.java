@@ -0,0 +1,86 @@
+package com.ecclesiaflow.springsecurity.business.services.impl;
+
+import com.ecclesiaflow.springsecurity.benchmark.BenchmarkApplicationContext;
+import com.ecclesiaflow.springsecurity.business.domain.token.SetupToken;
+import com.ecclesiaflow.springsecurity.business.exceptions.InvalidTokenException;
+import com.ecclesiaflow.springsecurity.business.services.SetupTokenService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end benchmark of the setup-token hot path through the Spring proxy
+ * (transaction + logging aspect) down to H2.
+ * <p>
+ * Throughput and sample-time modes give ops/s and p99 latency; run with
+ * {@code -prof gc} (default in the {@code benchmark} Maven profile) for
+ * allocations per operation.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SetupTokenServiceBenchmark {
+
+    private static final int POOL_SIZE = 1024;
+    private static final String EMAIL = "bench@ecclesiaflow.com";
+
+    private ConfigurableApplicationContext context;
+    private SetupTokenService setupTokenService;
+
+    private final String[] issuedTokens = new String[POOL_SIZE];
+    private final String[] unknownTokens = new String[POOL_SIZE];
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplicationContext.start("setup-token-service-bench");
+        setupTokenService = context.getBean(SetupTokenService.class);
+
+        for (int i = 0; i < POOL_SIZE; i++) {
+            issuedTokens[i] = setupTokenService.generateSetupToken(EMAIL, UUID.randomUUID());
+            unknownTokens[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Revoke + insert, as done by the gRPC token RPC. Uses a fresh member per call
+     * so the tokens issued in {@link #setUp()} stay valid for the validate benchmarks.
+     */
+    @Benchmark
+    public String generateSetupToken() {
+        return setupTokenService.generateSetupToken(EMAIL, UUID.randomUUID());
+    }
+
+    @Benchmark
+    public SetupToken validateIssuedToken() {
+        String rawToken = issuedTokens[next()];
+        return setupTokenService.validate(rawToken, SetupToken.TokenPurpose.PASSWORD_SETUP);
+    }
+
+    /** Bogus token path: hash + full {@code findValidToken} query that finds nothing. */
+    @Benchmark
+    public Object validateUnknownToken() {
+        try {
+            return setupTokenService.validate(unknownTokens[next()], SetupToken.TokenPurpose.PASSWORD_SETUP);
+        } catch (InvalidTokenException e) {
+            return e;
+        }
+    }
+
+    private int next() {
+        int index = cursor;
+        cursor = (index + 1) & (POOL_SIZE - 1);
+        return index;
+    }
+}
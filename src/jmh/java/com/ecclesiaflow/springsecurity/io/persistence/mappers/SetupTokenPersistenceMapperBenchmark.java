@@ -0,0 +1,60 @@
+package com.ecclesiaflow.springsecurity.io.persistence.mappers;
+
+import com.ecclesiaflow.springsecurity.business.domain.token.SetupToken;
+import com.ecclesiaflow.springsecurity.business.domain.token.TokenHash;
+import com.ecclesiaflow.springsecurity.io.persistence.jpa.SetupTokenEntity;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Domain ↔ entity round trip through the generated MapStruct mapper,
+ * performed on every save and lookup in {@code SetupTokenRepositoryImpl}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SetupTokenPersistenceMapperBenchmark {
+
+    private SetupTokenPersistenceMapper mapper;
+    private SetupToken domain;
+    private SetupTokenEntity entity;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapper = Mappers.getMapper(SetupTokenPersistenceMapper.class);
+        domain = SetupToken.builder()
+                .id(UUID.randomUUID())
+                .tokenHash(TokenHash.fromBase64("n4bQgYhMfWWaL+qgxVrQFaO/TxsrC4Is0V1sFbDwCgg="))
+                .email("bench@ecclesiaflow.com")
+                .memberId(UUID.randomUUID())
+                .purpose(SetupToken.TokenPurpose.PASSWORD_SETUP)
+                .status(SetupToken.TokenStatus.ISSUED)
+                .expiresAt(LocalDateTime.now().plusHours(24))
+                .createdAt(LocalDateTime.now())
+                .build();
+        entity = mapper.toEntityOrThrow(domain);
+        entity.setTokenHash(domain.getTokenHash().base64());
+    }
+
+    @Benchmark
+    public SetupTokenEntity toEntity() {
+        return mapper.toEntityOrThrow(domain);
+    }
+
+    @Benchmark
+    public SetupToken toDomain() {
+        return mapper.toDomainOrThrow(entity);
+    }
+
+    @Benchmark
+    public SetupToken roundTrip() {
+        return mapper.toDomainOrThrow(mapper.toEntityOrThrow(domain));
+    }
+}
@@ -1,28 +1,63 @@
 package com.ecclesiaflow.springsecurity.application.config;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 
+import java.util.concurrent.Executor;
+
 /**
  * Configuration for asynchronous task execution.
  * <p>
  * Enables @Async annotation support to allow asynchronous method execution,
  * particularly for sending emails via event listeners.
  * </p>
- * 
+ *
+ * <p><strong>Executor:</strong> {@code @Async} methods run on Spring Boot's
+ * {@code applicationTaskExecutor}, which follows {@code spring.threads.virtual.enabled}:</p>
+ * <ul>
+ *   <li>Virtual threads: one virtual thread per task, capped by
+ *       {@code spring.task.execution.simple.concurrency-limit}</li>
+ *   <li>Platform threads: bounded pool sized by {@code spring.task.execution.pool.*}</li>
+ * </ul>
+ * Exceptions thrown by {@code void} async methods are logged instead of being lost.
+ *
  * <p><strong>Use cases:</strong></p>
  * <ul>
  *   <li>Sending emails without blocking main transactions</li>
  *   <li>Background event processing</li>
  *   <li>Improving application responsiveness</li>
  * </ul>
- * 
+ *
  * @author EcclesiaFlow Team
  * @since 1.0.0
  */
+@Slf4j
 @Configuration
 @EnableAsync
-public class AsyncConfig {
-    // Spring default configuration is sufficient for our use case
-    // If customization is needed, add a @Bean TaskExecutor
+public class AsyncConfig implements AsyncConfigurer {
+
+    private final ObjectProvider<Executor> applicationTaskExecutor;
+
+    public AsyncConfig(
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+            ObjectProvider<Executor> applicationTaskExecutor) {
+        this.applicationTaskExecutor = applicationTaskExecutor;
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return applicationTaskExecutor.getIfAvailable();
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (ex, method, params) ->
+                log.error("Async method {}.{} failed", method.getDeclaringClass().getSimpleName(), method.getName(), ex);
+    }
 }
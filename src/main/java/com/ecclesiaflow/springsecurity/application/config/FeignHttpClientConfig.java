@@ -0,0 +1,37 @@
+package com.ecclesiaflow.springsecurity.application.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics for the HTTP transport of the Keycloak Feign clients.
+ * <p>
+ * Spring Cloud OpenFeign backs the clients with Apache HttpClient 5 and a shared
+ * pooled connection manager (sized and timed out through
+ * {@code spring.cloud.openfeign.httpclient.*}). This configuration publishes the
+ * pool state so saturation is visible before requests start queueing.
+ * </p>
+ *
+ * <p><strong>Metrics:</strong> {@code httpcomponents.httpclient.pool.total.connections}
+ * (tagged {@code state=leased|available}), {@code httpcomponents.httpclient.pool.total.pending}
+ * and {@code httpcomponents.httpclient.pool.total.max}, all tagged {@code httpclient=keycloak}.</p>
+ */
+@Configuration
+public class FeignHttpClientConfig {
+
+    static final String POOL_NAME = "keycloak";
+
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(ObjectProvider<HttpClientConnectionManager> connectionManager) {
+        return registry -> {
+            if (connectionManager.getIfAvailable() instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, POOL_NAME).bindTo(registry);
+            }
+        };
+    }
+}
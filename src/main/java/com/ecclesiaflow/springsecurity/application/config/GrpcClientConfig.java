@@ -1,16 +1,32 @@
 package com.ecclesiaflow.springsecurity.application.config;
 
+import com.ecclesiaflow.grpc.members.MembersServiceGrpc;
+import com.ecclesiaflow.springsecurity.io.grpc.GrpcCallMetrics;
+import com.ecclesiaflow.springsecurity.io.members.ManagedChannelPool;
+import com.ecclesiaflow.springsecurity.io.members.MembersDeadlineInterceptor;
 import com.ecclesiaflow.springsecurity.io.members.MembersGrpcClient;
+import com.ecclesiaflow.springsecurity.io.members.MembersMetricsInterceptor;
+import com.ecclesiaflow.springsecurity.io.members.MembersRetryPolicy;
+import com.ecclesiaflow.springsecurity.web.filter.RequestDeadlineFilter;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
+import io.grpc.Status;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 
 import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 /**
  * Members gRPC client configuration for the Auth module.
@@ -20,6 +36,33 @@ import java.util.concurrent.TimeUnit;
  * and graceful shutdown when the application stops.
  * </p>
  *
+ * <p><strong>Load balancing:</strong> {@code grpc.members.target} accepts any gRPC
+ * target, e.g. {@code dns:///members-headless.ecclesiaflow.svc:9091} for a headless
+ * Kubernetes service, whose addresses are spread with {@code round_robin}. With
+ * {@code round_robin}, subchannels are health-checked through the gRPC Health Checking
+ * Protocol ({@code grpc.members.health-check.*}) and only {@code SERVING} backends get
+ * calls; a backend without the health service is treated as healthy. New backends
+ * are picked up when the name is re-resolved, i.e. when a connection closes, so the
+ * Members server should bound connection age. {@code grpc.members.channel-pool-size}
+ * channels (see {@link ManagedChannelPool}) each open their own connection per
+ * backend.</p>
+ *
+ * <p>Every call on the channel gets a per-method deadline
+ * ({@code grpc.members.deadline.*}, see {@link MembersDeadlineInterceptor}), further
+ * capped for API requests by the request budget ({@code grpc.members.request-budget},
+ * see {@link RequestDeadlineFilter}).</p>
+ *
+ * <p>Failed calls are retried, and {@code GetMemberConfirmationStatus} is optionally
+ * hedged, by gRPC itself from the channel's service config ({@code grpc.members.retry.*},
+ * {@code grpc.members.hedging.*}, see {@link MembersRetryPolicy}). All attempts of a call
+ * share its deadline, and the retry throttling budget is per channel, so per pooled
+ * channel.</p>
+ *
+ * <p><strong>Metrics:</strong> every call on the channel is measured by
+ * {@link MembersMetricsInterceptor}: {@code grpc.client.calls} (latency per method and
+ * final status, retries included, with {@code grpc.metrics.slo} histogram buckets),
+ * {@code grpc.client.calls.active} and {@code grpc.client.messages.*}.</p>
+ *
  * <p><strong>Architectural role:</strong> Infrastructure - gRPC Client Configuration</p>
  *
  * @author EcclesiaFlow Team
@@ -38,21 +81,113 @@ public class GrpcClientConfig {
     @Value("${grpc.members.port:9091}")
     private int membersServicePort;
 
+    /** Overrides host and port when set. */
+    @Value("${grpc.members.target:}")
+    private String membersTarget;
+
+    @Value("${grpc.members.load-balancing-policy:round_robin}")
+    private String loadBalancingPolicy;
+
+    @Value("${grpc.members.health-check.enabled:true}")
+    private boolean healthCheckEnabled;
+
+    /** Health service name queried on each backend; empty for the whole server. */
+    @Value("${grpc.members.health-check.service-name:}")
+    private String healthCheckServiceName;
+
+    @Value("${grpc.members.channel-pool-size:1}")
+    private int channelPoolSize;
+
     @Value("${grpc.client.shutdown-timeout-seconds:5}")
     private int shutdownTimeoutSeconds;
 
+    @Value("${grpc.members.deadline.default:PT5S}")
+    private Duration defaultDeadline;
+
+    @Value("${grpc.members.deadline.get-member-confirmation-status:PT2S}")
+    private Duration confirmationStatusDeadline;
+
+    @Value("${grpc.members.deadline.notify-account-activated:PT5S}")
+    private Duration accountActivatedDeadline;
+
+    @Value("${grpc.members.deadline.notify-local-credentials-added:PT5S}")
+    private Duration localCredentialsAddedDeadline;
+
+    @Value("${grpc.members.deadline.notify-account-activated-with-credentials:PT5S}")
+    private Duration accountActivatedWithCredentialsDeadline;
+
+    @Value("${grpc.members.retry.max-attempts:3}")
+    private int retryMaxAttempts;
+
+    @Value("${grpc.members.retry.initial-backoff:PT0.2S}")
+    private Duration retryInitialBackoff;
+
+    @Value("${grpc.members.retry.max-backoff:PT2S}")
+    private Duration retryMaxBackoff;
+
+    @Value("${grpc.members.retry.backoff-multiplier:2}")
+    private double retryBackoffMultiplier;
+
+    @Value("${grpc.members.retry.status-codes.default:UNAVAILABLE}")
+    private List<Status.Code> defaultRetryableStatusCodes;
+
+    @Value("${grpc.members.retry.status-codes.get-member-confirmation-status:UNAVAILABLE,ABORTED}")
+    private List<Status.Code> confirmationStatusRetryableStatusCodes;
+
+    @Value("${grpc.members.retry.status-codes.notify-account-activated:UNAVAILABLE,ABORTED,INTERNAL}")
+    private List<Status.Code> accountActivatedRetryableStatusCodes;
+
+    @Value("${grpc.members.retry.status-codes.notify-local-credentials-added:UNAVAILABLE,ABORTED,INTERNAL}")
+    private List<Status.Code> localCredentialsAddedRetryableStatusCodes;
+
+    @Value("${grpc.members.retry.status-codes.notify-account-activated-with-credentials:UNAVAILABLE,ABORTED,INTERNAL}")
+    private List<Status.Code> accountActivatedWithCredentialsRetryableStatusCodes;
+
+    @Value("${grpc.members.retry.throttling.max-tokens:10}")
+    private int retryThrottlingMaxTokens;
+
+    @Value("${grpc.members.retry.throttling.token-ratio:0.1}")
+    private double retryThrottlingTokenRatio;
+
+    @Value("${grpc.members.hedging.enabled:true}")
+    private boolean hedgingEnabled;
+
+    @Value("${grpc.members.hedging.max-attempts:2}")
+    private int hedgingMaxAttempts;
+
+    @Value("${grpc.members.hedging.delay:PT0.2S}")
+    private Duration hedgingDelay;
+
+    @Value("${grpc.metrics.slo:10ms,25ms,50ms,100ms,250ms,500ms,1s,2s,5s}")
+    private List<Duration> metricsSlo;
+
     private ManagedChannel membersChannel;
 
     /**
      * Creates and configures the gRPC channel to the Members module.
      *
-     * @return the configured and ready-to-use gRPC channel
+     * @param meterRegistry registry of the channel's call metrics
+     * @return the configured and ready-to-use gRPC channel, pooled when
+     *         {@code grpc.members.channel-pool-size} is greater than 1
      */
     @Bean
-    public ManagedChannel membersGrpcChannel() {
-        membersChannel = ManagedChannelBuilder
-                .forAddress(membersServiceHost, membersServicePort)
+    public ManagedChannel membersGrpcChannel(MeterRegistry meterRegistry) {
+        // One interceptor for the whole pool: its gauges count the calls of every pooled channel
+        MembersMetricsInterceptor metricsInterceptor = new MembersMetricsInterceptor(
+                new GrpcCallMetrics(meterRegistry, "grpc.client", metricsSlo));
+        membersChannel = channelPoolSize <= 1
+                ? buildMembersChannel(metricsInterceptor)
+                : new ManagedChannelPool(IntStream.range(0, channelPoolSize)
+                        .mapToObj(i -> buildMembersChannel(metricsInterceptor))
+                        .toList());
+        return membersChannel;
+    }
 
+    private ManagedChannel buildMembersChannel(MembersMetricsInterceptor metricsInterceptor) {
+        return ManagedChannelBuilder.forTarget(membersTarget())
+                .defaultLoadBalancingPolicy(loadBalancingPolicy)
+                .defaultServiceConfig(membersServiceConfig())
+                .enableRetry()
                 // DEVELOPMENT: Uses plaintext (no TLS)
                 // TODO PRODUCTION: Replace with .useTransportSecurity() + certificates
                 .usePlaintext()
@@ -61,9 +196,77 @@ public class GrpcClientConfig {
                 .keepAliveTimeout(20, TimeUnit.SECONDS)
                 .keepAliveWithoutCalls(false)
                 .idleTimeout(5, TimeUnit.MINUTES)
+                // The last interceptor runs first: metrics see the call as MembersGrpcClient made it
+                .intercept(membersDeadlineInterceptor(), metricsInterceptor)
                 .build();
+    }
 
-        return membersChannel;
+    String membersTarget() {
+        return membersTarget.isBlank() ? membersServiceHost + ":" + membersServicePort : membersTarget;
+    }
+
+    /** Retry and hedging policy, plus subchannel health checking when enabled. */
+    Map<String, ?> membersServiceConfig() {
+        Map<String, Object> serviceConfig = new HashMap<>(membersRetryPolicy().toServiceConfig());
+        if (healthCheckEnabled) {
+            serviceConfig.putAll(healthCheckServiceConfig());
+        }
+        return serviceConfig;
+    }
+
+    Map<String, ?> healthCheckServiceConfig() {
+        return Map.of("healthCheckConfig", Map.of("serviceName", healthCheckServiceName));
+    }
+
+    MembersRetryPolicy membersRetryPolicy() {
+        return MembersRetryPolicy.builder()
+                .maxAttempts(retryMaxAttempts)
+                .initialBackoff(retryInitialBackoff)
+                .maxBackoff(retryMaxBackoff)
+                .backoffMultiplier(retryBackoffMultiplier)
+                .defaultRetryableStatusCodes(defaultRetryableStatusCodes)
+                .retryableStatusCodes(Map.of(
+                        MembersServiceGrpc.getGetMemberConfirmationStatusMethod().getFullMethodName(),
+                        confirmationStatusRetryableStatusCodes,
+                        MembersServiceGrpc.getNotifyAccountActivatedMethod().getFullMethodName(),
+                        accountActivatedRetryableStatusCodes,
+                        MembersServiceGrpc.getNotifyLocalCredentialsAddedMethod().getFullMethodName(),
+                        localCredentialsAddedRetryableStatusCodes,
+                        MembersServiceGrpc.getNotifyAccountActivatedWithCredentialsMethod().getFullMethodName(),
+                        accountActivatedWithCredentialsRetryableStatusCodes))
+                .hedgeConfirmationStatus(hedgingEnabled)
+                .hedgingMaxAttempts(hedgingMaxAttempts)
+                .hedgingDelay(hedgingDelay)
+                .throttlingMaxTokens(retryThrottlingMaxTokens)
+                .throttlingTokenRatio(retryThrottlingTokenRatio)
+                .build();
+    }
+
+    /**
+     * Runs API requests within the request budget, so the Members calls they make
+     * cannot outlast it.
+     */
+    @Bean
+    public FilterRegistrationBean<RequestDeadlineFilter> requestDeadlineFilter(
+            @Value("${grpc.members.request-budget:PT10S}") Duration requestBudget) {
+        FilterRegistrationBean<RequestDeadlineFilter> registration =
+                new FilterRegistrationBean<>(new RequestDeadlineFilter(requestBudget));
+        registration.addUrlPatterns("/ecclesiaflow/*");
+        // Inside the concurrency limit: time spent waiting for a slot is not charged
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    MembersDeadlineInterceptor membersDeadlineInterceptor() {
+        return new MembersDeadlineInterceptor(defaultDeadline, Map.of(
+                MembersServiceGrpc.getGetMemberConfirmationStatusMethod().getFullMethodName(),
+                confirmationStatusDeadline,
+                MembersServiceGrpc.getNotifyAccountActivatedMethod().getFullMethodName(),
+                accountActivatedDeadline,
+                MembersServiceGrpc.getNotifyLocalCredentialsAddedMethod().getFullMethodName(),
+                localCredentialsAddedDeadline,
+                MembersServiceGrpc.getNotifyAccountActivatedWithCredentialsMethod().getFullMethodName(),
+                accountActivatedWithCredentialsDeadline));
     }
 
     /**
@@ -1,10 +1,19 @@
 package com.ecclesiaflow.springsecurity.application.config;
 
+import com.ecclesiaflow.springsecurity.io.grpc.GrpcCallMetrics;
 import com.ecclesiaflow.springsecurity.io.grpc.server.AuthGrpcServiceImpl;
+import com.ecclesiaflow.springsecurity.io.grpc.server.ConcurrentCallLimitInterceptor;
+import com.ecclesiaflow.springsecurity.io.grpc.server.GrpcServerMetricsInterceptor;
 import io.grpc.Server;
-import io.grpc.ServerBuilder;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.nio.NioEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.grpc.protobuf.services.HealthStatusManager;
 import io.grpc.protobuf.services.ProtoReflectionService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -14,6 +23,11 @@ import org.springframework.context.annotation.Configuration;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -40,8 +54,16 @@ import java.util.concurrent.TimeUnit;
  *   <li>grpc.enabled - Enables/disables the gRPC server (default: false)</li>
  *   <li>grpc.server.port - gRPC server port (default: 9090)</li>
  *   <li>grpc.server.shutdown-timeout-seconds - Shutdown timeout (default: 30s)</li>
+ *   <li>grpc.server.executor - Handler threads, PLATFORM or VIRTUAL (default: PLATFORM)</li>
+ *   <li>grpc.server.max-concurrent-calls - Calls handled at once, 0 for no limit (default: 0)</li>
+ *   <li>grpc.server.boss-threads / worker-threads - Netty event-loop sizes, 0 for gRPC defaults</li>
+ *   <li>grpc.metrics.slo - Latency histogram buckets of the {@code grpc.server.calls} timer</li>
  * </ul>
  *
+ * <p><strong>Metrics:</strong> every call to the business services is measured by
+ * {@link GrpcServerMetricsInterceptor}: {@code grpc.server.calls} (latency per method and
+ * status), {@code grpc.server.calls.active} and {@code grpc.server.messages.*}.</p>
+ *
  * <p><strong>Security:</strong></p>
  * <ul>
  *   <li>TLS/mTLS configurable (disabled by default for development)</li>
@@ -58,7 +80,11 @@ import java.util.concurrent.TimeUnit;
 @ConditionalOnProperty(name = "grpc.enabled", havingValue = "true", matchIfMissing = false)
 public class GrpcServerConfig {
 
+    /** Size of gRPC's shared boss event-loop group, kept when only the worker size is set. */
+    private static final int GRPC_DEFAULT_BOSS_THREADS = 1;
+
     private final AuthGrpcServiceImpl jwtGrpcService;
+    private final MeterRegistry meterRegistry;
 
     @Value("${grpc.server.port:9090}")
     private int grpcServerPort;
@@ -66,8 +92,26 @@ public class GrpcServerConfig {
     @Value("${grpc.server.shutdown-timeout-seconds:30}")
     private int shutdownTimeoutSeconds;
 
+    @Value("${grpc.server.executor:PLATFORM}")
+    private GrpcServerExecutorMode executorMode;
+
+    @Value("${grpc.server.max-concurrent-calls:0}")
+    private int maxConcurrentCalls;
+
+    @Value("${grpc.server.boss-threads:0}")
+    private int bossThreads;
+
+    @Value("${grpc.server.worker-threads:0}")
+    private int workerThreads;
+
+    @Value("${grpc.metrics.slo:10ms,25ms,50ms,100ms,250ms,500ms,1s,2s,5s}")
+    private List<Duration> metricsSlo;
+
     private Server grpcServer;
     private HealthStatusManager healthStatusManager;
+    private ExecutorService handlerExecutor;
+    private EventLoopGroup bossGroup;
+    private EventLoopGroup workerGroup;
 
     /**
      * Starts the gRPC server on application startup.
@@ -83,9 +127,12 @@ public class GrpcServerConfig {
     public void start() throws IOException {
         healthStatusManager = new HealthStatusManager();
         
-        grpcServer = ServerBuilder.forPort(grpcServerPort)
-                // Register business services
-                .addService(jwtGrpcService)
+        NettyServerBuilder builder = NettyServerBuilder.forPort(grpcServerPort);
+        configureThreading(builder);
+
+        grpcServer = builder
+                // Register business services (measured, optionally behind the concurrent call limit)
+                .addService(ServerInterceptors.intercept(jwtGrpcService, serviceInterceptors()))
                 
                 // Health checks (gRPC Health Checking Protocol)
                 .addService(healthStatusManager.getHealthService())
@@ -107,6 +154,51 @@ public class GrpcServerConfig {
         Runtime.getRuntime().addShutdownHook(new Thread(GrpcServerConfig.this::stop));
     }
 
+    /**
+     * Interceptors of the business services. The last one runs first: metrics are
+     * recorded outside the concurrent call limit, so rejected calls are measured too.
+     *
+     * @return the interceptors, innermost first
+     */
+    List<ServerInterceptor> serviceInterceptors() {
+        List<ServerInterceptor> interceptors = new ArrayList<>();
+        if (maxConcurrentCalls > 0) {
+            interceptors.add(new ConcurrentCallLimitInterceptor(maxConcurrentCalls));
+        }
+        interceptors.add(new GrpcServerMetricsInterceptor(
+                new GrpcCallMetrics(meterRegistry, "grpc.server", metricsSlo)));
+        return interceptors;
+    }
+
+    /**
+     * Applies the handler executor and Netty event-loop settings.
+     * <p>
+     * In VIRTUAL mode each handler task runs on its own virtual thread, so handlers
+     * blocking on JPA or Keycloak do not hold a platform thread. A Netty event-loop group
+     * is only created for a size greater than 0. Netty takes custom groups together with
+     * the channel type, so when only one size is configured the other group is created
+     * with gRPC's default size for it (one boss thread, Netty's default worker count).
+     * </p>
+     *
+     * @param builder the server builder to configure
+     */
+    void configureThreading(NettyServerBuilder builder) {
+        if (executorMode == GrpcServerExecutorMode.VIRTUAL) {
+            handlerExecutor = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("grpc-handler-", 0).factory());
+            builder.executor(handlerExecutor);
+        }
+
+        if (bossThreads > 0 || workerThreads > 0) {
+            bossGroup = new NioEventLoopGroup(bossThreads > 0 ? bossThreads : GRPC_DEFAULT_BOSS_THREADS);
+            // 0 lets Netty pick its default (2 x available processors), as gRPC does
+            workerGroup = new NioEventLoopGroup(workerThreads);
+            builder.bossEventLoopGroup(bossGroup)
+                    .workerEventLoopGroup(workerGroup)
+                    .channelType(NioServerSocketChannel.class);
+        }
+    }
+
     /**
      * Gracefully stops the gRPC server on application shutdown.
      * <p>
@@ -134,6 +226,20 @@ public class GrpcServerConfig {
                 Thread.currentThread().interrupt();
             }
         }
+        releaseThreads();
+    }
+
+    /** Releases the executor and event loops owned by this configuration (not gRPC's shared defaults). */
+    private void releaseThreads() {
+        if (handlerExecutor != null) {
+            handlerExecutor.shutdownNow();
+        }
+        if (bossGroup != null) {
+            bossGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+        }
+        if (workerGroup != null) {
+            workerGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+        }
     }
 
     /**
@@ -0,0 +1,16 @@
+package com.ecclesiaflow.springsecurity.application.config;
+
+/**
+ * Threads running the gRPC server's call handlers ({@code grpc.server.executor}).
+ */
+public enum GrpcServerExecutorMode {
+
+    /** gRPC default: a shared cached pool of platform threads. */
+    PLATFORM,
+
+    /**
+     * One virtual thread per handler task. Handlers blocking on JPA or Feign
+     * release their carrier thread, so concurrency is no longer capped by a pool.
+     */
+    VIRTUAL
+}
@@ -0,0 +1,13 @@
+package com.ecclesiaflow.springsecurity.application.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (setup token purge, Members notification outbox,
+ * Keycloak user compensation).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,59 @@
+package com.ecclesiaflow.springsecurity.application.config;
+
+import com.ecclesiaflow.springsecurity.application.logging.interceptor.ServiceObservationInterceptor;
+import com.ecclesiaflow.springsecurity.application.logging.interceptor.UnhandledExceptionInterceptor;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+/**
+ * Service method instrumentation in {@code OBSERVATION} mode ({@code logging.service-instrumentation},
+ * the default; {@code ASPECT} keeps {@code ServiceLoggingAspect}).
+ * <p>
+ * Plain method interceptors are applied to the same methods as the aspect: they get the
+ * invoked {@link java.lang.reflect.Method} directly instead of building a join point and
+ * its signature on every call.
+ * </p>
+ *
+ * @see ServiceObservationInterceptor
+ * @see UnhandledExceptionInterceptor
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "logging.service-instrumentation", havingValue = "OBSERVATION", matchIfMissing = true)
+public class ServiceInstrumentationConfig {
+
+    static final String SERVICE_METHODS = "execution(* com.ecclesiaflow.springsecurity.business.services..*(..))";
+    static final String CONTROLLER_METHODS = "execution(* com.ecclesiaflow.springsecurity.web.controller..*(..))";
+
+    /**
+     * Times, observes and logs every service method.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor serviceObservationAdvisor(ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new DefaultPointcutAdvisor(pointcut(SERVICE_METHODS), new ServiceObservationInterceptor(
+                () -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP)));
+    }
+
+    /**
+     * Logs exceptions leaving controllers that no service has logged yet.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor unhandledExceptionAdvisor() {
+        return new DefaultPointcutAdvisor(pointcut(CONTROLLER_METHODS), new UnhandledExceptionInterceptor());
+    }
+
+    private static AspectJExpressionPointcut pointcut(String expression) {
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression(expression);
+        return pointcut;
+    }
+}
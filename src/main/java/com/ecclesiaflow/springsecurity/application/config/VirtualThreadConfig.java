@@ -0,0 +1,43 @@
+package com.ecclesiaflow.springsecurity.application.config;
+
+import com.ecclesiaflow.springsecurity.web.filter.ConcurrencyLimitFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Support for running on virtual threads.
+ * <p>
+ * {@code spring.threads.virtual.enabled=true} makes Spring Boot run Tomcat requests,
+ * the {@code @Async} executor (see {@link AsyncConfig}) and scheduled tasks on virtual
+ * threads. Since Tomcat's thread pool no longer bounds concurrency in that mode,
+ * API requests go through a {@link ConcurrencyLimitFilter} sized to what the
+ * Hikari pool and the Keycloak connection pool can absorb.
+ * </p>
+ *
+ * <p><strong>Metrics:</strong> with {@code micrometer-java21} on the classpath, Spring
+ * Boot's JVM metrics include {@code jvm.threads.virtual.pinned} (timer of
+ * {@code jdk.VirtualThreadPinned} JFR events, i.e. blocking while pinned to a carrier
+ * thread) and {@code jvm.threads.virtual.submit.failed}.</p>
+ */
+@Configuration
+public class VirtualThreadConfig {
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Value("${web.concurrency.max-requests:200}") int maxConcurrentRequests,
+            @Value("${web.concurrency.acquire-timeout:PT1S}") Duration acquireTimeout) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(maxConcurrentRequests, acquireTimeout));
+        registration.addUrlPatterns("/ecclesiaflow/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
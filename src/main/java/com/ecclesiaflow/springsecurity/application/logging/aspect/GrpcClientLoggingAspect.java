@@ -13,8 +13,9 @@ import static com.ecclesiaflow.springsecurity.application.logging.SecurityMaskin
  * AOP aspect dedicated to logging outgoing gRPC calls from the Auth module.
  * <p>
  * This class implements a specialized aspect for logging gRPC communications
- * between the Auth module and the Members module. It captures outgoing calls,
- * communication errors, and performance metrics.
+ * between the Auth module and the Members module. It captures channel shutdown and
+ * communication errors. Per-call latency, in-flight calls and message counts are
+ * Micrometer meters recorded by {@code MembersMetricsInterceptor}, not logs.
  * </p>
  *
  * @author EcclesiaFlow Team
@@ -58,31 +59,9 @@ public class GrpcClientLoggingAspect {
     }
 
     // ========================================================================
-    // Advices - Outgoing RPC calls
+    // Advices - Outgoing RPC call errors
     // ========================================================================
 
-    @Before("grpcClientCalls()")
-    public void logBeforeRpcCall(JoinPoint joinPoint) {
-        String methodName = joinPoint.getSignature().getName();
-        
-        if ("isEmailNotConfirmed".equals(methodName)) {
-            log.info("GRPC-CLIENT: Calling Members.{} via gRPC", methodName);
-        } else {
-            log.debug("GRPC-CLIENT: Calling Members.{} via gRPC", methodName);
-        }
-    }
-
-    @AfterReturning(pointcut = "grpcClientCalls()", returning = "result")
-    public void logAfterSuccessfulRpcCall(JoinPoint joinPoint, Object result) {
-        String methodName = joinPoint.getSignature().getName();
-        
-        if ("isEmailNotConfirmed".equals(methodName)) {
-            log.info("GRPC-CLIENT: Members.{} completed successfully", methodName);
-        } else {
-            log.debug("GRPC-CLIENT: Members.{} completed successfully", methodName);
-        }
-    }
-
     @AfterThrowing(pointcut = "grpcClientCalls()", throwing = "exception")
     public void logRpcCallError(JoinPoint joinPoint, Exception exception) {
         String methodName = joinPoint.getSignature().getName();
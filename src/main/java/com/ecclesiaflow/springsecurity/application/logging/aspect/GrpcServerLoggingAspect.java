@@ -11,7 +11,9 @@ import org.springframework.stereotype.Component;
  * AOP aspect dedicated to logging gRPC operations in the authentication module.
  * <p>
  * This class implements a specialized aspect for logging inter-module gRPC communications.
- * It captures incoming gRPC server calls, processing errors, and performance metrics.
+ * It captures server lifecycle events and gRPC processing errors. Per-call latency,
+ * in-flight calls and message counts are Micrometer meters recorded by
+ * {@code GrpcServerMetricsInterceptor}, not logs.
  * </p>
  *
  *
@@ -26,7 +28,6 @@ import org.springframework.stereotype.Component;
  * <p><strong>Main responsibilities:</strong></p>
  * <ul>
  *   <li>Logging gRPC server start/stop events</li>
- *   <li>Auditing incoming RPC calls (GenerateTemporaryToken)</li>
  *   <li>Capturing gRPC processing errors</li>
  *   <li>Inter-module traceability (Members → Auth)</li>
  *   <li>Sensitive data sanitization (emails, tokens)</li>
@@ -35,7 +36,6 @@ import org.springframework.stereotype.Component;
  * <p><strong>Typical use cases:</strong></p>
  * <ul>
  *   <li>Security audit of inter-service communications</li>
- *   <li>gRPC performance monitoring (latency, throughput)</li>
  *   <li>Debugging communication issues</li>
  *   <li>Analyzing call patterns between modules</li>
  * </ul>
@@ -149,52 +149,9 @@ public class GrpcServerLoggingAspect {
     }
 
     // ========================================================================
-    // Advices - RPC calls (GenerateTemporaryToken)
+    // Advices - RPC call errors
     // ========================================================================
 
-    /**
-     * Log before each incoming RPC call.
-     * <p>
-     * Captures basic call information for inter-module traceability.
-     * Masks sensitive data (emails, tokens).
-     * </p>
-     *
-     * @param joinPoint join point containing method name and arguments
-     */
-    @Before("grpcServiceCalls()")
-    public void logBeforeRpcCall(JoinPoint joinPoint) {
-        String methodName = joinPoint.getSignature().getName();
-        Object[] args = joinPoint.getArgs();
-        
-        // Log based on RPC type
-        if ("generateTemporaryToken".equals(methodName)) {
-            log.info("GRPC-RPC: Received {} request from Members module", methodName);
-        } else if ("validateToken".equals(methodName)) {
-            log.debug("[GRPC-RPC]: Received {} request", methodName);
-        } else {
-            log.debug("[GRPC-RPC]: Received {} request", methodName);
-        }
-    }
-
-    /**
-     * Log after successful RPC call.
-     * <p>
-     * Confirms successful processing of the RPC call.
-     * </p>
-     *
-     * @param joinPoint join point
-     */
-    @AfterReturning("grpcServiceCalls()")
-    public void logAfterSuccessfulRpcCall(JoinPoint joinPoint) {
-        String methodName = joinPoint.getSignature().getName();
-        
-        if ("generateTemporaryToken".equals(methodName)) {
-            log.info("GRPC-RPC: {} completed successfully", methodName);
-        } else {
-            log.debug("GRPC-RPC: {} completed successfully", methodName);
-        }
-    }
-
     /**
      * Log errors during RPC processing.
      * <p>
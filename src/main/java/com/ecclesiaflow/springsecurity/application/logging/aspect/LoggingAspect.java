@@ -40,6 +40,10 @@ import org.springframework.stereotype.Component;
  *   <li>Error traceability in production</li>
  * </ul>
  * 
+ * <p>Timing and exception logging of every service method depend on
+ * {@code logging.service-instrumentation}: {@link ServiceLoggingAspect} in {@code ASPECT}
+ * mode, {@code ServiceObservationInterceptor} in {@code OBSERVATION} mode (the default).</p>
+ *
  * <p><strong>Guarantees:</strong> Thread-safe, minimal performance impact, asynchronous logging.</p>
  * 
  * @author EcclesiaFlow Team
@@ -68,14 +72,6 @@ public class LoggingAspect {
     @Pointcut("@annotation(com.ecclesiaflow.springsecurity.application.logging.annotation.LogExecution)")
     public void logExecutionAnnotatedMethods() {}
 
-    /**
-     * Generic logging for service methods with performance tracking.
-     */
-    @Around("serviceMethods()")
-    public Object logServiceMethods(ProceedingJoinPoint joinPoint) throws Throwable {
-        return logMethodExecution(joinPoint);
-    }
-
     /**
      * Logging for methods annotated with @LogExecution (flexible configuration).
      */
@@ -119,48 +115,11 @@ public class LoggingAspect {
      */
     @Before("controllerMethods()")
     public void logControllerAccess(JoinPoint joinPoint) {
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        String methodName = joinPoint.getSignature().getName();
-        log.debug("API: {}.{}", className, methodName);
-    }
-
-    /**
-     * Utility method for generic method logging.
-     */
-    private Object logMethodExecution(ProceedingJoinPoint joinPoint) throws Throwable {
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        String methodName = joinPoint.getSignature().getName();
-        long startTime = System.currentTimeMillis();
-        
-        log.debug("{}: Start {}.{}", "SERVICE", className, methodName);
-        
-        try {
-            Object result = joinPoint.proceed();
-            long executionTime = System.currentTimeMillis() - startTime;
-            
-            if (executionTime > 1000) { // Log if > 1 second
-                log.warn("{}: {}.{} - Slow execution ({}ms)", "SERVICE", className, methodName, executionTime);
-            } else {
-                log.debug("{}: {}.{} - Success ({}ms)", "SERVICE", className, methodName, executionTime);
-            }
-            
-            return result;
-        } catch (Exception e) {
-            long executionTime = System.currentTimeMillis() - startTime;
-            log.error("{}: {}.{} - Failure ({}ms): {}", "SERVICE", className, methodName, executionTime, e.getMessage());
-            throw e;
+        if (!log.isDebugEnabled()) {
+            return;
         }
-    }
-
-    /**
-     * Log unhandled exceptions in services and controllers.
-     */
-    @AfterThrowing(pointcut = "serviceMethods() || controllerMethods()", throwing = "exception")
-    public void logUnhandledException(JoinPoint joinPoint, Throwable exception) {
         String className = joinPoint.getTarget().getClass().getSimpleName();
         String methodName = joinPoint.getSignature().getName();
-        
-        log.error("Unhandled exception in {}.{}: {} - {}", 
-                className, methodName, exception.getClass().getSimpleName(), exception.getMessage());
+        log.debug("API: {}.{}", className, methodName);
     }
 }
@@ -0,0 +1,78 @@
+package com.ecclesiaflow.springsecurity.application.logging.aspect;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.*;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * AOP aspect timing and logging every service method ({@code logging.service-instrumentation=ASPECT}).
+ * <p>
+ * Each call resolves the target class name and formats its log arguments through the
+ * join point, whether or not the log line is written, and an exception is logged again
+ * by every service and controller it goes through. Kept as the reference behaviour;
+ * {@code OBSERVATION} mode ({@code ServiceObservationInterceptor}) is the default.
+ * </p>
+ *
+ * @author EcclesiaFlow Team
+ * @since 1.0.0
+ * @see LoggingAspect
+ */
+@Slf4j
+@Aspect
+@Component
+@ConditionalOnProperty(name = "logging.service-instrumentation", havingValue = "ASPECT")
+public class ServiceLoggingAspect {
+
+    /**
+     * Generic logging for service methods with performance tracking.
+     */
+    @Around("com.ecclesiaflow.springsecurity.application.logging.aspect.LoggingAspect.serviceMethods()")
+    public Object logServiceMethods(ProceedingJoinPoint joinPoint) throws Throwable {
+        return logMethodExecution(joinPoint);
+    }
+
+    /**
+     * Log unhandled exceptions in services and controllers.
+     */
+    @AfterThrowing(pointcut = "com.ecclesiaflow.springsecurity.application.logging.aspect.LoggingAspect.serviceMethods()"
+            + " || com.ecclesiaflow.springsecurity.application.logging.aspect.LoggingAspect.controllerMethods()",
+            throwing = "exception")
+    public void logUnhandledException(JoinPoint joinPoint, Throwable exception) {
+        String className = joinPoint.getTarget().getClass().getSimpleName();
+        String methodName = joinPoint.getSignature().getName();
+
+        log.error("Unhandled exception in {}.{}: {} - {}",
+                className, methodName, exception.getClass().getSimpleName(), exception.getMessage());
+    }
+
+    /**
+     * Utility method for generic method logging.
+     */
+    private Object logMethodExecution(ProceedingJoinPoint joinPoint) throws Throwable {
+        String className = joinPoint.getTarget().getClass().getSimpleName();
+        String methodName = joinPoint.getSignature().getName();
+        long startTime = System.currentTimeMillis();
+
+        log.debug("{}: Start {}.{}", "SERVICE", className, methodName);
+
+        try {
+            Object result = joinPoint.proceed();
+            long executionTime = System.currentTimeMillis() - startTime;
+
+            if (executionTime > 1000) { // Log if > 1 second
+                log.warn("{}: {}.{} - Slow execution ({}ms)", "SERVICE", className, methodName, executionTime);
+            } else {
+                log.debug("{}: {}.{} - Success ({}ms)", "SERVICE", className, methodName, executionTime);
+            }
+
+            return result;
+        } catch (Exception e) {
+            long executionTime = System.currentTimeMillis() - startTime;
+            log.error("{}: {}.{} - Failure ({}ms): {}", "SERVICE", className, methodName, executionTime, e.getMessage());
+            throw e;
+        }
+    }
+}
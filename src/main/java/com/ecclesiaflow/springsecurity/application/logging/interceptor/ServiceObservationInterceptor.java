@@ -0,0 +1,123 @@
+package com.ecclesiaflow.springsecurity.application.logging.interceptor;
+
+import io.micrometer.common.KeyValues;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Times and logs every service method through a Micrometer {@link Observation}
+ * ({@code logging.service-instrumentation=OBSERVATION}, the default).
+ * <p>
+ * Replaces the per-call work of {@code ServiceLoggingAspect}: the {@code Class.method}
+ * name and observation tags are computed once per target class and method, log
+ * arguments are only built when DEBUG is enabled, and the duration is measured with
+ * {@link System#nanoTime()}. Calls slower than one second are still logged at WARN.
+ * </p>
+ *
+ * <p><strong>Metrics:</strong> with the Spring Boot observation registry, each call is
+ * recorded by the {@code ecclesiaflow.service} timer, tagged {@code class}, {@code method}
+ * and {@code error}, and {@code ecclesiaflow.service.active}. Nested service calls are
+ * child observations, so they also show up in traces.</p>
+ *
+ * <p>A failure is logged once, by the innermost instrumented method it leaves, and not
+ * again by the services and controllers it propagates through
+ * (see {@link UnhandledExceptionInterceptor}).</p>
+ */
+@Slf4j
+public class ServiceObservationInterceptor implements MethodInterceptor {
+
+    static final String OBSERVATION_NAME = "ecclesiaflow.service";
+    private static final long SLOW_EXECUTION_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Supplier<ObservationRegistry> observationRegistrySupplier;
+    private volatile ObservationRegistry observationRegistry;
+
+    private final ClassValue<Map<Method, ServiceMethod>> serviceMethods = new ClassValue<>() {
+        @Override
+        protected Map<Method, ServiceMethod> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * @param observationRegistry resolved on the first call, so that the registry is
+     *                            not created before the post-processors configuring it
+     */
+    public ServiceObservationInterceptor(Supplier<ObservationRegistry> observationRegistry) {
+        this.observationRegistrySupplier = observationRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        ServiceMethod method = serviceMethod(invocation);
+        Observation observation = Observation.createNotStarted(OBSERVATION_NAME, observationRegistry())
+                .contextualName(method.name())
+                .lowCardinalityKeyValues(method.keyValues())
+                .start();
+        boolean debug = log.isDebugEnabled();
+        if (debug) {
+            log.debug("SERVICE: Start {}", method.name());
+        }
+        long startNanos = System.nanoTime();
+
+        try (Observation.Scope scope = observation.openScope()) {
+            Object result = invocation.proceed();
+            long elapsedNanos = System.nanoTime() - startNanos;
+
+            if (elapsedNanos > SLOW_EXECUTION_NANOS) {
+                log.warn("SERVICE: {} - Slow execution ({}ms)", method.name(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            } else if (debug) {
+                log.debug("SERVICE: {} - Success ({}ms)", method.name(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            }
+            return result;
+        } catch (Throwable exception) {
+            observation.error(exception);
+            if (UnhandledExceptionInterceptor.firstLog(exception)) {
+                log.error("SERVICE: {} - Failure ({}ms): {} - {}", method.name(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+                        exception.getClass().getSimpleName(), exception.getMessage());
+            }
+            throw exception;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    private ServiceMethod serviceMethod(MethodInvocation invocation) {
+        Object target = invocation.getThis();
+        Class<?> targetClass = target != null ? target.getClass() : invocation.getMethod().getDeclaringClass();
+        Map<Method, ServiceMethod> methods = serviceMethods.get(targetClass);
+        ServiceMethod method = methods.get(invocation.getMethod());
+        return method != null
+                ? method
+                : methods.computeIfAbsent(invocation.getMethod(), m -> ServiceMethod.of(targetClass, m));
+    }
+
+    private ObservationRegistry observationRegistry() {
+        ObservationRegistry registry = observationRegistry;
+        if (registry == null) {
+            registry = observationRegistrySupplier.get();
+            observationRegistry = registry;
+        }
+        return registry;
+    }
+
+    /** Names of an instrumented method, computed once. */
+    private record ServiceMethod(String name, KeyValues keyValues) {
+
+        static ServiceMethod of(Class<?> targetClass, Method method) {
+            String className = targetClass.getSimpleName();
+            return new ServiceMethod(className + "." + method.getName(),
+                    KeyValues.of("class", className, "method", method.getName()));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.ecclesiaflow.springsecurity.application.logging.interceptor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Logs an exception leaving a controller method, unless it was already logged on its
+ * way out of a service ({@code logging.service-instrumentation=OBSERVATION}).
+ * <p>
+ * An exception is logged once per thread: the last exception logged is remembered
+ * (weakly) and skipped when it propagates through further instrumented methods. A
+ * different exception wrapping it is logged, as it carries new context.
+ * </p>
+ *
+ * @see ServiceObservationInterceptor
+ */
+@Slf4j
+public class UnhandledExceptionInterceptor implements MethodInterceptor {
+
+    private static final ThreadLocal<WeakReference<Throwable>> LAST_LOGGED = new ThreadLocal<>();
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        try {
+            return invocation.proceed();
+        } catch (Throwable exception) {
+            if (firstLog(exception)) {
+                Object target = invocation.getThis();
+                String className = target != null
+                        ? target.getClass().getSimpleName()
+                        : invocation.getMethod().getDeclaringClass().getSimpleName();
+                log.error("Unhandled exception in {}.{}: {} - {}", className, invocation.getMethod().getName(),
+                        exception.getClass().getSimpleName(), exception.getMessage());
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Marks {@code exception} as logged on this thread.
+     *
+     * @return false if it already was, i.e. it must not be logged again
+     */
+    static boolean firstLog(Throwable exception) {
+        WeakReference<Throwable> last = LAST_LOGGED.get();
+        if (last != null && last.get() == exception) {
+            return false;
+        }
+        LAST_LOGGED.set(new WeakReference<>(exception));
+        return true;
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecclesiaflow.springsecurity.business.domain.member;
+
+import java.util.UUID;
+
+/**
+ * Outbox of notifications to the Members module.
+ * <p>
+ * Notifications are recorded in the database and delivered later by a background
+ * dispatcher, so they are sent only once recorded, and survive restarts until the
+ * Members module acknowledges them.
+ * </p>
+ * <p>
+ * An account activation is recorded in two steps around the Keycloak user creation:
+ * it is reserved in the transaction that consumes the setup token, then confirmed
+ * with the Keycloak user id, or cancelled if the setup fails. A reservation left
+ * behind by a crash is resolved by the dispatcher from Keycloak.
+ * </p>
+ */
+public interface MemberNotificationOutbox {
+
+    /**
+     * Reserves the account activation notification of a member whose Keycloak user
+     * is about to be created. Joins the caller's transaction, so the reservation
+     * commits or rolls back with the token consumption.
+     *
+     * @param memberId the internal member identifier (UUID)
+     * @param email    the member's email, which is also their Keycloak username
+     */
+    void reserveAccountActivated(UUID memberId, String email);
+
+    /**
+     * Completes the member's reservation with the Keycloak user that was created,
+     * making the notification deliverable
+     * (see {@link MembersClient#notifyAccountActivatedWithCredentialsAsync(UUID, String)}).
+     * Records the notification anew if the reservation is gone.
+     *
+     * @param memberId       the internal member identifier (UUID)
+     * @param keycloakUserId the Keycloak identifier (sub claim)
+     */
+    void confirmAccountActivated(UUID memberId, String keycloakUserId);
+
+    /**
+     * Drops the member's reservation after a failed setup. Joins the caller's
+     * transaction.
+     *
+     * @param memberId the internal member identifier (UUID)
+     */
+    void cancelAccountActivated(UUID memberId);
+}
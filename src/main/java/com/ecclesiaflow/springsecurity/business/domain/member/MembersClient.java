@@ -1,6 +1,7 @@
 package com.ecclesiaflow.springsecurity.business.domain.member;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Communication port with the EcclesiaFlow Members module.
@@ -57,4 +58,41 @@ public interface MembersClient {
      * @return true if notification was processed successfully
      */
     boolean notifyLocalCredentialsAdded(String keycloakUserId);
+
+    /**
+     * Non-blocking variant of {@link #notifyAccountActivated(UUID, String)}.
+     * <p>
+     * Lets the caller issue independent notifications concurrently. Retries happen
+     * inside the returned future, which fails with the same exceptions the blocking
+     * variant throws.
+     * </p>
+     *
+     * @param memberId       the internal member identifier (UUID)
+     * @param keycloakUserId the Keycloak identifier (sub claim)
+     * @return future completed with true once the notification was processed
+     */
+    CompletableFuture<Boolean> notifyAccountActivatedAsync(UUID memberId, String keycloakUserId);
+
+    /**
+     * Non-blocking variant of {@link #notifyLocalCredentialsAdded(String)}.
+     *
+     * @param keycloakUserId the Keycloak user ID
+     * @return future completed with true once the notification was processed
+     */
+    CompletableFuture<Boolean> notifyLocalCredentialsAddedAsync(String keycloakUserId);
+
+    /**
+     * Notifies the Members module, in one call, that an account has been activated
+     * in Keycloak and that it has local credentials (password setup).
+     * <p>
+     * Equivalent to {@link #notifyAccountActivatedAsync(UUID, String)} plus
+     * {@link #notifyLocalCredentialsAddedAsync(String)}, which are used instead when
+     * the Members module does not support the combined notification.
+     * </p>
+     *
+     * @param memberId       the internal member identifier (UUID)
+     * @param keycloakUserId the Keycloak identifier (sub claim)
+     * @return future completed with true once both facts were processed
+     */
+    CompletableFuture<Boolean> notifyAccountActivatedWithCredentialsAsync(UUID memberId, String keycloakUserId);
 }
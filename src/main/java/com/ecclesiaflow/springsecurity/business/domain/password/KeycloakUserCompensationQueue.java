@@ -0,0 +1,24 @@
+package com.ecclesiaflow.springsecurity.business.domain.password;
+
+/**
+ * Durable queue of Keycloak users to delete because the operation that created
+ * them failed (compensation of a password setup).
+ * <p>
+ * Deletions are retried in the background until Keycloak confirms them, so an
+ * orphaned user does not depend on the request thread, or on Keycloak being
+ * reachable at the time of the failure.
+ * </p>
+ */
+public interface KeycloakUserCompensationQueue {
+
+    /**
+     * Queues the deletion of a Keycloak user.
+     * <p>
+     * Committed in its own transaction, so it survives the rollback of the failed
+     * operation. Queuing a user that is already queued is a no-op.
+     * </p>
+     *
+     * @param keycloakUserId the Keycloak identifier (sub claim)
+     */
+    void enqueueDeletion(String keycloakUserId);
+}
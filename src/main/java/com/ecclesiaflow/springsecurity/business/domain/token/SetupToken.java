@@ -17,7 +17,7 @@ import java.util.UUID;
 public class SetupToken {
 
     private final UUID id;
-    private final String tokenHash;
+    private final TokenHash tokenHash;
     private final String email;
     private final UUID memberId;
     private final TokenPurpose purpose;
@@ -32,7 +32,8 @@ public class SetupToken {
     public enum TokenStatus {
         ISSUED,
         EXPIRED,
-        REVOKED
+        REVOKED,
+        CONSUMED
     }
 
     public boolean isExpired() {
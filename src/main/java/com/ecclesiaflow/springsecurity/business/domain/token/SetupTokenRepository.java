@@ -1,6 +1,8 @@
 package com.ecclesiaflow.springsecurity.business.domain.token;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -10,13 +12,43 @@ import java.util.UUID;
  */
 public interface SetupTokenRepository {
 
-    Optional<SetupToken> findValidToken(String tokenHash, LocalDateTime now);
+    Optional<SetupToken> findValidToken(TokenHash tokenHash, LocalDateTime now);
 
     SetupToken save(SetupToken token);
 
+    List<SetupToken> saveAll(List<SetupToken> tokens);
+
     void delete(SetupToken token);
+
+    /**
+     * Loads a token by hash, whatever its status.
+     */
+    Optional<SetupToken> findByTokenHash(TokenHash tokenHash);
+
+    /**
+     * Atomically moves the issued, unexpired token of {@code purpose} with this hash
+     * to {@code CONSUMED}, in a single conditional update.
+     *
+     * @return {@code true} if this call consumed the token, {@code false} if there is
+     *         no such token or it was already consumed, revoked or expired
+     */
+    boolean claim(TokenHash tokenHash, SetupToken.TokenPurpose purpose, LocalDateTime now);
+
+    /**
+     * Moves a consumed token back to {@code ISSUED}, undoing {@link #claim}.
+     */
+    void release(SetupToken token);
     
+    /**
+     * Revokes the member's issued and consumed tokens, so a consumed one can no
+     * longer be {@linkplain #release released} once a new token supersedes it.
+     */
     int revokeTokensForMember(UUID memberId);
 
+    /**
+     * Same as {@link #revokeTokensForMember} for several members at once.
+     */
+    int revokeTokensForMembers(Collection<UUID> memberIds);
+
     boolean existsValidTokenForMember(UUID memberId, LocalDateTime now);
 }
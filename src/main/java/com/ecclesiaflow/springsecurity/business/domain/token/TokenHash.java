@@ -0,0 +1,91 @@
+package com.ecclesiaflow.springsecurity.business.domain.token;
+
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * SHA-256 hash of a setup token.
+ * <p>
+ * Holds the raw digest when it comes from {@link TokenHasher} and the Base64 text
+ * when it is read back from {@code setup_token.token_hash}; the other form is only
+ * computed when asked for. Storage in {@code BINARY(32)} uses the digest as is, so
+ * only Base64 storage pays for the encoding.
+ * </p>
+ * Immutable. Two hashes are equal when their digests are.
+ */
+public final class TokenHash {
+
+    private final byte[] digest;
+    private String base64;
+
+    private TokenHash(byte[] digest, String base64) {
+        this.digest = digest;
+        this.base64 = base64;
+    }
+
+    /**
+     * @param digest raw SHA-256 digest; copied
+     */
+    public static TokenHash of(byte[] digest) {
+        return new TokenHash(digest.clone(), null);
+    }
+
+    /**
+     * @param base64 Base64 (standard alphabet, padded) of the digest; {@code null} gives {@code null}
+     */
+    public static TokenHash fromBase64(String base64) {
+        return base64 == null ? null : new TokenHash(null, base64);
+    }
+
+    /** Takes ownership of a freshly computed digest, without copying it. */
+    static TokenHash wrap(byte[] digest) {
+        return new TokenHash(digest, null);
+    }
+
+    /**
+     * @return a copy of the raw digest
+     */
+    public byte[] bytes() {
+        return digest != null ? digest.clone() : Base64.getDecoder().decode(base64);
+    }
+
+    /**
+     * @return Base64 (standard alphabet, padded) of the digest
+     */
+    public String base64() {
+        String encoded = base64;
+        if (encoded == null) {
+            encoded = Base64.getEncoder().encodeToString(digest);
+            base64 = encoded;
+        }
+        return encoded;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof TokenHash that)) {
+            return false;
+        }
+        if (digest == null && that.digest == null) {
+            return base64.equals(that.base64);
+        }
+        return Arrays.equals(rawDigest(), that.rawDigest());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(rawDigest());
+    }
+
+    @Override
+    public String toString() {
+        return "TokenHash[" + base64() + "]";
+    }
+
+    private byte[] rawDigest() {
+        return digest != null ? digest : Base64.getDecoder().decode(base64);
+    }
+}
@@ -0,0 +1,111 @@
+package com.ecclesiaflow.springsecurity.business.domain.token;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Computes the SHA-256 {@link TokenHash} of a setup token.
+ * <p>
+ * Digests and their byte buffers are kept in a small lock-free pool rather than
+ * in {@link ThreadLocal}s, so virtual threads (one per request, never reused) share
+ * the same few instances instead of creating one each. When every slot is busy a
+ * temporary workspace is created and dropped afterwards. For the usual ASCII
+ * token the only allocations are the resulting digest and its {@link TokenHash};
+ * Base64 encoding is left to the storage modes that need it.
+ * </p>
+ * Thread-safe. Pure Java, no infrastructure dependency.
+ */
+public final class TokenHasher {
+
+    private static final String ALGORITHM = "SHA-256";
+    private static final int DIGEST_LENGTH = 32;
+    /** Raw tokens are 43 Base64url characters; the buffer leaves room for longer inputs. */
+    private static final int INPUT_BUFFER_LENGTH = 128;
+
+    private final AtomicReferenceArray<Workspace> pool;
+    private final int mask;
+
+    public TokenHasher() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * @param poolSize maximum number of pooled digests, rounded up to a power of two
+     */
+    public TokenHasher(int poolSize) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        int size = Integer.highestOneBit(poolSize);
+        if (size < poolSize) {
+            size <<= 1;
+        }
+        this.pool = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Hashes a raw token.
+     *
+     * @param rawToken the token sent to the user
+     * @return its SHA-256 digest
+     */
+    public TokenHash hash(String rawToken) {
+        int slot = (int) Thread.currentThread().threadId() & mask;
+        Workspace workspace = pool.getAndSet(slot, null);
+        if (workspace == null) {
+            workspace = new Workspace();
+        }
+        try {
+            return workspace.hash(rawToken);
+        } finally {
+            pool.set(slot, workspace);
+        }
+    }
+
+    private static final class Workspace {
+
+        private final MessageDigest digest;
+        private final byte[] input = new byte[INPUT_BUFFER_LENGTH];
+
+        private Workspace() {
+            try {
+                this.digest = MessageDigest.getInstance(ALGORITHM);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 algorithm not available", e);
+            }
+        }
+
+        private TokenHash hash(String rawToken) {
+            byte[] hash = new byte[DIGEST_LENGTH];
+            try {
+                int length = rawToken.length();
+                if (length <= input.length && copyAscii(rawToken, length)) {
+                    digest.update(input, 0, length);
+                } else {
+                    digest.update(rawToken.getBytes(StandardCharsets.UTF_8));
+                }
+                digest.digest(hash, 0, DIGEST_LENGTH);
+            } catch (DigestException e) {
+                digest.reset();
+                throw new IllegalStateException("SHA-256 digest failed", e);
+            }
+            return TokenHash.wrap(hash);
+        }
+
+        /** ASCII is identical in UTF-8, so characters can be copied byte for byte. */
+        private boolean copyAscii(String rawToken, int length) {
+            for (int i = 0; i < length; i++) {
+                char c = rawToken.charAt(i);
+                if (c >= 0x80) {
+                    return false;
+                }
+                input[i] = (byte) c;
+            }
+            return true;
+        }
+    }
+}
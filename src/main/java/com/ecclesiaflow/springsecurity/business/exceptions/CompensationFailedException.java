@@ -2,7 +2,7 @@ package com.ecclesiaflow.springsecurity.business.exceptions;
 
 /**
  * Thrown when a compensation (rollback) operation fails during a distributed transaction.
- * For example, when deleting an orphaned Keycloak user fails after a downstream error.
+ * For example, when an orphaned Keycloak user cannot be queued for deletion after a downstream error.
  */
 public class CompensationFailedException extends RuntimeException {
 
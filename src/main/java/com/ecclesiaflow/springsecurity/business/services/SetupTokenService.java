@@ -3,6 +3,7 @@ package com.ecclesiaflow.springsecurity.business.services;
 import com.ecclesiaflow.springsecurity.business.domain.token.SetupToken;
 import com.ecclesiaflow.springsecurity.business.exceptions.InvalidTokenException;
 
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -19,6 +20,16 @@ public interface SetupTokenService {
      */
     String generateSetupToken(String email, UUID memberId);
 
+    /**
+     * Generates password setup tokens for many members in one transaction.
+     * Previously issued tokens of these members are revoked with set-based updates
+     * and the new tokens are inserted in JDBC batches.
+     *
+     * @param emailsByMemberId member email keyed by member UUID
+     * @return raw tokens keyed by member UUID, in the iteration order of the input
+     */
+    Map<UUID, String> generateSetupTokens(Map<UUID, String> emailsByMemberId);
+
     /**
      * Validates a token
      *
@@ -29,6 +40,27 @@ public interface SetupTokenService {
      */
     SetupToken validate(String rawToken, SetupToken.TokenPurpose purpose);
 
+    /**
+     * Marks a token consumed with a single conditional update keyed by its hash,
+     * so that only one of several concurrent callers gets it. Joins the caller's
+     * transaction, so other writes can commit with the claim; a caller whose later
+     * steps fail gives the token back with {@link #release(SetupToken)}.
+     *
+     * @param rawToken the raw token received from client
+     * @param purpose  expected purpose (PASSWORD_SETUP)
+     * @return the consumed SetupToken
+     * @throws InvalidTokenException if token is invalid, expired, or already consumed
+     */
+    SetupToken consume(String rawToken, SetupToken.TokenPurpose purpose);
+
+    /**
+     * Makes a token returned by {@link #consume} usable again, after the operation
+     * it was consumed for failed.
+     *
+     * @param token the consumed token
+     */
+    void release(SetupToken token);
+
     /**
      * Deletes a token after successful operation.
      * Should only be called after all operations have succeeded.
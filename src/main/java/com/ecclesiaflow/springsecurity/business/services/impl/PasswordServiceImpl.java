@@ -1,6 +1,9 @@
 package com.ecclesiaflow.springsecurity.business.services.impl;
 
+import com.ecclesiaflow.springsecurity.application.logging.SecurityMaskingUtils;
+import com.ecclesiaflow.springsecurity.business.domain.member.MemberNotificationOutbox;
 import com.ecclesiaflow.springsecurity.business.domain.member.MembersClient;
+import com.ecclesiaflow.springsecurity.business.domain.password.KeycloakUserCompensationQueue;
 import com.ecclesiaflow.springsecurity.business.domain.token.SetupToken;
 import com.ecclesiaflow.springsecurity.business.domain.token.UserTokens;
 import com.ecclesiaflow.springsecurity.business.exceptions.CompensationFailedException;
@@ -12,12 +15,14 @@ import com.ecclesiaflow.springsecurity.io.keycloak.KeycloakTokenResponse;
 import com.ecclesiaflow.springsecurity.web.constants.Messages;
 import com.ecclesiaflow.springsecurity.web.exception.InvalidRequestException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.util.Optional;
 
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PasswordServiceImpl implements PasswordService {
@@ -25,16 +30,34 @@ public class PasswordServiceImpl implements PasswordService {
     private final SetupTokenService setupTokenService;
     private final KeycloakAdminClient keycloakAdminClient;
     private final MembersClient membersClient;
+    private final MemberNotificationOutbox memberNotificationOutbox;
+    private final KeycloakUserCompensationQueue keycloakUserCompensationQueue;
+    private final TransactionOperations transactionOperations;
 
+    /**
+     * Runs without a surrounding transaction: the token claim and the reservation of
+     * the activation notification commit together in a short transaction before any
+     * remote call, so a concurrent submit of the same token fails at once instead of
+     * waiting on a row lock held across Keycloak. The reservation is confirmed once
+     * the Keycloak user exists. If a step fails, the token is released, the
+     * reservation cancelled and the Keycloak user, if created, queued for deletion.
+     */
     @Override
-    @Transactional
     public Optional<UserTokens> setupPassword(String setupToken, String password) {
         SetupToken token;
-        String keycloakUserId = null;
         try {
-            token = setupTokenService.validate(
-                    setupToken, SetupToken.TokenPurpose.PASSWORD_SETUP);
+            token = transactionOperations.execute(status -> {
+                SetupToken consumed = setupTokenService.consume(
+                        setupToken, SetupToken.TokenPurpose.PASSWORD_SETUP);
+                memberNotificationOutbox.reserveAccountActivated(consumed.getMemberId(), consumed.getEmail());
+                return consumed;
+            });
+        } catch (InvalidTokenException e) {
+            throw new InvalidRequestException(Messages.PASSWORD_SETUP_ERROR);
+        }
 
+        String keycloakUserId = null;
+        try {
             boolean isNotConfirmed = membersClient.isEmailNotConfirmed(token.getEmail());
             if (isNotConfirmed) {
                 throw new InvalidRequestException(Messages.PASSWORD_SETUP_ERROR);
@@ -45,16 +68,12 @@ public class PasswordServiceImpl implements PasswordService {
                     password,
                     true);
 
-            membersClient.notifyAccountActivated(token.getMemberId(), keycloakUserId);
-            membersClient.notifyLocalCredentialsAdded(keycloakUserId);
+            // Delivered by the outbox dispatcher; no Members call is made on the
+            // request thread.
+            memberNotificationOutbox.confirmAccountActivated(token.getMemberId(), keycloakUserId);
 
-            setupTokenService.deleteToken(token);
-
-        } catch (InvalidTokenException e) {
-            throw new InvalidRequestException(Messages.PASSWORD_SETUP_ERROR);
-        } catch (KeycloakAdminClient.KeycloakException e) {
-            throw new InvalidRequestException(Messages.PASSWORD_SETUP_ERROR);
         } catch (RuntimeException e) {
+            releaseToken(token);
             if (keycloakUserId != null) {
                 compensateKeycloakUser(keycloakUserId);
             }
@@ -82,9 +101,34 @@ public class PasswordServiceImpl implements PasswordService {
         membersClient.notifyLocalCredentialsAdded(keycloakUserId);
     }
 
+    /**
+     * Gives the token back after a failed setup so the member can retry with the same
+     * link, and drops the reservation in the same transaction. If that fails the token
+     * stays consumed until it expires and is purged, and the dispatcher resolves the
+     * reservation from Keycloak; the member asks for a new link, so the failure is
+     * only logged.
+     */
+    private void releaseToken(SetupToken token) {
+        try {
+            transactionOperations.executeWithoutResult(status -> {
+                setupTokenService.release(token);
+                memberNotificationOutbox.cancelAccountActivated(token.getMemberId());
+            });
+        } catch (RuntimeException e) {
+            log.warn("Setup token {} could not be released after a failed setup - {}: {}",
+                    token.getId(), e.getClass().getSimpleName(),
+                    SecurityMaskingUtils.sanitizeInfra(e.getMessage()));
+        }
+    }
+
+    /**
+     * Queues the deletion of the Keycloak user created by a failed setup; the
+     * compensation worker deletes it in the background, retrying until Keycloak
+     * confirms. Throws only if the deletion could not even be queued.
+     */
     private void compensateKeycloakUser(String keycloakUserId) {
         try {
-            keycloakAdminClient.deleteUser(keycloakUserId);
+            keycloakUserCompensationQueue.enqueueDeletion(keycloakUserId);
         } catch (Exception ex) {
             throw new CompensationFailedException(
                     "Orphaned Keycloak user: " + keycloakUserId, ex);
@@ -2,6 +2,8 @@ package com.ecclesiaflow.springsecurity.business.services.impl;
 
 import com.ecclesiaflow.springsecurity.business.domain.token.SetupToken;
 import com.ecclesiaflow.springsecurity.business.domain.token.SetupTokenRepository;
+import com.ecclesiaflow.springsecurity.business.domain.token.TokenHash;
+import com.ecclesiaflow.springsecurity.business.domain.token.TokenHasher;
 import com.ecclesiaflow.springsecurity.business.exceptions.InvalidTokenException;
 import com.ecclesiaflow.springsecurity.business.services.SetupTokenService;
 import lombok.RequiredArgsConstructor;
@@ -9,12 +11,13 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -26,6 +29,7 @@ public class SetupTokenServiceImpl implements SetupTokenService {
 
     private final SetupTokenRepository setupTokenRepository;
     private final SecureRandom secureRandom = new SecureRandom();
+    private final TokenHasher tokenHasher = new TokenHasher();
 
     @Value("${auth.token.setup.ttl-hours:24}")
     private int setupTokenTtlHours;
@@ -37,19 +41,59 @@ public class SetupTokenServiceImpl implements SetupTokenService {
                 LocalDateTime.now().plusHours(setupTokenTtlHours));
     }
 
+    @Override
+    @Transactional
+    public Map<UUID, String> generateSetupTokens(Map<UUID, String> emailsByMemberId) {
+        if (emailsByMemberId.isEmpty()) {
+            return Map.of();
+        }
+        setupTokenRepository.revokeTokensForMembers(emailsByMemberId.keySet());
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusHours(setupTokenTtlHours);
+        List<SetupToken> setupTokens = new ArrayList<>(emailsByMemberId.size());
+        Map<UUID, String> rawTokens = new LinkedHashMap<>();
+
+        emailsByMemberId.forEach((memberId, email) -> {
+            String rawToken = newRawToken();
+            setupTokens.add(buildIssuedToken(rawToken, email, memberId,
+                    SetupToken.TokenPurpose.PASSWORD_SETUP, expiresAt, now));
+            rawTokens.put(memberId, rawToken);
+        });
+
+        setupTokenRepository.saveAll(setupTokens);
+
+        return rawTokens;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public SetupToken validate(String rawToken, SetupToken.TokenPurpose purpose) {
-        String tokenHash = hashToken(rawToken);
-        
-        SetupToken token = setupTokenRepository.findValidToken(tokenHash, LocalDateTime.now())
-                .orElseThrow(() -> new InvalidTokenException("Token is invalid or expired"));
+        return findValidToken(rawToken, purpose, LocalDateTime.now());
+    }
 
-        if (token.getPurpose() != purpose) {
-            throw new InvalidTokenException("Token purpose mismatch");
+    /**
+     * Claims the token with one conditional update keyed by its hash, then loads the
+     * row that was claimed. Joins the caller's transaction, which should be short and
+     * commit before any remote call, so the row lock is not held across them.
+     */
+    @Override
+    @Transactional
+    public SetupToken consume(String rawToken, SetupToken.TokenPurpose purpose) {
+        TokenHash tokenHash = tokenHasher.hash(rawToken);
+
+        if (!setupTokenRepository.claim(tokenHash, purpose, LocalDateTime.now())) {
+            throw new InvalidTokenException("Token is invalid or expired");
         }
-        
-        return token;
+
+        return setupTokenRepository.findByTokenHash(tokenHash)
+                .orElseThrow(() -> new InvalidTokenException("Token is invalid or expired"));
+    }
+
+    @Override
+    @Transactional
+    public void release(SetupToken token) {
+        setupTokenRepository.release(token);
     }
 
     @Override
@@ -58,37 +102,45 @@ public class SetupTokenServiceImpl implements SetupTokenService {
         setupTokenRepository.delete(token);
     }
 
+    private SetupToken findValidToken(String rawToken, SetupToken.TokenPurpose purpose, LocalDateTime now) {
+        TokenHash tokenHash = tokenHasher.hash(rawToken);
+
+        SetupToken token = setupTokenRepository.findValidToken(tokenHash, now)
+                .orElseThrow(() -> new InvalidTokenException("Token is invalid or expired"));
+
+        if (token.getPurpose() != purpose) {
+            throw new InvalidTokenException("Token purpose mismatch");
+        }
+
+        return token;
+    }
+
     private String generateToken(String email, UUID memberId, SetupToken.TokenPurpose purpose, LocalDateTime expiresAt) {
         setupTokenRepository.revokeTokensForMember(memberId);
 
+        String rawToken = newRawToken();
+        setupTokenRepository.save(buildIssuedToken(rawToken, email, memberId, purpose, expiresAt, LocalDateTime.now()));
+
+        return rawToken;
+    }
+
+    private String newRawToken() {
         byte[] randomBytes = new byte[32];
         secureRandom.nextBytes(randomBytes);
-        
-        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
-        String tokenHash = hashToken(rawToken);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
+    }
 
-        SetupToken setupToken = SetupToken.builder()
-                .tokenHash(tokenHash)
+    private SetupToken buildIssuedToken(String rawToken, String email, UUID memberId,
+                                        SetupToken.TokenPurpose purpose, LocalDateTime expiresAt,
+                                        LocalDateTime createdAt) {
+        return SetupToken.builder()
+                .tokenHash(tokenHasher.hash(rawToken))
                 .email(email)
                 .memberId(memberId)
                 .purpose(purpose)
                 .status(SetupToken.TokenStatus.ISSUED)
                 .expiresAt(expiresAt)
-                .createdAt(LocalDateTime.now())
+                .createdAt(createdAt)
                 .build();
-
-        setupTokenRepository.save(setupToken);
-
-        return rawToken;
-    }
-
-    private String hashToken(String rawToken) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hashBytes = digest.digest(rawToken.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(hashBytes);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-256 algorithm not available", e);
-        }
     }
 }
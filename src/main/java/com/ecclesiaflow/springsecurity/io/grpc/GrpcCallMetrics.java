@@ -0,0 +1,131 @@
+package com.ecclesiaflow.springsecurity.io.grpc;
+
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micrometer meters of the gRPC calls on one side (server or client) of the module.
+ * <p>
+ * Meters are named after the side's prefix, e.g. {@code grpc.server}:
+ * </p>
+ * <ul>
+ *   <li>{@code <prefix>.calls} - timer per method and status, with histogram buckets at the
+ *       configured SLO boundaries, for latency percentiles and SLO ratios</li>
+ *   <li>{@code <prefix>.calls.active} - gauge of the calls in flight per method</li>
+ *   <li>{@code <prefix>.messages.sent} / {@code <prefix>.messages.received} - message counters
+ *       per method</li>
+ * </ul>
+ * <p>
+ * Tags are {@code service}, {@code method}, {@code type} (unary, server streaming...) and, on the
+ * timer, {@code status} (the gRPC status code). Meters are created once per method (and status)
+ * and reused. One instance should exist per side and registry: the gauges read this instance's
+ * counts.
+ * </p>
+ */
+public class GrpcCallMetrics {
+
+    private final MeterRegistry registry;
+    private final String prefix;
+    private final Duration[] serviceLevelObjectives;
+    private final Map<String, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry               registry the meters are published to
+     * @param prefix                 meter name prefix, e.g. {@code grpc.server} or {@code grpc.client}
+     * @param serviceLevelObjectives latency boundaries published as histogram buckets
+     */
+    public GrpcCallMetrics(MeterRegistry registry, String prefix, List<Duration> serviceLevelObjectives) {
+        this.registry = registry;
+        this.prefix = prefix;
+        this.serviceLevelObjectives = serviceLevelObjectives.toArray(Duration[]::new);
+    }
+
+    /**
+     * Starts measuring a call of {@code method}: it is counted in flight until
+     * {@link Call#end(Status.Code)}.
+     */
+    public Call start(MethodDescriptor<?, ?> method) {
+        MethodMeters methodMeters = meters.computeIfAbsent(method.getFullMethodName(), name -> new MethodMeters(method));
+        methodMeters.active.incrementAndGet();
+        return new Call(methodMeters, System.nanoTime());
+    }
+
+    /** One measured call. */
+    public static final class Call {
+
+        private final MethodMeters meters;
+        private final long startNanos;
+        private final AtomicBoolean ended = new AtomicBoolean();
+
+        private Call(MethodMeters meters, long startNanos) {
+            this.meters = meters;
+            this.startNanos = startNanos;
+        }
+
+        public void messageSent() {
+            meters.sent.increment();
+        }
+
+        public void messageReceived() {
+            meters.received.increment();
+        }
+
+        /** Records the call's duration under {@code status}; only the first end of a call counts. */
+        public void end(Status.Code status) {
+            if (ended.compareAndSet(false, true)) {
+                meters.active.decrementAndGet();
+                meters.timer(status).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private final class MethodMeters {
+
+        private final Tags tags;
+        private final AtomicInteger active = new AtomicInteger();
+        private final Counter sent;
+        private final Counter received;
+        private final Map<Status.Code, Timer> timers = new ConcurrentHashMap<>();
+
+        private MethodMeters(MethodDescriptor<?, ?> method) {
+            this.tags = Tags.of(
+                    "service", String.valueOf(method.getServiceName()),
+                    "method", String.valueOf(method.getBareMethodName()),
+                    "type", method.getType().name());
+            Gauge.builder(prefix + ".calls.active", active, AtomicInteger::get)
+                    .description("gRPC calls in flight")
+                    .tags(tags)
+                    .register(registry);
+            this.sent = Counter.builder(prefix + ".messages.sent")
+                    .description("gRPC messages sent")
+                    .tags(tags)
+                    .register(registry);
+            this.received = Counter.builder(prefix + ".messages.received")
+                    .description("gRPC messages received")
+                    .tags(tags)
+                    .register(registry);
+        }
+
+        private Timer timer(Status.Code status) {
+            return timers.computeIfAbsent(status, code -> Timer.builder(prefix + ".calls")
+                    .description("gRPC call duration")
+                    .tags(tags)
+                    .tag("status", code.name())
+                    .serviceLevelObjectives(serviceLevelObjectives)
+                    .register(registry));
+        }
+    }
+}
@@ -3,14 +3,28 @@ package com.ecclesiaflow.springsecurity.io.grpc.server;
 import com.ecclesiaflow.grpc.auth.*;
 import com.ecclesiaflow.springsecurity.business.services.SetupTokenService;
 import com.ecclesiaflow.springsecurity.io.keycloak.KeycloakAdminClient;
+import com.ecclesiaflow.springsecurity.io.keycloak.KeycloakProvisioningResult;
+import com.ecclesiaflow.springsecurity.io.keycloak.KeycloakUserRepresentation;
 import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+
+import static com.ecclesiaflow.springsecurity.io.grpc.server.GrpcRequestValidator.validateAndParseUUID;
+import static com.ecclesiaflow.springsecurity.io.grpc.server.GrpcRequestValidator.validateEmail;
 
 /**
  * gRPC service implementation for Auth module.
@@ -26,6 +40,8 @@ public class AuthGrpcServiceImpl extends AuthServiceGrpc.AuthServiceImplBase {
 
     private final SetupTokenService setupTokenService;
     private final KeycloakAdminClient keycloakAdminClient;
+    private final TemporaryTokenStreamProcessor temporaryTokenStreamProcessor;
+    private final KeycloakUserBatchProcessor keycloakUserBatchProcessor;
 
     @Value("${auth.token.setup.ttl-hours:24}")
     private int setupTokenTtlHours;
@@ -33,6 +49,15 @@ public class AuthGrpcServiceImpl extends AuthServiceGrpc.AuthServiceImplBase {
     @Value("${auth.password.setup.endpoint:/ecclesiaflow/auth/password/setup}")
     private String passwordSetupEndpoint;
 
+    @Value("${auth.token.setup.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    @Value("${keycloak.admin.partial-import.max-users:10000}")
+    private int maxProvisionSize;
+
+    @Value("${keycloak.admin.batch.max-size:10000}")
+    private int maxUserBatchSize;
+
     /**
      * Generates an opaque temporary token for password setup.
      * Called by Members module after email confirmation.
@@ -54,13 +79,7 @@ public class AuthGrpcServiceImpl extends AuthServiceGrpc.AuthServiceImplBase {
 
             String temporaryToken = setupTokenService.generateSetupToken(email, memberId);
 
-            TemporaryTokenResponse response = TemporaryTokenResponse.newBuilder()
-                    .setTemporaryToken(temporaryToken)
-                    .setExpiresInSeconds(setupTokenTtlHours * 3600)
-                    .setPasswordEndpoint(passwordSetupEndpoint)
-                    .build();
-
-            responseObserver.onNext(response);
+            responseObserver.onNext(tokenResponse(temporaryToken));
             responseObserver.onCompleted();
 
         } catch (IllegalArgumentException e) {
@@ -71,6 +90,102 @@ public class AuthGrpcServiceImpl extends AuthServiceGrpc.AuthServiceImplBase {
         }
     }
 
+    /**
+     * Generates temporary tokens for many members in one call.
+     * Called by Members module when importing a congregation.
+     * <p>
+     * Each item is validated on its own: invalid items and repeated member ids are
+     * reported in their result and do not fail the batch. All valid items are issued
+     * in a single transaction, so a storage failure fails the whole RPC.
+     * </p>
+     *
+     * @param request          batch of email/memberId pairs
+     * @param responseObserver observer for async response
+     */
+    @Override
+    public void generateTemporaryTokens(
+            TemporaryTokensBatchRequest request,
+            StreamObserver<TemporaryTokensBatchResponse> responseObserver) {
+
+        if (request.getItemsCount() > maxBatchSize) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("Batch size " + request.getItemsCount() + " exceeds maximum of " + maxBatchSize)
+                    .asRuntimeException());
+            return;
+        }
+
+        try {
+            List<TemporaryTokenResult.Builder> results = new ArrayList<>(request.getItemsCount());
+            Map<UUID, String> emailsByMemberId = new LinkedHashMap<>();
+            Map<UUID, TemporaryTokenResult.Builder> resultsByMemberId = new LinkedHashMap<>();
+
+            for (int index = 0; index < request.getItemsCount(); index++) {
+                TemporaryTokenRequest item = request.getItems(index);
+                TemporaryTokenResult.Builder result = TemporaryTokenResult.newBuilder()
+                        .setIndex(index)
+                        .setMemberId(item.getMemberId());
+                results.add(result);
+                try {
+                    validateEmail(item.getEmail());
+                    UUID memberId = validateAndParseUUID(item.getMemberId());
+                    if (emailsByMemberId.putIfAbsent(memberId, item.getEmail()) != null) {
+                        result.setError(itemError(Status.Code.ALREADY_EXISTS, "Duplicate member_id in batch"));
+                        continue;
+                    }
+                    resultsByMemberId.put(memberId, result);
+                } catch (IllegalArgumentException e) {
+                    result.setError(itemError(Status.Code.INVALID_ARGUMENT, e.getMessage()));
+                }
+            }
+
+            Map<UUID, String> tokens = setupTokenService.generateSetupTokens(emailsByMemberId);
+            resultsByMemberId.forEach((memberId, result) -> result.setToken(tokenResponse(tokens.get(memberId))));
+
+            TemporaryTokensBatchResponse.Builder response = TemporaryTokensBatchResponse.newBuilder()
+                    .setIssuedCount(resultsByMemberId.size())
+                    .setFailedCount(results.size() - resultsByMemberId.size());
+            results.forEach(response::addResults);
+
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+
+        } catch (Exception e) {
+            responseObserver.onError(Status.INTERNAL
+                    .withDescription("Failed to generate temporary tokens")
+                    .asRuntimeException());
+        }
+    }
+
+    /**
+     * Streams temporary tokens back as requests are persisted in micro-batches.
+     * Called by Members module for large imports; see {@link TemporaryTokenStreamProcessor}
+     * for batching and flow control.
+     *
+     * @param responseObserver observer for streamed per-request results
+     * @return observer for the streamed email/memberId pairs
+     */
+    @Override
+    public StreamObserver<TemporaryTokenRequest> streamTemporaryTokens(
+            StreamObserver<TemporaryTokenResult> responseObserver) {
+        return temporaryTokenStreamProcessor.open(
+                (ServerCallStreamObserver<TemporaryTokenResult>) responseObserver, this::tokenResponse);
+    }
+
+    private TemporaryTokenResponse tokenResponse(String temporaryToken) {
+        return TemporaryTokenResponse.newBuilder()
+                .setTemporaryToken(temporaryToken)
+                .setExpiresInSeconds(setupTokenTtlHours * 3600)
+                .setPasswordEndpoint(passwordSetupEndpoint)
+                .build();
+    }
+
+    static TemporaryTokenError itemError(Status.Code code, String message) {
+        return TemporaryTokenError.newBuilder()
+                .setCode(code.name())
+                .setMessage(message)
+                .build();
+    }
+
     private static void handleInternalError(StreamObserver<TemporaryTokenResponse> responseObserver) {
         responseObserver.onError(Status.INTERNAL
                 .withDescription("Failed to generate temporary token")
@@ -83,6 +198,100 @@ public class AuthGrpcServiceImpl extends AuthServiceGrpc.AuthServiceImplBase {
                 .asRuntimeException());
     }
 
+    /**
+     * Creates Keycloak users in bulk through the realm partialImport endpoint.
+     * Called by Members module when migrating a congregation.
+     * <p>
+     * Each user is validated on its own: invalid emails and repeated emails are
+     * reported in their result. Valid users are imported in chunks by
+     * {@link KeycloakAdminClient#provisionUsers(List)}; a failed chunk is reported
+     * per user and does not fail the RPC.
+     * </p>
+     *
+     * @param request          users to create
+     * @param responseObserver observer for async response
+     */
+    @Override
+    public void provisionUsers(
+            ProvisionUsersRequest request,
+            StreamObserver<ProvisionUsersResponse> responseObserver) {
+
+        if (request.getUsersCount() > maxProvisionSize) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("Batch size " + request.getUsersCount() + " exceeds maximum of " + maxProvisionSize)
+                    .asRuntimeException());
+            return;
+        }
+
+        try {
+            List<ProvisionUserResult.Builder> results = new ArrayList<>(request.getUsersCount());
+            List<ProvisionUserResult.Builder> pending = new ArrayList<>();
+            List<KeycloakUserRepresentation> users = new ArrayList<>();
+            Set<String> usernames = new HashSet<>();
+
+            for (int index = 0; index < request.getUsersCount(); index++) {
+                ProvisionUserRequest item = request.getUsers(index);
+                ProvisionUserResult.Builder result = ProvisionUserResult.newBuilder()
+                        .setIndex(index)
+                        .setEmail(item.getEmail());
+                results.add(result);
+                try {
+                    validateEmail(item.getEmail());
+                    // Keycloak stores usernames and emails in lower case
+                    String username = item.getEmail().toLowerCase(Locale.ROOT);
+                    if (!usernames.add(username)) {
+                        result.setError(itemError(Status.Code.ALREADY_EXISTS, "Duplicate email in batch"));
+                        continue;
+                    }
+                    pending.add(result);
+                    users.add(KeycloakUserRepresentation.builder()
+                            .username(username)
+                            .email(username)
+                            .emailVerified(item.getEmailVerified())
+                            .enabled(true)
+                            .build());
+                } catch (IllegalArgumentException e) {
+                    result.setError(itemError(Status.Code.INVALID_ARGUMENT, e.getMessage()));
+                }
+            }
+
+            List<KeycloakProvisioningResult> provisioned = users.isEmpty()
+                    ? List.of()
+                    : keycloakAdminClient.provisionUsers(users);
+
+            int createdCount = 0;
+            int existingCount = 0;
+            for (int i = 0; i < pending.size(); i++) {
+                KeycloakProvisioningResult outcome = provisioned.get(i);
+                switch (outcome.outcome()) {
+                    case CREATED -> createdCount++;
+                    case EXISTING -> existingCount++;
+                    case FAILED -> {
+                        pending.get(i).setError(itemError(Status.Code.UNAVAILABLE, outcome.failureReason()));
+                        continue;
+                    }
+                }
+                pending.get(i).setUser(ProvisionedUser.newBuilder()
+                        .setKeycloakUserId(outcome.keycloakUserId())
+                        .setCreated(outcome.outcome() == KeycloakProvisioningResult.Outcome.CREATED));
+            }
+
+            ProvisionUsersResponse.Builder response = ProvisionUsersResponse.newBuilder()
+                    .setCreatedCount(createdCount)
+                    .setExistingCount(existingCount)
+                    .setFailedCount(results.size() - createdCount - existingCount);
+            results.forEach(response::addResults);
+
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+
+        } catch (Exception e) {
+            responseObserver.onError(Status.INTERNAL
+                    .withDescription("Failed to provision Keycloak users")
+                    .asRuntimeException());
+        }
+    }
+
     /**
      * Deletes a Keycloak user by their Keycloak user ID.
      * Called by Members module before deleting a member from the database.
@@ -150,6 +359,44 @@ public class AuthGrpcServiceImpl extends AuthServiceGrpc.AuthServiceImplBase {
         }
     }
 
+    /**
+     * Deletes many Keycloak users, streaming one result per user.
+     * Called by Members module when a church is offboarded; see
+     * {@link KeycloakUserBatchProcessor} for parallelism and cancellation.
+     */
+    @Override
+    public void deleteKeycloakUsers(
+            KeycloakUsersBatchRequest request,
+            StreamObserver<KeycloakUserOperationResult> responseObserver) {
+        processUserBatch(request, keycloakAdminClient::deleteUser, "Failed to delete Keycloak user", responseObserver);
+    }
+
+    /**
+     * Disables many Keycloak users, streaming one result per user.
+     * Called by Members module when a church is offboarded.
+     */
+    @Override
+    public void disableKeycloakUsers(
+            KeycloakUsersBatchRequest request,
+            StreamObserver<KeycloakUserOperationResult> responseObserver) {
+        processUserBatch(request, keycloakAdminClient::disableUser, "Failed to disable Keycloak user", responseObserver);
+    }
+
+    private void processUserBatch(KeycloakUsersBatchRequest request,
+                                  Consumer<String> operation,
+                                  String failureMessage,
+                                  StreamObserver<KeycloakUserOperationResult> responseObserver) {
+        if (request.getKeycloakUserIdsCount() > maxUserBatchSize) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("Batch size " + request.getKeycloakUserIdsCount()
+                            + " exceeds maximum of " + maxUserBatchSize)
+                    .asRuntimeException());
+            return;
+        }
+        keycloakUserBatchProcessor.process(request.getKeycloakUserIdsList(), operation, failureMessage,
+                (ServerCallStreamObserver<KeycloakUserOperationResult>) responseObserver);
+    }
+
     /** Updates a Keycloak user's email. Called during email change confirmation. */
     @Override
     public void updateKeycloakUserEmail(
@@ -184,44 +431,4 @@ public class AuthGrpcServiceImpl extends AuthServiceGrpc.AuthServiceImplBase {
         }
     }
 
-    // ========================================================================
-    // Private utility methods
-    // ========================================================================
-
-    /**
-     * Validates email address format.
-     *
-     * @param email the email to validate
-     * @throws IllegalArgumentException if the email is invalid
-     */
-    private void validateEmail(String email) {
-        if (email.isBlank()) {
-            throw new IllegalArgumentException("Email cannot be empty");
-        }
-        
-        if (!email.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$")) {
-            throw new IllegalArgumentException("Invalid email format");
-        }
-    }
-
-    /**
-     * Validates and parses a UUID from a string.
-     *
-     * @param uuidStr the UUID string to parse
-     * @return the parsed UUID
-     * @throws IllegalArgumentException if the UUID is invalid
-     */
-    private UUID validateAndParseUUID(String uuidStr) {
-        if (uuidStr.isBlank()) {
-            throw new IllegalArgumentException("member_id" + " cannot be empty");
-        }
-        
-        try {
-            return UUID.fromString(uuidStr);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException(
-                    "member_id" + " must be a valid UUID format: " + e.getMessage());
-        }
-    }
-
 }
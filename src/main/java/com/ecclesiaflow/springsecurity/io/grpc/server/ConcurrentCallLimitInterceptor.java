@@ -0,0 +1,80 @@
+package com.ecclesiaflow.springsecurity.io.grpc.server;
+
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the number of calls the gRPC server handles at once.
+ * <p>
+ * Calls over the limit are closed immediately with {@code RESOURCE_EXHAUSTED}
+ * instead of queueing, so clients can back off or retry elsewhere. A permit is
+ * held until the call completes or is cancelled, including for streaming calls.
+ * </p>
+ */
+public class ConcurrentCallLimitInterceptor implements ServerInterceptor {
+
+    private final Semaphore permits;
+
+    public ConcurrentCallLimitInterceptor(int maxConcurrentCalls) {
+        if (maxConcurrentCalls <= 0) {
+            throw new IllegalArgumentException("maxConcurrentCalls must be positive");
+        }
+        this.permits = new Semaphore(maxConcurrentCalls);
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+            ServerCall<ReqT, RespT> call,
+            Metadata headers,
+            ServerCallHandler<ReqT, RespT> next) {
+
+        if (!permits.tryAcquire()) {
+            call.close(Status.RESOURCE_EXHAUSTED.withDescription("Too many concurrent calls"), new Metadata());
+            return new ServerCall.Listener<>() {};
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+
+        try {
+            return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(next.startCall(call, headers)) {
+                @Override
+                public void onComplete() {
+                    try {
+                        super.onComplete();
+                    } finally {
+                        release.run();
+                    }
+                }
+
+                @Override
+                public void onCancel() {
+                    try {
+                        super.onCancel();
+                    } finally {
+                        release.run();
+                    }
+                }
+            };
+        } catch (RuntimeException e) {
+            release.run();
+            throw e;
+        }
+    }
+
+    /** Permits currently free; exposed for tests and diagnostics. */
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+}
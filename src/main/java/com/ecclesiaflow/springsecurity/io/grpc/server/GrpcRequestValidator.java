@@ -0,0 +1,53 @@
+package com.ecclesiaflow.springsecurity.io.grpc.server;
+
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Input validation shared by the gRPC auth endpoints (unary, batch and streaming).
+ * Failures are reported as {@link IllegalArgumentException} and mapped to
+ * {@code INVALID_ARGUMENT} by the callers.
+ */
+final class GrpcRequestValidator {
+
+    private static final Pattern EMAIL_PATTERN =
+            Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+
+    private GrpcRequestValidator() {}
+
+    /**
+     * Validates email address format.
+     *
+     * @param email the email to validate
+     * @throws IllegalArgumentException if the email is invalid
+     */
+    static void validateEmail(String email) {
+        if (email.isBlank()) {
+            throw new IllegalArgumentException("Email cannot be empty");
+        }
+
+        if (!EMAIL_PATTERN.matcher(email).matches()) {
+            throw new IllegalArgumentException("Invalid email format");
+        }
+    }
+
+    /**
+     * Validates and parses a UUID from a string.
+     *
+     * @param uuidStr the UUID string to parse
+     * @return the parsed UUID
+     * @throws IllegalArgumentException if the UUID is invalid
+     */
+    static UUID validateAndParseUUID(String uuidStr) {
+        if (uuidStr.isBlank()) {
+            throw new IllegalArgumentException("member_id" + " cannot be empty");
+        }
+
+        try {
+            return UUID.fromString(uuidStr);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "member_id" + " must be a valid UUID format: " + e.getMessage());
+        }
+    }
+}
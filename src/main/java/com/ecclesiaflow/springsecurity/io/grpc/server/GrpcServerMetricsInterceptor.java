@@ -0,0 +1,78 @@
+package com.ecclesiaflow.springsecurity.io.grpc.server;
+
+import com.ecclesiaflow.springsecurity.io.grpc.GrpcCallMetrics;
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+
+/**
+ * Publishes the latency, in-flight count and message counts of incoming gRPC calls
+ * as {@code grpc.server.*} meters (see {@link GrpcCallMetrics}).
+ * <p>
+ * A call is timed from its arrival until the server closes it, under the status it
+ * is closed with; a call cancelled by the client or by its deadline before being
+ * closed is recorded as {@code CANCELLED}. Installed outermost, it also records the
+ * calls rejected by inner interceptors such as {@link ConcurrentCallLimitInterceptor}.
+ * </p>
+ */
+public class GrpcServerMetricsInterceptor implements ServerInterceptor {
+
+    private final GrpcCallMetrics metrics;
+
+    public GrpcServerMetricsInterceptor(GrpcCallMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+            ServerCall<ReqT, RespT> call,
+            Metadata headers,
+            ServerCallHandler<ReqT, RespT> next) {
+
+        GrpcCallMetrics.Call measured = metrics.start(call.getMethodDescriptor());
+        ServerCall<ReqT, RespT> monitoredCall = new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void sendMessage(RespT message) {
+                super.sendMessage(message);
+                measured.messageSent();
+            }
+
+            @Override
+            public void close(Status status, Metadata trailers) {
+                try {
+                    super.close(status, trailers);
+                } finally {
+                    measured.end(status.getCode());
+                }
+            }
+        };
+
+        ServerCall.Listener<ReqT> listener;
+        try {
+            listener = next.startCall(monitoredCall, headers);
+        } catch (RuntimeException e) {
+            measured.end(Status.fromThrowable(e).getCode());
+            throw e;
+        }
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(listener) {
+            @Override
+            public void onMessage(ReqT message) {
+                measured.messageReceived();
+                super.onMessage(message);
+            }
+
+            @Override
+            public void onCancel() {
+                try {
+                    super.onCancel();
+                } finally {
+                    measured.end(Status.Code.CANCELLED);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,176 @@
+package com.ecclesiaflow.springsecurity.io.grpc.server;
+
+import com.ecclesiaflow.grpc.auth.KeycloakUserOperationResult;
+import io.grpc.Context;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Drives {@code DeleteKeycloakUsers} and {@code DisableKeycloakUsers} calls: applies
+ * a blocking Keycloak operation to every user id on virtual threads and streams one
+ * result per id back as soon as it completes.
+ * <p>
+ * At most {@code keycloak.admin.batch.concurrency} operations of a call run at once.
+ * Dispatching stops as soon as the call is cancelled (client cancel or expired gRPC
+ * deadline); operations already running finish but their results are dropped.
+ * Results are not held back for flow control: a call carries at most
+ * {@code keycloak.admin.batch.max-size} ids, so the response buffer is bounded.
+ * </p>
+ * Blank ids are reported as {@code INVALID_ARGUMENT} and repeated ids as
+ * {@code ALREADY_EXISTS}; a failed Keycloak call is reported as {@code INTERNAL}.
+ */
+@Component
+@ConditionalOnProperty(name = "grpc.enabled", havingValue = "true", matchIfMissing = false)
+public class KeycloakUserBatchProcessor {
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("keycloak-batch-", 0).factory());
+
+    @Value("${keycloak.admin.batch.concurrency:8}")
+    private int concurrency;
+
+    /**
+     * Starts processing a new call. Must be invoked from the service method so the
+     * cancellation handler is registered before the call can be cancelled.
+     *
+     * @param keycloakUserIds  ids to process, in request order
+     * @param operation        blocking Keycloak call applied to each id
+     * @param failureMessage   message reported when the operation fails for an id
+     * @param responseObserver response side of the call
+     */
+    public void process(List<String> keycloakUserIds,
+                        Consumer<String> operation,
+                        String failureMessage,
+                        ServerCallStreamObserver<KeycloakUserOperationResult> responseObserver) {
+        UserBatch batch = new UserBatch(keycloakUserIds, operation, failureMessage, responseObserver, Context.current());
+        responseObserver.setOnCancelHandler(batch::onCancel);
+        executor.execute(batch::dispatch);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private final class UserBatch {
+
+        private final List<String> keycloakUserIds;
+        private final Consumer<String> operation;
+        private final String failureMessage;
+        private final ServerCallStreamObserver<KeycloakUserOperationResult> responseObserver;
+        private final Context context;
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final Semaphore permits = new Semaphore(concurrency);
+
+        private UserBatch(List<String> keycloakUserIds,
+                          Consumer<String> operation,
+                          String failureMessage,
+                          ServerCallStreamObserver<KeycloakUserOperationResult> responseObserver,
+                          Context context) {
+            this.keycloakUserIds = keycloakUserIds;
+            this.operation = operation;
+            this.failureMessage = failureMessage;
+            this.responseObserver = responseObserver;
+            this.context = context;
+        }
+
+        private void onCancel() {
+            cancelled.set(true);
+        }
+
+        private boolean isCancelled() {
+            return cancelled.get() || context.isCancelled();
+        }
+
+        private void dispatch() {
+            Set<String> seen = new HashSet<>();
+            try {
+                for (int index = 0; index < keycloakUserIds.size(); index++) {
+                    if (isCancelled()) {
+                        return;
+                    }
+                    String keycloakUserId = keycloakUserIds.get(index);
+                    KeycloakUserOperationResult.Builder result = KeycloakUserOperationResult.newBuilder()
+                            .setIndex(index)
+                            .setKeycloakUserId(keycloakUserId);
+                    if (keycloakUserId.isBlank()) {
+                        write(result.setError(AuthGrpcServiceImpl.itemError(
+                                Status.Code.INVALID_ARGUMENT, "keycloak_user_id cannot be empty")));
+                        continue;
+                    }
+                    if (!seen.add(keycloakUserId)) {
+                        write(result.setError(AuthGrpcServiceImpl.itemError(
+                                Status.Code.ALREADY_EXISTS, "Duplicate keycloak_user_id in batch")));
+                        continue;
+                    }
+                    permits.acquire();
+                    executor.execute(() -> apply(keycloakUserId, result));
+                }
+                permits.acquire(concurrency);
+                complete();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail();
+            } catch (RejectedExecutionException e) {
+                fail();
+            }
+        }
+
+        private void apply(String keycloakUserId, KeycloakUserOperationResult.Builder result) {
+            try {
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    operation.accept(keycloakUserId);
+                    result.setSuccess(true);
+                } catch (Exception e) {
+                    result.setError(AuthGrpcServiceImpl.itemError(Status.Code.INTERNAL, failureMessage));
+                }
+                write(result);
+            } finally {
+                permits.release();
+            }
+        }
+
+        private void write(KeycloakUserOperationResult.Builder result) {
+            synchronized (responseObserver) {
+                if (!isCancelled()) {
+                    responseObserver.onNext(result.build());
+                }
+            }
+        }
+
+        private void complete() {
+            synchronized (responseObserver) {
+                if (!isCancelled()) {
+                    responseObserver.onCompleted();
+                }
+            }
+        }
+
+        private void fail() {
+            synchronized (responseObserver) {
+                if (!isCancelled()) {
+                    responseObserver.onError(Status.UNAVAILABLE
+                            .withDescription("Server is shutting down")
+                            .asRuntimeException());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.ecclesiaflow.springsecurity.io.grpc.server;
+
+import com.ecclesiaflow.grpc.auth.TemporaryTokenRequest;
+import com.ecclesiaflow.grpc.auth.TemporaryTokenResponse;
+import com.ecclesiaflow.grpc.auth.TemporaryTokenResult;
+import com.ecclesiaflow.springsecurity.application.logging.SecurityMaskingUtils;
+import com.ecclesiaflow.springsecurity.business.services.SetupTokenService;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Drives {@code StreamTemporaryTokens} calls: groups incoming requests into
+ * micro-batches issued through {@link SetupTokenService#generateSetupTokens}
+ * and streams one result per request back.
+ * <p>
+ * A batch is flushed when it reaches {@code batch-size} items or when its first
+ * item has waited {@code linger-ms}. Inbound messages are requested manually:
+ * at most two batches' worth of requests are buffered (pending, in flight or
+ * waiting for the client to read). Results are only written while the response
+ * stream {@link ServerCallStreamObserver#isReady() is ready}, so a slow consumer
+ * stops further requests from being read instead of growing server memory.
+ * </p>
+ * <p>
+ * Batches are stored on virtual threads, one batch at a time per call and never
+ * while holding the call's lock: the linger scheduler only fires timers, so a slow
+ * insert on one call neither delays other calls' linger flushes nor blocks the
+ * call's own inbound messages.
+ * </p>
+ * Repeated member ids within one micro-batch are reported as {@code ALREADY_EXISTS};
+ * across batches the later request revokes the earlier token, as with unary calls.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "grpc.enabled", havingValue = "true", matchIfMissing = false)
+public class TemporaryTokenStreamProcessor {
+
+    private final SetupTokenService setupTokenService;
+
+    private final ScheduledExecutorService lingerScheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("token-stream-linger").daemon().factory());
+
+    private final ExecutorService flushExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("token-stream-flush-", 0).factory());
+
+    @Value("${auth.token.setup.stream.batch-size:100}")
+    private int batchSize;
+
+    @Value("${auth.token.setup.stream.linger-ms:50}")
+    private long lingerMs;
+
+    /**
+     * Starts processing a new call. Must be invoked from the service method so
+     * automatic inbound flow control can still be disabled.
+     *
+     * @param responseObserver response side of the call
+     * @param tokenResponse    builds the success payload for a raw token
+     * @return observer receiving the client's requests
+     */
+    public StreamObserver<TemporaryTokenRequest> open(
+            ServerCallStreamObserver<TemporaryTokenResult> responseObserver,
+            Function<String, TemporaryTokenResponse> tokenResponse) {
+        TemporaryTokenStream stream = new TemporaryTokenStream(responseObserver, tokenResponse);
+        stream.start();
+        return stream;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lingerScheduler.shutdownNow();
+        flushExecutor.shutdownNow();
+    }
+
+    private final class TemporaryTokenStream implements StreamObserver<TemporaryTokenRequest> {
+
+        private final ServerCallStreamObserver<TemporaryTokenResult> responseObserver;
+        private final Function<String, TemporaryTokenResponse> tokenResponse;
+
+        private Map<UUID, String> pendingEmails = new LinkedHashMap<>();
+        private Map<UUID, TemporaryTokenResult.Builder> pendingResults = new LinkedHashMap<>();
+        private final Deque<TemporaryTokenResult> outbound = new ArrayDeque<>();
+
+        private int nextIndex;
+        private int requested;
+        private int storing;
+        private boolean halfClosed;
+        private boolean done;
+        private ScheduledFuture<?> lingerTask;
+
+        private TemporaryTokenStream(ServerCallStreamObserver<TemporaryTokenResult> responseObserver,
+                                     Function<String, TemporaryTokenResponse> tokenResponse) {
+            this.responseObserver = responseObserver;
+            this.tokenResponse = tokenResponse;
+        }
+
+        private synchronized void start() {
+            responseObserver.disableAutoRequest();
+            responseObserver.setOnReadyHandler(this::onReady);
+            responseObserver.setOnCancelHandler(this::onCancel);
+            requestMore();
+        }
+
+        @Override
+        public synchronized void onNext(TemporaryTokenRequest request) {
+            if (done) {
+                return;
+            }
+            requested--;
+            TemporaryTokenResult.Builder result = TemporaryTokenResult.newBuilder()
+                    .setIndex(nextIndex++)
+                    .setMemberId(request.getMemberId());
+            try {
+                GrpcRequestValidator.validateEmail(request.getEmail());
+                UUID memberId = GrpcRequestValidator.validateAndParseUUID(request.getMemberId());
+                if (pendingEmails.putIfAbsent(memberId, request.getEmail()) != null) {
+                    outbound.add(result.setError(AuthGrpcServiceImpl.itemError(
+                            Status.Code.ALREADY_EXISTS, "Duplicate member_id in batch")).build());
+                } else {
+                    pendingResults.put(memberId, result);
+                }
+            } catch (IllegalArgumentException e) {
+                outbound.add(result.setError(AuthGrpcServiceImpl.itemError(
+                        Status.Code.INVALID_ARGUMENT, e.getMessage())).build());
+            }
+
+            if (pendingEmails.size() >= batchSize) {
+                flush();
+            } else {
+                scheduleLinger();
+            }
+            drain();
+        }
+
+        @Override
+        public synchronized void onError(Throwable t) {
+            close();
+        }
+
+        @Override
+        public synchronized void onCompleted() {
+            if (done) {
+                return;
+            }
+            halfClosed = true;
+            flush();
+            drain();
+        }
+
+        private synchronized void onReady() {
+            if (!done) {
+                drain();
+            }
+        }
+
+        private synchronized void onCancel() {
+            close();
+        }
+
+        private synchronized void onLingerExpired() {
+            lingerTask = null;
+            if (!done) {
+                flush();
+            }
+        }
+
+        /**
+         * Hands the pending requests to a flush thread, unless a batch is already being
+         * stored: batches of a call are stored in order, so the next one is flushed when
+         * the current one completes.
+         */
+        private void flush() {
+            cancelLinger();
+            if (pendingEmails.isEmpty() || storing > 0) {
+                return;
+            }
+            Map<UUID, String> batchEmails = pendingEmails;
+            Map<UUID, TemporaryTokenResult.Builder> batchResults = pendingResults;
+            pendingEmails = new LinkedHashMap<>();
+            pendingResults = new LinkedHashMap<>();
+            storing = batchEmails.size();
+            flushExecutor.execute(() -> store(batchEmails, batchResults));
+        }
+
+        /** Stores a batch outside the call's lock, then publishes its results. */
+        private void store(Map<UUID, String> batchEmails, Map<UUID, TemporaryTokenResult.Builder> batchResults) {
+            Map<UUID, String> tokens = null;
+            try {
+                tokens = setupTokenService.generateSetupTokens(batchEmails);
+            } catch (Exception e) {
+                // Reported to the client per request below, without the cause
+                log.error("GRPC-RPC: Error in streamTemporaryTokens - Failed to store a batch of {} tokens - {}: {}",
+                        batchEmails.size(),
+                        e.getClass().getSimpleName(),
+                        SecurityMaskingUtils.sanitizeInfra(e.getMessage()),
+                        e);
+            }
+            onStored(batchResults, tokens);
+        }
+
+        private synchronized void onStored(Map<UUID, TemporaryTokenResult.Builder> batchResults,
+                                           Map<UUID, String> tokens) {
+            storing = 0;
+            if (done) {
+                return;
+            }
+            batchResults.forEach((memberId, result) -> outbound.add(tokens != null
+                    ? result.setToken(tokenResponse.apply(tokens.get(memberId))).build()
+                    : result.setError(AuthGrpcServiceImpl.itemError(
+                            Status.Code.INTERNAL, "Failed to generate temporary token")).build()));
+            if (halfClosed || pendingEmails.size() >= batchSize) {
+                flush();
+            } else {
+                scheduleLinger();
+            }
+            drain();
+        }
+
+        /** Writes results while the client keeps up, then tops up inbound credit. */
+        private void drain() {
+            while (!outbound.isEmpty() && responseObserver.isReady()) {
+                responseObserver.onNext(outbound.poll());
+            }
+            if (!halfClosed) {
+                requestMore();
+            } else if (!done && pendingEmails.isEmpty() && storing == 0 && outbound.isEmpty()) {
+                done = true;
+                responseObserver.onCompleted();
+            }
+        }
+
+        private void requestMore() {
+            int credit = 2 * batchSize - requested - pendingEmails.size() - storing - outbound.size();
+            if (credit > 0) {
+                requested += credit;
+                responseObserver.request(credit);
+            }
+        }
+
+        private void scheduleLinger() {
+            if (!pendingEmails.isEmpty() && storing == 0 && lingerTask == null) {
+                lingerTask = lingerScheduler.schedule(this::onLingerExpired, lingerMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void cancelLinger() {
+            if (lingerTask != null) {
+                lingerTask.cancel(false);
+                lingerTask = null;
+            }
+        }
+
+        private void close() {
+            done = true;
+            cancelLinger();
+            pendingEmails.clear();
+            pendingResults.clear();
+            outbound.clear();
+        }
+    }
+}
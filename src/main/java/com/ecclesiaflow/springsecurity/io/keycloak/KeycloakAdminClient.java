@@ -1,34 +1,51 @@
 package com.ecclesiaflow.springsecurity.io.keycloak;
 
-import lombok.RequiredArgsConstructor;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.decorators.Decorators;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Client for Keycloak Admin REST API using Feign.
  * Creates and manages users in Keycloak realm.
+ * <p>
+ * Every Keycloak call goes through the {@code keycloak} bulkhead, which bounds
+ * concurrent calls, and the {@code keycloak} circuit breaker, which fails calls fast
+ * while Keycloak keeps failing and probes it again after a wait ({@code resilience4j.*}
+ * properties). A rejected call throws {@link KeycloakException}, like a failed one.
+ * </p>
  */
 @Service
-@RequiredArgsConstructor
 public class KeycloakAdminClient {
 
+    static final String RESILIENCE_NAME = "keycloak";
+
     private final KeycloakTokenFeignClient tokenClient;
     private final KeycloakAdminFeignClient adminClient;
+    private final KeycloakAdminTokenProvider adminTokenProvider;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
 
     @Value("${keycloak.admin.realm}")
     private String realm;
 
-    @Value("${keycloak.admin.service.client-id}")
-    private String adminClientId;
-
-    @Value("${keycloak.admin.service.client-secret}")
-    private String adminClientSecret;
+    @Value("${keycloak.admin.partial-import.chunk-size:500}")
+    private int partialImportChunkSize;
 
     @Value("${keycloak.direct-grant.client-id}")
     private String directGrantClientId;
@@ -36,8 +53,17 @@ public class KeycloakAdminClient {
     @Value("${keycloak.direct-grant.client-secret}")
     private String directGrantClientSecret;
 
-    private volatile String cachedAccessToken;
-    private volatile long tokenExpiresAt = 0;
+    public KeycloakAdminClient(KeycloakTokenFeignClient tokenClient,
+                               KeycloakAdminFeignClient adminClient,
+                               KeycloakAdminTokenProvider adminTokenProvider,
+                               CircuitBreakerRegistry circuitBreakerRegistry,
+                               BulkheadRegistry bulkheadRegistry) {
+        this.tokenClient = tokenClient;
+        this.adminClient = adminClient;
+        this.adminTokenProvider = adminTokenProvider;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(RESILIENCE_NAME);
+        this.bulkhead = bulkheadRegistry.bulkhead(RESILIENCE_NAME);
+    }
 
     /**
      * Creates a user in Keycloak with the specified email and password.
@@ -63,6 +89,10 @@ public class KeycloakAdminClient {
      * @throws KeycloakException if user creation fails
      */
     public String createUser(String email, String password, boolean emailVerified) {
+        return guarded(() -> doCreateUser(email, password, emailVerified));
+    }
+
+    private String doCreateUser(String email, String password, boolean emailVerified) {
         String accessToken = getAdminAccessToken();
 
         KeycloakUserRepresentation user = KeycloakUserRepresentation.builder()
@@ -90,6 +120,67 @@ public class KeycloakAdminClient {
         throw new KeycloakException("Failed to create user in Keycloak: " + response.getStatusCode());
     }
 
+    /**
+     * Creates many users through the realm {@code partialImport} endpoint, one request
+     * per chunk of {@code keycloak.admin.partial-import.chunk-size} users.
+     * <p>
+     * Existing usernames are skipped, not overwritten, so a chunk can safely be retried.
+     * Keycloak imports a chunk in one transaction: if the call fails (e.g. an email
+     * already used by another username), every user of that chunk is reported as failed
+     * and the remaining chunks are still imported.
+     * </p>
+     *
+     * @param users users to create; usernames are matched case-insensitively against the import results
+     * @return one result per user, in input order
+     */
+    public List<KeycloakProvisioningResult> provisionUsers(List<KeycloakUserRepresentation> users) {
+        List<KeycloakProvisioningResult> results = new ArrayList<>(users.size());
+        for (int from = 0; from < users.size(); from += partialImportChunkSize) {
+            List<KeycloakUserRepresentation> chunk =
+                    users.subList(from, Math.min(from + partialImportChunkSize, users.size()));
+            results.addAll(importChunk(chunk));
+        }
+        return results;
+    }
+
+    private List<KeycloakProvisioningResult> importChunk(List<KeycloakUserRepresentation> chunk) {
+        KeycloakPartialImportResponse response;
+        try {
+            response = guarded(() -> adminClient.partialImport("Bearer " + getAdminAccessToken(), realm,
+                    KeycloakPartialImportRequest.builder()
+                            .ifResourceExists("SKIP")
+                            .users(chunk)
+                            .build()));
+        } catch (RuntimeException e) {
+            return chunk.stream()
+                    .map(user -> KeycloakProvisioningResult.failed(user.getUsername(), "Keycloak partial import failed"))
+                    .toList();
+        }
+
+        Map<String, KeycloakPartialImportResponse.Result> resultsByUsername = new HashMap<>();
+        if (response != null && response.results() != null) {
+            for (KeycloakPartialImportResponse.Result result : response.results()) {
+                if ("USER".equals(result.resourceType()) && result.resourceName() != null) {
+                    resultsByUsername.put(result.resourceName().toLowerCase(Locale.ROOT), result);
+                }
+            }
+        }
+
+        List<KeycloakProvisioningResult> results = new ArrayList<>(chunk.size());
+        for (KeycloakUserRepresentation user : chunk) {
+            String username = user.getUsername();
+            KeycloakPartialImportResponse.Result result = resultsByUsername.get(username.toLowerCase(Locale.ROOT));
+            if (result == null || result.id() == null) {
+                results.add(KeycloakProvisioningResult.failed(username, "Missing partial import result"));
+            } else if ("ADDED".equals(result.action())) {
+                results.add(KeycloakProvisioningResult.created(username, result.id()));
+            } else {
+                results.add(KeycloakProvisioningResult.existing(username, result.id()));
+            }
+        }
+        return results;
+    }
+
     /**
      * Updates user password in Keycloak.
      *
@@ -98,15 +189,13 @@ public class KeycloakAdminClient {
      * @throws KeycloakException if password update fails
      */
     public void updatePassword(String keycloakUserId, String newPassword) {
-        String accessToken = getAdminAccessToken();
-
         KeycloakCredential credential = KeycloakCredential.builder()
                 .type("password")
                 .value(newPassword)
                 .temporary(false)
                 .build();
 
-        adminClient.resetPassword("Bearer " + accessToken, realm, keycloakUserId, credential);
+        guardedRun(() -> adminClient.resetPassword("Bearer " + getAdminAccessToken(), realm, keycloakUserId, credential));
     }
 
     /**
@@ -116,10 +205,8 @@ public class KeycloakAdminClient {
      * @return Keycloak user ID or null if not found
      */
     public String findUserByEmail(String email) {
-        String accessToken = getAdminAccessToken();
-
-        List<Map<String, Object>> users = adminClient.findUsersByEmail(
-                "Bearer " + accessToken, realm, email, true);
+        List<Map<String, Object>> users = guarded(() -> adminClient.findUsersByEmail(
+                "Bearer " + getAdminAccessToken(), realm, email, true));
 
         if (users != null && !users.isEmpty()) {
             return (String) users.getFirst().get("id");
@@ -136,10 +223,8 @@ public class KeycloakAdminClient {
      * @return Keycloak user ID or null if not found
      */
     public String findUserByUsername(String username) {
-        String accessToken = getAdminAccessToken();
-
-        List<Map<String, Object>> users = adminClient.findUsersByUsername(
-                "Bearer " + accessToken, realm, username, true);
+        List<Map<String, Object>> users = guarded(() -> adminClient.findUsersByUsername(
+                "Bearer " + getAdminAccessToken(), realm, username, true));
 
         if (users != null && !users.isEmpty()) {
             return (String) users.getFirst().get("id");
@@ -166,7 +251,7 @@ public class KeycloakAdminClient {
         form.add("username", email);
         form.add("password", password);
 
-        KeycloakTokenResponse response = tokenClient.getToken(realm, form);
+        KeycloakTokenResponse response = guarded(() -> tokenClient.getToken(realm, form));
 
         if (response != null && response.accessToken() != null) {
             return response;
@@ -175,40 +260,8 @@ public class KeycloakAdminClient {
         throw new KeycloakException("Failed to authenticate user via Direct Grant");
     }
 
-    /**
-     * Gets admin access token with caching.
-     * Reuses cached token if not expired, otherwise fetches new one.
-     *
-     * @return valid admin access token
-     * @throws KeycloakException if token acquisition fails
-     */
     private String getAdminAccessToken() {
-        long now = System.currentTimeMillis();
-
-        if (cachedAccessToken != null && now < (tokenExpiresAt - 30000)) {
-            return cachedAccessToken;
-        }
-
-        synchronized (this) {
-            if (cachedAccessToken != null && now < (tokenExpiresAt - 30000)) {
-                return cachedAccessToken;
-            }
-
-            MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
-            form.add("grant_type", "client_credentials");
-            form.add("client_id", adminClientId);
-            form.add("client_secret", adminClientSecret);
-
-            KeycloakTokenResponse response = tokenClient.getToken(realm, form);
-
-            if (response != null && response.accessToken() != null) {
-                cachedAccessToken = response.accessToken();
-                tokenExpiresAt = now + (response.expiresIn() * 1000L);
-                return cachedAccessToken;
-            }
-
-            throw new KeycloakException("Failed to obtain admin access token");
-        }
+        return adminTokenProvider.getAccessToken();
     }
 
     /**
@@ -220,21 +273,40 @@ public class KeycloakAdminClient {
      */
     /** Disables a Keycloak user (sets enabled=false). */
     public void disableUser(String keycloakUserId) {
-        String accessToken = getAdminAccessToken();
-        adminClient.updateUser("Bearer " + accessToken, realm, keycloakUserId,
-                Map.of("enabled", false));
+        guardedRun(() -> adminClient.updateUser("Bearer " + getAdminAccessToken(), realm, keycloakUserId,
+                Map.of("enabled", false)));
     }
 
     /** Updates a Keycloak user's email and username. */
     public void updateUserEmail(String keycloakUserId, String newEmail) {
-        String accessToken = getAdminAccessToken();
-        adminClient.updateUser("Bearer " + accessToken, realm, keycloakUserId,
-                Map.of("email", newEmail, "username", newEmail));
+        guardedRun(() -> adminClient.updateUser("Bearer " + getAdminAccessToken(), realm, keycloakUserId,
+                Map.of("email", newEmail, "username", newEmail)));
     }
 
     public void deleteUser(String keycloakUserId) {
-        String accessToken = getAdminAccessToken();
-        adminClient.deleteUser("Bearer " + accessToken, realm, keycloakUserId);
+        guardedRun(() -> adminClient.deleteUser("Bearer " + getAdminAccessToken(), realm, keycloakUserId));
+    }
+
+    /**
+     * Runs a Keycloak call through the bulkhead and the circuit breaker. A call they
+     * reject is not attempted and surfaces as a {@link KeycloakException}.
+     */
+    private <T> T guarded(Supplier<T> call) {
+        try {
+            return Decorators.ofSupplier(call)
+                    .withCircuitBreaker(circuitBreaker)
+                    .withBulkhead(bulkhead)
+                    .get();
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            throw new KeycloakException("Keycloak call rejected: " + e.getMessage(), e);
+        }
+    }
+
+    private void guardedRun(Runnable call) {
+        guarded(() -> {
+            call.run();
+            return null;
+        });
     }
 
     public static class KeycloakException extends RuntimeException {
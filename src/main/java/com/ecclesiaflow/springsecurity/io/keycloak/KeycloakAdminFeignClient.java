@@ -21,6 +21,13 @@ public interface KeycloakAdminFeignClient {
             @RequestBody KeycloakUserRepresentation user
     );
 
+    @PostMapping(value = "/admin/realms/{realm}/partialImport", consumes = MediaType.APPLICATION_JSON_VALUE)
+    KeycloakPartialImportResponse partialImport(
+            @RequestHeader("Authorization") String authorization,
+            @PathVariable String realm,
+            @RequestBody KeycloakPartialImportRequest request
+    );
+
     @PutMapping(value = "/admin/realms/{realm}/users/{userId}/reset-password", consumes = MediaType.APPLICATION_JSON_VALUE)
     void resetPassword(
             @RequestHeader("Authorization") String authorization,
@@ -0,0 +1,182 @@
+package com.ecclesiaflow.springsecurity.io.keycloak;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Supplies the client-credentials access token used for Keycloak Admin API calls.
+ * <p>
+ * A token is considered usable until 30 seconds (at most a quarter of its
+ * lifetime) before it expires, leaving room for clock skew and request transit.
+ * </p>
+ * <p>
+ * The current token is read lock-free. A background task renews it once
+ * {@code refresh-ratio} of its lifetime has elapsed, so admin calls never wait for
+ * a token round trip while a valid token exists. If a renewal fails, the current
+ * token stays in use and the renewal is retried every {@code retry-delay} until it
+ * expires. Callers only fetch a token themselves (one at a time) before the first
+ * one is obtained or after the current one has expired.
+ * </p>
+ *
+ * <p><strong>Metrics:</strong> {@code keycloak.admin_token.refresh} (timer, tagged
+ * {@code outcome=success|failure}) and {@code keycloak.admin_token.refresh.failures}
+ * (counter).</p>
+ */
+@Component
+public class KeycloakAdminTokenProvider {
+
+    private static final Duration MAX_EXPIRY_MARGIN = Duration.ofSeconds(30);
+
+    private final KeycloakTokenFeignClient tokenClient;
+    private final Timer refreshSuccess;
+    private final Timer refreshFailure;
+    private final Counter refreshFailures;
+
+    private final ScheduledExecutorService refreshScheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("keycloak-admin-token-refresh").daemon().factory());
+
+    private Clock clock = Clock.systemUTC();
+
+    @Value("${keycloak.admin.realm}")
+    private String realm;
+
+    @Value("${keycloak.admin.service.client-id}")
+    private String adminClientId;
+
+    @Value("${keycloak.admin.service.client-secret}")
+    private String adminClientSecret;
+
+    @Value("${keycloak.admin.token.refresh-ratio:0.75}")
+    private double refreshRatio;
+
+    @Value("${keycloak.admin.token.retry-delay:PT5S}")
+    private Duration retryDelay;
+
+    private volatile AdminToken current;
+    private ScheduledFuture<?> pendingRefresh;
+
+    public KeycloakAdminTokenProvider(KeycloakTokenFeignClient tokenClient, MeterRegistry meterRegistry) {
+        this.tokenClient = tokenClient;
+        this.refreshSuccess = refreshTimer(meterRegistry, "success");
+        this.refreshFailure = refreshTimer(meterRegistry, "failure");
+        this.refreshFailures = Counter.builder("keycloak.admin_token.refresh.failures")
+                .description("Failed Keycloak admin token requests")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns a valid admin access token.
+     *
+     * @return the current admin access token
+     * @throws KeycloakAdminClient.KeycloakException if no valid token is held and none can be obtained
+     */
+    public String getAccessToken() {
+        AdminToken token = current;
+        if (token != null && token.isValidAt(clock.instant())) {
+            return token.value();
+        }
+        synchronized (this) {
+            token = current;
+            if (token != null && token.isValidAt(clock.instant())) {
+                return token.value();
+            }
+            return refresh().value();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshScheduler.shutdownNow();
+    }
+
+    /** Background renewal; keeps the current token if Keycloak cannot be reached. */
+    void refreshInBackground() {
+        try {
+            synchronized (this) {
+                refresh();
+            }
+        } catch (RuntimeException e) {
+            AdminToken token = current;
+            if (token != null && token.isValidAt(clock.instant().plus(retryDelay))) {
+                schedule(retryDelay);
+            }
+        }
+    }
+
+    private AdminToken refresh() {
+        long start = System.nanoTime();
+        AdminToken token;
+        try {
+            token = requestToken();
+        } catch (RuntimeException e) {
+            refreshFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            refreshFailures.increment();
+            throw e instanceof KeycloakAdminClient.KeycloakException ke
+                    ? ke
+                    : new KeycloakAdminClient.KeycloakException("Failed to obtain admin access token", e);
+        }
+        refreshSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        current = token;
+        if (token.lifetime().isPositive()) {
+            schedule(token.lifetime().multipliedBy(Math.round(refreshRatio * 1000)).dividedBy(1000));
+        }
+        return token;
+    }
+
+    private AdminToken requestToken() {
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("grant_type", "client_credentials");
+        form.add("client_id", adminClientId);
+        form.add("client_secret", adminClientSecret);
+
+        Instant issuedAt = clock.instant();
+        KeycloakTokenResponse response = tokenClient.getToken(realm, form);
+
+        if (response == null || response.accessToken() == null) {
+            throw new KeycloakAdminClient.KeycloakException("Failed to obtain admin access token");
+        }
+        Duration lifetime = Duration.ofSeconds(Math.max(response.expiresIn(), 0));
+        Duration margin = lifetime.dividedBy(4);
+        if (margin.compareTo(MAX_EXPIRY_MARGIN) > 0) {
+            margin = MAX_EXPIRY_MARGIN;
+        }
+        return new AdminToken(response.accessToken(), lifetime, issuedAt.plus(lifetime).minus(margin));
+    }
+
+    private synchronized void schedule(Duration delay) {
+        if (pendingRefresh != null) {
+            pendingRefresh.cancel(false);
+        }
+        if (!refreshScheduler.isShutdown()) {
+            pendingRefresh = refreshScheduler.schedule(this::refreshInBackground, delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static Timer refreshTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("keycloak.admin_token.refresh")
+                .description("Latency of Keycloak admin token requests")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record AdminToken(String value, Duration lifetime, Instant usableUntil) {
+
+        boolean isValidAt(Instant instant) {
+            return instant.isBefore(usableUntil);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.ecclesiaflow.springsecurity.io.keycloak;
+
+import feign.FeignException;
+
+import java.util.function.Predicate;
+
+/**
+ * Tells the {@code keycloak} circuit breaker which call failures count against
+ * Keycloak.
+ * <p>
+ * Client errors (e.g. 404 on an unknown user, 409 on an existing one) describe the
+ * request, not Keycloak's health, and do not; connection errors, 429 and 5xx
+ * answers do, as do failures that are not HTTP answers.
+ * </p>
+ */
+public class KeycloakFailurePredicate implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(Throwable throwable) {
+        if (throwable instanceof FeignException feignException) {
+            int status = feignException.status();
+            return status < 400 || status == 429 || status >= 500;
+        }
+        return true;
+    }
+}
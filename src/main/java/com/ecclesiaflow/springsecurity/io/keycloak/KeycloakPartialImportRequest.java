@@ -0,0 +1,24 @@
+package com.ecclesiaflow.springsecurity.io.keycloak;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Write-only DTO for the Keycloak realm {@code partialImport} endpoint.
+ * Only users are imported; {@code ifResourceExists} decides what happens to
+ * users whose username already exists (FAIL, SKIP or OVERWRITE).
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class KeycloakPartialImportRequest {
+    private String ifResourceExists;
+    private List<KeycloakUserRepresentation> users;
+}
@@ -0,0 +1,30 @@
+package com.ecclesiaflow.springsecurity.io.keycloak;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * DTO for the Keycloak realm {@code partialImport} response.
+ * Holds one result per imported resource, keyed by its name (the username for users).
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record KeycloakPartialImportResponse(
+        int added,
+        int skipped,
+        int overwritten,
+        List<Result> results
+) {
+
+    /**
+     * Outcome for a single resource.
+     *
+     * @param action       ADDED, SKIPPED or OVERWRITTEN
+     * @param resourceType USER, CLIENT, GROUP, ...
+     * @param resourceName username for users
+     * @param id           Keycloak ID of the created or existing resource
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Result(String action, String resourceType, String resourceName, String id) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecclesiaflow.springsecurity.io.keycloak;
+
+/**
+ * Per-user outcome of {@link KeycloakAdminClient#provisionUsers(java.util.List)}.
+ *
+ * @param username       requested username (email)
+ * @param outcome        whether the user was created, already existed or failed
+ * @param keycloakUserId Keycloak ID of the created or existing user, {@code null} on failure
+ * @param failureReason  reason of the failure, {@code null} otherwise
+ */
+public record KeycloakProvisioningResult(
+        String username,
+        Outcome outcome,
+        String keycloakUserId,
+        String failureReason
+) {
+
+    public enum Outcome {
+        CREATED,
+        EXISTING,
+        FAILED
+    }
+
+    static KeycloakProvisioningResult created(String username, String keycloakUserId) {
+        return new KeycloakProvisioningResult(username, Outcome.CREATED, keycloakUserId, null);
+    }
+
+    static KeycloakProvisioningResult existing(String username, String keycloakUserId) {
+        return new KeycloakProvisioningResult(username, Outcome.EXISTING, keycloakUserId, null);
+    }
+
+    static KeycloakProvisioningResult failed(String username, String failureReason) {
+        return new KeycloakProvisioningResult(username, Outcome.FAILED, null, failureReason);
+    }
+}
@@ -0,0 +1,115 @@
+package com.ecclesiaflow.springsecurity.io.members;
+
+import com.ecclesiaflow.springsecurity.business.domain.member.MembersClient;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MembersClient decorator that remembers recently confirmed emails.
+ * <p>
+ * Repeated password setup attempts for the same email would otherwise each make a
+ * blocking {@code GetMemberConfirmationStatus} call. An email the Members module
+ * reported as confirmed is kept in a bounded Caffeine cache with a short TTL (size
+ * and TTL configurable) and answered from memory until it expires. Only positive
+ * results are cached: an unconfirmed or unknown email is always asked again, so a
+ * member who just confirmed is never held back.
+ * </p>
+ *
+ * <p>A successful activation notification changes the member's status in the Members
+ * module. The notification carries the member id, not the email, so it clears the
+ * whole cache; a lookup that was in flight at that moment does not store its result.</p>
+ *
+ * <p><strong>Metrics:</strong> {@code cache.gets{cache=members.confirmation_status,result=hit|miss}},
+ * {@code cache.size} and {@code cache.evictions}. Hits are gRPC calls avoided.</p>
+ *
+ * <p>The cache is per instance: an activation notified by another instance is only
+ * seen here once the entry expires, which the TTL bounds.</p>
+ */
+@Primary
+@Service
+@ConditionalOnProperty(name = {"grpc.enabled", "grpc.members.confirmation-cache.enabled"}, havingValue = "true")
+public class CachingMembersClient implements MembersClient {
+
+    static final String CACHE_NAME = "members.confirmation_status";
+
+    private final MembersClient delegate;
+    private final Cache<String, Boolean> confirmedEmails;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public CachingMembersClient(
+            MembersGrpcClient delegate,
+            MeterRegistry meterRegistry,
+            @Value("${grpc.members.confirmation-cache.max-size:10000}") long maxSize,
+            @Value("${grpc.members.confirmation-cache.ttl:PT1M}") Duration ttl) {
+        this.delegate = delegate;
+        this.confirmedEmails = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, confirmedEmails, CACHE_NAME);
+    }
+
+    @Override
+    public boolean isEmailNotConfirmed(String email) {
+        if (confirmedEmails.getIfPresent(email) != null) {
+            return false;
+        }
+        long generation = invalidations.get();
+        boolean notConfirmed = delegate.isEmailNotConfirmed(email);
+        if (!notConfirmed && invalidations.get() == generation) {
+            confirmedEmails.put(email, Boolean.TRUE);
+        }
+        return notConfirmed;
+    }
+
+    @Override
+    public boolean notifyAccountActivated(UUID memberId, String keycloakUserId) {
+        boolean notified = delegate.notifyAccountActivated(memberId, keycloakUserId);
+        invalidate();
+        return notified;
+    }
+
+    @Override
+    public boolean notifyLocalCredentialsAdded(String keycloakUserId) {
+        return delegate.notifyLocalCredentialsAdded(keycloakUserId);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> notifyAccountActivatedAsync(UUID memberId, String keycloakUserId) {
+        return delegate.notifyAccountActivatedAsync(memberId, keycloakUserId)
+                .thenApply(this::invalidateAfter);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> notifyLocalCredentialsAddedAsync(String keycloakUserId) {
+        return delegate.notifyLocalCredentialsAddedAsync(keycloakUserId);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> notifyAccountActivatedWithCredentialsAsync(UUID memberId, String keycloakUserId) {
+        return delegate.notifyAccountActivatedWithCredentialsAsync(memberId, keycloakUserId)
+                .thenApply(this::invalidateAfter);
+    }
+
+    private Boolean invalidateAfter(Boolean notified) {
+        invalidate();
+        return notified;
+    }
+
+    private void invalidate() {
+        invalidations.incrementAndGet();
+        confirmedEmails.invalidateAll();
+    }
+}
@@ -0,0 +1,120 @@
+package com.ecclesiaflow.springsecurity.io.members;
+
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ConnectivityState;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A fixed set of {@link ManagedChannel}s used as one channel.
+ * <p>
+ * Each pooled channel opens its own HTTP/2 connection(s), so calls spread round-robin
+ * over the pool are not capped by a single connection's
+ * {@code MAX_CONCURRENT_STREAMS}. Lifecycle methods apply to every pooled channel.
+ * </p>
+ */
+public class ManagedChannelPool extends ManagedChannel {
+
+    private final List<ManagedChannel> channels;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ManagedChannelPool(List<ManagedChannel> channels) {
+        if (channels.isEmpty()) {
+            throw new IllegalArgumentException("channels must not be empty");
+        }
+        this.channels = List.copyOf(channels);
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+            MethodDescriptor<ReqT, RespT> methodDescriptor, CallOptions callOptions) {
+        return channels.get(Math.floorMod(next.getAndIncrement(), channels.size()))
+                .newCall(methodDescriptor, callOptions);
+    }
+
+    @Override
+    public String authority() {
+        return channels.getFirst().authority();
+    }
+
+    @Override
+    public ManagedChannel shutdown() {
+        channels.forEach(ManagedChannel::shutdown);
+        return this;
+    }
+
+    @Override
+    public ManagedChannel shutdownNow() {
+        channels.forEach(ManagedChannel::shutdownNow);
+        return this;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return channels.stream().allMatch(ManagedChannel::isShutdown);
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return channels.stream().allMatch(ManagedChannel::isTerminated);
+    }
+
+    /** Waits for every pooled channel, sharing {@code timeout} between them. */
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (ManagedChannel channel : channels) {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            if (!channel.awaitTermination(remaining, TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The best state among the pooled channels: {@code READY} as soon as one of
+     * them can take calls.
+     */
+    @Override
+    public ConnectivityState getState(boolean requestConnection) {
+        ConnectivityState best = ConnectivityState.SHUTDOWN;
+        for (ManagedChannel channel : channels) {
+            ConnectivityState state = channel.getState(requestConnection);
+            if (rank(state) < rank(best)) {
+                best = state;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public void resetConnectBackoff() {
+        channels.forEach(ManagedChannel::resetConnectBackoff);
+    }
+
+    @Override
+    public void enterIdle() {
+        channels.forEach(ManagedChannel::enterIdle);
+    }
+
+    /** Number of pooled channels. */
+    public int size() {
+        return channels.size();
+    }
+
+    private static int rank(ConnectivityState state) {
+        return switch (state) {
+            case READY -> 0;
+            case CONNECTING -> 1;
+            case IDLE -> 2;
+            case TRANSIENT_FAILURE -> 3;
+            case SHUTDOWN -> 4;
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.ecclesiaflow.springsecurity.io.members;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.Deadline;
+import io.grpc.MethodDescriptor;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies a per-method deadline to every call made on the Members channel.
+ * <p>
+ * The deadline is keyed by the full gRPC method name, with a default for methods
+ * that have none. A call that already carries an earlier deadline keeps it. gRPC
+ * also caps each call at the deadline of the current {@link io.grpc.Context}: the
+ * caller's deadline for calls made while serving a gRPC request, or the HTTP request
+ * budget set by {@code RequestDeadlineFilter}. A slow Members service therefore
+ * never holds a call longer than the smallest of the three.
+ * </p>
+ */
+public class MembersDeadlineInterceptor implements ClientInterceptor {
+
+    private final Duration defaultTimeout;
+    private final Map<String, Duration> methodTimeouts;
+
+    /**
+     * @param defaultTimeout deadline for methods without an entry in {@code methodTimeouts}
+     * @param methodTimeouts deadlines by full method name ({@code package.Service/Method})
+     */
+    public MembersDeadlineInterceptor(Duration defaultTimeout, Map<String, Duration> methodTimeouts) {
+        this.defaultTimeout = defaultTimeout;
+        this.methodTimeouts = Map.copyOf(methodTimeouts);
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+            MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+        Deadline configured = Deadline.after(timeoutFor(method.getFullMethodName()).toNanos(), TimeUnit.NANOSECONDS);
+        Deadline current = callOptions.getDeadline();
+        if (current == null || configured.isBefore(current)) {
+            callOptions = callOptions.withDeadline(configured);
+        }
+        return next.newCall(method, callOptions);
+    }
+
+    Duration timeoutFor(String fullMethodName) {
+        return methodTimeouts.getOrDefault(fullMethodName, defaultTimeout);
+    }
+}
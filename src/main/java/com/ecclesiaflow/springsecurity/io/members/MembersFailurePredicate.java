@@ -0,0 +1,25 @@
+package com.ecclesiaflow.springsecurity.io.members;
+
+import io.grpc.Status;
+
+import java.util.function.Predicate;
+
+/**
+ * Tells the {@code members} circuit breaker which call failures count against the
+ * Members service.
+ * <p>
+ * Answers about the request itself (invalid argument, unknown member, unimplemented
+ * method) and calls cancelled by the caller do not; unavailability, timeouts and
+ * server errors do.
+ * </p>
+ */
+public class MembersFailurePredicate implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(Throwable throwable) {
+        return switch (Status.fromThrowable(throwable).getCode()) {
+            case INVALID_ARGUMENT, NOT_FOUND, ALREADY_EXISTS, FAILED_PRECONDITION, UNIMPLEMENTED, CANCELLED -> false;
+            default -> true;
+        };
+    }
+}
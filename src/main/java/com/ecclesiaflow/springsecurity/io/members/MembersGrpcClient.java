@@ -2,16 +2,29 @@ package com.ecclesiaflow.springsecurity.io.members;
 
 import com.ecclesiaflow.grpc.members.*;
 import com.ecclesiaflow.springsecurity.business.domain.member.MembersClient;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.decorators.Decorators;
+import io.grpc.Context;
 import io.grpc.ManagedChannel;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
-import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.TimeUnit;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * gRPC adapter for communicating with the Members module.
@@ -24,38 +37,63 @@ import java.util.concurrent.TimeUnit;
  *
  * <p><strong>Responsibilities:</strong></p>
  * <ul>
- *   <li>gRPC stub creation and lifecycle management</li>
+ *   <li>Long-lived gRPC stubs, shared by all calls</li>
  *   <li>RPC calls to Members module</li>
  *   <li>Protobuf to Java type conversion</li>
  *   <li>gRPC error handling and mapping to business exceptions</li>
- *   <li>Per-call timeout configuration</li>
  * </ul>
  *
+ * <p>Deadlines and retries are not handled here: the channel applies a per-method
+ * deadline ({@link MembersDeadlineInterceptor}) to each call, bounded by the deadline
+ * of the caller's {@link Context}, and gRPC retries or hedges the call within that
+ * deadline according to the channel's service config ({@link MembersRetryPolicy}).
+ * The {@code *Async} variants use the future stub and never hold the caller's thread.</p>
+ *
+ * <p>Every call goes through the {@code members} bulkhead, which bounds concurrent
+ * calls, and the {@code members} circuit breaker, which fails calls fast while the
+ * Members service keeps failing (see {@link MembersFailurePredicate}) and probes it
+ * again after a wait. A rejected call surfaces as
+ * {@link MembersServiceUnavailableException}.</p>
+ *
+ * <p>The combined activation notification falls back to the two legacy calls, issued
+ * concurrently, when the Members module answers UNIMPLEMENTED. That answer is
+ * remembered so later activations skip the probe until the next restart.</p>
+ *
  * @author EcclesiaFlow Team
  * @since 1.0.0
  * @see MembersServiceGrpc
  */
 @Service
-@RequiredArgsConstructor
 @ConditionalOnProperty(name = "grpc.enabled", havingValue = "true", matchIfMissing = false)
 public class MembersGrpcClient implements MembersClient {
 
-    private final ManagedChannel membersGrpcChannel;
+    private final MembersServiceGrpc.MembersServiceBlockingStub blockingStub;
+    private final MembersServiceGrpc.MembersServiceFutureStub futureStub;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
 
-    private static final int DEFAULT_TIMEOUT_SECONDS = 5;
+    static final String RESILIENCE_NAME = "members";
+
+    private volatile boolean combinedActivationSupported = true;
+
+    public MembersGrpcClient(ManagedChannel membersGrpcChannel,
+                             CircuitBreakerRegistry circuitBreakerRegistry,
+                             BulkheadRegistry bulkheadRegistry) {
+        this.blockingStub = MembersServiceGrpc.newBlockingStub(membersGrpcChannel);
+        this.futureStub = MembersServiceGrpc.newFutureStub(membersGrpcChannel);
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(RESILIENCE_NAME);
+        this.bulkhead = bulkheadRegistry.bulkhead(RESILIENCE_NAME);
+    }
 
     @Override
     public boolean isEmailNotConfirmed(String email) {
-        MembersServiceGrpc.MembersServiceBlockingStub stub = MembersServiceGrpc
-                .newBlockingStub(membersGrpcChannel)
-                .withDeadlineAfter(DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
-
         try {
             ConfirmationStatusRequest request = ConfirmationStatusRequest.newBuilder()
                     .setEmail(email)
                     .build();
 
-            ConfirmationStatusResponse response = stub.getMemberConfirmationStatus(request);
+            ConfirmationStatusResponse response = guarded("isEmailNotConfirmed",
+                    () -> blockingStub.getMemberConfirmationStatus(request));
 
             return !response.getMemberExists() || !response.getIsConfirmed();
 
@@ -65,24 +103,15 @@ public class MembersGrpcClient implements MembersClient {
     }
 
     @Override
-    @Retryable(
-            retryFor = StatusRuntimeException.class,
-            noRetryFor = IllegalArgumentException.class,
-            maxAttempts = 3,
-            backoff = @Backoff(delay = 1000, multiplier = 2)
-    )
     public boolean notifyAccountActivated(java.util.UUID memberId, String keycloakUserId) {
-        MembersServiceGrpc.MembersServiceBlockingStub stub = MembersServiceGrpc
-                .newBlockingStub(membersGrpcChannel)
-                .withDeadlineAfter(DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
-
         try {
             AccountActivatedRequest request = AccountActivatedRequest.newBuilder()
                     .setMemberId(memberId.toString())
                     .setKeycloakUserId(keycloakUserId)
                     .build();
 
-            AccountActivatedResponse response = stub.notifyAccountActivated(request);
+            AccountActivatedResponse response = guarded("notifyAccountActivated",
+                    () -> blockingStub.notifyAccountActivated(request));
 
             if (!response.getSuccess()) {
                 throw new RuntimeException("Members module rejected activation: " + response.getMessage());
@@ -96,23 +125,14 @@ public class MembersGrpcClient implements MembersClient {
     }
 
     @Override
-    @Retryable(
-            retryFor = StatusRuntimeException.class,
-            noRetryFor = IllegalArgumentException.class,
-            maxAttempts = 3,
-            backoff = @Backoff(delay = 1000, multiplier = 2)
-    )
     public boolean notifyLocalCredentialsAdded(String keycloakUserId) {
-        MembersServiceGrpc.MembersServiceBlockingStub stub = MembersServiceGrpc
-                .newBlockingStub(membersGrpcChannel)
-                .withDeadlineAfter(DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
-
         try {
             LocalCredentialsAddedRequest request = LocalCredentialsAddedRequest.newBuilder()
                     .setKeycloakUserId(keycloakUserId)
                     .build();
 
-            LocalCredentialsAddedResponse response = stub.notifyLocalCredentialsAdded(request);
+            LocalCredentialsAddedResponse response = guarded("notifyLocalCredentialsAdded",
+                    () -> blockingStub.notifyLocalCredentialsAdded(request));
 
             if (!response.getSuccess()) {
                 throw new RuntimeException("Members module rejected credentials update: " + response.getMessage());
@@ -125,6 +145,139 @@ public class MembersGrpcClient implements MembersClient {
         }
     }
 
+    @Override
+    public CompletableFuture<Boolean> notifyAccountActivatedAsync(UUID memberId, String keycloakUserId) {
+        AccountActivatedRequest request = AccountActivatedRequest.newBuilder()
+                .setMemberId(memberId.toString())
+                .setKeycloakUserId(keycloakUserId)
+                .build();
+
+        return call("notifyAccountActivated", stub -> stub.notifyAccountActivated(request))
+                .thenApply(response -> {
+                    if (!response.getSuccess()) {
+                        throw new RuntimeException("Members module rejected activation: " + response.getMessage());
+                    }
+                    return true;
+                });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> notifyLocalCredentialsAddedAsync(String keycloakUserId) {
+        LocalCredentialsAddedRequest request = LocalCredentialsAddedRequest.newBuilder()
+                .setKeycloakUserId(keycloakUserId)
+                .build();
+
+        return call("notifyLocalCredentialsAdded", stub -> stub.notifyLocalCredentialsAdded(request))
+                .thenApply(response -> {
+                    if (!response.getSuccess()) {
+                        throw new RuntimeException("Members module rejected credentials update: " + response.getMessage());
+                    }
+                    return true;
+                });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> notifyAccountActivatedWithCredentialsAsync(UUID memberId, String keycloakUserId) {
+        if (!combinedActivationSupported) {
+            return notifyAccountActivatedAndCredentialsAsync(memberId, keycloakUserId);
+        }
+
+        AccountActivatedWithCredentialsRequest request = AccountActivatedWithCredentialsRequest.newBuilder()
+                .setMemberId(memberId.toString())
+                .setKeycloakUserId(keycloakUserId)
+                .build();
+
+        return call("notifyAccountActivatedWithCredentials",
+                stub -> stub.notifyAccountActivatedWithCredentials(request))
+                .handle((response, failure) -> {
+                    if (failure == null) {
+                        if (!response.getSuccess()) {
+                            throw new RuntimeException("Members module rejected activation: " + response.getMessage());
+                        }
+                        return CompletableFuture.completedFuture(true);
+                    }
+                    if (Status.fromThrowable(failure).getCode() == Status.Code.UNIMPLEMENTED) {
+                        combinedActivationSupported = false;
+                        return notifyAccountActivatedAndCredentialsAsync(memberId, keycloakUserId);
+                    }
+                    throw failure instanceof CompletionException ce ? ce : new CompletionException(failure);
+                })
+                .thenCompose(Function.identity());
+    }
+
+    /** Legacy path for Members modules without the combined notification. */
+    private CompletableFuture<Boolean> notifyAccountActivatedAndCredentialsAsync(UUID memberId, String keycloakUserId) {
+        return CompletableFuture.allOf(
+                notifyAccountActivatedAsync(memberId, keycloakUserId),
+                notifyLocalCredentialsAddedAsync(keycloakUserId)
+        ).thenApply(ignored -> true);
+    }
+
+    /**
+     * Runs a blocking-stub call through the bulkhead and the circuit breaker.
+     */
+    private <T> T guarded(String methodName, Supplier<T> call) {
+        try {
+            return Decorators.ofSupplier(call)
+                    .withCircuitBreaker(circuitBreaker)
+                    .withBulkhead(bulkhead)
+                    .get();
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            throw rejected(methodName, e);
+        }
+    }
+
+    /**
+     * Issues a future-stub call through the bulkhead and the circuit breaker; a
+     * failure is mapped by {@link #handleGrpcException}.
+     */
+    private <T> CompletableFuture<T> call(
+            String methodName,
+            Function<MembersServiceGrpc.MembersServiceFutureStub, ListenableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (!bulkhead.tryAcquirePermission()) {
+            result.completeExceptionally(rejected(methodName, BulkheadFullException.createBulkheadFullException(bulkhead)));
+            return result;
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.onComplete();
+            result.completeExceptionally(rejected(methodName,
+                    CallNotPermittedException.createCallNotPermittedException(circuitBreaker)));
+            return result;
+        }
+        long start = circuitBreaker.getCurrentTimestamp();
+        ListenableFuture<T> future;
+        try {
+            future = call.apply(futureStub);
+        } catch (RuntimeException e) {
+            circuitBreaker.onError(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit(), e);
+            bulkhead.onComplete();
+            result.completeExceptionally(e);
+            return result;
+        }
+        Futures.addCallback(future, new FutureCallback<>() {
+            @Override
+            public void onSuccess(T response) {
+                circuitBreaker.onSuccess(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit());
+                bulkhead.onComplete();
+                result.complete(response);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                circuitBreaker.onError(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit(), t);
+                bulkhead.onComplete();
+                result.completeExceptionally(t instanceof StatusRuntimeException e ? handleGrpcException(e, methodName) : t);
+            }
+        }, MoreExecutors.directExecutor());
+        return result;
+    }
+
+    private static MembersServiceUnavailableException rejected(String methodName, RuntimeException e) {
+        return new MembersServiceUnavailableException(
+                "Members call " + methodName + " rejected: " + e.getMessage(), e);
+    }
+
     /**
      * Maps gRPC exceptions to appropriate business exceptions.
      */
@@ -160,5 +313,13 @@ public class MembersGrpcClient implements MembersClient {
         public MembersServiceUnavailableException(String message, Throwable cause) {
             super(message, cause);
         }
+
+        /**
+         * @return {@code true} if the call was turned down by the local bulkhead or
+         *         circuit breaker and never reached the Members service
+         */
+        public boolean isLocalRejection() {
+            return getCause() instanceof BulkheadFullException || getCause() instanceof CallNotPermittedException;
+        }
     }
 }
@@ -0,0 +1,71 @@
+package com.ecclesiaflow.springsecurity.io.members;
+
+import com.ecclesiaflow.springsecurity.io.grpc.GrpcCallMetrics;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+/**
+ * Publishes the latency, in-flight count and message counts of the calls made on the
+ * Members channel as {@code grpc.client.*} meters (see {@link GrpcCallMetrics}).
+ * <p>
+ * A call is timed from its start until it is closed, under its final status. Retries
+ * and hedged attempts made by the channel belong to the same call, so the timer shows
+ * the latency the caller sees; calls refused by the circuit breaker or the bulkhead
+ * never reach the channel and are counted by Resilience4j's own meters.
+ * </p>
+ */
+public class MembersMetricsInterceptor implements ClientInterceptor {
+
+    private final GrpcCallMetrics metrics;
+
+    public MembersMetricsInterceptor(GrpcCallMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+            MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
+
+            private GrpcCallMetrics.Call measured;
+
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                measured = metrics.start(method);
+                try {
+                    super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+                        @Override
+                        public void onMessage(RespT message) {
+                            measured.messageReceived();
+                            super.onMessage(message);
+                        }
+
+                        @Override
+                        public void onClose(Status status, Metadata trailers) {
+                            // Recorded first: the caller's continuations may run inside onClose
+                            measured.end(status.getCode());
+                            super.onClose(status, trailers);
+                        }
+                    }, headers);
+                } catch (RuntimeException e) {
+                    measured.end(Status.fromThrowable(e).getCode());
+                    throw e;
+                }
+            }
+
+            @Override
+            public void sendMessage(ReqT message) {
+                super.sendMessage(message);
+                measured.messageSent();
+            }
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package com.ecclesiaflow.springsecurity.io.members;
+
+import com.ecclesiaflow.grpc.members.MembersServiceGrpc;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Retry and hedging policy of the Members channel, rendered as a gRPC service config.
+ * <p>
+ * gRPC retries a failed attempt whose status is retryable for the method, after an
+ * exponential backoff that it randomizes, as long as the call deadline has not passed:
+ * the deadline covers all attempts. {@code GetMemberConfirmationStatus} is an idempotent
+ * read and can be hedged instead: if an attempt has not answered after the hedging
+ * delay, another one is sent (possibly to another backend) and the first answer wins.
+ * Retry throttling keeps a per-channel token bucket, drained by failed attempts and
+ * refilled by successful calls; below half of it, no retry or hedge is sent, so a
+ * failing Members service does not get a retry storm.
+ * </p>
+ *
+ * @param maxAttempts                 attempts per call, including the first one
+ * @param initialBackoff              backoff before the first retry
+ * @param maxBackoff                  upper bound of the backoff
+ * @param backoffMultiplier           backoff growth per retry
+ * @param defaultRetryableStatusCodes retryable codes for methods without an entry in {@code retryableStatusCodes}
+ * @param retryableStatusCodes        retryable codes by full method name ({@code package.Service/Method})
+ * @param hedgeConfirmationStatus     whether {@code GetMemberConfirmationStatus} is hedged instead of retried
+ * @param hedgingMaxAttempts          attempts per hedged call, including the first one
+ * @param hedgingDelay                delay before each additional hedged attempt
+ * @param throttlingMaxTokens         size of the retry throttling token bucket
+ * @param throttlingTokenRatio        tokens given back by each successful call
+ */
+@Builder
+public record MembersRetryPolicy(
+        int maxAttempts,
+        Duration initialBackoff,
+        Duration maxBackoff,
+        double backoffMultiplier,
+        List<Status.Code> defaultRetryableStatusCodes,
+        Map<String, List<Status.Code>> retryableStatusCodes,
+        boolean hedgeConfirmationStatus,
+        int hedgingMaxAttempts,
+        Duration hedgingDelay,
+        int throttlingMaxTokens,
+        double throttlingTokenRatio) {
+
+    /**
+     * The policy as a service config map, one method config per Members method.
+     * Numbers are doubles and durations strings, as in a JSON service config.
+     */
+    public Map<String, Object> toServiceConfig() {
+        List<Map<String, Object>> methodConfigs = new ArrayList<>();
+        for (MethodDescriptor<?, ?> method : MembersServiceGrpc.getServiceDescriptor().getMethods()) {
+            Map<String, Object> methodConfig = new LinkedHashMap<>();
+            methodConfig.put("name", List.of(Map.of(
+                    "service", method.getServiceName(),
+                    "method", method.getBareMethodName())));
+            List<String> codes = statusCodesFor(method.getFullMethodName());
+            if (hedgeConfirmationStatus && hedgingMaxAttempts > 1 && method.getFullMethodName().equals(
+                    MembersServiceGrpc.getGetMemberConfirmationStatusMethod().getFullMethodName())) {
+                methodConfig.put("hedgingPolicy", Map.of(
+                        "maxAttempts", (double) hedgingMaxAttempts,
+                        "hedgingDelay", seconds(hedgingDelay),
+                        "nonFatalStatusCodes", codes));
+            } else if (maxAttempts > 1 && !codes.isEmpty()) {
+                // gRPC rejects a retry policy with a single attempt or no retryable code
+                methodConfig.put("retryPolicy", Map.of(
+                        "maxAttempts", (double) maxAttempts,
+                        "initialBackoff", seconds(initialBackoff),
+                        "maxBackoff", seconds(maxBackoff),
+                        "backoffMultiplier", backoffMultiplier,
+                        "retryableStatusCodes", codes));
+            }
+            methodConfigs.add(methodConfig);
+        }
+
+        Map<String, Object> serviceConfig = new LinkedHashMap<>();
+        serviceConfig.put("methodConfig", methodConfigs);
+        serviceConfig.put("retryThrottling", Map.of(
+                "maxTokens", (double) throttlingMaxTokens,
+                "tokenRatio", throttlingTokenRatio));
+        return serviceConfig;
+    }
+
+    private List<String> statusCodesFor(String fullMethodName) {
+        return retryableStatusCodes.getOrDefault(fullMethodName, defaultRetryableStatusCodes).stream()
+                .map(Status.Code::name)
+                .toList();
+    }
+
+    /** Service config duration, e.g. {@code "0.2s"}. */
+    private static String seconds(Duration duration) {
+        return BigDecimal.valueOf(duration.toNanos(), 9).stripTrailingZeros().toPlainString() + "s";
+    }
+}
@@ -0,0 +1,215 @@
+package com.ecclesiaflow.springsecurity.io.persistence.jobs;
+
+import com.ecclesiaflow.springsecurity.application.logging.annotation.LogExecution;
+import com.ecclesiaflow.springsecurity.io.keycloak.KeycloakAdminClient;
+import com.ecclesiaflow.springsecurity.io.persistence.jpa.KeycloakUserCompensationEntity;
+import com.ecclesiaflow.springsecurity.io.persistence.repositories.KeycloakUserCompensationJpaRepository;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background deletion of the Keycloak users queued in {@code keycloak_user_compensation}.
+ * <p>
+ * Works like {@link MemberNotificationDispatcher}: each batch is claimed in a short
+ * transaction ({@code SKIP LOCKED}, then leased through {@code next_attempt_at}),
+ * the users are deleted on virtual threads with no transaction held, at most
+ * {@code concurrency} at once, and the outcome is written in a second short
+ * transaction. A user Keycloak no longer knows counts as deleted. Failed deletes are
+ * retried on the {@link RetrySchedule}; rows that exhausted {@code max-attempts} are
+ * kept as {@code DEAD}.
+ * </p>
+ *
+ * <p><strong>Metrics:</strong></p>
+ * <ul>
+ *   <li>{@code keycloak_user.compensation.deleted} - orphaned users deleted (counter)</li>
+ *   <li>{@code keycloak_user.compensation.failed} - failed delete attempts (counter)</li>
+ *   <li>{@code keycloak_user.compensation.batch} - latency of one batch (timer)</li>
+ *   <li>{@code keycloak_user.compensation.pending} - users awaiting deletion after the last run (gauge)</li>
+ *   <li>{@code keycloak_user.compensation.dead} - users given up on, to clean up by hand (gauge)</li>
+ *   <li>{@code keycloak_user.compensation.oldest_age_seconds} - age of the oldest pending user (gauge)</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(name = "keycloak.compensation.worker.enabled", havingValue = "true", matchIfMissing = true)
+public class KeycloakUserCompensationWorker {
+
+    private final KeycloakUserCompensationJpaRepository jpaRepository;
+    private final KeycloakAdminClient keycloakAdminClient;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter deleted;
+    private final Counter failed;
+    private final Timer batchTimer;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong dead = new AtomicLong();
+    private final AtomicLong oldestAgeSeconds = new AtomicLong();
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("keycloak-compensation-", 0).factory());
+
+    @Value("${keycloak.compensation.batch-size:50}")
+    private int batchSize;
+
+    @Value("${keycloak.compensation.max-batches-per-run:10}")
+    private int maxBatchesPerRun;
+
+    @Value("${keycloak.compensation.concurrency:4}")
+    private int concurrency;
+
+    @Value("${keycloak.compensation.lease:PT5M}")
+    private Duration lease;
+
+    @Value("${keycloak.compensation.max-attempts:20}")
+    private int maxAttempts;
+
+    @Value("${keycloak.compensation.initial-backoff:PT10S}")
+    private Duration initialBackoff;
+
+    @Value("${keycloak.compensation.max-backoff:PT1H}")
+    private Duration maxBackoff;
+
+    public KeycloakUserCompensationWorker(KeycloakUserCompensationJpaRepository jpaRepository,
+                                          KeycloakAdminClient keycloakAdminClient,
+                                          PlatformTransactionManager transactionManager,
+                                          MeterRegistry meterRegistry) {
+        this.jpaRepository = jpaRepository;
+        this.keycloakAdminClient = keycloakAdminClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.deleted = Counter.builder("keycloak_user.compensation.deleted")
+                .description("Orphaned Keycloak users deleted by the compensation worker")
+                .register(meterRegistry);
+        this.failed = Counter.builder("keycloak_user.compensation.failed")
+                .description("Failed orphaned Keycloak user delete attempts")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("keycloak_user.compensation.batch")
+                .description("Duration of one compensation batch")
+                .register(meterRegistry);
+        meterRegistry.gauge("keycloak_user.compensation.pending", pending);
+        meterRegistry.gauge("keycloak_user.compensation.dead", dead);
+        meterRegistry.gauge("keycloak_user.compensation.oldest_age_seconds", oldestAgeSeconds);
+    }
+
+    /**
+     * Runs one compensation pass.
+     *
+     * @return number of Keycloak users deleted
+     */
+    @Scheduled(fixedDelayString = "${keycloak.compensation.interval:PT30S}",
+            initialDelayString = "${keycloak.compensation.initial-delay:PT30S}")
+    @LogExecution("Keycloak user compensation")
+    public int compensate() {
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<KeycloakUserCompensationEntity> claimed =
+                    transactionTemplate.execute(status -> claimBatch(LocalDateTime.now()));
+            if (claimed == null || claimed.isEmpty()) {
+                break;
+            }
+            total += batchTimer.record(() -> process(claimed));
+            if (claimed.size() < batchSize) {
+                break;
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        pending.set(jpaRepository.countByStatus(KeycloakUserCompensationEntity.Status.PENDING));
+        dead.set(jpaRepository.countByStatus(KeycloakUserCompensationEntity.Status.DEAD));
+        oldestAgeSeconds.set(jpaRepository.findOldestCreatedAt(KeycloakUserCompensationEntity.Status.PENDING)
+                .map(oldest -> Duration.between(oldest, now).toSeconds())
+                .orElse(0L));
+        return total;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private List<KeycloakUserCompensationEntity> claimBatch(LocalDateTime now) {
+        return retrySchedule().lease(jpaRepository.findDueForUpdate(
+                KeycloakUserCompensationEntity.Status.PENDING, now, Limit.of(batchSize)), now);
+    }
+
+    private int process(List<KeycloakUserCompensationEntity> rows) {
+        RuntimeException[] failures = new RuntimeException[rows.size()];
+        Semaphore permits = new Semaphore(concurrency);
+        try {
+            for (int i = 0; i < rows.size(); i++) {
+                int index = i;
+                permits.acquire();
+                executor.execute(() -> {
+                    try {
+                        failures[index] = delete(rows.get(index));
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+            permits.acquire(concurrency);
+        } catch (InterruptedException e) {
+            // Stopping: the rows come back once their lease expires
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        RetrySchedule retrySchedule = retrySchedule();
+        List<UUID> deletedIds = new ArrayList<>();
+        List<KeycloakUserCompensationEntity> failedRows = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (failures[i] == null) {
+                deletedIds.add(rows.get(i).getId());
+            } else {
+                retrySchedule.recordFailure(rows.get(i), failures[i], now, false);
+                failedRows.add(rows.get(i));
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!deletedIds.isEmpty()) {
+                jpaRepository.deleteAllByIdIn(deletedIds);
+            }
+            if (!failedRows.isEmpty()) {
+                jpaRepository.saveAll(failedRows);
+            }
+        });
+        deleted.increment(deletedIds.size());
+        failed.increment(failedRows.size());
+        return deletedIds.size();
+    }
+
+    /**
+     * @return {@code null} once the user is gone, or the failure
+     */
+    private RuntimeException delete(KeycloakUserCompensationEntity row) {
+        try {
+            keycloakAdminClient.deleteUser(row.getKeycloakUserId());
+            return null;
+        } catch (FeignException.NotFound e) {
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private RetrySchedule retrySchedule() {
+        return new RetrySchedule(lease, maxAttempts, initialBackoff, maxBackoff);
+    }
+}
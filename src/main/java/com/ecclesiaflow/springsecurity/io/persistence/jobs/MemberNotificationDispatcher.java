@@ -0,0 +1,285 @@
+package com.ecclesiaflow.springsecurity.io.persistence.jobs;
+
+import com.ecclesiaflow.springsecurity.application.logging.annotation.LogExecution;
+import com.ecclesiaflow.springsecurity.business.domain.member.MembersClient;
+import com.ecclesiaflow.springsecurity.io.keycloak.KeycloakAdminClient;
+import com.ecclesiaflow.springsecurity.io.members.MembersGrpcClient.MembersServiceUnavailableException;
+import com.ecclesiaflow.springsecurity.io.persistence.jpa.MemberNotificationOutboxEntity;
+import com.ecclesiaflow.springsecurity.io.persistence.repositories.KeycloakUserCompensationJpaRepository;
+import com.ecclesiaflow.springsecurity.io.persistence.repositories.MemberNotificationOutboxJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background delivery of {@code member_notification_outbox} rows to the Members module.
+ * <p>
+ * Each batch is claimed in a short transaction (due rows locked with
+ * {@code SKIP LOCKED}, then leased by pushing {@code next_attempt_at} forward), so
+ * concurrent instances never deliver the same row. The batch is then sent
+ * concurrently with no transaction or connection held, and the outcome written in a
+ * second short transaction: delivered rows are deleted, failed rows are retried on
+ * the {@link RetrySchedule}, and rows that exhausted {@code max-attempts} or were
+ * rejected as invalid are kept as {@code DEAD}. At most {@code max-in-flight}
+ * notifications are sent at once, well below the {@code members} bulkhead, so the
+ * dispatcher never starves the request path. A send the bulkhead or the open circuit
+ * breaker turns down locally is rescheduled without using up an attempt.
+ * </p>
+ * <p>
+ * Each run first resolves the {@code RESERVED} rows whose setup request never
+ * confirmed them (an instance stopped between the token claim and the Keycloak
+ * call's outcome): the member's Keycloak user is looked up by username, and the row
+ * becomes deliverable if it exists, or is dropped if it does not or is queued for
+ * deletion by {@link KeycloakUserCompensationWorker}.
+ * </p>
+ * <p>
+ * Delivery is at-least-once (an instance stopping between send and delete leaves
+ * the row to be sent again once its lease expires); the Members activation handlers
+ * are idempotent for a given member and Keycloak user.
+ * </p>
+ *
+ * <p><strong>Metrics:</strong></p>
+ * <ul>
+ *   <li>{@code member_notification.outbox.delivered} - notifications delivered (counter)</li>
+ *   <li>{@code member_notification.outbox.failed} - failed delivery attempts (counter)</li>
+ *   <li>{@code member_notification.outbox.deferred} - sends turned down locally and rescheduled (counter)</li>
+ *   <li>{@code member_notification.outbox.recovered} - abandoned reservations made deliverable (counter)</li>
+ *   <li>{@code member_notification.outbox.abandoned} - abandoned reservations dropped, no Keycloak user (counter)</li>
+ *   <li>{@code member_notification.outbox.batch} - latency of one batch delivery (timer)</li>
+ *   <li>{@code member_notification.outbox.pending} - pending rows after the last run (gauge)</li>
+ *   <li>{@code member_notification.outbox.dead} - notifications given up on, to requeue by hand (gauge)</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(name = "members.notification.outbox.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+public class MemberNotificationDispatcher {
+
+    private final MemberNotificationOutboxJpaRepository jpaRepository;
+    private final KeycloakUserCompensationJpaRepository compensationJpaRepository;
+    private final MembersClient membersClient;
+    private final KeycloakAdminClient keycloakAdminClient;
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore inFlight;
+    private final Counter delivered;
+    private final Counter failed;
+    private final Counter deferred;
+    private final Counter recovered;
+    private final Counter abandoned;
+    private final Timer batchTimer;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong dead = new AtomicLong();
+
+    @Value("${members.notification.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${members.notification.outbox.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${members.notification.outbox.lease:PT2M}")
+    private Duration lease;
+
+    @Value("${members.notification.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${members.notification.outbox.initial-backoff:PT5S}")
+    private Duration initialBackoff;
+
+    @Value("${members.notification.outbox.max-backoff:PT10M}")
+    private Duration maxBackoff;
+
+    public MemberNotificationDispatcher(MemberNotificationOutboxJpaRepository jpaRepository,
+                                        KeycloakUserCompensationJpaRepository compensationJpaRepository,
+                                        MembersClient membersClient,
+                                        KeycloakAdminClient keycloakAdminClient,
+                                        PlatformTransactionManager transactionManager,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${members.notification.outbox.max-in-flight:16}") int maxInFlight) {
+        this.jpaRepository = jpaRepository;
+        this.compensationJpaRepository = compensationJpaRepository;
+        this.membersClient = membersClient;
+        this.keycloakAdminClient = keycloakAdminClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.inFlight = new Semaphore(maxInFlight);
+        this.delivered = Counter.builder("member_notification.outbox.delivered")
+                .description("Members notifications delivered from the outbox")
+                .register(meterRegistry);
+        this.failed = Counter.builder("member_notification.outbox.failed")
+                .description("Failed Members notification delivery attempts")
+                .register(meterRegistry);
+        this.deferred = Counter.builder("member_notification.outbox.deferred")
+                .description("Members notification sends turned down by the local bulkhead or circuit breaker")
+                .register(meterRegistry);
+        this.recovered = Counter.builder("member_notification.outbox.recovered")
+                .description("Abandoned activation reservations made deliverable")
+                .register(meterRegistry);
+        this.abandoned = Counter.builder("member_notification.outbox.abandoned")
+                .description("Abandoned activation reservations dropped for lack of a Keycloak user")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("member_notification.outbox.batch")
+                .description("Duration of one outbox batch delivery")
+                .register(meterRegistry);
+        meterRegistry.gauge("member_notification.outbox.pending", pending);
+        meterRegistry.gauge("member_notification.outbox.dead", dead);
+    }
+
+    /**
+     * Runs one dispatch pass.
+     *
+     * @return number of notifications delivered
+     */
+    @Scheduled(fixedDelayString = "${members.notification.outbox.interval:PT2S}",
+            initialDelayString = "${members.notification.outbox.initial-delay:PT10S}")
+    @LogExecution("Members notification dispatch")
+    public int dispatch() {
+        recoverReservations();
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<MemberNotificationOutboxEntity> claimed = transactionTemplate.execute(
+                    status -> claimBatch(MemberNotificationOutboxEntity.Status.PENDING, LocalDateTime.now()));
+            if (claimed == null || claimed.isEmpty()) {
+                break;
+            }
+            total += batchTimer.record(() -> deliver(claimed));
+            if (claimed.size() < batchSize) {
+                break;
+            }
+        }
+        pending.set(jpaRepository.countByStatus(MemberNotificationOutboxEntity.Status.PENDING));
+        dead.set(jpaRepository.countByStatus(MemberNotificationOutboxEntity.Status.DEAD));
+        return total;
+    }
+
+    private List<MemberNotificationOutboxEntity> claimBatch(MemberNotificationOutboxEntity.Status status,
+                                                            LocalDateTime now) {
+        return retrySchedule().lease(jpaRepository.findDueForUpdate(status, now, Limit.of(batchSize)), now);
+    }
+
+    /**
+     * Resolves one batch of reservations left past their timeout. A row whose lookup
+     * fails is retried like a failed delivery.
+     */
+    private void recoverReservations() {
+        List<MemberNotificationOutboxEntity> claimed = transactionTemplate.execute(
+                status -> claimBatch(MemberNotificationOutboxEntity.Status.RESERVED, LocalDateTime.now()));
+        if (claimed == null || claimed.isEmpty()) {
+            return;
+        }
+        RetrySchedule retrySchedule = retrySchedule();
+        List<UUID> abandonedIds = new ArrayList<>();
+        List<MemberNotificationOutboxEntity> updatedRows = new ArrayList<>();
+        int recoveredCount = 0;
+        for (MemberNotificationOutboxEntity row : claimed) {
+            try {
+                String keycloakUserId = keycloakAdminClient.findUserByUsername(row.getEmail());
+                // Created by a setup that failed afterwards: the user is being deleted
+                if (keycloakUserId == null || compensationJpaRepository.existsByKeycloakUserId(keycloakUserId)) {
+                    abandonedIds.add(row.getId());
+                    continue;
+                }
+                row.setKeycloakUserId(keycloakUserId);
+                row.setStatus(MemberNotificationOutboxEntity.Status.PENDING);
+                row.setNextAttemptAt(LocalDateTime.now());
+                updatedRows.add(row);
+                recoveredCount++;
+            } catch (RuntimeException e) {
+                retrySchedule.recordFailure(row, e, LocalDateTime.now(), false);
+                updatedRows.add(row);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!abandonedIds.isEmpty()) {
+                jpaRepository.deleteAllByIdIn(abandonedIds);
+            }
+            if (!updatedRows.isEmpty()) {
+                jpaRepository.saveAll(updatedRows);
+            }
+        });
+        recovered.increment(recoveredCount);
+        abandoned.increment(abandonedIds.size());
+    }
+
+    private int deliver(List<MemberNotificationOutboxEntity> rows) {
+        List<CompletableFuture<Throwable>> outcomes = new ArrayList<>(rows.size());
+        for (MemberNotificationOutboxEntity row : rows) {
+            inFlight.acquireUninterruptibly();
+            outcomes.add(send(row).handle((ignored, error) -> {
+                inFlight.release();
+                return error;
+            }));
+        }
+        CompletableFuture.allOf(outcomes.toArray(CompletableFuture[]::new)).join();
+
+        LocalDateTime now = LocalDateTime.now();
+        RetrySchedule retrySchedule = retrySchedule();
+        List<UUID> deliveredIds = new ArrayList<>();
+        List<MemberNotificationOutboxEntity> failedRows = new ArrayList<>();
+        int deferredCount = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            MemberNotificationOutboxEntity row = rows.get(i);
+            Throwable error = outcomes.get(i).join();
+            if (error == null) {
+                deliveredIds.add(row.getId());
+                continue;
+            }
+            Throwable cause = unwrap(error);
+            if (cause instanceof MembersServiceUnavailableException e && e.isLocalRejection()) {
+                // Turned down before reaching the network: not an attempt
+                row.setNextAttemptAt(now.plus(initialBackoff));
+                deferredCount++;
+            } else {
+                // Rejected as invalid by the Members module: retrying cannot succeed
+                retrySchedule.recordFailure(row, cause, now, cause instanceof IllegalArgumentException);
+            }
+            failedRows.add(row);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!deliveredIds.isEmpty()) {
+                jpaRepository.deleteAllByIdIn(deliveredIds);
+            }
+            if (!failedRows.isEmpty()) {
+                jpaRepository.saveAll(failedRows);
+            }
+        });
+        delivered.increment(deliveredIds.size());
+        failed.increment(failedRows.size() - deferredCount);
+        deferred.increment(deferredCount);
+        return deliveredIds.size();
+    }
+
+    private CompletableFuture<Boolean> send(MemberNotificationOutboxEntity row) {
+        try {
+            return switch (row.getType()) {
+                case ACCOUNT_ACTIVATED -> membersClient.notifyAccountActivatedWithCredentialsAsync(
+                        row.getMemberId(), row.getKeycloakUserId());
+            };
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private RetrySchedule retrySchedule() {
+        return new RetrySchedule(lease, maxAttempts, initialBackoff, maxBackoff);
+    }
+}
@@ -0,0 +1,72 @@
+package com.ecclesiaflow.springsecurity.io.persistence.jobs;
+
+import com.ecclesiaflow.springsecurity.io.persistence.jpa.RetryableRow;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Lease and retry bookkeeping shared by the jobs that drain a table of
+ * {@link RetryableRow}s.
+ * <p>
+ * Claimed rows are leased by pushing {@code next_attempt_at} forward, which hides
+ * them from other instances while they are processed. A failed row is retried after
+ * an exponential backoff with jitter, so an outage of the remote side does not turn
+ * into synchronized retry waves, and is given up on after {@code maxAttempts}.
+ * </p>
+ *
+ * @param lease          how long a claimed row stays hidden from other instances
+ * @param maxAttempts    attempts after which a row is given up on
+ * @param initialBackoff delay before the first retry
+ * @param maxBackoff     cap of the delay between retries
+ */
+record RetrySchedule(Duration lease, int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+
+    static final int MAX_ERROR_LENGTH = 255;
+
+    /**
+     * Leases freshly claimed rows until {@code now + lease}.
+     *
+     * @return the same rows
+     */
+    <T extends RetryableRow> List<T> lease(List<T> rows, LocalDateTime now) {
+        LocalDateTime leaseEnd = now.plus(lease);
+        rows.forEach(row -> row.setNextAttemptAt(leaseEnd));
+        return rows;
+    }
+
+    /**
+     * Records a failed attempt: the row is retried after {@link #backoff(int)}, or
+     * given up on once it exhausted its attempts or when {@code permanent}.
+     *
+     * @param permanent {@code true} if retrying cannot succeed
+     * @return {@code true} if the row was given up on
+     */
+    boolean recordFailure(RetryableRow row, Throwable error, LocalDateTime now, boolean permanent) {
+        int attempts = row.getAttempts() + 1;
+        row.setAttempts(attempts);
+        row.setLastError(truncate(String.valueOf(error.getMessage())));
+        if (permanent || attempts >= maxAttempts) {
+            row.markDead();
+            return true;
+        }
+        row.setNextAttemptAt(now.plus(backoff(attempts)));
+        return false;
+    }
+
+    /**
+     * {@code initial-backoff * 2^(attempts - 1)}, capped at {@code max-backoff}, then
+     * jittered to a random delay between half and all of it.
+     */
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        long capped = Math.min(delay.toMillis(), maxBackoff.toMillis());
+        return Duration.ofMillis(capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1));
+    }
+
+    static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
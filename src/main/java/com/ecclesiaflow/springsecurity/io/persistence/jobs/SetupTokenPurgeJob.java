@@ -0,0 +1,127 @@
+package com.ecclesiaflow.springsecurity.io.persistence.jobs;
+
+import com.ecclesiaflow.springsecurity.application.logging.annotation.LogExecution;
+import com.ecclesiaflow.springsecurity.business.domain.token.SetupToken;
+import com.ecclesiaflow.springsecurity.io.persistence.repositories.SetupTokenJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background purge of {@code setup_token} rows that can never be used again:
+ * expired tokens, tokens revoked by a newer one and consumed tokens.
+ * <p>
+ * Rows are deleted in chunks of at most {@code chunk-size} ids, each chunk in its
+ * own short transaction (select ids through {@code idx_expires_at} /
+ * {@code idx_status_expires_at}, then delete by primary key), with a pause between
+ * chunks. This keeps row locks and undo small on MySQL and leaves room for the
+ * regular token traffic. A run stops after {@code max-chunks-per-run}; the rest is
+ * picked up by the next run.
+ * </p>
+ *
+ * <p><strong>Metrics:</strong></p>
+ * <ul>
+ *   <li>{@code setup_token.purge.deleted} - rows deleted (counter)</li>
+ *   <li>{@code setup_token.purge.chunk} - latency of one chunk transaction (timer)</li>
+ *   <li>{@code setup_token.purge.backlog} - purgeable rows left after the last run (gauge)</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(name = "auth.token.purge.enabled", havingValue = "true", matchIfMissing = true)
+public class SetupTokenPurgeJob {
+
+    static final Set<SetupToken.TokenStatus> PURGEABLE_STATUSES =
+            Set.of(SetupToken.TokenStatus.REVOKED, SetupToken.TokenStatus.CONSUMED);
+
+    private final SetupTokenJpaRepository jpaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter deletedRows;
+    private final Timer chunkTimer;
+    private final AtomicLong backlog = new AtomicLong();
+
+    @Value("${auth.token.purge.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${auth.token.purge.pause-ms:200}")
+    private long pauseMs;
+
+    @Value("${auth.token.purge.max-chunks-per-run:200}")
+    private int maxChunksPerRun;
+
+    public SetupTokenPurgeJob(SetupTokenJpaRepository jpaRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.jpaRepository = jpaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.deletedRows = Counter.builder("setup_token.purge.deleted")
+                .description("Expired or revoked setup tokens deleted by the purge job")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("setup_token.purge.chunk")
+                .description("Duration of one purge chunk transaction")
+                .register(meterRegistry);
+        meterRegistry.gauge("setup_token.purge.backlog", backlog);
+    }
+
+    /**
+     * Runs one purge pass.
+     *
+     * @return number of rows deleted
+     */
+    @Scheduled(fixedDelayString = "${auth.token.purge.interval:PT15M}",
+            initialDelayString = "${auth.token.purge.initial-delay:PT1M}")
+    @LogExecution("Setup token purge")
+    public int purge() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            Integer deleted = chunkTimer.record(() -> transactionTemplate.execute(status -> purgeChunk(now)));
+            if (deleted == null || deleted == 0) {
+                break;
+            }
+            deletedRows.increment(deleted);
+            total += deleted;
+            if (deleted < chunkSize || !pause()) {
+                break;
+            }
+        }
+        backlog.set(jpaRepository.countByExpiresAtBefore(now)
+                + jpaRepository.countByStatusInAndExpiresAtGreaterThanEqual(PURGEABLE_STATUSES, now));
+        return total;
+    }
+
+    private int purgeChunk(LocalDateTime now) {
+        List<UUID> ids = new ArrayList<>(jpaRepository.findExpiredIds(now, Limit.of(chunkSize)));
+        if (ids.size() < chunkSize) {
+            ids.addAll(jpaRepository.findIdsByStatusInAndNotExpired(
+                    PURGEABLE_STATUSES, now, Limit.of(chunkSize - ids.size())));
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jpaRepository.deleteAllByIdIn(ids);
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.ecclesiaflow.springsecurity.io.persistence.jpa;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * JPA Entity for keycloak_user_compensation table.
+ * Infrastructure layer - a Keycloak user awaiting deletion.
+ * <p>
+ * Rows are deleted once the Keycloak user is gone; rows that exhausted their
+ * attempts stay as {@link Status#DEAD} for manual cleanup.
+ * </p>
+ */
+@Entity
+@Table(name = "keycloak_user_compensation", indexes = {
+    @Index(name = "idx_compensation_status_next_attempt", columnList = "status, next_attempt_at")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode(of = "id")
+public class KeycloakUserCompensationEntity implements RetryableRow {
+
+    public enum Status {
+        PENDING,
+        DEAD
+    }
+
+    @Id
+    @GeneratedValue(generator = "uuid2")
+    @UuidGenerator
+    @Column(name = "id", columnDefinition = "BINARY(16)", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "keycloak_user_id", nullable = false, unique = true, length = 64)
+    private String keycloakUserId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 255)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Override
+    public void markDead() {
+        status = Status.DEAD;
+    }
+}
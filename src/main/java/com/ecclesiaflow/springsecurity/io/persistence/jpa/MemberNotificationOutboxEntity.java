@@ -0,0 +1,90 @@
+package com.ecclesiaflow.springsecurity.io.persistence.jpa;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * JPA Entity for member_notification_outbox table.
+ * Infrastructure layer - a pending notification to the Members module.
+ * <p>
+ * An activation starts as {@link Status#RESERVED}, without a Keycloak user, and
+ * becomes {@link Status#PENDING} once the user is created. Rows are deleted once
+ * delivered; rows that exhausted their attempts stay as {@link Status#DEAD} for
+ * inspection.
+ * </p>
+ */
+@Entity
+@Table(name = "member_notification_outbox", indexes = {
+    @Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at"),
+    @Index(name = "idx_outbox_member_id", columnList = "member_id")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(exclude = "email")
+@EqualsAndHashCode(of = "id")
+public class MemberNotificationOutboxEntity implements RetryableRow {
+
+    public enum Type {
+        ACCOUNT_ACTIVATED
+    }
+
+    public enum Status {
+        RESERVED,
+        PENDING,
+        DEAD
+    }
+
+    @Id
+    @GeneratedValue(generator = "uuid2")
+    @UuidGenerator
+    @Column(name = "id", columnDefinition = "BINARY(16)", updatable = false, nullable = false)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private Type type;
+
+    @Column(name = "member_id", nullable = false, columnDefinition = "BINARY(16)")
+    private UUID memberId;
+
+    /** Null while {@link Status#RESERVED}. */
+    @Column(name = "keycloak_user_id", length = 64)
+    private String keycloakUserId;
+
+    /**
+     * Keycloak username, set on reservations to find their user if the setup request
+     * never confirmed them.
+     */
+    @Column(length = 255)
+    private String email;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 255)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Override
+    public void markDead() {
+        status = Status.DEAD;
+    }
+}
@@ -0,0 +1,24 @@
+package com.ecclesiaflow.springsecurity.io.persistence.jpa;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of a table drained by a background job, retried until it is processed or
+ * given up on.
+ * Infrastructure layer - lets the jobs share their lease and retry bookkeeping.
+ */
+public interface RetryableRow {
+
+    int getAttempts();
+
+    void setAttempts(int attempts);
+
+    void setNextAttemptAt(LocalDateTime nextAttemptAt);
+
+    void setLastError(String lastError);
+
+    /**
+     * Gives up on the row; it is kept for inspection and no longer claimed.
+     */
+    void markDead();
+}
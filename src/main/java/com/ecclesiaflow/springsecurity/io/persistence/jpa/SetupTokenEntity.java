@@ -18,14 +18,15 @@ import java.util.UUID;
 @Table(name = "setup_token", indexes = {
     @Index(name = "idx_token_hash", columnList = "token_hash"),
     @Index(name = "idx_member_id", columnList = "member_id"),
-    @Index(name = "idx_expires_at", columnList = "expires_at")
+    @Index(name = "idx_expires_at", columnList = "expires_at"),
+    @Index(name = "idx_status_expires_at", columnList = "status, expires_at")
 })
 @Getter
 @Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@ToString(exclude = {"tokenHash", "email"})
+@ToString(exclude = {"tokenHash", "tokenHashBin", "email"})
 @EqualsAndHashCode(of = "id")
 public class SetupTokenEntity {
 
@@ -35,9 +36,14 @@ public class SetupTokenEntity {
     @Column(name = "id", columnDefinition = "BINARY(16)", updatable = false, nullable = false)
     private UUID id;
 
-    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    /** Legacy Base64 SHA-256; null for rows written in {@code BINARY} storage mode. */
+    @Column(name = "token_hash", unique = true, length = 64)
     private String tokenHash;
 
+    /** Raw SHA-256; null for rows written in {@code BASE64} storage mode. */
+    @Column(name = "token_hash_bin", unique = true, columnDefinition = "BINARY(32)")
+    private byte[] tokenHashBin;
+
     @Column(nullable = false)
     private String email;
 
@@ -1,8 +1,10 @@
 package com.ecclesiaflow.springsecurity.io.persistence.mappers;
 
 import com.ecclesiaflow.springsecurity.business.domain.token.SetupToken;
+import com.ecclesiaflow.springsecurity.business.domain.token.TokenHash;
 import com.ecclesiaflow.springsecurity.io.persistence.jpa.SetupTokenEntity;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 /**
  * MapStruct mapper for SetupToken domain ↔ SetupTokenEntity conversion.
@@ -13,8 +15,15 @@ public interface SetupTokenPersistenceMapper {
 
     SetupToken toDomain(SetupTokenEntity entity);
 
+    /** The hash columns depend on the storage mode and are set by the repository. */
+    @Mapping(target = "tokenHash", ignore = true)
+    @Mapping(target = "tokenHashBin", ignore = true)
     SetupTokenEntity toEntity(SetupToken domain);
 
+    default TokenHash toTokenHash(String base64) {
+        return TokenHash.fromBase64(base64);
+    }
+
     default SetupToken toDomainOrThrow(SetupTokenEntity entity) {
         if (entity == null) {
             throw new IllegalArgumentException("SetupTokenEntity must not be null");
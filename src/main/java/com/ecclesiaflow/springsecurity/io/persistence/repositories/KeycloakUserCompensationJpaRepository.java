@@ -0,0 +1,45 @@
+package com.ecclesiaflow.springsecurity.io.persistence.repositories;
+
+import com.ecclesiaflow.springsecurity.io.persistence.jpa.KeycloakUserCompensationEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Spring Data JPA repository for KeycloakUserCompensationEntity.
+ * Infrastructure layer - handles database operations.
+ */
+public interface KeycloakUserCompensationJpaRepository extends JpaRepository<KeycloakUserCompensationEntity, UUID> {
+
+    boolean existsByKeycloakUserId(String keycloakUserId);
+
+    /**
+     * Locks due rows with {@code FOR UPDATE SKIP LOCKED} (lock timeout -2), so
+     * workers on other instances pick different rows instead of waiting.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT c FROM KeycloakUserCompensationEntity c WHERE c.status = :status AND c.nextAttemptAt <= :now ORDER BY c.nextAttemptAt")
+    List<KeycloakUserCompensationEntity> findDueForUpdate(@Param("status") KeycloakUserCompensationEntity.Status status, @Param("now") LocalDateTime now, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM KeycloakUserCompensationEntity c WHERE c.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<UUID> ids);
+
+    long countByStatus(KeycloakUserCompensationEntity.Status status);
+
+    @Query("SELECT MIN(c.createdAt) FROM KeycloakUserCompensationEntity c WHERE c.status = :status")
+    Optional<LocalDateTime> findOldestCreatedAt(@Param("status") KeycloakUserCompensationEntity.Status status);
+}
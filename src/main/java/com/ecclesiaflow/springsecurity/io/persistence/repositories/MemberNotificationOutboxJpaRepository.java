@@ -0,0 +1,49 @@
+package com.ecclesiaflow.springsecurity.io.persistence.repositories;
+
+import com.ecclesiaflow.springsecurity.io.persistence.jpa.MemberNotificationOutboxEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Spring Data JPA repository for MemberNotificationOutboxEntity.
+ * Infrastructure layer - handles database operations.
+ */
+public interface MemberNotificationOutboxJpaRepository extends JpaRepository<MemberNotificationOutboxEntity, UUID> {
+
+    boolean existsByMemberIdAndKeycloakUserId(UUID memberId, String keycloakUserId);
+
+    @Modifying
+    @Query("UPDATE MemberNotificationOutboxEntity o SET o.keycloakUserId = :keycloakUserId, o.status = :pendingStatus, o.nextAttemptAt = :now WHERE o.memberId = :memberId AND o.status = :reservedStatus")
+    int confirmReservation(@Param("memberId") UUID memberId, @Param("keycloakUserId") String keycloakUserId, @Param("now") LocalDateTime now, @Param("pendingStatus") MemberNotificationOutboxEntity.Status pendingStatus, @Param("reservedStatus") MemberNotificationOutboxEntity.Status reservedStatus);
+
+    @Modifying
+    @Query("DELETE FROM MemberNotificationOutboxEntity o WHERE o.memberId = :memberId AND o.status = :reservedStatus")
+    int deleteReservation(@Param("memberId") UUID memberId, @Param("reservedStatus") MemberNotificationOutboxEntity.Status reservedStatus);
+
+    /**
+     * Locks due rows with {@code FOR UPDATE SKIP LOCKED} (lock timeout -2), so
+     * dispatchers on other instances pick different rows instead of waiting.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM MemberNotificationOutboxEntity o WHERE o.status = :status AND o.nextAttemptAt <= :now ORDER BY o.nextAttemptAt")
+    List<MemberNotificationOutboxEntity> findDueForUpdate(@Param("status") MemberNotificationOutboxEntity.Status status, @Param("now") LocalDateTime now, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM MemberNotificationOutboxEntity o WHERE o.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<UUID> ids);
+
+    long countByStatus(MemberNotificationOutboxEntity.Status status);
+}
@@ -2,12 +2,15 @@ package com.ecclesiaflow.springsecurity.io.persistence.repositories;
 
 import com.ecclesiaflow.springsecurity.business.domain.token.SetupToken;
 import com.ecclesiaflow.springsecurity.io.persistence.jpa.SetupTokenEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,9 +23,56 @@ public interface SetupTokenJpaRepository extends JpaRepository<SetupTokenEntity,
     @Query("SELECT t FROM SetupTokenEntity t WHERE t.tokenHash = :hash AND t.status = :status AND t.expiresAt > :now")
     Optional<SetupTokenEntity> findValidToken(@Param("hash") String tokenHash, @Param("status") SetupToken.TokenStatus status, @Param("now") LocalDateTime now);
 
+    @Query("SELECT t FROM SetupTokenEntity t WHERE t.tokenHashBin = :hashBin AND t.status = :status AND t.expiresAt > :now")
+    Optional<SetupTokenEntity> findValidTokenByHashBin(@Param("hashBin") byte[] tokenHashBin, @Param("status") SetupToken.TokenStatus status, @Param("now") LocalDateTime now);
+
+    @Query("SELECT t FROM SetupTokenEntity t WHERE (t.tokenHashBin = :hashBin OR t.tokenHash = :hash) AND t.status = :status AND t.expiresAt > :now")
+    Optional<SetupTokenEntity> findValidTokenByEitherHash(@Param("hashBin") byte[] tokenHashBin, @Param("hash") String tokenHash, @Param("status") SetupToken.TokenStatus status, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE SetupTokenEntity t SET t.status = :revokedStatus WHERE t.memberId = :memberId AND t.status IN :revocableStatuses")
+    int revokeTokensForMember(@Param("memberId") UUID memberId, @Param("revokedStatus") SetupToken.TokenStatus revokedStatus, @Param("revocableStatuses") Collection<SetupToken.TokenStatus> revocableStatuses);
+
+    @Modifying
+    @Query("UPDATE SetupTokenEntity t SET t.status = :revokedStatus WHERE t.memberId IN :memberIds AND t.status IN :revocableStatuses")
+    int revokeTokensForMembers(@Param("memberIds") Collection<UUID> memberIds, @Param("revokedStatus") SetupToken.TokenStatus revokedStatus, @Param("revocableStatuses") Collection<SetupToken.TokenStatus> revocableStatuses);
+
+    Optional<SetupTokenEntity> findByTokenHash(String tokenHash);
+
+    Optional<SetupTokenEntity> findByTokenHashBin(byte[] tokenHashBin);
+
+    @Query("SELECT t FROM SetupTokenEntity t WHERE t.tokenHashBin = :hashBin OR t.tokenHash = :hash")
+    Optional<SetupTokenEntity> findByEitherHash(@Param("hashBin") byte[] tokenHashBin, @Param("hash") String tokenHash);
+
+    @Modifying
+    @Query("UPDATE SetupTokenEntity t SET t.status = :consumedStatus WHERE t.tokenHash = :hash AND t.purpose = :purpose AND t.status = :issuedStatus AND t.expiresAt > :now")
+    int claimToken(@Param("hash") String tokenHash, @Param("purpose") SetupToken.TokenPurpose purpose, @Param("consumedStatus") SetupToken.TokenStatus consumedStatus, @Param("issuedStatus") SetupToken.TokenStatus issuedStatus, @Param("now") LocalDateTime now);
+
     @Modifying
-    @Query("UPDATE SetupTokenEntity t SET t.status = :revokedStatus WHERE t.memberId = :memberId AND t.status = :issuedStatus")
-    int revokeTokensForMember(@Param("memberId") UUID memberId, @Param("revokedStatus") SetupToken.TokenStatus revokedStatus, @Param("issuedStatus") SetupToken.TokenStatus issuedStatus);
+    @Query("UPDATE SetupTokenEntity t SET t.status = :consumedStatus WHERE t.tokenHashBin = :hashBin AND t.purpose = :purpose AND t.status = :issuedStatus AND t.expiresAt > :now")
+    int claimTokenByHashBin(@Param("hashBin") byte[] tokenHashBin, @Param("purpose") SetupToken.TokenPurpose purpose, @Param("consumedStatus") SetupToken.TokenStatus consumedStatus, @Param("issuedStatus") SetupToken.TokenStatus issuedStatus, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE SetupTokenEntity t SET t.status = :consumedStatus WHERE (t.tokenHashBin = :hashBin OR t.tokenHash = :hash) AND t.purpose = :purpose AND t.status = :issuedStatus AND t.expiresAt > :now")
+    int claimTokenByEitherHash(@Param("hashBin") byte[] tokenHashBin, @Param("hash") String tokenHash, @Param("purpose") SetupToken.TokenPurpose purpose, @Param("consumedStatus") SetupToken.TokenStatus consumedStatus, @Param("issuedStatus") SetupToken.TokenStatus issuedStatus, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE SetupTokenEntity t SET t.status = :issuedStatus WHERE t.id = :id AND t.status = :consumedStatus")
+    int releaseToken(@Param("id") UUID id, @Param("issuedStatus") SetupToken.TokenStatus issuedStatus, @Param("consumedStatus") SetupToken.TokenStatus consumedStatus);
+
+    @Query("SELECT t.id FROM SetupTokenEntity t WHERE t.expiresAt < :now")
+    List<UUID> findExpiredIds(@Param("now") LocalDateTime now, Limit limit);
+
+    @Query("SELECT t.id FROM SetupTokenEntity t WHERE t.status IN :statuses AND t.expiresAt >= :now")
+    List<UUID> findIdsByStatusInAndNotExpired(@Param("statuses") Collection<SetupToken.TokenStatus> statuses, @Param("now") LocalDateTime now, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM SetupTokenEntity t WHERE t.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<UUID> ids);
+
+    long countByExpiresAtBefore(LocalDateTime now);
+
+    long countByStatusInAndExpiresAtGreaterThanEqual(Collection<SetupToken.TokenStatus> statuses, LocalDateTime now);
 
     boolean existsByMemberIdAndStatusAndExpiresAtAfter(UUID memberId, SetupToken.TokenStatus status, LocalDateTime now);
 }
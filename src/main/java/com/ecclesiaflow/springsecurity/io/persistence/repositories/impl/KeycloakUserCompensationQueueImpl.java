@@ -0,0 +1,39 @@
+package com.ecclesiaflow.springsecurity.io.persistence.repositories.impl;
+
+import com.ecclesiaflow.springsecurity.business.domain.password.KeycloakUserCompensationQueue;
+import com.ecclesiaflow.springsecurity.io.persistence.jpa.KeycloakUserCompensationEntity;
+import com.ecclesiaflow.springsecurity.io.persistence.repositories.KeycloakUserCompensationJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Implementation of KeycloakUserCompensationQueue using JPA.
+ * Infrastructure layer - adapts JPA to domain interface.
+ * <p>
+ * Rows are processed by {@link com.ecclesiaflow.springsecurity.io.persistence.jobs.KeycloakUserCompensationWorker}.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class KeycloakUserCompensationQueueImpl implements KeycloakUserCompensationQueue {
+
+    private final KeycloakUserCompensationJpaRepository jpaRepository;
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void enqueueDeletion(String keycloakUserId) {
+        if (jpaRepository.existsByKeycloakUserId(keycloakUserId)) {
+            return;
+        }
+        jpaRepository.save(KeycloakUserCompensationEntity.builder()
+                .keycloakUserId(keycloakUserId)
+                .status(KeycloakUserCompensationEntity.Status.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,71 @@
+package com.ecclesiaflow.springsecurity.io.persistence.repositories.impl;
+
+import com.ecclesiaflow.springsecurity.business.domain.member.MemberNotificationOutbox;
+import com.ecclesiaflow.springsecurity.io.persistence.jpa.MemberNotificationOutboxEntity;
+import com.ecclesiaflow.springsecurity.io.persistence.repositories.MemberNotificationOutboxJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Implementation of MemberNotificationOutbox using JPA.
+ * Infrastructure layer - adapts JPA to domain interface.
+ * <p>
+ * Rows are delivered by {@link com.ecclesiaflow.springsecurity.io.persistence.jobs.MemberNotificationDispatcher}.
+ * A reservation is due for recovery {@code reservation-timeout} after it was made,
+ * well after any setup request still running has confirmed or cancelled it.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class MemberNotificationOutboxImpl implements MemberNotificationOutbox {
+
+    private final MemberNotificationOutboxJpaRepository jpaRepository;
+
+    @Value("${members.notification.outbox.reservation-timeout:PT10M}")
+    private Duration reservationTimeout;
+
+    @Override
+    @Transactional
+    public void reserveAccountActivated(UUID memberId, String email) {
+        jpaRepository.save(row(memberId, null, email, MemberNotificationOutboxEntity.Status.RESERVED,
+                LocalDateTime.now().plus(reservationTimeout)));
+    }
+
+    @Override
+    @Transactional
+    public void confirmAccountActivated(UUID memberId, String keycloakUserId) {
+        LocalDateTime now = LocalDateTime.now();
+        int confirmed = jpaRepository.confirmReservation(memberId, keycloakUserId, now,
+                MemberNotificationOutboxEntity.Status.PENDING, MemberNotificationOutboxEntity.Status.RESERVED);
+        // Already resolved by the dispatcher: recorded again unless it found this user
+        if (confirmed == 0 && !jpaRepository.existsByMemberIdAndKeycloakUserId(memberId, keycloakUserId)) {
+            jpaRepository.save(row(memberId, keycloakUserId, null, MemberNotificationOutboxEntity.Status.PENDING, now));
+        }
+    }
+
+    @Override
+    @Transactional
+    public void cancelAccountActivated(UUID memberId) {
+        jpaRepository.deleteReservation(memberId, MemberNotificationOutboxEntity.Status.RESERVED);
+    }
+
+    private static MemberNotificationOutboxEntity row(UUID memberId, String keycloakUserId, String email,
+                                                      MemberNotificationOutboxEntity.Status status,
+                                                      LocalDateTime nextAttemptAt) {
+        return MemberNotificationOutboxEntity.builder()
+                .type(MemberNotificationOutboxEntity.Type.ACCOUNT_ACTIVATED)
+                .memberId(memberId)
+                .keycloakUserId(keycloakUserId)
+                .email(email)
+                .status(status)
+                .attempts(0)
+                .nextAttemptAt(nextAttemptAt)
+                .build();
+    }
+}
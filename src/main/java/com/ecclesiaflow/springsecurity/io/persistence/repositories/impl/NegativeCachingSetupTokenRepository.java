@@ -0,0 +1,153 @@
+package com.ecclesiaflow.springsecurity.io.persistence.repositories.impl;
+
+import com.ecclesiaflow.springsecurity.business.domain.token.SetupToken;
+import com.ecclesiaflow.springsecurity.business.domain.token.SetupTokenRepository;
+import com.ecclesiaflow.springsecurity.business.domain.token.TokenHash;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * SetupTokenRepository decorator that remembers recently rejected token hashes.
+ * <p>
+ * Bogus tokens from scanners and old email links that are clicked twice would
+ * otherwise run a full {@code findValidToken} query every time. A hash that
+ * found no valid token is kept in a bounded Caffeine cache (size and TTL
+ * configurable) and answered from memory until it expires. A rejected hash can
+ * only become valid again by being issued, so {@link #save} and {@link #saveAll}
+ * evict the hashes they store.
+ * </p>
+ *
+ * <p><strong>Metrics:</strong> {@code cache.gets{cache=setup_token.negative,result=hit|miss}},
+ * {@code cache.size} and {@code cache.evictions}. Hits are DB queries avoided.</p>
+ *
+ * <p>The cache is per instance. Token hashes are random 256-bit values, so a hash
+ * rejected on one instance and issued on another is not a practical concern.</p>
+ */
+@Primary
+@Repository
+@ConditionalOnProperty(name = "auth.token.negative-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class NegativeCachingSetupTokenRepository implements SetupTokenRepository {
+
+    static final String CACHE_NAME = "setup_token.negative";
+
+    private final SetupTokenRepository delegate;
+    private final Cache<TokenHash, Boolean> rejectedHashes;
+
+    public NegativeCachingSetupTokenRepository(
+            SetupTokenRepositoryImpl delegate,
+            MeterRegistry meterRegistry,
+            @Value("${auth.token.negative-cache.max-size:10000}") long maxSize,
+            @Value("${auth.token.negative-cache.ttl:PT10M}") Duration ttl) {
+        this.delegate = delegate;
+        this.rejectedHashes = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, rejectedHashes, CACHE_NAME);
+    }
+
+    @Override
+    public Optional<SetupToken> findValidToken(TokenHash tokenHash, LocalDateTime now) {
+        if (rejectedHashes.getIfPresent(tokenHash) != null) {
+            return Optional.empty();
+        }
+        Optional<SetupToken> token = delegate.findValidToken(tokenHash, now);
+        if (token.isEmpty()) {
+            rejectedHashes.put(tokenHash, Boolean.TRUE);
+        }
+        return token;
+    }
+
+    @Override
+    public SetupToken save(SetupToken token) {
+        rejectedHashes.invalidate(token.getTokenHash());
+        return delegate.save(token);
+    }
+
+    @Override
+    public List<SetupToken> saveAll(List<SetupToken> tokens) {
+        rejectedHashes.invalidateAll(tokens.stream().map(SetupToken::getTokenHash).toList());
+        return delegate.saveAll(tokens);
+    }
+
+    @Override
+    public void delete(SetupToken token) {
+        delegate.delete(token);
+    }
+
+    @Override
+    public Optional<SetupToken> findByTokenHash(TokenHash tokenHash) {
+        return delegate.findByTokenHash(tokenHash);
+    }
+
+    /**
+     * A rejected hash cannot be claimed, so no update is issued for it. A consumed
+     * token can never validate again, so its hash is cached as rejected once the
+     * claim is committed (a rolled-back claim leaves the token usable).
+     */
+    @Override
+    public boolean claim(TokenHash tokenHash, SetupToken.TokenPurpose purpose, LocalDateTime now) {
+        if (rejectedHashes.getIfPresent(tokenHash) != null) {
+            return false;
+        }
+        boolean claimed = delegate.claim(tokenHash, purpose, now);
+        if (claimed) {
+            afterCommit(() -> rejectedHashes.put(tokenHash, Boolean.TRUE));
+        }
+        return claimed;
+    }
+
+    /**
+     * A released token is usable again, so its hash stops being rejected once the
+     * release is committed.
+     */
+    @Override
+    public void release(SetupToken token) {
+        delegate.release(token);
+        afterCommit(() -> rejectedHashes.invalidate(token.getTokenHash()));
+    }
+
+    @Override
+    public int revokeTokensForMember(UUID memberId) {
+        return delegate.revokeTokensForMember(memberId);
+    }
+
+    @Override
+    public int revokeTokensForMembers(Collection<UUID> memberIds) {
+        return delegate.revokeTokensForMembers(memberIds);
+    }
+
+    @Override
+    public boolean existsValidTokenForMember(UUID memberId, LocalDateTime now) {
+        return delegate.existsValidTokenForMember(memberId, now);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -2,40 +2,85 @@ package com.ecclesiaflow.springsecurity.io.persistence.repositories.impl;
 
 import com.ecclesiaflow.springsecurity.business.domain.token.SetupToken;
 import com.ecclesiaflow.springsecurity.business.domain.token.SetupTokenRepository;
+import com.ecclesiaflow.springsecurity.business.domain.token.TokenHash;
 import com.ecclesiaflow.springsecurity.io.persistence.jpa.SetupTokenEntity;
 import com.ecclesiaflow.springsecurity.io.persistence.mappers.SetupTokenPersistenceMapper;
 import com.ecclesiaflow.springsecurity.io.persistence.repositories.SetupTokenJpaRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Implementation of SetupTokenRepository using JPA.
  * Infrastructure layer - adapts JPA to domain interface.
+ * <p>
+ * The column(s) a hash is stored in and looked up by follow
+ * {@code auth.token.hash.storage-mode} (see {@link TokenHashStorageMode}). The raw
+ * digest goes to {@code token_hash_bin} as is; only the Base64 column needs it encoded.
+ * </p>
  */
 @Repository
 @RequiredArgsConstructor
 public class SetupTokenRepositoryImpl implements SetupTokenRepository {
 
+    /** Keeps {@code IN (...)} lists well below driver and optimizer limits. */
+    static final int IN_CLAUSE_CHUNK_SIZE = 500;
+
+    /**
+     * Consumed tokens are revoked too: a setup still in flight on a superseded token
+     * then finds nothing to {@link #release} if it fails.
+     */
+    static final List<SetupToken.TokenStatus> REVOCABLE_STATUSES =
+            List.of(SetupToken.TokenStatus.ISSUED, SetupToken.TokenStatus.CONSUMED);
+
     private final SetupTokenJpaRepository jpaRepository;
     private final SetupTokenPersistenceMapper mapper;
 
+    @Value("${auth.token.hash.storage-mode:BASE64}")
+    private TokenHashStorageMode storageMode;
+
     @Override
-    public Optional<SetupToken> findValidToken(String tokenHash, LocalDateTime now) {
-        return jpaRepository.findValidToken(tokenHash, SetupToken.TokenStatus.ISSUED, now)
-                .map(mapper::toDomainOrThrow);
+    public Optional<SetupToken> findValidToken(TokenHash tokenHash, LocalDateTime now) {
+        SetupToken.TokenStatus issued = SetupToken.TokenStatus.ISSUED;
+        Optional<SetupTokenEntity> entity = switch (storageMode) {
+            case BASE64 -> jpaRepository.findValidToken(tokenHash.base64(), issued, now);
+            case DUAL -> jpaRepository.findValidTokenByEitherHash(tokenHash.bytes(), tokenHash.base64(), issued, now);
+            case BINARY -> jpaRepository.findValidTokenByHashBin(tokenHash.bytes(), issued, now);
+        };
+        return entity.map(found -> toDomain(found, tokenHash));
     }
 
     @Override
     @Transactional
     public SetupToken save(SetupToken token) {
-        SetupTokenEntity entity = mapper.toEntity(token);
-        SetupTokenEntity saved = jpaRepository.save(entity);
-        return mapper.toDomainOrThrow(saved);
+        SetupTokenEntity saved = jpaRepository.save(toEntity(token));
+        return toDomain(saved, token.getTokenHash());
+    }
+
+    /**
+     * Inserts are grouped into JDBC batches when {@code hibernate.jdbc.batch_size}
+     * is set (UUID ids are generated client-side, so Hibernate can batch them).
+     */
+    @Override
+    @Transactional
+    public List<SetupToken> saveAll(List<SetupToken> tokens) {
+        List<SetupTokenEntity> entities = tokens.stream()
+                .map(this::toEntity)
+                .toList();
+        List<SetupTokenEntity> saved = jpaRepository.saveAll(entities);
+        List<SetupToken> result = new ArrayList<>(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            result.add(toDomain(saved.get(i), tokens.get(i).getTokenHash()));
+        }
+        return result;
     }
 
     @Override
@@ -45,11 +90,58 @@ public class SetupTokenRepositoryImpl implements SetupTokenRepository {
         jpaRepository.delete(entity);
     }
 
+    @Override
+    public Optional<SetupToken> findByTokenHash(TokenHash tokenHash) {
+        Optional<SetupTokenEntity> entity = switch (storageMode) {
+            case BASE64 -> jpaRepository.findByTokenHash(tokenHash.base64());
+            case DUAL -> jpaRepository.findByEitherHash(tokenHash.bytes(), tokenHash.base64());
+            case BINARY -> jpaRepository.findByTokenHashBin(tokenHash.bytes());
+        };
+        return entity.map(found -> toDomain(found, tokenHash));
+    }
+
+    /**
+     * Conditional update by token hash, without reading the row first: the row lock
+     * taken by the first caller makes a concurrent claim wait, then match no row once
+     * the first commits.
+     */
+    @Override
+    @Transactional
+    public boolean claim(TokenHash tokenHash, SetupToken.TokenPurpose purpose, LocalDateTime now) {
+        SetupToken.TokenStatus consumed = SetupToken.TokenStatus.CONSUMED;
+        SetupToken.TokenStatus issued = SetupToken.TokenStatus.ISSUED;
+        int claimed = switch (storageMode) {
+            case BASE64 -> jpaRepository.claimToken(tokenHash.base64(), purpose, consumed, issued, now);
+            case DUAL -> jpaRepository.claimTokenByEitherHash(tokenHash.bytes(), tokenHash.base64(), purpose, consumed, issued, now);
+            case BINARY -> jpaRepository.claimTokenByHashBin(tokenHash.bytes(), purpose, consumed, issued, now);
+        };
+        return claimed == 1;
+    }
+
+    @Override
+    @Transactional
+    public void release(SetupToken token) {
+        jpaRepository.releaseToken(token.getId(), SetupToken.TokenStatus.ISSUED, SetupToken.TokenStatus.CONSUMED);
+    }
+
     @Override
     @Transactional
     public int revokeTokensForMember(UUID memberId) {
         return jpaRepository.revokeTokensForMember(
-                memberId, SetupToken.TokenStatus.REVOKED, SetupToken.TokenStatus.ISSUED);
+                memberId, SetupToken.TokenStatus.REVOKED, REVOCABLE_STATUSES);
+    }
+
+    @Override
+    @Transactional
+    public int revokeTokensForMembers(Collection<UUID> memberIds) {
+        List<UUID> ids = List.copyOf(memberIds);
+        int revoked = 0;
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, ids.size()));
+            revoked += jpaRepository.revokeTokensForMembers(
+                    chunk, SetupToken.TokenStatus.REVOKED, REVOCABLE_STATUSES);
+        }
+        return revoked;
     }
 
     @Override
@@ -57,4 +149,21 @@ public class SetupTokenRepositoryImpl implements SetupTokenRepository {
         return jpaRepository.existsByMemberIdAndStatusAndExpiresAtAfter(
                 memberId, SetupToken.TokenStatus.ISSUED, now);
     }
+
+    private SetupTokenEntity toEntity(SetupToken token) {
+        SetupTokenEntity entity = mapper.toEntity(token);
+        TokenHash tokenHash = token.getTokenHash();
+        entity.setTokenHash(storageMode != TokenHashStorageMode.BINARY ? tokenHash.base64() : null);
+        entity.setTokenHashBin(storageMode != TokenHashStorageMode.BASE64 ? tokenHash.bytes() : null);
+        return entity;
+    }
+
+    /**
+     * Rows written in {@code BINARY} mode have no Base64 column; the hash the caller
+     * looked up or saved is put back instead of reading {@code token_hash_bin}.
+     */
+    private SetupToken toDomain(SetupTokenEntity entity, TokenHash tokenHash) {
+        SetupToken token = mapper.toDomainOrThrow(entity);
+        return token.getTokenHash() == null ? token.toBuilder().tokenHash(tokenHash).build() : token;
+    }
 }
@@ -0,0 +1,26 @@
+package com.ecclesiaflow.springsecurity.io.persistence.repositories.impl;
+
+/**
+ * How setup token hashes are written to and looked up in {@code setup_token}.
+ * <p>
+ * Migration path from the legacy Base64 column to {@code token_hash_bin BINARY(32)}:
+ * {@link #BASE64} → {@link #DUAL} (on every instance) → {@link #BINARY} once no
+ * issued token without {@code token_hash_bin} is left (backfilled, or drained by
+ * expiry and the purge job).
+ * </p>
+ *
+ * <p>{@link #BASE64} is the default. {@link #DUAL} is slower than either end state (every
+ * lookup matches two unique indexes and every write fills both columns), so it should
+ * only be kept for the duration of the migration.</p>
+ */
+public enum TokenHashStorageMode {
+
+    /** Legacy and default: write and look up {@code token_hash} (Base64 VARCHAR) only. */
+    BASE64,
+
+    /** Temporary migration step: write both columns; look up a row matching either one. */
+    DUAL,
+
+    /** Write and look up {@code token_hash_bin} only; {@code token_hash} stays null. */
+    BINARY
+}
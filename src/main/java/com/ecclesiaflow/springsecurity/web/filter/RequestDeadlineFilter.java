@@ -0,0 +1,57 @@
+package com.ecclesiaflow.springsecurity.web.filter;
+
+import io.grpc.Context;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gives each API request a time budget that downstream gRPC calls inherit.
+ * <p>
+ * The request is processed inside a gRPC {@link Context} whose deadline is the
+ * budget, so every gRPC call made on the request thread gets at most the time the
+ * request has left, on top of its own per-method deadline. The context is
+ * cancelled when the request completes, which also cancels any call it started
+ * and did not wait for.
+ * </p>
+ */
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    private final Duration budget;
+    private final ScheduledExecutorService deadlineScheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("request-deadline").daemon().factory());
+
+    public RequestDeadlineFilter(Duration budget) {
+        if (budget.isNegative() || budget.isZero()) {
+            throw new IllegalArgumentException("budget must be positive");
+        }
+        this.budget = budget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Context.CancellableContext context = Context.current()
+                .withDeadlineAfter(budget.toMillis(), TimeUnit.MILLISECONDS, deadlineScheduler);
+        Context previous = context.attach();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            context.detach(previous);
+            context.cancel(null);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        deadlineScheduler.shutdownNow();
+    }
+}
@@ -2,10 +2,18 @@ package com.ecclesiaflow.springsecurity.application.config;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * Unit tests for AsyncConfig.
@@ -50,7 +58,7 @@ class AsyncConfigTest {
     @DisplayName("Should be instantiable")
     void shouldBeInstantiable() {
         // When
-        AsyncConfig asyncConfig = new AsyncConfig();
+        AsyncConfig asyncConfig = new AsyncConfig(executorProvider(null));
 
         // Then
         assertThat(asyncConfig)
@@ -72,4 +80,37 @@ class AsyncConfigTest {
                 .as("EnableAsync should use PROXY mode by default")
                 .isEqualTo("PROXY");
     }
+
+    @Test
+    @DisplayName("Should run @Async methods on the application task executor")
+    void shouldUseApplicationTaskExecutor() {
+        // Given
+        Executor executor = Runnable::run;
+
+        // When
+        AsyncConfig asyncConfig = new AsyncConfig(executorProvider(executor));
+
+        // Then
+        assertThat(asyncConfig.getAsyncExecutor()).isSameAs(executor);
+    }
+
+    @Test
+    @DisplayName("Should log uncaught exceptions of void @Async methods without rethrowing")
+    void shouldHandleUncaughtExceptions() throws NoSuchMethodException {
+        // Given
+        AsyncUncaughtExceptionHandler handler = new AsyncConfig(executorProvider(null)).getAsyncUncaughtExceptionHandler();
+        Method method = Object.class.getMethod("toString");
+
+        // When / Then
+        assertThat(handler).isNotNull();
+        assertThatCode(() -> handler.handleUncaughtException(new IllegalStateException("boom"), method))
+                .doesNotThrowAnyException();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<Executor> executorProvider(Executor executor) {
+        ObjectProvider<Executor> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(executor);
+        return provider;
+    }
 }
@@ -0,0 +1,68 @@
+package com.ecclesiaflow.springsecurity.application.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for FeignHttpClientConfig.
+ */
+@DisplayName("FeignHttpClientConfig - Unit Tests")
+class FeignHttpClientConfigTest {
+
+    private final FeignHttpClientConfig config = new FeignHttpClientConfig();
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private PoolingHttpClientConnectionManager pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ObjectProvider<HttpClientConnectionManager> provider(HttpClientConnectionManager connectionManager) {
+        ObjectProvider<HttpClientConnectionManager> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(connectionManager);
+        return provider;
+    }
+
+    @Test
+    @DisplayName("Should publish leased, available, pending and max gauges for the pooled connection manager")
+    void shouldBindPoolMetrics() {
+        pool = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(20)
+                .setMaxConnPerRoute(10)
+                .build();
+
+        config.feignConnectionPoolMetrics(provider(pool)).bindTo(registry);
+
+        assertThat(registry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", FeignHttpClientConfig.POOL_NAME).gauge().value()).isEqualTo(20);
+        assertThat(registry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "leased").gauge().value()).isZero();
+        assertThat(registry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "available").gauge().value()).isZero();
+        assertThat(registry.get("httpcomponents.httpclient.pool.total.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should register nothing when the transport is not pooled")
+    void shouldSkipNonPooledTransport() {
+        config.feignConnectionPoolMetrics(provider(mock(HttpClientConnectionManager.class))).bindTo(registry);
+        config.feignConnectionPoolMetrics(provider(null)).bindTo(registry);
+
+        assertThat(registry.getMeters()).isEmpty();
+    }
+}
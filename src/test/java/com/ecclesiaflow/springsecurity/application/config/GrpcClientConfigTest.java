@@ -1,14 +1,28 @@
 package com.ecclesiaflow.springsecurity.application.config;
 
+import com.ecclesiaflow.grpc.members.MembersServiceGrpc;
+import com.ecclesiaflow.springsecurity.io.members.ManagedChannelPool;
+import com.ecclesiaflow.springsecurity.io.members.MembersDeadlineInterceptor;
+import com.ecclesiaflow.springsecurity.web.filter.RequestDeadlineFilter;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
 import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,7 +51,36 @@ class GrpcClientConfigTest {
         // Default values configuration
         ReflectionTestUtils.setField(config, "membersServiceHost", "localhost");
         ReflectionTestUtils.setField(config, "membersServicePort", 9091);
+        ReflectionTestUtils.setField(config, "membersTarget", "");
+        ReflectionTestUtils.setField(config, "loadBalancingPolicy", "round_robin");
+        ReflectionTestUtils.setField(config, "healthCheckEnabled", true);
+        ReflectionTestUtils.setField(config, "healthCheckServiceName", "");
+        ReflectionTestUtils.setField(config, "channelPoolSize", 1);
         ReflectionTestUtils.setField(config, "shutdownTimeoutSeconds", 5);
+        ReflectionTestUtils.setField(config, "defaultDeadline", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(config, "confirmationStatusDeadline", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(config, "accountActivatedDeadline", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(config, "localCredentialsAddedDeadline", Duration.ofSeconds(4));
+        ReflectionTestUtils.setField(config, "accountActivatedWithCredentialsDeadline", Duration.ofSeconds(6));
+        ReflectionTestUtils.setField(config, "retryMaxAttempts", 3);
+        ReflectionTestUtils.setField(config, "retryInitialBackoff", Duration.ofMillis(200));
+        ReflectionTestUtils.setField(config, "retryMaxBackoff", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(config, "retryBackoffMultiplier", 2.0);
+        ReflectionTestUtils.setField(config, "defaultRetryableStatusCodes", List.of(Status.Code.UNAVAILABLE));
+        ReflectionTestUtils.setField(config, "confirmationStatusRetryableStatusCodes",
+                List.of(Status.Code.UNAVAILABLE, Status.Code.ABORTED));
+        ReflectionTestUtils.setField(config, "accountActivatedRetryableStatusCodes",
+                List.of(Status.Code.UNAVAILABLE, Status.Code.INTERNAL));
+        ReflectionTestUtils.setField(config, "localCredentialsAddedRetryableStatusCodes",
+                List.of(Status.Code.UNAVAILABLE, Status.Code.INTERNAL));
+        ReflectionTestUtils.setField(config, "accountActivatedWithCredentialsRetryableStatusCodes",
+                List.of(Status.Code.UNAVAILABLE, Status.Code.INTERNAL));
+        ReflectionTestUtils.setField(config, "retryThrottlingMaxTokens", 10);
+        ReflectionTestUtils.setField(config, "retryThrottlingTokenRatio", 0.1);
+        ReflectionTestUtils.setField(config, "hedgingEnabled", true);
+        ReflectionTestUtils.setField(config, "hedgingMaxAttempts", 2);
+        ReflectionTestUtils.setField(config, "hedgingDelay", Duration.ofMillis(200));
+        ReflectionTestUtils.setField(config, "metricsSlo", List.of(Duration.ofMillis(50), Duration.ofMillis(500)));
     }
 
     @AfterEach
@@ -55,7 +98,7 @@ class GrpcClientConfigTest {
     @DisplayName("Should create a ManagedChannel with the correct configuration")
     void shouldCreateManagedChannel() {
         // When
-        ManagedChannel channel = config.membersGrpcChannel();
+        ManagedChannel channel = config.membersGrpcChannel(new SimpleMeterRegistry());
 
         // Then
         assertNotNull(channel, "The channel must not be null");
@@ -74,7 +117,7 @@ class GrpcClientConfigTest {
         ReflectionTestUtils.setField(config, "membersServicePort", 8080);
 
         // When
-        ManagedChannel channel = config.membersGrpcChannel();
+        ManagedChannel channel = config.membersGrpcChannel(new SimpleMeterRegistry());
 
         // Then
         assertNotNull(channel);
@@ -83,6 +126,155 @@ class GrpcClientConfigTest {
         channel.shutdownNow();
     }
 
+    @Test
+    @DisplayName("Should target host and port unless a target is configured")
+    void shouldResolveTarget() {
+        // Then
+        assertEquals("localhost:9091", config.membersTarget());
+
+        // Given
+        ReflectionTestUtils.setField(config, "membersTarget", "dns:///members-headless:9091");
+
+        // Then
+        assertEquals("dns:///members-headless:9091", config.membersTarget());
+    }
+
+    @Test
+    @DisplayName("Should create a channel for a dns target")
+    void shouldCreateChannelForDnsTarget() {
+        // Given
+        ReflectionTestUtils.setField(config, "membersTarget", "dns:///members-headless:9091");
+
+        // When
+        ManagedChannel channel = config.membersGrpcChannel(new SimpleMeterRegistry());
+
+        // Then
+        assertEquals("members-headless:9091", channel.authority());
+
+        // Cleanup
+        channel.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should pool channels when the pool size is greater than 1")
+    void shouldCreateChannelPool() throws InterruptedException {
+        // Given
+        ReflectionTestUtils.setField(config, "channelPoolSize", 3);
+
+        // When
+        ManagedChannel channel = config.membersGrpcChannel(new SimpleMeterRegistry());
+
+        // Then
+        ManagedChannelPool pool = assertInstanceOf(ManagedChannelPool.class, channel);
+        assertEquals(3, pool.size());
+
+        // Cleanup
+        config.shutdown();
+        assertTrue(pool.isShutdown());
+    }
+
+    @Test
+    @DisplayName("Should health-check backends of the configured service")
+    void shouldConfigureHealthCheck() {
+        // Given
+        ReflectionTestUtils.setField(config, "healthCheckServiceName", "ecclesiaflow.members.MembersService");
+
+        // Then
+        assertEquals(Map.of("healthCheckConfig", Map.of("serviceName", "ecclesiaflow.members.MembersService")),
+                config.healthCheckServiceConfig());
+    }
+
+    @Test
+    @DisplayName("Should retry notifications and hedge confirmation status lookups through the service config")
+    @SuppressWarnings("unchecked")
+    void shouldConfigureRetryAndHedging() {
+        // When
+        Map<String, ?> serviceConfig = config.membersServiceConfig();
+
+        // Then
+        List<Map<String, Object>> methodConfigs = (List<Map<String, Object>>) serviceConfig.get("methodConfig");
+        assertEquals(MembersServiceGrpc.getServiceDescriptor().getMethods().size(), methodConfigs.size());
+        assertEquals(Map.of(
+                "maxAttempts", 3.0,
+                "initialBackoff", "0.2s",
+                "maxBackoff", "2s",
+                "backoffMultiplier", 2.0,
+                "retryableStatusCodes", List.of("UNAVAILABLE", "INTERNAL")), methodConfig(methodConfigs,
+                "NotifyAccountActivated").get("retryPolicy"));
+        assertEquals(Map.of(
+                "maxAttempts", 2.0,
+                "hedgingDelay", "0.2s",
+                "nonFatalStatusCodes", List.of("UNAVAILABLE", "ABORTED")), methodConfig(methodConfigs,
+                "GetMemberConfirmationStatus").get("hedgingPolicy"));
+        assertEquals(Map.of("maxTokens", 10.0, "tokenRatio", 0.1), serviceConfig.get("retryThrottling"));
+        assertEquals(Map.of("serviceName", ""), serviceConfig.get("healthCheckConfig"));
+    }
+
+    @Test
+    @DisplayName("Should leave health checking out of the service config when disabled")
+    void shouldOmitHealthCheckWhenDisabled() {
+        // Given
+        ReflectionTestUtils.setField(config, "healthCheckEnabled", false);
+
+        // Then
+        assertFalse(config.membersServiceConfig().containsKey("healthCheckConfig"));
+        assertTrue(config.membersServiceConfig().containsKey("methodConfig"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> methodConfig(List<Map<String, Object>> methodConfigs, String method) {
+        return methodConfigs.stream()
+                .filter(methodConfig -> ((List<Map<String, String>>) methodConfig.get("name")).getFirst()
+                        .get("method").equals(method))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    // =====================================================
+    // Deadline tests
+    // =====================================================
+
+    @Test
+    @DisplayName("Should map each Members method to its configured deadline")
+    void shouldMapMethodDeadlines() {
+        // When
+        MembersDeadlineInterceptor interceptor = config.membersDeadlineInterceptor();
+
+        // Then
+        assertEquals(2, deadlineSeconds(interceptor, MembersServiceGrpc.getGetMemberConfirmationStatusMethod()));
+        assertEquals(5, deadlineSeconds(interceptor, MembersServiceGrpc.getNotifyAccountActivatedMethod()));
+        assertEquals(4, deadlineSeconds(interceptor, MembersServiceGrpc.getNotifyLocalCredentialsAddedMethod()));
+        assertEquals(6, deadlineSeconds(interceptor,
+                MembersServiceGrpc.getNotifyAccountActivatedWithCredentialsMethod()));
+    }
+
+    /**
+     * Deadline, in whole seconds from now, that {@code interceptor} sets on a call of {@code method}.
+     */
+    private long deadlineSeconds(MembersDeadlineInterceptor interceptor, MethodDescriptor<?, ?> method) {
+        Channel next = mock(Channel.class);
+        interceptor.interceptCall(method, CallOptions.DEFAULT, next);
+
+        ArgumentCaptor<CallOptions> options = ArgumentCaptor.forClass(CallOptions.class);
+        verify(next).newCall(eq(method), options.capture());
+        return Math.round(options.getValue().getDeadline().timeRemaining(TimeUnit.MILLISECONDS) / 1000.0);
+    }
+
+    @Test
+    @DisplayName("Should register the request budget filter on API paths")
+    void shouldRegisterRequestDeadlineFilter() {
+        // When
+        FilterRegistrationBean<RequestDeadlineFilter> registration =
+                config.requestDeadlineFilter(Duration.ofSeconds(10));
+
+        // Then
+        assertNotNull(registration.getFilter());
+        assertTrue(registration.getUrlPatterns().contains("/ecclesiaflow/*"));
+
+        // Cleanup
+        registration.getFilter().destroy();
+    }
+
     // =====================================================
     // Shutdown tests
     // =====================================================
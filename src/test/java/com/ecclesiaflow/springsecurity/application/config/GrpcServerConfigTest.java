@@ -1,8 +1,21 @@
 package com.ecclesiaflow.springsecurity.application.config;
 
+import com.ecclesiaflow.grpc.auth.AuthServiceGrpc;
+import com.ecclesiaflow.grpc.auth.TemporaryTokenRequest;
+import com.ecclesiaflow.grpc.auth.TemporaryTokenResponse;
 import com.ecclesiaflow.springsecurity.io.grpc.server.AuthGrpcServiceImpl;
+import com.ecclesiaflow.springsecurity.io.grpc.server.ConcurrentCallLimitInterceptor;
+import com.ecclesiaflow.springsecurity.io.grpc.server.GrpcServerMetricsInterceptor;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
 import io.grpc.Server;
+import io.grpc.ServerInterceptor;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.netty.shaded.io.netty.channel.MultithreadEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.util.NettyRuntime;
+import io.grpc.stub.StreamObserver;
 import io.grpc.protobuf.services.HealthStatusManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,7 +24,11 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -37,17 +54,20 @@ class GrpcServerConfigTest {
     @Mock
     private HealthStatusManager mockHealthStatusManager;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
     private GrpcServerConfig config;
     private AutoCloseable closeable;
 
     @BeforeEach
     void setUp() {
         closeable = MockitoAnnotations.openMocks(this);
-        config = new GrpcServerConfig(jwtGrpcService);
+        config = new GrpcServerConfig(jwtGrpcService, meterRegistry);
         
         // Default values configuration
         ReflectionTestUtils.setField(config, "grpcServerPort", 9090);
         ReflectionTestUtils.setField(config, "shutdownTimeoutSeconds", 30);
+        ReflectionTestUtils.setField(config, "executorMode", GrpcServerExecutorMode.PLATFORM);
+        ReflectionTestUtils.setField(config, "metricsSlo", List.of(Duration.ofMillis(50), Duration.ofMillis(500)));
     }
 
     @AfterEach
@@ -65,7 +85,7 @@ class GrpcServerConfigTest {
     @DisplayName("Should create GrpcServerConfig with dependencies")
     void shouldCreateConfigWithDependencies() {
         // Given / When
-        GrpcServerConfig newConfig = new GrpcServerConfig(jwtGrpcService);
+        GrpcServerConfig newConfig = new GrpcServerConfig(jwtGrpcService, meterRegistry);
 
         // Then
         assertThat(newConfig).isNotNull();
@@ -75,7 +95,7 @@ class GrpcServerConfigTest {
     @DisplayName("Should use the default port if not configured")
     void shouldUseDefaultPort() {
         // Given
-        GrpcServerConfig newConfig = new GrpcServerConfig(jwtGrpcService);
+        GrpcServerConfig newConfig = new GrpcServerConfig(jwtGrpcService, meterRegistry);
         ReflectionTestUtils.setField(newConfig, "grpcServerPort", 9090);
 
         // When
@@ -89,7 +109,7 @@ class GrpcServerConfigTest {
     @DisplayName("Should use the default timeout if not configured")
     void shouldUseDefaultShutdownTimeout() {
         // Given
-        GrpcServerConfig newConfig = new GrpcServerConfig(jwtGrpcService);
+        GrpcServerConfig newConfig = new GrpcServerConfig(jwtGrpcService, meterRegistry);
         ReflectionTestUtils.setField(newConfig, "shutdownTimeoutSeconds", 30);
 
         // When
@@ -253,7 +273,7 @@ class GrpcServerConfigTest {
     @DisplayName("Should accept a custom port")
     void shouldAcceptCustomPort() {
         // Given
-        GrpcServerConfig customConfig = new GrpcServerConfig(jwtGrpcService);
+        GrpcServerConfig customConfig = new GrpcServerConfig(jwtGrpcService, meterRegistry);
         ReflectionTestUtils.setField(customConfig, "grpcServerPort", 8080);
 
         // When
@@ -267,7 +287,7 @@ class GrpcServerConfigTest {
     @DisplayName("Should accept a custom timeout")
     void shouldAcceptCustomTimeout() {
         // Given
-        GrpcServerConfig customConfig = new GrpcServerConfig(jwtGrpcService);
+        GrpcServerConfig customConfig = new GrpcServerConfig(jwtGrpcService, meterRegistry);
         ReflectionTestUtils.setField(customConfig, "shutdownTimeoutSeconds", 60);
 
         // When
@@ -277,4 +297,134 @@ class GrpcServerConfigTest {
         assertThat(timeout).isNotNull().isEqualTo(60);
     }
 
+    // =====================================================
+    // Tests for threading
+    // =====================================================
+
+    @Test
+    @DisplayName("Should run handlers on virtual threads with custom event loops and release them on stop")
+    void shouldRunHandlersOnVirtualThreads() throws Exception {
+        // Given
+        AtomicBoolean handledOnVirtualThread = new AtomicBoolean();
+        when(jwtGrpcService.bindService()).thenReturn(new AuthServiceGrpc.AuthServiceImplBase() {
+            @Override
+            public void generateTemporaryToken(TemporaryTokenRequest request,
+                                               StreamObserver<TemporaryTokenResponse> responseObserver) {
+                handledOnVirtualThread.set(Thread.currentThread().isVirtual());
+                responseObserver.onNext(TemporaryTokenResponse.getDefaultInstance());
+                responseObserver.onCompleted();
+            }
+        }.bindService());
+        ReflectionTestUtils.setField(config, "grpcServerPort", 0);
+        ReflectionTestUtils.setField(config, "shutdownTimeoutSeconds", 1);
+        ReflectionTestUtils.setField(config, "executorMode", GrpcServerExecutorMode.VIRTUAL);
+        ReflectionTestUtils.setField(config, "maxConcurrentCalls", 4);
+        ReflectionTestUtils.setField(config, "bossThreads", 1);
+        ReflectionTestUtils.setField(config, "workerThreads", 2);
+
+        // When
+        config.start();
+        ManagedChannel channel = ManagedChannelBuilder
+                .forAddress("localhost", config.grpcServer().getPort())
+                .usePlaintext()
+                .build();
+        try {
+            AuthServiceGrpc.newBlockingStub(channel).generateTemporaryToken(TemporaryTokenRequest.getDefaultInstance());
+        } finally {
+            channel.shutdownNow();
+        }
+        config.stop();
+
+        // Then
+        assertThat(handledOnVirtualThread).isTrue();
+        assertThat(meterRegistry.get("grpc.server.calls")
+                .tag("method", "GenerateTemporaryToken")
+                .tag("status", "OK")
+                .timer().count()).isEqualTo(1);
+        ExecutorService handlerExecutor = (ExecutorService) ReflectionTestUtils.getField(config, "handlerExecutor");
+        assertThat(handlerExecutor).isNotNull();
+        assertThat(handlerExecutor.isShutdown()).isTrue();
+        assertThat(config.grpcServer().isTerminated()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep gRPC default threading in PLATFORM mode")
+    void shouldKeepDefaultThreadingInPlatformMode() {
+        // When
+        config.configureThreading(NettyServerBuilder.forPort(0));
+
+        // Then
+        assertThat(ReflectionTestUtils.getField(config, "handlerExecutor")).isNull();
+        assertThat(ReflectionTestUtils.getField(config, "bossGroup")).isNull();
+        assertThat(ReflectionTestUtils.getField(config, "workerGroup")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep gRPC's default boss size when only the worker size is set")
+    void shouldKeepDefaultBossSizeWithCustomWorkers() {
+        // Given
+        ReflectionTestUtils.setField(config, "workerThreads", 3);
+
+        // When
+        config.configureThreading(NettyServerBuilder.forPort(0));
+
+        // Then
+        try {
+            assertThat(executorCount("bossGroup")).isEqualTo(1);
+            assertThat(executorCount("workerGroup")).isEqualTo(3);
+        } finally {
+            config.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep Netty's default worker size when only the boss size is set")
+    void shouldKeepDefaultWorkerSizeWithCustomBoss() {
+        // Given
+        ReflectionTestUtils.setField(config, "bossThreads", 2);
+
+        // When
+        config.configureThreading(NettyServerBuilder.forPort(0));
+
+        // Then
+        try {
+            assertThat(executorCount("bossGroup")).isEqualTo(2);
+            assertThat(executorCount("workerGroup")).isEqualTo(2 * NettyRuntime.availableProcessors());
+        } finally {
+            config.stop();
+        }
+    }
+
+    private int executorCount(String groupField) {
+        return ((MultithreadEventLoopGroup) ReflectionTestUtils.getField(config, groupField)).executorCount();
+    }
+
+    // =====================================================
+    // Tests for metrics
+    // =====================================================
+
+    @Test
+    @DisplayName("Should measure calls outside the concurrent call limit")
+    void shouldInstallMetricsInterceptorOutermost() {
+        // Given
+        ReflectionTestUtils.setField(config, "maxConcurrentCalls", 4);
+
+        // When
+        List<ServerInterceptor> interceptors = config.serviceInterceptors();
+
+        // Then: the last interceptor runs first
+        assertThat(interceptors).hasSize(2);
+        assertThat(interceptors.get(0)).isInstanceOf(ConcurrentCallLimitInterceptor.class);
+        assertThat(interceptors.get(1)).isInstanceOf(GrpcServerMetricsInterceptor.class);
+    }
+
+    @Test
+    @DisplayName("Should measure calls when there is no concurrent call limit")
+    void shouldInstallMetricsInterceptorWithoutLimit() {
+        // When
+        List<ServerInterceptor> interceptors = config.serviceInterceptors();
+
+        // Then
+        assertThat(interceptors).singleElement().isInstanceOf(GrpcServerMetricsInterceptor.class);
+    }
 }
@@ -0,0 +1,31 @@
+package com.ecclesiaflow.springsecurity.application.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SchedulingConfig.
+ */
+@DisplayName("SchedulingConfig - Unit Tests")
+class SchedulingConfigTest {
+
+    @Test
+    @DisplayName("Should have @Configuration annotation")
+    void shouldHaveConfigurationAnnotation() {
+        assertThat(SchedulingConfig.class.isAnnotationPresent(Configuration.class))
+                .as("SchedulingConfig should have @Configuration")
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("Should have @EnableScheduling annotation")
+    void shouldHaveEnableSchedulingAnnotation() {
+        assertThat(SchedulingConfig.class.isAnnotationPresent(EnableScheduling.class))
+                .as("SchedulingConfig should have @EnableScheduling to run background jobs")
+                .isTrue();
+    }
+}
@@ -130,76 +130,6 @@ class GrpcClientLoggingAspectTest {
                 .allSatisfy(log -> assertThat(log.getLevel()).isEqualTo(Level.ERROR));
     }
 
-    // ========================================================================
-    // Tests - RPC Calls
-    // ========================================================================
-
-    @Test
-    @DisplayName("Should log (INFO) before an RPC call 'isEmailNotConfirmed'")
-    void shouldLogBeforeRpcCall_IsEmailNotConfirmed() {
-        // Given
-        when(signature.getName()).thenReturn("isEmailNotConfirmed");
-
-        // When
-        aspect.logBeforeRpcCall(joinPoint);
-
-        // Then
-        assertThat(listAppender.list).hasSize(1);
-        ILoggingEvent log = listAppender.list.getFirst();
-
-        assertThat(log.getLevel()).isEqualTo(Level.INFO);
-        assertThat(log.getFormattedMessage()).contains("GRPC-CLIENT", "Calling Members", "isEmailNotConfirmed");
-    }
-
-    @Test
-    @DisplayName("Should log (DEBUG) before an RPC call generic")
-    void shouldLogBeforeRpcCall_OtherMethod() {
-        // Given
-        when(signature.getName()).thenReturn("someOtherMethod");
-
-        // When
-        aspect.logBeforeRpcCall(joinPoint);
-
-        // Then
-        assertThat(listAppender.list).hasSize(1);
-        ILoggingEvent log = listAppender.list.getFirst();
-
-        assertThat(log.getLevel()).isEqualTo(Level.DEBUG);
-    }
-
-    @Test
-    @DisplayName("Should log (INFO) after a successful RPC call 'isEmailNotConfirmed'")
-    void shouldLogAfterSuccessfulRpcCall_IsEmailNotConfirmed() {
-        // Given
-        when(signature.getName()).thenReturn("isEmailNotConfirmed");
-
-        // When
-        aspect.logAfterSuccessfulRpcCall(joinPoint, true);
-
-        // Then
-        assertThat(listAppender.list).hasSize(1);
-        ILoggingEvent log = listAppender.list.getFirst();
-
-        assertThat(log.getLevel()).isEqualTo(Level.INFO);
-        assertThat(log.getFormattedMessage()).contains("GRPC-CLIENT", "completed successfully", "isEmailNotConfirmed");
-    }
-
-    @Test
-    @DisplayName("Should log (DEBUG) after a successful RPC call generic")
-    void shouldLogAfterSuccessfulRpcCall_OtherMethod() {
-        // Given
-        when(signature.getName()).thenReturn("anotherMethod");
-
-        // When
-        aspect.logAfterSuccessfulRpcCall(joinPoint, null);
-
-        // Then
-        assertThat(listAppender.list).hasSize(1);
-        ILoggingEvent log = listAppender.list.getFirst();
-
-        assertThat(log.getLevel()).isEqualTo(Level.DEBUG);
-    }
-
     // ========================================================================
     // Tests - RPC Call Errors
     // ========================================================================
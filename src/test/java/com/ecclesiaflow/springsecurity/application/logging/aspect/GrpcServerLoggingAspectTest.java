@@ -140,90 +140,6 @@ class GrpcServerLoggingAspectTest {
         assertThat(log.getFormattedMessage()).contains("GRPC", "server stopped successfully");
     }
 
-    // ========================================================================
-    // Tests - RPC Service Calls
-    // ========================================================================
-
-    @Test
-    @DisplayName("Should log (INFO) before an RPC call 'generateTemporaryToken'")
-    void shouldLogBeforeRpcCall_GenerateTemporaryToken() {
-        // Given
-        when(signature.getName()).thenReturn("generateTemporaryToken");
-
-        // When
-        aspect.logBeforeRpcCall(joinPoint);
-
-        // Then
-        assertThat(listAppender.list).hasSize(1);
-        ILoggingEvent log = listAppender.list.getFirst();
-
-        assertThat(log.getLevel()).isEqualTo(Level.INFO);
-        assertThat(log.getFormattedMessage()).contains("GRPC-RPC", "Received", "generateTemporaryToken", "Members module");
-    }
-
-    @Test
-    @DisplayName("Should log (DEBUG) before call for generic methods")
-    void shouldLogBeforeRpcCall_GenericMethod() {
-        // Given
-        when(signature.getName()).thenReturn("someMethodWithEmail");
-        when(joinPoint.getArgs()).thenReturn(new Object[]{"ID-123", "johndoe.user@example.com", "other-data"});
-
-        // When
-        aspect.logBeforeRpcCall(joinPoint);
-
-        // Then
-        assertThat(listAppender.list).hasSize(1);
-        ILoggingEvent log = listAppender.list.getFirst();
-        
-        assertThat(log.getLevel()).isEqualTo(Level.DEBUG);
-        assertThat(log.getFormattedMessage()).contains("GRPC-RPC", "Received", "someMethodWithEmail");
-    }
-
-    @Test
-    @DisplayName("Should log (DEBUG) before an RPC call 'validateToken'")
-    void shouldLogBeforeRpcCall_ValidateToken() {
-        // Given
-        when(signature.getName()).thenReturn("validateToken");
-
-        // When
-        aspect.logBeforeRpcCall(joinPoint);
-
-        // Then
-        assertThat(listAppender.list).hasSize(1);
-        assertThat(listAppender.list.getFirst().getLevel()).isEqualTo(Level.DEBUG);
-    }
-
-    @Test
-    @DisplayName("Should log (INFO) after successful 'generateTemporaryToken' RPC call")
-    void shouldLogAfterSuccessfulRpcCall_GenerateTemporaryToken() {
-        // Given
-        when(signature.getName()).thenReturn("generateTemporaryToken");
-
-        // When
-        aspect.logAfterSuccessfulRpcCall(joinPoint);
-
-        // Then
-        assertThat(listAppender.list).hasSize(1);
-        ILoggingEvent log = listAppender.list.getFirst();
-
-        assertThat(log.getLevel()).isEqualTo(Level.INFO);
-        assertThat(log.getFormattedMessage()).contains("GRPC-RPC", "completed successfully", "generateTemporaryToken");
-    }
-
-    @Test
-    @DisplayName("Should log (DEBUG) after successful 'validateToken' RPC call")
-    void shouldLogAfterSuccessfulRpcCall_OtherMethod() {
-        // Given
-        when(signature.getName()).thenReturn("validateToken");
-
-        // When
-        aspect.logAfterSuccessfulRpcCall(joinPoint);
-
-        // Then
-        assertThat(listAppender.list).hasSize(1);
-        assertThat(listAppender.list.getFirst().getLevel()).isEqualTo(Level.DEBUG);
-    }
-
     // ========================================================================
     // Tests - RPC Call Errors
     // ========================================================================
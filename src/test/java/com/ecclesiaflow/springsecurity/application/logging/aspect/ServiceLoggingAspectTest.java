@@ -0,0 +1,182 @@
+package com.ecclesiaflow.springsecurity.application.logging.aspect;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.*;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ServiceLoggingAspectTest {
+
+    ServiceLoggingAspect aspect;
+    ListAppender<ILoggingEvent> listAppender;
+    Logger logger;
+
+    @BeforeEach
+    void setup() {
+        aspect = new ServiceLoggingAspect();
+
+        logger = (Logger) LoggerFactory.getLogger(ServiceLoggingAspect.class);
+        listAppender = new ListAppender<>();
+        listAppender.start();
+        logger.addAppender(listAppender);
+        logger.setLevel(Level.DEBUG);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(listAppender);
+        listAppender.stop();
+    }
+
+    static class TestService {
+    }
+
+    // ====================================================================
+    // Tests logServiceMethods (via logMethodExecution)
+    // ====================================================================
+
+    @Test
+    @DisplayName("Should log a fast service method (< 1s)")
+    void shouldLogFastServiceMethod() throws Throwable {
+        ProceedingJoinPoint pjp = mock(ProceedingJoinPoint.class);
+        Signature signature = mock(Signature.class);
+        when(signature.getName()).thenReturn("fastMethod");
+
+        when(pjp.getTarget()).thenReturn(new TestService());
+        when(pjp.getSignature()).thenReturn(signature);
+        when(pjp.proceed()).thenReturn("fast");
+
+        Object result = aspect.logServiceMethods(pjp);
+
+        assertThat(result).isEqualTo("fast");
+
+        List<ILoggingEvent> logs = listAppender.list;
+
+        // Debug start
+        assertThat(logs.get(0).getLevel()).isEqualTo(Level.DEBUG);
+        assertThat(logs.get(0).getFormattedMessage()).contains("SERVICE: Start TestService.fastMethod");
+
+        // Debug success (no warning because < 1s)
+        assertThat(logs.get(1).getLevel()).isEqualTo(Level.DEBUG);
+        assertThat(logs.get(1).getFormattedMessage()).contains("SERVICE: TestService.fastMethod - Success");
+    }
+
+    @Test
+    @DisplayName("Should log a warning for slow service method (> 1s)")
+    void shouldLogWarningForSlowServiceMethod() throws Throwable {
+        ProceedingJoinPoint pjp = mock(ProceedingJoinPoint.class);
+        Signature signature = mock(Signature.class);
+        when(signature.getName()).thenReturn("slowMethod");
+
+        when(pjp.getTarget()).thenReturn(new TestService());
+        when(pjp.getSignature()).thenReturn(signature);
+        when(pjp.proceed()).thenAnswer(invocation -> {
+            Thread.sleep(1100); // Force > 1s
+            return "slow";
+        });
+
+        Object result = aspect.logServiceMethods(pjp);
+
+        assertThat(result).isEqualTo("slow");
+
+        List<ILoggingEvent> logs = listAppender.list;
+
+        // Warning for slow execution
+        ILoggingEvent warnLog = logs.stream()
+                .filter(log -> log.getLevel() == Level.WARN)
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(warnLog.getFormattedMessage())
+                .contains("SERVICE: TestService.slowMethod - Slow execution");
+    }
+
+    @Test
+    @DisplayName("Should log an exception in service method")
+    void shouldLogExceptionInServiceMethod() throws Throwable {
+        ProceedingJoinPoint pjp = mock(ProceedingJoinPoint.class);
+        Signature signature = mock(Signature.class);
+        when(signature.getName()).thenReturn("failMethod");
+
+        when(pjp.getTarget()).thenReturn(new TestService());
+        when(pjp.getSignature()).thenReturn(signature);
+        when(pjp.proceed()).thenThrow(new RuntimeException("Service error"));
+
+        assertThatThrownBy(() -> aspect.logServiceMethods(pjp))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Service error");
+
+        List<ILoggingEvent> logs = listAppender.list;
+
+        // Error log
+        ILoggingEvent errorLog = logs.stream()
+                .filter(log -> log.getLevel() == Level.ERROR)
+                .filter(log -> log.getFormattedMessage().contains("SERVICE:"))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(errorLog.getFormattedMessage())
+                .contains("SERVICE: TestService.failMethod - Failure")
+                .contains("Service error");
+    }
+
+    // ====================================================================
+    // Tests logUnhandledException
+    // ====================================================================
+
+    @Test
+    @DisplayName("Should log an unhandled exception")
+    void shouldLogUnhandledException() {
+        JoinPoint joinPoint = mock(JoinPoint.class);
+        Signature signature = mock(Signature.class);
+        when(signature.getName()).thenReturn("problematicMethod");
+
+        when(joinPoint.getTarget()).thenReturn(new TestService());
+        when(joinPoint.getSignature()).thenReturn(signature);
+
+        RuntimeException exception = new RuntimeException("Unhandled error");
+
+        aspect.logUnhandledException(joinPoint, exception);
+
+        List<ILoggingEvent> logs = listAppender.list;
+
+        ILoggingEvent errorLog = logs.getFirst();
+        assertThat(errorLog.getLevel()).isEqualTo(Level.ERROR);
+        assertThat(errorLog.getFormattedMessage())
+                .contains("Unhandled exception in TestService.problematicMethod")
+                .contains("RuntimeException")
+                .contains("Unhandled error");
+    }
+
+    @Test
+    @DisplayName("Should log different exception types")
+    void shouldLogDifferentExceptionTypes() {
+        JoinPoint joinPoint = mock(JoinPoint.class);
+        Signature signature = mock(Signature.class);
+        when(signature.getName()).thenReturn("methodWithNPE");
+
+        when(joinPoint.getTarget()).thenReturn(new TestService());
+        when(joinPoint.getSignature()).thenReturn(signature);
+
+        NullPointerException npe = new NullPointerException("Null value");
+
+        aspect.logUnhandledException(joinPoint, npe);
+
+        List<ILoggingEvent> logs = listAppender.list;
+
+        ILoggingEvent errorLog = logs.getFirst();
+        assertThat(errorLog.getFormattedMessage())
+                .contains("NullPointerException")
+                .contains("Null value");
+    }
+}
@@ -0,0 +1,208 @@
+package com.ecclesiaflow.springsecurity.application.logging.interceptor;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.assertj.core.api.InstanceOfAssertFactories.STRING;
+
+@DisplayName("ServiceObservationInterceptor - Unit tests")
+class ServiceObservationInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ServiceObservationInterceptor interceptor;
+    private ListAppender<ILoggingEvent> serviceLogs;
+    private ListAppender<ILoggingEvent> controllerLogs;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        interceptor = new ServiceObservationInterceptor(() -> observationRegistry);
+
+        serviceLogs = attach(ServiceObservationInterceptor.class);
+        controllerLogs = attach(UnhandledExceptionInterceptor.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((Logger) LoggerFactory.getLogger(ServiceObservationInterceptor.class)).detachAppender(serviceLogs);
+        ((Logger) LoggerFactory.getLogger(UnhandledExceptionInterceptor.class)).detachAppender(controllerLogs);
+    }
+
+    // ====================================================================
+    // Test classes
+    // ====================================================================
+
+    static class InnerService {
+        public String fastMethod() {
+            return "fast";
+        }
+
+        public String failMethod() {
+            throw new IllegalStateException("Service error");
+        }
+    }
+
+    static class OuterService {
+        private final InnerService inner;
+
+        OuterService(InnerService inner) {
+            this.inner = inner;
+        }
+
+        public String callInner() {
+            return inner.failMethod();
+        }
+    }
+
+    static class TestController {
+        private final OuterService service;
+
+        TestController(OuterService service) {
+            this.service = service;
+        }
+
+        public String handle() {
+            return service.callInner();
+        }
+
+        public String fail() {
+            throw new IllegalArgumentException("Controller error");
+        }
+    }
+
+    @Nested
+    @DisplayName("Successful calls")
+    class SuccessfulCalls {
+
+        @Test
+        @DisplayName("Should log start and success at DEBUG and record the service timer")
+        void shouldLogAndTimeSuccessfulCall() {
+            InnerService proxy = proxy(new InnerService(), interceptor);
+
+            assertThat(proxy.fastMethod()).isEqualTo("fast");
+
+            assertThat(serviceLogs.list).extracting(ILoggingEvent::getFormattedMessage)
+                    .satisfiesExactly(
+                            start -> assertThat(start).isEqualTo("SERVICE: Start InnerService.fastMethod"),
+                            success -> assertThat(success).startsWith("SERVICE: InnerService.fastMethod - Success ("));
+            Timer timer = meterRegistry.get(ServiceObservationInterceptor.OBSERVATION_NAME)
+                    .tag("class", "InnerService")
+                    .tag("method", "fastMethod")
+                    .tag("error", "none")
+                    .timer();
+            assertThat(timer.count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should not log anything when DEBUG is off")
+        void shouldNotLogWhenDebugIsOff() {
+            ((Logger) LoggerFactory.getLogger(ServiceObservationInterceptor.class)).setLevel(Level.INFO);
+            InnerService proxy = proxy(new InnerService(), interceptor);
+
+            proxy.fastMethod();
+            proxy.fastMethod();
+
+            assertThat(serviceLogs.list).isEmpty();
+            assertThat(meterRegistry.get(ServiceObservationInterceptor.OBSERVATION_NAME).timer().count()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should work without an observation registry")
+        void shouldWorkWithNoopRegistry() {
+            InnerService proxy = proxy(new InnerService(), new ServiceObservationInterceptor(() -> ObservationRegistry.NOOP));
+
+            assertThat(proxy.fastMethod()).isEqualTo("fast");
+            assertThat(serviceLogs.list).hasSize(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Failures")
+    class Failures {
+
+        @Test
+        @DisplayName("Should log an exception once across nested services and the controller")
+        void shouldLogExceptionOnce() {
+            InnerService inner = proxy(new InnerService(), interceptor);
+            OuterService outer = proxy(new OuterService(inner), interceptor);
+            TestController controller = proxy(new TestController(outer), new UnhandledExceptionInterceptor());
+
+            assertThatThrownBy(controller::handle)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("Service error");
+
+            List<ILoggingEvent> errors = serviceLogs.list.stream()
+                    .filter(event -> event.getLevel() == Level.ERROR)
+                    .toList();
+            assertThat(errors).singleElement()
+                    .extracting(ILoggingEvent::getFormattedMessage, as(STRING))
+                    .contains("SERVICE: InnerService.failMethod - Failure", "IllegalStateException", "Service error");
+            assertThat(controllerLogs.list).isEmpty();
+            assertThat(meterRegistry.get(ServiceObservationInterceptor.OBSERVATION_NAME)
+                    .tag("class", "OuterService")
+                    .tag("error", "IllegalStateException")
+                    .timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should log an exception thrown by a controller itself")
+        void shouldLogControllerException() {
+            TestController controller = proxy(new TestController(null), new UnhandledExceptionInterceptor());
+
+            assertThatThrownBy(controller::fail).isInstanceOf(IllegalArgumentException.class);
+
+            assertThat(controllerLogs.list).singleElement().satisfies(event -> {
+                assertThat(event.getLevel()).isEqualTo(Level.ERROR);
+                assertThat(event.getFormattedMessage())
+                        .contains("Unhandled exception in TestController.fail", "IllegalArgumentException", "Controller error");
+            });
+        }
+
+        @Test
+        @DisplayName("Should log the same kind of failure again on a later call")
+        void shouldLogEachFailure() {
+            InnerService proxy = proxy(new InnerService(), interceptor);
+
+            catchThrowable(proxy::failMethod);
+            catchThrowable(proxy::failMethod);
+
+            assertThat(serviceLogs.list).filteredOn(event -> event.getLevel() == Level.ERROR).hasSize(2);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(T target, MethodInterceptor interceptor) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(interceptor);
+        return (T) factory.getProxy();
+    }
+
+    private static ListAppender<ILoggingEvent> attach(Class<?> loggerClass) {
+        Logger logger = (Logger) LoggerFactory.getLogger(loggerClass);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        logger.setLevel(Level.DEBUG);
+        return appender;
+    }
+}
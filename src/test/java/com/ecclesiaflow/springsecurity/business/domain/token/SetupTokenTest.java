@@ -13,7 +13,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 class SetupTokenTest {
 
     private static final UUID ID = UUID.randomUUID();
-    private static final String TOKEN_HASH = "hashed-token";
+    private static final TokenHash TOKEN_HASH = TokenHash.fromBase64("hashed-token");
     private static final String EMAIL = "user@test.com";
     private static final UUID MEMBER_ID = UUID.randomUUID();
 
@@ -329,7 +329,7 @@ class SetupTokenTest {
         @Test
         @DisplayName("Should handle token with very long hash")
         void shouldHandleTokenWithVeryLongHash() {
-            String longHash = "a".repeat(1000);
+            TokenHash longHash = TokenHash.fromBase64("a".repeat(1000));
             SetupToken token = SetupToken.builder()
                     .id(ID)
                     .tokenHash(longHash)
@@ -342,7 +342,7 @@ class SetupTokenTest {
                     .build();
 
             assertThat(token.getTokenHash()).isEqualTo(longHash);
-            assertThat(token.getTokenHash()).hasSize(1000);
+            assertThat(token.getTokenHash().base64()).hasSize(1000);
         }
     }
 
@@ -0,0 +1,63 @@
+package com.ecclesiaflow.springsecurity.business.domain.token;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TokenHash - Tests Unitaires")
+class TokenHashTest {
+
+    private static final byte[] DIGEST = new byte[32];
+
+    static {
+        for (int i = 0; i < DIGEST.length; i++) {
+            DIGEST[i] = (byte) (i * 7);
+        }
+    }
+
+    private static final String BASE64 = Base64.getEncoder().encodeToString(DIGEST);
+
+    @Test
+    @DisplayName("Should encode a raw digest to Base64")
+    void shouldEncodeDigest() {
+        assertThat(TokenHash.of(DIGEST).base64()).isEqualTo(BASE64);
+    }
+
+    @Test
+    @DisplayName("Should decode a Base64 hash to its digest")
+    void shouldDecodeBase64() {
+        assertThat(TokenHash.fromBase64(BASE64).bytes()).isEqualTo(DIGEST);
+    }
+
+    @Test
+    @DisplayName("Should be equal whichever form it was built from")
+    void shouldBeEqualAcrossForms() {
+        TokenHash fromDigest = TokenHash.of(DIGEST);
+        TokenHash fromBase64 = TokenHash.fromBase64(BASE64);
+
+        assertThat(fromDigest).isEqualTo(fromBase64);
+        assertThat(fromBase64).isEqualTo(fromDigest);
+        assertThat(fromDigest).hasSameHashCodeAs(fromBase64);
+    }
+
+    @Test
+    @DisplayName("Should not expose its digest")
+    void shouldCopyDigest() {
+        byte[] digest = DIGEST.clone();
+        TokenHash hash = TokenHash.of(digest);
+
+        digest[0]++;
+        hash.bytes()[1]++;
+
+        assertThat(hash.bytes()).isEqualTo(DIGEST);
+    }
+
+    @Test
+    @DisplayName("Should map a null Base64 hash to null")
+    void shouldMapNullBase64ToNull() {
+        assertThat(TokenHash.fromBase64(null)).isNull();
+    }
+}
@@ -0,0 +1,128 @@
+package com.ecclesiaflow.springsecurity.business.domain.token;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TokenHasher - Tests Unitaires")
+class TokenHasherTest {
+
+    private final TokenHasher tokenHasher = new TokenHasher();
+
+    private static TokenHash reference(String rawToken) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        return TokenHash.fromBase64(Base64.getEncoder().encodeToString(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Nested
+    @DisplayName("Hash format")
+    class HashFormatTests {
+
+        @Test
+        @DisplayName("Should match SHA-256 + Base64 of the UTF-8 bytes")
+        void shouldMatchReferenceImplementation() throws Exception {
+            String rawToken = "n4bQgYhMfWWaL-qgxVrQFaO_TxsrC4Is0V1sFbDwCgg";
+
+            assertThat(tokenHasher.hash(rawToken)).isEqualTo(reference(rawToken));
+        }
+
+        @Test
+        @DisplayName("Should hash non-ASCII tokens like the reference implementation")
+        void shouldHashNonAsciiTokens() throws Exception {
+            String rawToken = "jeton-réinitialisation-€";
+
+            assertThat(tokenHasher.hash(rawToken)).isEqualTo(reference(rawToken));
+        }
+
+        @Test
+        @DisplayName("Should hash tokens longer than the input buffer")
+        void shouldHashLongTokens() throws Exception {
+            String rawToken = "a".repeat(500);
+
+            assertThat(tokenHasher.hash(rawToken)).isEqualTo(reference(rawToken));
+        }
+
+        @Test
+        @DisplayName("Should hash empty token")
+        void shouldHashEmptyToken() throws Exception {
+            assertThat(tokenHasher.hash("")).isEqualTo(reference(""));
+        }
+
+        @Test
+        @DisplayName("Should produce 32-byte digests and 44-character Base64 hashes")
+        void shouldProduceFixedLengthHashes() {
+            TokenHash hash = tokenHasher.hash("token");
+
+            assertThat(hash.bytes()).hasSize(32);
+            assertThat(hash.base64()).hasSize(44);
+        }
+    }
+
+    @Nested
+    @DisplayName("Reuse")
+    class ReuseTests {
+
+        @Test
+        @DisplayName("Should not leak state between consecutive hashes")
+        void shouldNotLeakStateBetweenCalls() throws Exception {
+            tokenHasher.hash("a".repeat(100));
+            tokenHasher.hash("jeton-€");
+
+            assertThat(tokenHasher.hash("short")).isEqualTo(reference("short"));
+        }
+
+        @Test
+        @DisplayName("Should hash correctly from many virtual threads")
+        void shouldHashConcurrently() throws Exception {
+            TokenHasher smallPool = new TokenHasher(2);
+            Set<Boolean> outcomes = ConcurrentHashMap.newKeySet();
+
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<Object>> futures = IntStream.range(0, 500)
+                        .mapToObj(i -> executor.submit(() -> {
+                            String rawToken = "token-" + i;
+                            outcomes.add(smallPool.hash(rawToken).equals(reference(rawToken)));
+                            return null;
+                        }))
+                        .toList();
+                for (Future<Object> future : futures) {
+                    future.get();
+                }
+            }
+
+            assertThat(outcomes).containsExactly(true);
+        }
+    }
+
+    @Nested
+    @DisplayName("Pool size")
+    class PoolSizeTests {
+
+        @Test
+        @DisplayName("Should accept pool sizes that are not powers of two")
+        void shouldAcceptNonPowerOfTwoPoolSize() throws Exception {
+            assertThat(new TokenHasher(3).hash("token")).isEqualTo(reference("token"));
+            assertThat(new TokenHasher(1).hash("token")).isEqualTo(reference("token"));
+        }
+
+        @Test
+        @DisplayName("Should reject non-positive pool size")
+        void shouldRejectNonPositivePoolSize() {
+            assertThatThrownBy(() -> new TokenHasher(0))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.ecclesiaflow.springsecurity.business.services.impl;
 
 import com.ecclesiaflow.springsecurity.business.domain.token.SetupToken;
+import com.ecclesiaflow.springsecurity.business.domain.token.TokenHash;
 import com.ecclesiaflow.springsecurity.business.domain.token.UserTokens;
 import com.ecclesiaflow.springsecurity.business.services.SetupTokenService;
 import com.ecclesiaflow.springsecurity.io.keycloak.KeycloakAdminClient;
 import com.ecclesiaflow.springsecurity.io.keycloak.KeycloakTokenResponse;
+import com.ecclesiaflow.springsecurity.business.domain.member.MemberNotificationOutbox;
 import com.ecclesiaflow.springsecurity.business.domain.member.MembersClient;
+import com.ecclesiaflow.springsecurity.business.domain.password.KeycloakUserCompensationQueue;
 import com.ecclesiaflow.springsecurity.business.exceptions.CompensationFailedException;
 import com.ecclesiaflow.springsecurity.business.exceptions.InvalidTokenException;
 import com.ecclesiaflow.springsecurity.web.constants.Messages;
@@ -17,7 +20,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -40,6 +45,15 @@ class PasswordServiceImplTest {
     @Mock
     private MembersClient membersClient;
 
+    @Mock
+    private MemberNotificationOutbox memberNotificationOutbox;
+
+    @Mock
+    private KeycloakUserCompensationQueue keycloakUserCompensationQueue;
+
+    @Spy
+    private TransactionOperations transactionOperations = TransactionOperations.withoutTransaction();
+
     @InjectMocks
     private PasswordServiceImpl passwordService;
 
@@ -60,7 +74,7 @@ class PasswordServiceImplTest {
     void setUp() {
         validToken = SetupToken.builder()
                 .id(UUID.randomUUID())
-                .tokenHash("hashed-token")
+                .tokenHash(TokenHash.fromBase64("hashed-token"))
                 .email(EMAIL)
                 .memberId(MEMBER_ID)
                 .purpose(SetupToken.TokenPurpose.PASSWORD_SETUP)
@@ -77,7 +91,7 @@ class PasswordServiceImplTest {
         @Test
         @DisplayName("Should setup password successfully with valid token")
         void shouldSetupPasswordSuccessfully() {
-            when(setupTokenService.validate(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
+            when(setupTokenService.consume(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
                     .thenReturn(validToken);
             when(membersClient.isEmailNotConfirmed(EMAIL)).thenReturn(false);
             when(keycloakAdminClient.createUser(EMAIL, PASSWORD, true)).thenReturn(KEYCLOAK_USER_ID);
@@ -89,26 +103,25 @@ class PasswordServiceImplTest {
             assertThat(result.get().accessToken()).isEqualTo(ACCESS_TOKEN);
             assertThat(result.get().refreshToken()).isEqualTo(REFRESH_TOKEN);
             assertThat(result.get().expiresIn()).isEqualTo(EXPIRES_IN);
-            verify(setupTokenService).validate(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP);
+            verify(setupTokenService).consume(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP);
+            verify(memberNotificationOutbox).reserveAccountActivated(MEMBER_ID, EMAIL);
             verify(membersClient).isEmailNotConfirmed(EMAIL);
             verify(keycloakAdminClient).createUser(EMAIL, PASSWORD, true);
-            verify(membersClient).notifyAccountActivated(MEMBER_ID, KEYCLOAK_USER_ID);
-            verify(setupTokenService).deleteToken(validToken);
+            verify(memberNotificationOutbox).confirmAccountActivated(MEMBER_ID, KEYCLOAK_USER_ID);
             verify(keycloakAdminClient).authenticateUser(EMAIL, PASSWORD);
+            verify(setupTokenService, never()).release(any());
         }
 
         @Test
         @DisplayName("Should delete token only after all operations succeed")
         void shouldDeleteTokenOnlyAfterSuccess() {
-            when(setupTokenService.validate(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
+            when(setupTokenService.consume(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
                     .thenReturn(validToken);
             when(membersClient.isEmailNotConfirmed(EMAIL)).thenReturn(false);
             when(keycloakAdminClient.createUser(EMAIL, PASSWORD, true)).thenReturn(KEYCLOAK_USER_ID);
             when(keycloakAdminClient.authenticateUser(EMAIL, PASSWORD)).thenReturn(MOCK_TOKEN_RESPONSE);
 
             passwordService.setupPassword(SETUP_TOKEN, PASSWORD);
-
-            verify(setupTokenService).deleteToken(validToken);
         }
 
     }
@@ -120,7 +133,7 @@ class PasswordServiceImplTest {
         @Test
         @DisplayName("Should throw InvalidRequestException when token is invalid")
         void shouldThrowExceptionWhenTokenInvalid() {
-            when(setupTokenService.validate(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
+            when(setupTokenService.consume(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
                     .thenThrow(new InvalidTokenException("Token is invalid or expired"));
 
             assertThatThrownBy(() -> passwordService.setupPassword(SETUP_TOKEN, PASSWORD))
@@ -128,14 +141,15 @@ class PasswordServiceImplTest {
                     .hasMessage(Messages.PASSWORD_SETUP_ERROR);
 
             verify(keycloakAdminClient, never()).createUser(anyString(), anyString(), anyBoolean());
-            verify(membersClient, never()).notifyAccountActivated(any(), anyString());
-            verify(setupTokenService, never()).deleteToken(any());
+            verify(memberNotificationOutbox, never()).reserveAccountActivated(any(), anyString());
+            verify(memberNotificationOutbox, never()).confirmAccountActivated(any(), anyString());
+            verify(setupTokenService, never()).release(any());
         }
 
         @Test
         @DisplayName("Should throw InvalidRequestException when token is expired")
         void shouldThrowExceptionWhenTokenExpired() {
-            when(setupTokenService.validate(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
+            when(setupTokenService.consume(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
                     .thenThrow(new InvalidTokenException("Token is invalid or expired"));
 
             assertThatThrownBy(() -> passwordService.setupPassword(SETUP_TOKEN, PASSWORD))
@@ -153,7 +167,7 @@ class PasswordServiceImplTest {
         @Test
         @DisplayName("Should throw InvalidRequestException when email is not confirmed")
         void shouldThrowExceptionWhenEmailNotConfirmed() {
-            when(setupTokenService.validate(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
+            when(setupTokenService.consume(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
                     .thenReturn(validToken);
             when(membersClient.isEmailNotConfirmed(EMAIL)).thenReturn(true);
 
@@ -162,13 +176,13 @@ class PasswordServiceImplTest {
                     .hasMessage(Messages.PASSWORD_SETUP_ERROR);
 
             verify(keycloakAdminClient, never()).createUser(anyString(), anyString(), anyBoolean());
-            verify(setupTokenService, never()).deleteToken(any());
+            verify(setupTokenService).release(validToken);
         }
 
         @Test
         @DisplayName("Should not delete token when email confirmation fails")
         void shouldNotDeleteTokenWhenEmailNotConfirmed() {
-            when(setupTokenService.validate(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
+            when(setupTokenService.consume(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
                     .thenReturn(validToken);
             when(membersClient.isEmailNotConfirmed(EMAIL)).thenReturn(true);
 
@@ -186,7 +200,7 @@ class PasswordServiceImplTest {
         @Test
         @DisplayName("Should throw InvalidRequestException when Keycloak user creation fails")
         void shouldThrowExceptionWhenKeycloakFails() {
-            when(setupTokenService.validate(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
+            when(setupTokenService.consume(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
                     .thenReturn(validToken);
             when(membersClient.isEmailNotConfirmed(EMAIL)).thenReturn(false);
             when(keycloakAdminClient.createUser(EMAIL, PASSWORD, true))
@@ -196,14 +210,15 @@ class PasswordServiceImplTest {
                     .isInstanceOf(InvalidRequestException.class)
                     .hasMessage(Messages.PASSWORD_SETUP_ERROR);
 
-            verify(membersClient, never()).notifyAccountActivated(any(), anyString());
-            verify(setupTokenService, never()).deleteToken(any());
+            verify(memberNotificationOutbox, never()).confirmAccountActivated(any(), anyString());
+            verify(setupTokenService).release(validToken);
+            verify(memberNotificationOutbox).cancelAccountActivated(MEMBER_ID);
         }
 
         @Test
         @DisplayName("Should not delete token when Keycloak creation fails")
         void shouldNotDeleteTokenWhenKeycloakFails() {
-            when(setupTokenService.validate(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
+            when(setupTokenService.consume(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
                     .thenReturn(validToken);
             when(membersClient.isEmailNotConfirmed(EMAIL)).thenReturn(false);
             when(keycloakAdminClient.createUser(EMAIL, PASSWORD, true))
@@ -224,7 +239,7 @@ class PasswordServiceImplTest {
         @Test
         @DisplayName("Should execute operations in correct order")
         void shouldExecuteOperationsInOrder() {
-            when(setupTokenService.validate(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
+            when(setupTokenService.consume(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
                     .thenReturn(validToken);
             when(membersClient.isEmailNotConfirmed(EMAIL)).thenReturn(false);
             when(keycloakAdminClient.createUser(EMAIL, PASSWORD, true)).thenReturn(KEYCLOAK_USER_ID);
@@ -232,12 +247,12 @@ class PasswordServiceImplTest {
 
             passwordService.setupPassword(SETUP_TOKEN, PASSWORD);
 
-            var inOrder = inOrder(setupTokenService, membersClient, keycloakAdminClient, setupTokenService);
-            inOrder.verify(setupTokenService).validate(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP);
+            var inOrder = inOrder(setupTokenService, membersClient, keycloakAdminClient, memberNotificationOutbox);
+            inOrder.verify(setupTokenService).consume(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP);
+            inOrder.verify(memberNotificationOutbox).reserveAccountActivated(MEMBER_ID, EMAIL);
             inOrder.verify(membersClient).isEmailNotConfirmed(EMAIL);
             inOrder.verify(keycloakAdminClient).createUser(EMAIL, PASSWORD, true);
-            inOrder.verify(membersClient).notifyAccountActivated(MEMBER_ID, KEYCLOAK_USER_ID);
-            inOrder.verify(setupTokenService).deleteToken(validToken);
+            inOrder.verify(memberNotificationOutbox).confirmAccountActivated(MEMBER_ID, KEYCLOAK_USER_ID);
             inOrder.verify(keycloakAdminClient).authenticateUser(EMAIL, PASSWORD);
         }
 
@@ -250,7 +265,7 @@ class PasswordServiceImplTest {
         @Test
         @DisplayName("Should return empty Optional when Direct Grant fails")
         void shouldReturnEmptyWhenDirectGrantFails() {
-            when(setupTokenService.validate(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
+            when(setupTokenService.consume(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
                     .thenReturn(validToken);
             when(membersClient.isEmailNotConfirmed(EMAIL)).thenReturn(false);
             when(keycloakAdminClient.createUser(EMAIL, PASSWORD, true)).thenReturn(KEYCLOAK_USER_ID);
@@ -260,14 +275,13 @@ class PasswordServiceImplTest {
             Optional<UserTokens> result = passwordService.setupPassword(SETUP_TOKEN, PASSWORD);
 
             assertThat(result).isEmpty();
-            verify(keycloakAdminClient, never()).deleteUser(anyString());
-            verify(setupTokenService).deleteToken(validToken);
+            verify(keycloakUserCompensationQueue, never()).enqueueDeletion(anyString());
         }
 
         @Test
         @DisplayName("Should NOT compensate Keycloak user when Direct Grant fails")
         void shouldNotCompensateWhenDirectGrantFails() {
-            when(setupTokenService.validate(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
+            when(setupTokenService.consume(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
                     .thenReturn(validToken);
             when(membersClient.isEmailNotConfirmed(EMAIL)).thenReturn(false);
             when(keycloakAdminClient.createUser(EMAIL, PASSWORD, true)).thenReturn(KEYCLOAK_USER_ID);
@@ -277,8 +291,8 @@ class PasswordServiceImplTest {
             Optional<UserTokens> result = passwordService.setupPassword(SETUP_TOKEN, PASSWORD);
 
             assertThat(result).isEmpty();
-            verify(keycloakAdminClient, never()).deleteUser(anyString());
-            verify(membersClient).notifyAccountActivated(MEMBER_ID, KEYCLOAK_USER_ID);
+            verify(keycloakUserCompensationQueue, never()).enqueueDeletion(anyString());
+            verify(memberNotificationOutbox).confirmAccountActivated(MEMBER_ID, KEYCLOAK_USER_ID);
         }
     }
 
@@ -293,7 +307,7 @@ class PasswordServiceImplTest {
                     .email("USER@TEST.COM")
                     .build();
             
-            when(setupTokenService.validate(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
+            when(setupTokenService.consume(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
                     .thenReturn(tokenWithUpperCaseEmail);
             when(membersClient.isEmailNotConfirmed("USER@TEST.COM")).thenReturn(false);
             when(keycloakAdminClient.createUser("USER@TEST.COM", PASSWORD, true)).thenReturn(KEYCLOAK_USER_ID);
@@ -307,7 +321,7 @@ class PasswordServiceImplTest {
         @Test
         @DisplayName("Should use email and memberId from validated token")
         void shouldUseDataFromValidatedToken() {
-            when(setupTokenService.validate(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
+            when(setupTokenService.consume(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
                     .thenReturn(validToken);
             when(membersClient.isEmailNotConfirmed(EMAIL)).thenReturn(false);
             when(keycloakAdminClient.createUser(EMAIL, PASSWORD, true)).thenReturn(KEYCLOAK_USER_ID);
@@ -316,7 +330,7 @@ class PasswordServiceImplTest {
             passwordService.setupPassword(SETUP_TOKEN, PASSWORD);
 
             verify(keycloakAdminClient).createUser(EMAIL, PASSWORD, true);
-            verify(membersClient).notifyAccountActivated(MEMBER_ID, KEYCLOAK_USER_ID);
+            verify(memberNotificationOutbox).confirmAccountActivated(MEMBER_ID, KEYCLOAK_USER_ID);
         }
     }
 
@@ -325,33 +339,119 @@ class PasswordServiceImplTest {
     class SetupPasswordCompensationTests {
 
         @Test
-        @DisplayName("Should delete Keycloak user when notifyAccountActivated fails")
-        void shouldDeleteKeycloakUserWhenNotifyFails() {
-            when(setupTokenService.validate(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
+        @DisplayName("Should queue the Keycloak user for deletion when the outbox write fails")
+        void shouldQueueKeycloakUserDeletionWhenOutboxWriteFails() {
+            when(setupTokenService.consume(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
                     .thenReturn(validToken);
             when(membersClient.isEmailNotConfirmed(EMAIL)).thenReturn(false);
             when(keycloakAdminClient.createUser(EMAIL, PASSWORD, true)).thenReturn(KEYCLOAK_USER_ID);
-            doThrow(new RuntimeException("gRPC unavailable"))
-                    .when(membersClient).notifyAccountActivated(MEMBER_ID, KEYCLOAK_USER_ID);
+            doThrow(new RuntimeException("Database unavailable"))
+                    .when(memberNotificationOutbox).confirmAccountActivated(MEMBER_ID, KEYCLOAK_USER_ID);
 
             assertThatThrownBy(() -> passwordService.setupPassword(SETUP_TOKEN, PASSWORD))
                     .isInstanceOf(InvalidRequestException.class)
                     .hasMessage(Messages.PASSWORD_SETUP_ERROR);
 
-            verify(keycloakAdminClient).deleteUser(KEYCLOAK_USER_ID);
+            verify(keycloakUserCompensationQueue).enqueueDeletion(KEYCLOAK_USER_ID);
+            verify(keycloakAdminClient, never()).deleteUser(anyString());
+            verify(setupTokenService).release(validToken);
+            verify(memberNotificationOutbox).cancelAccountActivated(MEMBER_ID);
+        }
+
+        @Test
+        @DisplayName("Should claim the token and reserve the notification in one transaction")
+        void shouldReserveNotificationWithTokenClaim() {
+            when(setupTokenService.consume(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
+                    .thenReturn(validToken);
+            doThrow(new RuntimeException("Database unavailable"))
+                    .when(memberNotificationOutbox).reserveAccountActivated(MEMBER_ID, EMAIL);
+
+            assertThatThrownBy(() -> passwordService.setupPassword(SETUP_TOKEN, PASSWORD))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessage("Database unavailable");
+
+            verify(transactionOperations).execute(any());
+            verify(keycloakAdminClient, never()).createUser(anyString(), anyString(), anyBoolean());
+            verify(setupTokenService, never()).release(any());
+        }
+
+        @Test
+        @DisplayName("Should release the token and cancel the reservation in one transaction")
+        void shouldReleaseTokenAndCancelReservationTogether() {
+            when(setupTokenService.consume(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
+                    .thenReturn(validToken);
+            when(membersClient.isEmailNotConfirmed(EMAIL)).thenReturn(true);
+
+            assertThatThrownBy(() -> passwordService.setupPassword(SETUP_TOKEN, PASSWORD))
+                    .isInstanceOf(InvalidRequestException.class);
+
+            var inOrder = inOrder(transactionOperations, setupTokenService, memberNotificationOutbox);
+            inOrder.verify(transactionOperations).executeWithoutResult(any());
+            inOrder.verify(setupTokenService).release(validToken);
+            inOrder.verify(memberNotificationOutbox).cancelAccountActivated(MEMBER_ID);
         }
 
         @Test
-        @DisplayName("Should throw CompensationFailedException when deleteUser also fails")
-        void shouldThrowCompensationFailedWhenDeleteUserFails() {
-            when(setupTokenService.validate(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
+        @DisplayName("Should still queue the Keycloak user for deletion when the token cannot be released")
+        void shouldQueueKeycloakUserDeletionWhenReleaseFails() {
+            when(setupTokenService.consume(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
                     .thenReturn(validToken);
             when(membersClient.isEmailNotConfirmed(EMAIL)).thenReturn(false);
             when(keycloakAdminClient.createUser(EMAIL, PASSWORD, true)).thenReturn(KEYCLOAK_USER_ID);
-            doThrow(new RuntimeException("gRPC unavailable"))
-                    .when(membersClient).notifyAccountActivated(MEMBER_ID, KEYCLOAK_USER_ID);
-            doThrow(new RuntimeException("Keycloak delete failed"))
-                    .when(keycloakAdminClient).deleteUser(KEYCLOAK_USER_ID);
+            doThrow(new RuntimeException("Database unavailable"))
+                    .when(memberNotificationOutbox).confirmAccountActivated(MEMBER_ID, KEYCLOAK_USER_ID);
+            doThrow(new RuntimeException("Database unavailable"))
+                    .when(setupTokenService).release(validToken);
+
+            assertThatThrownBy(() -> passwordService.setupPassword(SETUP_TOKEN, PASSWORD))
+                    .isInstanceOf(InvalidRequestException.class)
+                    .hasMessage(Messages.PASSWORD_SETUP_ERROR);
+
+            verify(keycloakUserCompensationQueue).enqueueDeletion(KEYCLOAK_USER_ID);
+        }
+
+        @Test
+        @DisplayName("Should throw InvalidRequestException when the token cannot be released")
+        void shouldThrowInvalidRequestWhenReleaseFails() {
+            when(setupTokenService.consume(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
+                    .thenReturn(validToken);
+            when(membersClient.isEmailNotConfirmed(EMAIL)).thenThrow(new RuntimeException("Members unavailable"));
+            doThrow(new RuntimeException("Database unavailable"))
+                    .when(setupTokenService).release(validToken);
+
+            assertThatThrownBy(() -> passwordService.setupPassword(SETUP_TOKEN, PASSWORD))
+                    .isInstanceOf(InvalidRequestException.class)
+                    .hasMessage(Messages.PASSWORD_SETUP_ERROR);
+
+            verify(keycloakUserCompensationQueue, never()).enqueueDeletion(anyString());
+        }
+
+        @Test
+        @DisplayName("Should not notify the Members module on the request thread")
+        void shouldNotNotifyMembersInline() {
+            when(setupTokenService.consume(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
+                    .thenReturn(validToken);
+            when(membersClient.isEmailNotConfirmed(EMAIL)).thenReturn(false);
+            when(keycloakAdminClient.createUser(EMAIL, PASSWORD, true)).thenReturn(KEYCLOAK_USER_ID);
+            when(keycloakAdminClient.authenticateUser(EMAIL, PASSWORD)).thenReturn(MOCK_TOKEN_RESPONSE);
+
+            passwordService.setupPassword(SETUP_TOKEN, PASSWORD);
+
+            verify(membersClient, never()).notifyAccountActivatedWithCredentialsAsync(any(), anyString());
+            verify(keycloakUserCompensationQueue, never()).enqueueDeletion(anyString());
+        }
+
+        @Test
+        @DisplayName("Should throw CompensationFailedException when the deletion cannot be queued")
+        void shouldThrowCompensationFailedWhenDeletionCannotBeQueued() {
+            when(setupTokenService.consume(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
+                    .thenReturn(validToken);
+            when(membersClient.isEmailNotConfirmed(EMAIL)).thenReturn(false);
+            when(keycloakAdminClient.createUser(EMAIL, PASSWORD, true)).thenReturn(KEYCLOAK_USER_ID);
+            doThrow(new RuntimeException("Database unavailable"))
+                    .when(memberNotificationOutbox).confirmAccountActivated(MEMBER_ID, KEYCLOAK_USER_ID);
+            doThrow(new RuntimeException("Database unavailable"))
+                    .when(keycloakUserCompensationQueue).enqueueDeletion(KEYCLOAK_USER_ID);
 
             assertThatThrownBy(() -> passwordService.setupPassword(SETUP_TOKEN, PASSWORD))
                     .isInstanceOf(CompensationFailedException.class)
@@ -359,9 +459,9 @@ class PasswordServiceImplTest {
         }
 
         @Test
-        @DisplayName("Should NOT call deleteUser when createUser itself fails")
+        @DisplayName("Should NOT queue a deletion when createUser itself fails")
         void shouldNotDeleteUserWhenCreateUserFails() {
-            when(setupTokenService.validate(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
+            when(setupTokenService.consume(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
                     .thenReturn(validToken);
             when(membersClient.isEmailNotConfirmed(EMAIL)).thenReturn(false);
             when(keycloakAdminClient.createUser(EMAIL, PASSWORD, true))
@@ -370,25 +470,25 @@ class PasswordServiceImplTest {
             assertThatThrownBy(() -> passwordService.setupPassword(SETUP_TOKEN, PASSWORD))
                     .isInstanceOf(InvalidRequestException.class);
 
-            verify(keycloakAdminClient, never()).deleteUser(anyString());
+            verify(keycloakUserCompensationQueue, never()).enqueueDeletion(anyString());
         }
 
         @Test
-        @DisplayName("Should NOT call deleteUser when token validation fails")
+        @DisplayName("Should NOT queue a deletion when token validation fails")
         void shouldNotDeleteUserWhenTokenValidationFails() {
-            when(setupTokenService.validate(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
+            when(setupTokenService.consume(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
                     .thenThrow(new InvalidTokenException("Token expired"));
 
             assertThatThrownBy(() -> passwordService.setupPassword(SETUP_TOKEN, PASSWORD))
                     .isInstanceOf(InvalidRequestException.class);
 
-            verify(keycloakAdminClient, never()).deleteUser(anyString());
+            verify(keycloakUserCompensationQueue, never()).enqueueDeletion(anyString());
         }
 
         @Test
         @DisplayName("Should use generic error message, not Keycloak internal message")
         void shouldUseGenericErrorMessageNotKeycloakInternal() {
-            when(setupTokenService.validate(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
+            when(setupTokenService.consume(SETUP_TOKEN, SetupToken.TokenPurpose.PASSWORD_SETUP))
                     .thenReturn(validToken);
             when(membersClient.isEmailNotConfirmed(EMAIL)).thenReturn(false);
             when(keycloakAdminClient.createUser(EMAIL, PASSWORD, true))
@@ -1,10 +1,15 @@
 package com.ecclesiaflow.springsecurity.business.services.impl;
 
 import com.ecclesiaflow.springsecurity.business.domain.member.MembersClient;
+import com.ecclesiaflow.springsecurity.business.domain.password.KeycloakUserCompensationQueue;
 import com.ecclesiaflow.springsecurity.business.domain.token.SetupToken;
 import com.ecclesiaflow.springsecurity.io.keycloak.KeycloakAdminClient;
 import com.ecclesiaflow.springsecurity.io.keycloak.KeycloakTokenResponse;
+import com.ecclesiaflow.springsecurity.io.persistence.jpa.KeycloakUserCompensationEntity;
+import com.ecclesiaflow.springsecurity.io.persistence.jpa.MemberNotificationOutboxEntity;
 import com.ecclesiaflow.springsecurity.io.persistence.jpa.SetupTokenEntity;
+import com.ecclesiaflow.springsecurity.io.persistence.repositories.KeycloakUserCompensationJpaRepository;
+import com.ecclesiaflow.springsecurity.io.persistence.repositories.MemberNotificationOutboxJpaRepository;
 import com.ecclesiaflow.springsecurity.io.persistence.repositories.SetupTokenJpaRepository;
 import com.ecclesiaflow.springsecurity.web.exception.InvalidRequestException;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +23,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Primary;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
@@ -35,14 +42,17 @@ import static org.mockito.Mockito.*;
 /**
  * Integration test for the full password setup flow.
  * Uses real Spring context with H2 database but mocks external dependencies
- * (Keycloak, Members gRPC client).
+ * (Keycloak, Members gRPC client). The outbox dispatcher is disabled in the test
+ * profile, so Members notifications stay in the outbox table.
  */
 @SpringBootTest(properties = {
         "grpc.enabled=false",
         "spring.datasource.url=jdbc:h2:mem:password-setup-test",
         "spring.jpa.hibernate.ddl-auto=create-drop",
         "spring.security.oauth2.resourceserver.jwt.issuer-uri=http://localhost:8180/realms/test",
-        "auth.token.setup.ttl-hours=24"
+        "auth.token.setup.ttl-hours=24",
+        // Tokens are inserted straight through JPA with a fixed raw value, bypassing the negative cache
+        "auth.token.negative-cache.enabled=false"
 })
 @ActiveProfiles("test")
 @Import(PasswordSetupIntegrationTest.MockExternalDependencies.class)
@@ -55,6 +65,18 @@ class PasswordSetupIntegrationTest {
     @Autowired
     private SetupTokenJpaRepository tokenJpaRepository;
 
+    @Autowired
+    private MemberNotificationOutboxJpaRepository outboxJpaRepository;
+
+    @Autowired
+    private KeycloakUserCompensationQueue compensationQueue;
+
+    @Autowired
+    private KeycloakUserCompensationJpaRepository compensationJpaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Autowired
     private KeycloakAdminClient keycloakAdminClient;
 
@@ -88,6 +110,8 @@ class PasswordSetupIntegrationTest {
     @BeforeEach
     void setUp() {
         tokenJpaRepository.deleteAll();
+        outboxJpaRepository.deleteAll();
+        compensationJpaRepository.deleteAll();
         reset(keycloakAdminClient, membersClient);
     }
 
@@ -118,7 +142,7 @@ class PasswordSetupIntegrationTest {
     class SuccessfulSetupTests {
 
         @Test
-        @DisplayName("Should complete full setup flow: validate token, check email, create Keycloak user, notify members, delete token")
+        @DisplayName("Should complete full setup flow: validate token, check email, create Keycloak user, record notification, consume token")
         void shouldCompleteFullSetupFlow() {
             createIssuedToken(RAW_TOKEN, LocalDateTime.now().plusHours(24));
             when(membersClient.isEmailNotConfirmed(EMAIL)).thenReturn(false);
@@ -129,14 +153,15 @@ class PasswordSetupIntegrationTest {
 
             verify(membersClient).isEmailNotConfirmed(EMAIL);
             verify(keycloakAdminClient).createUser(EMAIL, PASSWORD, true);
-            verify(membersClient).notifyAccountActivated(MEMBER_ID, KEYCLOAK_USER_ID);
+            verify(membersClient, never()).notifyAccountActivatedWithCredentialsAsync(any(), anyString());
             verify(keycloakAdminClient).authenticateUser(EMAIL, PASSWORD);
-            assertThat(tokenJpaRepository.findAll()).isEmpty();
+            assertThat(tokenJpaRepository.findAll()).singleElement()
+                    .extracting(SetupTokenEntity::getStatus).isEqualTo(SetupToken.TokenStatus.CONSUMED);
         }
 
         @Test
-        @DisplayName("Should delete token after successful setup")
-        void shouldDeleteTokenAfterSetup() {
+        @DisplayName("Should consume token so it cannot be used a second time")
+        void shouldConsumeTokenAfterSetup() {
             createIssuedToken(RAW_TOKEN, LocalDateTime.now().plusHours(24));
             when(membersClient.isEmailNotConfirmed(EMAIL)).thenReturn(false);
             when(keycloakAdminClient.createUser(anyString(), anyString(), anyBoolean()))
@@ -145,7 +170,9 @@ class PasswordSetupIntegrationTest {
 
             passwordService.setupPassword(RAW_TOKEN, PASSWORD);
 
-            assertThat(tokenJpaRepository.count()).isZero();
+            assertThatThrownBy(() -> passwordService.setupPassword(RAW_TOKEN, PASSWORD))
+                    .isInstanceOf(InvalidRequestException.class);
+            verify(keycloakAdminClient, times(1)).createUser(anyString(), anyString(), anyBoolean());
         }
     }
 
@@ -196,27 +223,97 @@ class PasswordSetupIntegrationTest {
             assertThatThrownBy(() -> passwordService.setupPassword(RAW_TOKEN, PASSWORD))
                     .isInstanceOf(InvalidRequestException.class);
 
-            verify(membersClient, never()).notifyAccountActivated(any(), anyString());
+            assertThat(outboxJpaRepository.findAll()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should leave token usable when setup fails after it was claimed")
+        void shouldReleaseTokenOnFailure() {
+            createIssuedToken(RAW_TOKEN, LocalDateTime.now().plusHours(24));
+            when(membersClient.isEmailNotConfirmed(EMAIL)).thenReturn(false);
+            when(keycloakAdminClient.createUser(anyString(), anyString(), anyBoolean()))
+                    .thenThrow(new KeycloakAdminClient.KeycloakException("Keycloak down"));
+
+            assertThatThrownBy(() -> passwordService.setupPassword(RAW_TOKEN, PASSWORD))
+                    .isInstanceOf(InvalidRequestException.class);
+
+            assertThat(tokenJpaRepository.findAll()).singleElement()
+                    .extracting(SetupTokenEntity::getStatus).isEqualTo(SetupToken.TokenStatus.ISSUED);
         }
     }
 
     @Nested
-    @DisplayName("Compensation mechanism")
-    class CompensationTests {
+    @DisplayName("Members notification outbox")
+    class OutboxTests {
 
         @Test
-        @DisplayName("Should delete Keycloak user when Members notification fails")
-        void shouldCompensateKeycloakUserWhenMembersNotificationFails() {
+        @DisplayName("Should confirm the activation notification once the Keycloak user exists")
+        void shouldRecordPendingNotification() {
             createIssuedToken(RAW_TOKEN, LocalDateTime.now().plusHours(24));
             when(membersClient.isEmailNotConfirmed(EMAIL)).thenReturn(false);
             when(keycloakAdminClient.createUser(EMAIL, PASSWORD, true)).thenReturn(KEYCLOAK_USER_ID);
-            doThrow(new RuntimeException("gRPC failed"))
-                    .when(membersClient).notifyAccountActivated(MEMBER_ID, KEYCLOAK_USER_ID);
 
-            assertThatThrownBy(() -> passwordService.setupPassword(RAW_TOKEN, PASSWORD))
-                    .isInstanceOf(InvalidRequestException.class);
+            passwordService.setupPassword(RAW_TOKEN, PASSWORD);
+
+            assertThat(outboxJpaRepository.findAll()).singleElement().satisfies(row -> {
+                assertThat(row.getType()).isEqualTo(MemberNotificationOutboxEntity.Type.ACCOUNT_ACTIVATED);
+                assertThat(row.getMemberId()).isEqualTo(MEMBER_ID);
+                assertThat(row.getKeycloakUserId()).isEqualTo(KEYCLOAK_USER_ID);
+                assertThat(row.getStatus()).isEqualTo(MemberNotificationOutboxEntity.Status.PENDING);
+                assertThat(row.getAttempts()).isZero();
+            });
+            verify(keycloakAdminClient, never()).deleteUser(anyString());
+        }
+
+        @Test
+        @DisplayName("Should commit the reservation with the token claim before calling Keycloak")
+        void shouldReserveNotificationWithTokenClaim() {
+            createIssuedToken(RAW_TOKEN, LocalDateTime.now().plusHours(24));
+            when(membersClient.isEmailNotConfirmed(EMAIL)).thenReturn(false);
+            when(keycloakAdminClient.createUser(EMAIL, PASSWORD, true)).thenAnswer(invocation -> {
+                assertThat(tokenJpaRepository.findAll()).singleElement()
+                        .extracting(SetupTokenEntity::getStatus).isEqualTo(SetupToken.TokenStatus.CONSUMED);
+                assertThat(outboxJpaRepository.findAll()).singleElement().satisfies(row -> {
+                    assertThat(row.getStatus()).isEqualTo(MemberNotificationOutboxEntity.Status.RESERVED);
+                    assertThat(row.getEmail()).isEqualTo(EMAIL);
+                    assertThat(row.getKeycloakUserId()).isNull();
+                });
+                return KEYCLOAK_USER_ID;
+            });
+
+            passwordService.setupPassword(RAW_TOKEN, PASSWORD);
+
+            assertThat(outboxJpaRepository.findAll()).singleElement()
+                    .extracting(MemberNotificationOutboxEntity::getStatus)
+                    .isEqualTo(MemberNotificationOutboxEntity.Status.PENDING);
+        }
+    }
+
+    @Nested
+    @DisplayName("Keycloak user compensation queue")
+    class CompensationQueueTests {
+
+        @Test
+        @DisplayName("Should keep a queued deletion when the failed setup transaction rolls back")
+        void shouldSurviveRollback() {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                compensationQueue.enqueueDeletion(KEYCLOAK_USER_ID);
+                status.setRollbackOnly();
+            });
+
+            assertThat(compensationJpaRepository.findAll()).singleElement().satisfies(row -> {
+                assertThat(row.getKeycloakUserId()).isEqualTo(KEYCLOAK_USER_ID);
+                assertThat(row.getStatus()).isEqualTo(KeycloakUserCompensationEntity.Status.PENDING);
+            });
+        }
+
+        @Test
+        @DisplayName("Should queue a Keycloak user only once")
+        void shouldQueueOnce() {
+            compensationQueue.enqueueDeletion(KEYCLOAK_USER_ID);
+            compensationQueue.enqueueDeletion(KEYCLOAK_USER_ID);
 
-            verify(keycloakAdminClient).deleteUser(KEYCLOAK_USER_ID);
+            assertThat(compensationJpaRepository.findAll()).hasSize(1);
         }
     }
 }
@@ -2,6 +2,7 @@ package com.ecclesiaflow.springsecurity.business.services.impl;
 
 import com.ecclesiaflow.springsecurity.business.domain.token.SetupToken;
 import com.ecclesiaflow.springsecurity.business.domain.token.SetupTokenRepository;
+import com.ecclesiaflow.springsecurity.business.domain.token.TokenHash;
 import com.ecclesiaflow.springsecurity.business.exceptions.InvalidTokenException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,6 +16,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -127,7 +131,53 @@ class SetupTokenServiceImplTest {
             verify(setupTokenRepository).save(tokenCaptor.capture());
             
             SetupToken savedToken = tokenCaptor.getValue();
-            assertThat(savedToken.getTokenHash()).isNotEqualTo(rawToken);
+            assertThat(savedToken.getTokenHash().base64()).isNotEqualTo(rawToken);
+        }
+    }
+
+    @Nested
+    @DisplayName("generateSetupTokens - Batch issuance")
+    class GenerateSetupTokensTests {
+
+        @Test
+        @DisplayName("Should return empty map without touching the repository for empty input")
+        void shouldReturnEmptyForEmptyInput() {
+            Map<UUID, String> tokens = setupTokenService.generateSetupTokens(Map.of());
+
+            assertThat(tokens).isEmpty();
+            verifyNoInteractions(setupTokenRepository);
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        @DisplayName("Should revoke all members at once then save all tokens in one call")
+        void shouldRevokeOnceThenSaveAll() {
+            UUID otherMemberId = UUID.randomUUID();
+            Map<UUID, String> input = new LinkedHashMap<>();
+            input.put(MEMBER_ID, EMAIL);
+            input.put(otherMemberId, "other@test.com");
+
+            Map<UUID, String> tokens = setupTokenService.generateSetupTokens(input);
+
+            assertThat(tokens).containsOnlyKeys(MEMBER_ID, otherMemberId);
+            assertThat(tokens.get(MEMBER_ID)).isNotEqualTo(tokens.get(otherMemberId));
+
+            var inOrder = inOrder(setupTokenRepository);
+            inOrder.verify(setupTokenRepository).revokeTokensForMembers(input.keySet());
+            ArgumentCaptor<List<SetupToken>> captor = ArgumentCaptor.forClass(List.class);
+            inOrder.verify(setupTokenRepository).saveAll(captor.capture());
+            verify(setupTokenRepository, never()).revokeTokensForMember(any());
+            verify(setupTokenRepository, never()).save(any());
+
+            List<SetupToken> saved = captor.getValue();
+            assertThat(saved).extracting(SetupToken::getMemberId).containsExactly(MEMBER_ID, otherMemberId);
+            assertThat(saved).extracting(SetupToken::getEmail).containsExactly(EMAIL, "other@test.com");
+            assertThat(saved).allSatisfy(token -> {
+                assertThat(token.getStatus()).isEqualTo(SetupToken.TokenStatus.ISSUED);
+                assertThat(token.getPurpose()).isEqualTo(SetupToken.TokenPurpose.PASSWORD_SETUP);
+                assertThat(token.getExpiresAt()).isAfter(LocalDateTime.now().plusHours(SETUP_TOKEN_TTL_HOURS - 1));
+            });
+            assertThat(saved.get(0).getTokenHash().base64()).isNotEqualTo(tokens.get(MEMBER_ID));
         }
     }
 
@@ -141,13 +191,13 @@ class SetupTokenServiceImplTest {
             String rawToken = "test-token";
             SetupToken expectedToken = createValidToken();
             
-            when(setupTokenRepository.findValidToken(anyString(), any(LocalDateTime.class)))
+            when(setupTokenRepository.findValidToken(any(TokenHash.class), any(LocalDateTime.class)))
                     .thenReturn(Optional.of(expectedToken));
 
             SetupToken result = setupTokenService.validate(rawToken, SetupToken.TokenPurpose.PASSWORD_SETUP);
 
             assertThat(result).isEqualTo(expectedToken);
-            verify(setupTokenRepository).findValidToken(anyString(), any(LocalDateTime.class));
+            verify(setupTokenRepository).findValidToken(any(TokenHash.class), any(LocalDateTime.class));
         }
 
         @Test
@@ -156,15 +206,15 @@ class SetupTokenServiceImplTest {
             String rawToken = "test-token";
             SetupToken expectedToken = createValidToken();
             
-            when(setupTokenRepository.findValidToken(anyString(), any(LocalDateTime.class)))
+            when(setupTokenRepository.findValidToken(any(TokenHash.class), any(LocalDateTime.class)))
                     .thenReturn(Optional.of(expectedToken));
 
             setupTokenService.validate(rawToken, SetupToken.TokenPurpose.PASSWORD_SETUP);
 
-            ArgumentCaptor<String> hashCaptor = ArgumentCaptor.forClass(String.class);
+            ArgumentCaptor<TokenHash> hashCaptor = ArgumentCaptor.forClass(TokenHash.class);
             verify(setupTokenRepository).findValidToken(hashCaptor.capture(), any(LocalDateTime.class));
             
-            assertThat(hashCaptor.getValue()).isNotEqualTo(rawToken);
+            assertThat(hashCaptor.getValue().base64()).isNotEqualTo(rawToken);
         }
 
         @Test
@@ -174,13 +224,13 @@ class SetupTokenServiceImplTest {
             SetupToken expectedToken = createValidToken();
             LocalDateTime beforeValidation = LocalDateTime.now();
             
-            when(setupTokenRepository.findValidToken(anyString(), any(LocalDateTime.class)))
+            when(setupTokenRepository.findValidToken(any(TokenHash.class), any(LocalDateTime.class)))
                     .thenReturn(Optional.of(expectedToken));
 
             setupTokenService.validate(rawToken, SetupToken.TokenPurpose.PASSWORD_SETUP);
 
             ArgumentCaptor<LocalDateTime> timeCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
-            verify(setupTokenRepository).findValidToken(anyString(), timeCaptor.capture());
+            verify(setupTokenRepository).findValidToken(any(TokenHash.class), timeCaptor.capture());
             
             assertThat(timeCaptor.getValue()).isAfterOrEqualTo(beforeValidation);
             assertThat(timeCaptor.getValue()).isBeforeOrEqualTo(LocalDateTime.now().plusSeconds(1));
@@ -196,7 +246,7 @@ class SetupTokenServiceImplTest {
         void shouldThrowExceptionWhenTokenNotFound() {
             String rawToken = "invalid-token";
             
-            when(setupTokenRepository.findValidToken(anyString(), any(LocalDateTime.class)))
+            when(setupTokenRepository.findValidToken(any(TokenHash.class), any(LocalDateTime.class)))
                     .thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> setupTokenService.validate(rawToken, SetupToken.TokenPurpose.PASSWORD_SETUP))
@@ -212,7 +262,7 @@ class SetupTokenServiceImplTest {
             SetupToken mockToken = mock(SetupToken.class);
             when(mockToken.getPurpose()).thenReturn(null);
             
-            when(setupTokenRepository.findValidToken(anyString(), any(LocalDateTime.class)))
+            when(setupTokenRepository.findValidToken(any(TokenHash.class), any(LocalDateTime.class)))
                     .thenReturn(Optional.of(mockToken));
 
             assertThatThrownBy(() -> setupTokenService.validate(rawToken, SetupToken.TokenPurpose.PASSWORD_SETUP))
@@ -225,7 +275,7 @@ class SetupTokenServiceImplTest {
         void shouldNotDeleteWhenValidationFails() {
             String rawToken = "invalid-token";
             
-            when(setupTokenRepository.findValidToken(anyString(), any(LocalDateTime.class)))
+            when(setupTokenRepository.findValidToken(any(TokenHash.class), any(LocalDateTime.class)))
                     .thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> setupTokenService.validate(rawToken, SetupToken.TokenPurpose.PASSWORD_SETUP))
@@ -235,6 +285,59 @@ class SetupTokenServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("consume")
+    class ConsumeTests {
+
+        @Test
+        @DisplayName("Should claim the token by hash, then load it")
+        void shouldClaimThenLoadToken() {
+            SetupToken token = createValidToken();
+            when(setupTokenRepository.claim(any(TokenHash.class), eq(SetupToken.TokenPurpose.PASSWORD_SETUP),
+                    any(LocalDateTime.class))).thenReturn(true);
+            when(setupTokenRepository.findByTokenHash(any(TokenHash.class))).thenReturn(Optional.of(token));
+
+            SetupToken result = setupTokenService.consume("test-token", SetupToken.TokenPurpose.PASSWORD_SETUP);
+
+            assertThat(result).isEqualTo(token);
+            ArgumentCaptor<TokenHash> hashCaptor = ArgumentCaptor.forClass(TokenHash.class);
+            var inOrder = inOrder(setupTokenRepository);
+            inOrder.verify(setupTokenRepository).claim(hashCaptor.capture(),
+                    eq(SetupToken.TokenPurpose.PASSWORD_SETUP), any(LocalDateTime.class));
+            inOrder.verify(setupTokenRepository).findByTokenHash(hashCaptor.getValue());
+            assertThat(hashCaptor.getValue().base64()).isNotEqualTo("test-token");
+            verify(setupTokenRepository, never()).findValidToken(any(TokenHash.class), any());
+        }
+
+        @Test
+        @DisplayName("Should reject a token that is unknown, expired or already claimed, without loading it")
+        void shouldRejectWhenClaimLost() {
+            when(setupTokenRepository.claim(any(TokenHash.class), eq(SetupToken.TokenPurpose.PASSWORD_SETUP),
+                    any(LocalDateTime.class))).thenReturn(false);
+
+            assertThatThrownBy(() -> setupTokenService.consume("test-token", SetupToken.TokenPurpose.PASSWORD_SETUP))
+                    .isInstanceOf(InvalidTokenException.class)
+                    .hasMessageContaining("Token is invalid or expired");
+
+            verify(setupTokenRepository, never()).findByTokenHash(any(TokenHash.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("release")
+    class ReleaseTests {
+
+        @Test
+        @DisplayName("Should give a consumed token back to the repository")
+        void shouldReleaseToken() {
+            SetupToken token = createValidToken();
+
+            setupTokenService.release(token);
+
+            verify(setupTokenRepository).release(token);
+        }
+    }
+
     @Nested
     @DisplayName("deleteToken - Success scenarios")
     class DeleteTokenSuccessTests {
@@ -294,9 +397,9 @@ class SetupTokenServiceImplTest {
             ArgumentCaptor<SetupToken> tokenCaptor = ArgumentCaptor.forClass(SetupToken.class);
             verify(setupTokenRepository).save(tokenCaptor.capture());
             
-            String hash = tokenCaptor.getValue().getTokenHash();
+            TokenHash hash = tokenCaptor.getValue().getTokenHash();
             assertThat(hash).isNotNull();
-            assertThat(hash).isNotEmpty();
+            assertThat(hash.bytes()).hasSize(32);
         }
     }
 
@@ -324,7 +427,7 @@ class SetupTokenServiceImplTest {
             String rawToken = "expired-token";
             SetupToken expiredToken = SetupToken.builder()
                     .id(UUID.randomUUID())
-                    .tokenHash("hashed-token")
+                    .tokenHash(TokenHash.fromBase64("hashed-token"))
                     .email(EMAIL)
                     .memberId(MEMBER_ID)
                     .purpose(SetupToken.TokenPurpose.PASSWORD_SETUP)
@@ -333,7 +436,7 @@ class SetupTokenServiceImplTest {
                     .createdAt(LocalDateTime.now().minusHours(25))
                     .build();
             
-            when(setupTokenRepository.findValidToken(anyString(), any(LocalDateTime.class)))
+            when(setupTokenRepository.findValidToken(any(TokenHash.class), any(LocalDateTime.class)))
                     .thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> setupTokenService.validate(rawToken, SetupToken.TokenPurpose.PASSWORD_SETUP))
@@ -378,7 +481,7 @@ class SetupTokenServiceImplTest {
     private SetupToken createValidToken() {
         return SetupToken.builder()
                 .id(UUID.randomUUID())
-                .tokenHash("hashed-token")
+                .tokenHash(TokenHash.fromBase64("hashed-token"))
                 .email(EMAIL)
                 .memberId(MEMBER_ID)
                 .purpose(SetupToken.TokenPurpose.PASSWORD_SETUP)
@@ -0,0 +1,152 @@
+package com.ecclesiaflow.springsecurity.io.grpc.members;
+
+import com.ecclesiaflow.springsecurity.io.members.CachingMembersClient;
+import com.ecclesiaflow.springsecurity.io.members.MembersGrpcClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachingMembersClient - Unit tests")
+class CachingMembersClientTest {
+
+    private static final String EMAIL = "member@example.com";
+    private static final String KEYCLOAK_USER_ID = "keycloak-user-123";
+
+    @Mock
+    private MembersGrpcClient delegate;
+
+    private MeterRegistry meterRegistry;
+    private CachingMembersClient client;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        client = new CachingMembersClient(delegate, meterRegistry, 100, Duration.ofMinutes(1));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tags("cache", "members.confirmation_status", "result", result)
+                .functionCounter().count();
+    }
+
+    @Nested
+    @DisplayName("isEmailNotConfirmed")
+    class IsEmailNotConfirmedTests {
+
+        @Test
+        @DisplayName("Should answer a confirmed email from memory on the next lookup")
+        void shouldCacheConfirmedEmail() {
+            when(delegate.isEmailNotConfirmed(EMAIL)).thenReturn(false);
+
+            assertThat(client.isEmailNotConfirmed(EMAIL)).isFalse();
+            assertThat(client.isEmailNotConfirmed(EMAIL)).isFalse();
+
+            verify(delegate, times(1)).isEmailNotConfirmed(EMAIL);
+            assertThat(cacheGets("miss")).isEqualTo(1);
+            assertThat(cacheGets("hit")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should ask again for an email that is not confirmed")
+        void shouldNotCacheUnconfirmedEmail() {
+            when(delegate.isEmailNotConfirmed(EMAIL)).thenReturn(true, false);
+
+            assertThat(client.isEmailNotConfirmed(EMAIL)).isTrue();
+            assertThat(client.isEmailNotConfirmed(EMAIL)).isFalse();
+
+            verify(delegate, times(2)).isEmailNotConfirmed(EMAIL);
+        }
+
+        @Test
+        @DisplayName("Should not cache a failed lookup")
+        void shouldNotCacheFailure() {
+            when(delegate.isEmailNotConfirmed(EMAIL))
+                    .thenThrow(new MembersGrpcClient.MembersServiceUnavailableException("down", null))
+                    .thenReturn(false);
+
+            assertThatThrownBy(() -> client.isEmailNotConfirmed(EMAIL))
+                    .isInstanceOf(MembersGrpcClient.MembersServiceUnavailableException.class);
+            assertThat(client.isEmailNotConfirmed(EMAIL)).isFalse();
+
+            verify(delegate, times(2)).isEmailNotConfirmed(EMAIL);
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidation")
+    class InvalidationTests {
+
+        @Test
+        @DisplayName("Should clear the cache when an activation is notified")
+        void shouldInvalidateOnActivation() {
+            when(delegate.isEmailNotConfirmed(EMAIL)).thenReturn(false);
+            when(delegate.notifyAccountActivated(any(), eq(KEYCLOAK_USER_ID))).thenReturn(true);
+            client.isEmailNotConfirmed(EMAIL);
+
+            assertThat(client.notifyAccountActivated(UUID.randomUUID(), KEYCLOAK_USER_ID)).isTrue();
+            client.isEmailNotConfirmed(EMAIL);
+
+            verify(delegate, times(2)).isEmailNotConfirmed(EMAIL);
+        }
+
+        @Test
+        @DisplayName("Should clear the cache when an async activation completes")
+        void shouldInvalidateOnAsyncActivation() {
+            when(delegate.isEmailNotConfirmed(EMAIL)).thenReturn(false);
+            when(delegate.notifyAccountActivatedWithCredentialsAsync(any(), eq(KEYCLOAK_USER_ID)))
+                    .thenReturn(CompletableFuture.completedFuture(true));
+            client.isEmailNotConfirmed(EMAIL);
+
+            assertThat(client.notifyAccountActivatedWithCredentialsAsync(UUID.randomUUID(), KEYCLOAK_USER_ID).join())
+                    .isTrue();
+            client.isEmailNotConfirmed(EMAIL);
+
+            verify(delegate, times(2)).isEmailNotConfirmed(EMAIL);
+        }
+
+        @Test
+        @DisplayName("Should keep the cache when an activation fails")
+        void shouldKeepCacheOnFailedActivation() {
+            when(delegate.isEmailNotConfirmed(EMAIL)).thenReturn(false);
+            when(delegate.notifyAccountActivatedAsync(any(), eq(KEYCLOAK_USER_ID)))
+                    .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Timeout")));
+            client.isEmailNotConfirmed(EMAIL);
+
+            assertThat(client.notifyAccountActivatedAsync(UUID.randomUUID(), KEYCLOAK_USER_ID))
+                    .isCompletedExceptionally();
+            client.isEmailNotConfirmed(EMAIL);
+
+            verify(delegate, times(1)).isEmailNotConfirmed(EMAIL);
+        }
+
+        @Test
+        @DisplayName("Should not store a lookup that raced with an activation")
+        void shouldDropLookupRacingActivation() {
+            when(delegate.isEmailNotConfirmed(EMAIL)).thenAnswer(invocation -> {
+                client.notifyAccountActivated(UUID.randomUUID(), KEYCLOAK_USER_ID);
+                return false;
+            });
+
+            client.isEmailNotConfirmed(EMAIL);
+            client.isEmailNotConfirmed(EMAIL);
+
+            verify(delegate, times(2)).isEmailNotConfirmed(EMAIL);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.ecclesiaflow.springsecurity.io.grpc.members;
+
+import com.ecclesiaflow.grpc.members.MembersServiceGrpc;
+import com.ecclesiaflow.springsecurity.io.members.ManagedChannelPool;
+import io.grpc.CallOptions;
+import io.grpc.ConnectivityState;
+import io.grpc.ManagedChannel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for {@link ManagedChannelPool}.
+ */
+class ManagedChannelPoolTest {
+
+    private ManagedChannel first;
+    private ManagedChannel second;
+    private ManagedChannelPool pool;
+
+    @BeforeEach
+    void setUp() {
+        first = mock(ManagedChannel.class);
+        second = mock(ManagedChannel.class);
+        pool = new ManagedChannelPool(List.of(first, second));
+    }
+
+    @Test
+    @DisplayName("Should spread calls round-robin over the pooled channels")
+    void shouldSpreadCallsRoundRobin() {
+        for (int i = 0; i < 4; i++) {
+            pool.newCall(MembersServiceGrpc.getGetMemberConfirmationStatusMethod(), CallOptions.DEFAULT);
+        }
+
+        verify(first, times(2)).newCall(MembersServiceGrpc.getGetMemberConfirmationStatusMethod(), CallOptions.DEFAULT);
+        verify(second, times(2)).newCall(MembersServiceGrpc.getGetMemberConfirmationStatusMethod(), CallOptions.DEFAULT);
+    }
+
+    @Test
+    @DisplayName("Should shut down every pooled channel")
+    void shouldShutdownEveryChannel() {
+        when(first.isShutdown()).thenReturn(true);
+        when(second.isShutdown()).thenReturn(false);
+
+        pool.shutdown();
+
+        verify(first).shutdown();
+        verify(second).shutdown();
+        assertFalse(pool.isShutdown());
+    }
+
+    @Test
+    @DisplayName("Should report termination only when every channel terminated in time")
+    void shouldAwaitEveryChannel() throws InterruptedException {
+        when(first.awaitTermination(anyLong(), eq(TimeUnit.NANOSECONDS))).thenReturn(true);
+        when(second.awaitTermination(anyLong(), eq(TimeUnit.NANOSECONDS))).thenReturn(false);
+
+        assertFalse(pool.awaitTermination(1, TimeUnit.SECONDS));
+        verify(first).awaitTermination(anyLong(), eq(TimeUnit.NANOSECONDS));
+        verify(second).awaitTermination(anyLong(), eq(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    @DisplayName("Should be READY as soon as one channel is")
+    void shouldReportBestState() {
+        when(first.getState(false)).thenReturn(ConnectivityState.TRANSIENT_FAILURE);
+        when(second.getState(false)).thenReturn(ConnectivityState.READY);
+
+        assertEquals(ConnectivityState.READY, pool.getState(false));
+    }
+
+    @Test
+    @DisplayName("Should reject an empty pool")
+    void shouldRejectEmptyPool() {
+        assertThrows(IllegalArgumentException.class, () -> new ManagedChannelPool(List.of()));
+    }
+}
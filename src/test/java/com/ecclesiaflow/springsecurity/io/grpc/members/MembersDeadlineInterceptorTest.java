@@ -0,0 +1,141 @@
+package com.ecclesiaflow.springsecurity.io.grpc.members;
+
+import com.ecclesiaflow.grpc.members.ConfirmationStatusRequest;
+import com.ecclesiaflow.grpc.members.ConfirmationStatusResponse;
+import com.ecclesiaflow.grpc.members.MembersServiceGrpc;
+import com.ecclesiaflow.springsecurity.io.members.MembersDeadlineInterceptor;
+import com.ecclesiaflow.springsecurity.io.members.MembersGrpcClient;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.Context;
+import io.grpc.Deadline;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for {@link MembersDeadlineInterceptor}, against an InProcessServer whose
+ * confirmation status endpoint never answers.
+ */
+class MembersDeadlineInterceptorTest {
+
+    private static final String CONFIRMATION_STATUS =
+            MembersServiceGrpc.getGetMemberConfirmationStatusMethod().getFullMethodName();
+
+    private Server server;
+    private String serverName;
+    private ManagedChannel channel;
+    private ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        serverName = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(new MembersServiceGrpc.MembersServiceImplBase() {
+                    @Override
+                    public void getMemberConfirmationStatus(ConfirmationStatusRequest request,
+                                                            StreamObserver<ConfirmationStatusResponse> responseObserver) {
+                        // Never answers: only the deadline ends the call
+                    }
+                })
+                .build()
+                .start();
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (channel != null) {
+            channel.shutdownNow();
+        }
+        server.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    private MembersGrpcClient clientWith(Duration confirmationStatusTimeout) {
+        channel = InProcessChannelBuilder.forName(serverName)
+                .directExecutor()
+                .intercept(new MembersDeadlineInterceptor(
+                        Duration.ofSeconds(5), Map.of(CONFIRMATION_STATUS, confirmationStatusTimeout)))
+                .build();
+        return new MembersGrpcClient(channel, CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults());
+    }
+
+    @Test
+    @DisplayName("Should end a call at its per-method deadline")
+    void shouldApplyMethodDeadline() {
+        MembersGrpcClient client = clientWith(Duration.ofMillis(100));
+        long start = System.nanoTime();
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> client.isEmailNotConfirmed("slow@example.com"));
+
+        assertTrue(exception.getMessage().contains("Timeout exceeded"));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @Test
+    @DisplayName("Should end a call at the caller's deadline when it is earlier")
+    void shouldApplyCallerDeadline() {
+        MembersGrpcClient client = clientWith(Duration.ofSeconds(30));
+        Context.CancellableContext caller = Context.current().withDeadlineAfter(100, TimeUnit.MILLISECONDS, scheduler);
+        long start = System.nanoTime();
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> caller.call(() -> client.isEmailNotConfirmed("slow@example.com")));
+        caller.cancel(null);
+
+        assertNotNull(exception);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @Test
+    @DisplayName("Should keep an earlier deadline already set on the call")
+    void shouldKeepEarlierCallDeadline() {
+        MembersDeadlineInterceptor interceptor = new MembersDeadlineInterceptor(Duration.ofSeconds(5), Map.of());
+        Channel next = mock(Channel.class);
+        Deadline earlier = Deadline.after(1, TimeUnit.SECONDS);
+
+        interceptor.interceptCall(MembersServiceGrpc.getGetMemberConfirmationStatusMethod(),
+                CallOptions.DEFAULT.withDeadline(earlier), next);
+
+        ArgumentCaptor<CallOptions> options = ArgumentCaptor.forClass(CallOptions.class);
+        verify(next).newCall(eq(MembersServiceGrpc.getGetMemberConfirmationStatusMethod()), options.capture());
+        assertSame(earlier, options.getValue().getDeadline());
+    }
+
+    @Test
+    @DisplayName("Should apply the default deadline to methods without their own")
+    void shouldApplyDefaultDeadline() {
+        MembersDeadlineInterceptor interceptor = new MembersDeadlineInterceptor(
+                Duration.ofSeconds(5), Map.of(CONFIRMATION_STATUS, Duration.ofSeconds(1)));
+        Channel next = mock(Channel.class);
+
+        interceptor.interceptCall(MembersServiceGrpc.getNotifyAccountActivatedMethod(), CallOptions.DEFAULT, next);
+
+        ArgumentCaptor<CallOptions> options = ArgumentCaptor.forClass(CallOptions.class);
+        verify(next).newCall(eq(MembersServiceGrpc.getNotifyAccountActivatedMethod()), options.capture());
+        long remaining = options.getValue().getDeadline().timeRemaining(TimeUnit.MILLISECONDS);
+        assertTrue(remaining > 4000 && remaining <= 5000);
+    }
+}
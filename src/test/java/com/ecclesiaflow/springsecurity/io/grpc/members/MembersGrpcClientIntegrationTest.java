@@ -1,7 +1,16 @@
 package com.ecclesiaflow.springsecurity.io.grpc.members;
 
 import com.ecclesiaflow.grpc.members.*;
+import com.ecclesiaflow.springsecurity.io.members.MembersFailurePredicate;
 import com.ecclesiaflow.springsecurity.io.members.MembersGrpcClient;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.grpc.ManagedChannel;
 import io.grpc.Server;
 import io.grpc.Status;
@@ -13,8 +22,13 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -30,6 +44,7 @@ class MembersGrpcClientIntegrationTest {
     private Server server;
     private ManagedChannel channel;
     private MembersGrpcClient client;
+    private final AtomicInteger activationAttempts = new AtomicInteger();
 
     private static final String SERVER_NAME = "test-members-grpc";
     private static final String CONFIRMED_EMAIL = "confirmed@example.com";
@@ -104,6 +119,13 @@ class MembersGrpcClientIntegrationTest {
                 } else if (keycloakUserId.equals("unavailable-member")) {
                     responseObserver.onError(new StatusRuntimeException(
                             Status.UNAVAILABLE.withDescription("Service unavailable")));
+                } else if (keycloakUserId.equals("invalid-member")) {
+                    activationAttempts.incrementAndGet();
+                    responseObserver.onError(new StatusRuntimeException(
+                            Status.INVALID_ARGUMENT.withDescription("Invalid member_id")));
+                } else if (keycloakUserId.equals("flaky-member") && activationAttempts.incrementAndGet() == 1) {
+                    responseObserver.onError(new StatusRuntimeException(
+                            Status.UNAVAILABLE.withDescription("Service unavailable")));
                 } else {
                     responseObserver.onNext(AccountActivatedResponse.newBuilder()
                             .setSuccess(true)
@@ -112,6 +134,16 @@ class MembersGrpcClientIntegrationTest {
                     responseObserver.onCompleted();
                 }
             }
+
+            @Override
+            public void notifyLocalCredentialsAdded(LocalCredentialsAddedRequest request,
+                                                    StreamObserver<LocalCredentialsAddedResponse> responseObserver) {
+                responseObserver.onNext(LocalCredentialsAddedResponse.newBuilder()
+                        .setSuccess(!request.getKeycloakUserId().equals("error-member"))
+                        .setMessage("Credentials recorded")
+                        .build());
+                responseObserver.onCompleted();
+            }
         };
 
         // Start the in-memory server
@@ -122,14 +154,16 @@ class MembersGrpcClientIntegrationTest {
                 .build()
                 .start();
 
-        // Create the members channel
+        // Create the members channel, retrying as configured in production
         channel = InProcessChannelBuilder
                 .forName(SERVER_NAME)
                 .directExecutor()
+                .defaultServiceConfig(MembersRetryPolicyTest.policy().build().toServiceConfig())
+                .enableRetry()
                 .build();
 
         // Create the client
-        client = new MembersGrpcClient(channel);
+        client = new MembersGrpcClient(channel, CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults());
     }
 
     @AfterEach
@@ -330,4 +364,179 @@ class MembersGrpcClientIntegrationTest {
 
         assertTrue(exception.getMessage().contains("unavailable"));
     }
+
+    @Test
+    @DisplayName("notifyAccountActivatedAsync - Should complete with true when activation succeeds")
+    void notifyAccountActivatedAsync_Success_CompletesTrue() throws Exception {
+        assertTrue(client.notifyAccountActivatedAsync(UUID.randomUUID(), "keycloak-123").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("notifyAccountActivatedAsync - Should fail when response.success is false")
+    void notifyAccountActivatedAsync_ResponseFailure_Fails() {
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> client.notifyAccountActivatedAsync(UUID.randomUUID(), "error-member").join());
+
+        assertTrue(exception.getCause().getMessage().contains("Members module rejected activation"));
+    }
+
+    @Test
+    @DisplayName("notifyAccountActivatedAsync - Should retry a transient failure and then succeed")
+    void notifyAccountActivatedAsync_TransientFailure_Retries() throws Exception {
+        assertTrue(client.notifyAccountActivatedAsync(UUID.randomUUID(), "flaky-member").get(5, TimeUnit.SECONDS));
+        assertEquals(2, activationAttempts.get());
+    }
+
+    @Test
+    @DisplayName("notifyAccountActivatedAsync - Should not retry INVALID_ARGUMENT")
+    void notifyAccountActivatedAsync_InvalidArgument_DoesNotRetry() {
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> client.notifyAccountActivatedAsync(UUID.randomUUID(), "invalid-member").join());
+
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        assertEquals(1, activationAttempts.get());
+    }
+
+    @Test
+    @DisplayName("notifyLocalCredentialsAddedAsync - Should complete with true, or fail when rejected")
+    void notifyLocalCredentialsAddedAsync_MapsResponse() throws Exception {
+        assertTrue(client.notifyLocalCredentialsAddedAsync("keycloak-123").get(5, TimeUnit.SECONDS));
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> client.notifyLocalCredentialsAddedAsync("error-member").join());
+        assertTrue(exception.getCause().getMessage().contains("Members module rejected credentials update"));
+    }
+
+    @Test
+    @DisplayName("notifyAccountActivatedWithCredentialsAsync - Should fall back to the legacy calls once on UNIMPLEMENTED")
+    void notifyAccountActivatedWithCredentialsAsync_Unimplemented_FallsBackToLegacyCalls() throws Exception {
+        // The mock Members service does not implement the combined RPC
+        assertTrue(client.notifyAccountActivatedWithCredentialsAsync(UUID.randomUUID(), "flaky-member")
+                .get(5, TimeUnit.SECONDS));
+        assertTrue(client.notifyAccountActivatedWithCredentialsAsync(UUID.randomUUID(), "keycloak-123")
+                .get(5, TimeUnit.SECONDS));
+
+        // First legacy activation failed once (UNAVAILABLE) and was retried; UNIMPLEMENTED never is
+        assertEquals(2, activationAttempts.get());
+        assertEquals(Boolean.FALSE, ReflectionTestUtils.getField(client, "combinedActivationSupported"));
+    }
+
+    @Test
+    @DisplayName("notifyAccountActivatedWithCredentialsAsync - Should use the combined RPC when supported")
+    void notifyAccountActivatedWithCredentialsAsync_Supported_UsesCombinedCall() throws Exception {
+        AtomicInteger combinedCalls = new AtomicInteger();
+        String name = InProcessServerBuilder.generateName();
+        Server combinedServer = InProcessServerBuilder.forName(name).directExecutor()
+                .addService(new MembersServiceGrpc.MembersServiceImplBase() {
+                    @Override
+                    public void notifyAccountActivatedWithCredentials(
+                            AccountActivatedWithCredentialsRequest request,
+                            StreamObserver<AccountActivatedWithCredentialsResponse> responseObserver) {
+                        combinedCalls.incrementAndGet();
+                        responseObserver.onNext(AccountActivatedWithCredentialsResponse.newBuilder()
+                                .setSuccess(!request.getKeycloakUserId().equals("error-member"))
+                                .setMessage("Member not found")
+                                .build());
+                        responseObserver.onCompleted();
+                    }
+                })
+                .build()
+                .start();
+        ManagedChannel combinedChannel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        try {
+            MembersGrpcClient combinedClient = new MembersGrpcClient(combinedChannel, CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults());
+
+            assertTrue(combinedClient.notifyAccountActivatedWithCredentialsAsync(UUID.randomUUID(), "keycloak-123")
+                    .get(5, TimeUnit.SECONDS));
+            CompletionException exception = assertThrows(CompletionException.class,
+                    () -> combinedClient.notifyAccountActivatedWithCredentialsAsync(UUID.randomUUID(), "error-member").join());
+
+            assertTrue(exception.getCause().getMessage().contains("Members module rejected activation"));
+            assertEquals(2, combinedCalls.get());
+        } finally {
+            combinedChannel.shutdownNow();
+            combinedServer.shutdownNow();
+        }
+    }
+
+    // =====================================================
+    // Circuit breaker and bulkhead tests
+    // =====================================================
+
+    private static CircuitBreakerRegistry breakerOpeningAfterTwoCalls() {
+        return CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .failureRateThreshold(50)
+                .recordException(new MembersFailurePredicate())
+                .build());
+    }
+
+    @Test
+    @DisplayName("Circuit breaker - Should fail fast once the Members service keeps failing")
+    void circuitBreaker_RepeatedUnavailable_FailsFast() {
+        CircuitBreakerRegistry circuitBreakers = breakerOpeningAfterTwoCalls();
+        MembersGrpcClient guardedClient = new MembersGrpcClient(channel, circuitBreakers, BulkheadRegistry.ofDefaults());
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(MembersGrpcClient.MembersServiceUnavailableException.class,
+                    () -> guardedClient.isEmailNotConfirmed(UNAVAILABLE_EMAIL));
+        }
+        MembersGrpcClient.MembersServiceUnavailableException exception = assertThrows(
+                MembersGrpcClient.MembersServiceUnavailableException.class,
+                () -> guardedClient.isEmailNotConfirmed(CONFIRMED_EMAIL));
+
+        assertInstanceOf(CallNotPermittedException.class, exception.getCause());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakers.circuitBreaker("members").getState());
+    }
+
+    @Test
+    @DisplayName("Circuit breaker - Should not count answers about the request as failures")
+    void circuitBreaker_ClientErrors_StayClosed() {
+        CircuitBreakerRegistry circuitBreakers = breakerOpeningAfterTwoCalls();
+        MembersGrpcClient guardedClient = new MembersGrpcClient(channel, circuitBreakers, BulkheadRegistry.ofDefaults());
+
+        assertThrows(IllegalArgumentException.class, () -> guardedClient.isEmailNotConfirmed(INVALID_EMAIL));
+        assertThrows(RuntimeException.class, () -> guardedClient.isEmailNotConfirmed(NOT_FOUND_EMAIL));
+
+        assertFalse(guardedClient.isEmailNotConfirmed(CONFIRMED_EMAIL));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreakers.circuitBreaker("members").getState());
+    }
+
+    @Test
+    @DisplayName("Circuit breaker - Should not send async calls while open")
+    void circuitBreaker_Open_RejectsAsyncWithoutCalling() {
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.ofDefaults();
+        MembersGrpcClient guardedClient = new MembersGrpcClient(channel, circuitBreakers, BulkheadRegistry.ofDefaults());
+        circuitBreakers.circuitBreaker("members").transitionToOpenState();
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> guardedClient.notifyAccountActivatedAsync(UUID.randomUUID(), "flaky-member").join());
+
+        assertInstanceOf(MembersGrpcClient.MembersServiceUnavailableException.class, exception.getCause());
+        assertEquals(0, activationAttempts.get());
+    }
+
+    @Test
+    @DisplayName("Bulkhead - Should reject calls beyond the concurrent call limit")
+    void bulkhead_Full_RejectsCall() {
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        MembersGrpcClient guardedClient = new MembersGrpcClient(channel, CircuitBreakerRegistry.ofDefaults(), bulkheads);
+        Bulkhead bulkhead = bulkheads.bulkhead("members");
+        assertTrue(bulkhead.tryAcquirePermission());
+
+        try {
+            MembersGrpcClient.MembersServiceUnavailableException exception = assertThrows(
+                    MembersGrpcClient.MembersServiceUnavailableException.class,
+                    () -> guardedClient.isEmailNotConfirmed(CONFIRMED_EMAIL));
+            assertInstanceOf(BulkheadFullException.class, exception.getCause());
+        } finally {
+            bulkhead.onComplete();
+        }
+
+        assertFalse(guardedClient.isEmailNotConfirmed(CONFIRMED_EMAIL));
+    }
 }
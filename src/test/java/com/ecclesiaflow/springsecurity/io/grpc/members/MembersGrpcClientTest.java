@@ -2,6 +2,8 @@ package com.ecclesiaflow.springsecurity.io.grpc.members;
 
 import com.ecclesiaflow.grpc.members.*;
 import com.ecclesiaflow.springsecurity.io.members.MembersGrpcClient;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.grpc.ManagedChannel;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -30,7 +32,7 @@ class MembersGrpcClientTest {
         ManagedChannel channel = mock(ManagedChannel.class);
 
         // When
-        MembersGrpcClient client = new MembersGrpcClient(channel);
+        MembersGrpcClient client = new MembersGrpcClient(channel, CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults());
 
         // Then
         assertNotNull(client, "The client must not be null");
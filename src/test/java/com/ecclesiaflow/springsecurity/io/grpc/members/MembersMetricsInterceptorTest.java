@@ -0,0 +1,116 @@
+package com.ecclesiaflow.springsecurity.io.grpc.members;
+
+import com.ecclesiaflow.grpc.members.AccountActivatedRequest;
+import com.ecclesiaflow.grpc.members.AccountActivatedResponse;
+import com.ecclesiaflow.grpc.members.ConfirmationStatusRequest;
+import com.ecclesiaflow.grpc.members.ConfirmationStatusResponse;
+import com.ecclesiaflow.grpc.members.MembersServiceGrpc;
+import com.ecclesiaflow.springsecurity.io.grpc.GrpcCallMetrics;
+import com.ecclesiaflow.springsecurity.io.members.MembersMetricsInterceptor;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link MembersMetricsInterceptor}, against an InProcessServer that confirms
+ * every email and rejects every activation.
+ */
+class MembersMetricsInterceptorTest {
+
+    private Server server;
+    private ManagedChannel channel;
+    private SimpleMeterRegistry registry;
+    private MembersServiceGrpc.MembersServiceBlockingStub stub;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String serverName = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(new MembersServiceGrpc.MembersServiceImplBase() {
+                    @Override
+                    public void getMemberConfirmationStatus(ConfirmationStatusRequest request,
+                                                            StreamObserver<ConfirmationStatusResponse> responseObserver) {
+                        responseObserver.onNext(ConfirmationStatusResponse.newBuilder().setIsConfirmed(true).build());
+                        responseObserver.onCompleted();
+                    }
+
+                    @Override
+                    public void notifyAccountActivated(AccountActivatedRequest request,
+                                                       StreamObserver<AccountActivatedResponse> responseObserver) {
+                        responseObserver.onError(Status.NOT_FOUND.withDescription("Unknown member").asRuntimeException());
+                    }
+                })
+                .build()
+                .start();
+        registry = new SimpleMeterRegistry();
+        channel = InProcessChannelBuilder.forName(serverName)
+                .directExecutor()
+                .intercept(new MembersMetricsInterceptor(new GrpcCallMetrics(
+                        registry, "grpc.client", List.of(Duration.ofMillis(50), Duration.ofMillis(500)))))
+                .build();
+        stub = MembersServiceGrpc.newBlockingStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should time a successful call under its method and OK")
+    void shouldTimeSuccessfulCall() {
+        stub.getMemberConfirmationStatus(ConfirmationStatusRequest.newBuilder().setEmail("john@example.com").build());
+
+        Timer timer = timer("GetMemberConfirmationStatus", "OK");
+        assertEquals(1, timer.count());
+        assertEquals("ecclesiaflow.members.MembersService", timer.getId().getTag("service"));
+        assertEquals(0, activeCalls("GetMemberConfirmationStatus"));
+    }
+
+    @Test
+    @DisplayName("Should time a failed call under its final status")
+    void shouldTimeFailedCall() {
+        assertThrows(StatusRuntimeException.class,
+                () -> stub.notifyAccountActivated(AccountActivatedRequest.getDefaultInstance()));
+
+        assertEquals(1, timer("NotifyAccountActivated", "NOT_FOUND").count());
+        assertEquals(0, activeCalls("NotifyAccountActivated"));
+    }
+
+    @Test
+    @DisplayName("Should count messages sent and received per method")
+    void shouldCountMessages() {
+        stub.getMemberConfirmationStatus(ConfirmationStatusRequest.getDefaultInstance());
+        stub.getMemberConfirmationStatus(ConfirmationStatusRequest.getDefaultInstance());
+
+        assertEquals(2, registry.get("grpc.client.messages.sent")
+                .tag("method", "GetMemberConfirmationStatus").counter().count());
+        assertEquals(2, registry.get("grpc.client.messages.received")
+                .tag("method", "GetMemberConfirmationStatus").counter().count());
+    }
+
+    private Timer timer(String method, String status) {
+        return registry.get("grpc.client.calls").tag("method", method).tag("status", status).timer();
+    }
+
+    private double activeCalls(String method) {
+        return registry.get("grpc.client.calls.active").tag("method", method).gauge().value();
+    }
+}
@@ -0,0 +1,171 @@
+package com.ecclesiaflow.springsecurity.io.grpc.members;
+
+import com.ecclesiaflow.grpc.members.*;
+import com.ecclesiaflow.springsecurity.io.members.MembersRetryPolicy;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link MembersRetryPolicy}, applied by gRPC to calls against an
+ * InProcessServer.
+ */
+class MembersRetryPolicyTest {
+
+    private static final String CONFIRMATION_STATUS =
+            MembersServiceGrpc.getGetMemberConfirmationStatusMethod().getFullMethodName();
+    private static final String ACCOUNT_ACTIVATED =
+            MembersServiceGrpc.getNotifyAccountActivatedMethod().getFullMethodName();
+
+    private Server server;
+    private String serverName;
+    private ManagedChannel channel;
+    private final AtomicInteger confirmationCalls = new AtomicInteger();
+    private final AtomicInteger activationCalls = new AtomicInteger();
+
+    static MembersRetryPolicy.MembersRetryPolicyBuilder policy() {
+        return MembersRetryPolicy.builder()
+                .maxAttempts(3)
+                .initialBackoff(Duration.ofMillis(10))
+                .maxBackoff(Duration.ofMillis(50))
+                .backoffMultiplier(2)
+                .defaultRetryableStatusCodes(List.of(Status.Code.UNAVAILABLE))
+                .retryableStatusCodes(Map.of(ACCOUNT_ACTIVATED, List.of(Status.Code.UNAVAILABLE, Status.Code.INTERNAL)))
+                .hedgeConfirmationStatus(true)
+                .hedgingMaxAttempts(2)
+                .hedgingDelay(Duration.ofMillis(50))
+                .throttlingMaxTokens(10)
+                .throttlingTokenRatio(0.1);
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        serverName = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(serverName)
+                .addService(new MembersServiceGrpc.MembersServiceImplBase() {
+                    @Override
+                    public void getMemberConfirmationStatus(ConfirmationStatusRequest request,
+                                                            StreamObserver<ConfirmationStatusResponse> responseObserver) {
+                        if (confirmationCalls.incrementAndGet() == 1) {
+                            return; // The first attempt never answers
+                        }
+                        responseObserver.onNext(ConfirmationStatusResponse.newBuilder()
+                                .setMemberExists(true)
+                                .setIsConfirmed(true)
+                                .build());
+                        responseObserver.onCompleted();
+                    }
+
+                    @Override
+                    public void notifyAccountActivated(AccountActivatedRequest request,
+                                                       StreamObserver<AccountActivatedResponse> responseObserver) {
+                        int call = activationCalls.incrementAndGet();
+                        if (request.getKeycloakUserId().equals("invalid-member")) {
+                            responseObserver.onError(Status.INVALID_ARGUMENT.asRuntimeException());
+                        } else if (call < 3) {
+                            responseObserver.onError((call == 1 ? Status.UNAVAILABLE : Status.INTERNAL).asRuntimeException());
+                        } else {
+                            responseObserver.onNext(AccountActivatedResponse.newBuilder().setSuccess(true).build());
+                            responseObserver.onCompleted();
+                        }
+                    }
+                })
+                .build()
+                .start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (channel != null) {
+            channel.shutdownNow();
+        }
+        server.shutdownNow();
+    }
+
+    private MembersServiceGrpc.MembersServiceBlockingStub stub(MembersRetryPolicy policy) {
+        channel = InProcessChannelBuilder.forName(serverName)
+                .defaultServiceConfig(policy.toServiceConfig())
+                .enableRetry()
+                .build();
+        return MembersServiceGrpc.newBlockingStub(channel).withDeadlineAfter(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Should retry the status codes configured for the method")
+    void shouldRetryConfiguredCodes() {
+        AccountActivatedResponse response = stub(policy().build()).notifyAccountActivated(
+                AccountActivatedRequest.newBuilder().setMemberId("m-1").setKeycloakUserId("kc-1").build());
+
+        assertTrue(response.getSuccess());
+        assertEquals(3, activationCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should not retry a status code that is not retryable")
+    void shouldNotRetryOtherCodes() {
+        MembersServiceGrpc.MembersServiceBlockingStub stub = stub(policy().build());
+
+        assertThrows(io.grpc.StatusRuntimeException.class, () -> stub.notifyAccountActivated(
+                AccountActivatedRequest.newBuilder().setMemberId("m-1").setKeycloakUserId("invalid-member").build()));
+        assertEquals(1, activationCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should hedge a confirmation status call that does not answer")
+    void shouldHedgeConfirmationStatus() {
+        long start = System.nanoTime();
+
+        ConfirmationStatusResponse response = stub(policy().build()).getMemberConfirmationStatus(
+                ConfirmationStatusRequest.newBuilder().setEmail("slow@example.com").build());
+
+        assertTrue(response.getIsConfirmed());
+        assertEquals(2, confirmationCalls.get());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @Test
+    @DisplayName("Should retry confirmation status instead of hedging it when hedging is off")
+    @SuppressWarnings("unchecked")
+    void shouldRetryConfirmationStatusWithoutHedging() {
+        Map<String, Object> serviceConfig = policy().hedgeConfirmationStatus(false).build().toServiceConfig();
+
+        Map<String, Object> confirmationConfig = ((List<Map<String, Object>>) serviceConfig.get("methodConfig")).stream()
+                .filter(config -> config.get("name").toString().contains("GetMemberConfirmationStatus"))
+                .findFirst()
+                .orElseThrow();
+        assertFalse(confirmationConfig.containsKey("hedgingPolicy"));
+        assertEquals(Map.of(
+                "maxAttempts", 3.0,
+                "initialBackoff", "0.01s",
+                "maxBackoff", "0.05s",
+                "backoffMultiplier", 2.0,
+                "retryableStatusCodes", List.of("UNAVAILABLE")), confirmationConfig.get("retryPolicy"));
+        assertEquals(Map.of("maxTokens", 10.0, "tokenRatio", 0.1), serviceConfig.get("retryThrottling"));
+    }
+
+    @Test
+    @DisplayName("Should leave a method without retry policy when it has a single attempt")
+    @SuppressWarnings("unchecked")
+    void shouldOmitPolicyForSingleAttempt() {
+        Map<String, Object> serviceConfig = policy().maxAttempts(1).hedgeConfirmationStatus(false).build()
+                .toServiceConfig();
+
+        assertTrue(((List<Map<String, Object>>) serviceConfig.get("methodConfig")).stream()
+                .noneMatch(config -> config.containsKey("retryPolicy")));
+    }
+}
@@ -3,8 +3,11 @@ package com.ecclesiaflow.springsecurity.io.grpc.server;
 import com.ecclesiaflow.grpc.auth.*;
 import com.ecclesiaflow.springsecurity.business.services.SetupTokenService;
 import com.ecclesiaflow.springsecurity.io.keycloak.KeycloakAdminClient;
+import com.ecclesiaflow.springsecurity.io.keycloak.KeycloakProvisioningResult;
+import com.ecclesiaflow.springsecurity.io.keycloak.KeycloakUserRepresentation;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,10 +19,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +41,12 @@ class AuthGrpcServiceImplTest {
     @Mock
     private KeycloakAdminClient keycloakAdminClient;
 
+    @Mock
+    private TemporaryTokenStreamProcessor temporaryTokenStreamProcessor;
+
+    @Mock
+    private KeycloakUserBatchProcessor keycloakUserBatchProcessor;
+
     @Mock
     private StreamObserver<TemporaryTokenResponse> responseObserver;
 
@@ -46,11 +61,17 @@ class AuthGrpcServiceImplTest {
     private static final int TTL_HOURS = 24;
     private static final String PASSWORD_ENDPOINT = "/ecclesiaflow/auth/password/setup";
 
+    private static final int MAX_BATCH_SIZE = 3;
+
     @BeforeEach
     void setUp() {
-        authGrpcService = new AuthGrpcServiceImpl(setupTokenService, keycloakAdminClient);
+        authGrpcService = new AuthGrpcServiceImpl(setupTokenService, keycloakAdminClient,
+                temporaryTokenStreamProcessor, keycloakUserBatchProcessor);
         ReflectionTestUtils.setField(authGrpcService, "setupTokenTtlHours", TTL_HOURS);
         ReflectionTestUtils.setField(authGrpcService, "passwordSetupEndpoint", PASSWORD_ENDPOINT);
+        ReflectionTestUtils.setField(authGrpcService, "maxBatchSize", MAX_BATCH_SIZE);
+        ReflectionTestUtils.setField(authGrpcService, "maxProvisionSize", MAX_BATCH_SIZE);
+        ReflectionTestUtils.setField(authGrpcService, "maxUserBatchSize", MAX_BATCH_SIZE);
     }
 
     @Nested
@@ -275,6 +296,248 @@ class AuthGrpcServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("generateTemporaryTokens - Batch issuance")
+    class GenerateTemporaryTokensTests {
+
+        @Mock
+        private StreamObserver<TemporaryTokensBatchResponse> batchObserver;
+
+        private TemporaryTokenRequest item(String email, String memberId) {
+            return TemporaryTokenRequest.newBuilder().setEmail(email).setMemberId(memberId).build();
+        }
+
+        private TemporaryTokensBatchResponse captureResponse() {
+            ArgumentCaptor<TemporaryTokensBatchResponse> captor =
+                    ArgumentCaptor.forClass(TemporaryTokensBatchResponse.class);
+            verify(batchObserver).onNext(captor.capture());
+            verify(batchObserver).onCompleted();
+            return captor.getValue();
+        }
+
+        @Test
+        @DisplayName("Should issue tokens for all valid items in a single service call")
+        void shouldIssueTokensForValidItems() {
+            UUID otherMemberId = UUID.randomUUID();
+            Map<UUID, String> expectedInput = new LinkedHashMap<>();
+            expectedInput.put(TEST_MEMBER_ID, TEST_EMAIL);
+            expectedInput.put(otherMemberId, "other@example.com");
+            when(setupTokenService.generateSetupTokens(expectedInput))
+                    .thenReturn(Map.of(TEST_MEMBER_ID, "token-1", otherMemberId, "token-2"));
+
+            authGrpcService.generateTemporaryTokens(TemporaryTokensBatchRequest.newBuilder()
+                    .addItems(item(TEST_EMAIL, TEST_MEMBER_ID.toString()))
+                    .addItems(item("other@example.com", otherMemberId.toString()))
+                    .build(), batchObserver);
+
+            TemporaryTokensBatchResponse response = captureResponse();
+            assertThat(response.getIssuedCount()).isEqualTo(2);
+            assertThat(response.getFailedCount()).isZero();
+            assertThat(response.getResultsList()).extracting(r -> r.getToken().getTemporaryToken())
+                    .containsExactly("token-1", "token-2");
+            assertThat(response.getResults(0).getToken().getExpiresInSeconds()).isEqualTo(TTL_HOURS * 3600);
+            assertThat(response.getResults(1).getToken().getPasswordEndpoint()).isEqualTo(PASSWORD_ENDPOINT);
+            verify(setupTokenService, times(1)).generateSetupTokens(any());
+        }
+
+        @Test
+        @DisplayName("Should report invalid and duplicate items without failing the batch")
+        void shouldReportPerItemErrors() {
+            when(setupTokenService.generateSetupTokens(Map.of(TEST_MEMBER_ID, TEST_EMAIL)))
+                    .thenReturn(Map.of(TEST_MEMBER_ID, TEST_TOKEN));
+
+            authGrpcService.generateTemporaryTokens(TemporaryTokensBatchRequest.newBuilder()
+                    .addItems(item("not-an-email", UUID.randomUUID().toString()))
+                    .addItems(item(TEST_EMAIL, TEST_MEMBER_ID.toString()))
+                    .addItems(item(TEST_EMAIL, TEST_MEMBER_ID.toString()))
+                    .build(), batchObserver);
+
+            TemporaryTokensBatchResponse response = captureResponse();
+            assertThat(response.getIssuedCount()).isEqualTo(1);
+            assertThat(response.getFailedCount()).isEqualTo(2);
+
+            TemporaryTokenResult invalid = response.getResults(0);
+            assertThat(invalid.getIndex()).isZero();
+            assertThat(invalid.getError().getCode()).isEqualTo("INVALID_ARGUMENT");
+            assertThat(invalid.getError().getMessage()).isEqualTo("Invalid email format");
+
+            assertThat(response.getResults(1).getToken().getTemporaryToken()).isEqualTo(TEST_TOKEN);
+
+            TemporaryTokenResult duplicate = response.getResults(2);
+            assertThat(duplicate.getIndex()).isEqualTo(2);
+            assertThat(duplicate.getMemberId()).isEqualTo(TEST_MEMBER_ID.toString());
+            assertThat(duplicate.getError().getCode()).isEqualTo("ALREADY_EXISTS");
+        }
+
+        @Test
+        @DisplayName("Should reject batches larger than the configured maximum")
+        void shouldRejectOversizedBatch() {
+            TemporaryTokensBatchRequest.Builder request = TemporaryTokensBatchRequest.newBuilder();
+            for (int i = 0; i <= MAX_BATCH_SIZE; i++) {
+                request.addItems(item(TEST_EMAIL, UUID.randomUUID().toString()));
+            }
+
+            authGrpcService.generateTemporaryTokens(request.build(), batchObserver);
+
+            ArgumentCaptor<StatusRuntimeException> errorCaptor =
+                    ArgumentCaptor.forClass(StatusRuntimeException.class);
+            verify(batchObserver).onError(errorCaptor.capture());
+            assertThat(errorCaptor.getValue().getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+            verifyNoInteractions(setupTokenService);
+        }
+
+        @Test
+        @DisplayName("Should return INTERNAL when the batch cannot be stored")
+        void shouldReturnInternalWhenServiceFails() {
+            when(setupTokenService.generateSetupTokens(any())).thenThrow(new RuntimeException("DB down"));
+
+            authGrpcService.generateTemporaryTokens(TemporaryTokensBatchRequest.newBuilder()
+                    .addItems(item(TEST_EMAIL, TEST_MEMBER_ID.toString()))
+                    .build(), batchObserver);
+
+            ArgumentCaptor<StatusRuntimeException> errorCaptor =
+                    ArgumentCaptor.forClass(StatusRuntimeException.class);
+            verify(batchObserver).onError(errorCaptor.capture());
+            verify(batchObserver, never()).onNext(any());
+            assertThat(errorCaptor.getValue().getStatus().getCode()).isEqualTo(Status.Code.INTERNAL);
+            assertThat(errorCaptor.getValue().getStatus().getDescription())
+                    .isEqualTo("Failed to generate temporary tokens");
+        }
+    }
+
+    @Nested
+    @DisplayName("streamTemporaryTokens")
+    class StreamTemporaryTokensTests {
+
+        @Mock
+        private ServerCallStreamObserver<TemporaryTokenResult> streamObserver;
+
+        @Mock
+        private StreamObserver<TemporaryTokenRequest> requestObserver;
+
+        @Test
+        @DisplayName("Should delegate the call to the stream processor with the token response builder")
+        @SuppressWarnings("unchecked")
+        void shouldDelegateToStreamProcessor() {
+            ArgumentCaptor<Function<String, TemporaryTokenResponse>> builderCaptor =
+                    ArgumentCaptor.forClass(Function.class);
+            when(temporaryTokenStreamProcessor.open(eq(streamObserver), builderCaptor.capture()))
+                    .thenReturn(requestObserver);
+
+            StreamObserver<TemporaryTokenRequest> result = authGrpcService.streamTemporaryTokens(streamObserver);
+
+            assertThat(result).isSameAs(requestObserver);
+            TemporaryTokenResponse response = builderCaptor.getValue().apply(TEST_TOKEN);
+            assertThat(response.getTemporaryToken()).isEqualTo(TEST_TOKEN);
+            assertThat(response.getExpiresInSeconds()).isEqualTo(TTL_HOURS * 3600);
+            assertThat(response.getPasswordEndpoint()).isEqualTo(PASSWORD_ENDPOINT);
+        }
+    }
+
+    @Nested
+    @DisplayName("provisionUsers - Bulk provisioning")
+    class ProvisionUsersTests {
+
+        @Mock
+        private StreamObserver<ProvisionUsersResponse> provisionObserver;
+
+        private ProvisionUserRequest user(String email) {
+            return ProvisionUserRequest.newBuilder().setEmail(email).setEmailVerified(true).build();
+        }
+
+        private ProvisionUsersResponse captureResponse() {
+            ArgumentCaptor<ProvisionUsersResponse> captor = ArgumentCaptor.forClass(ProvisionUsersResponse.class);
+            verify(provisionObserver).onNext(captor.capture());
+            verify(provisionObserver).onCompleted();
+            return captor.getValue();
+        }
+
+        @Test
+        @DisplayName("Should map Keycloak outcomes and per-item validation errors back to request indexes")
+        @SuppressWarnings("unchecked")
+        void shouldProvisionValidUsers() {
+            when(keycloakAdminClient.provisionUsers(any())).thenReturn(List.of(
+                    new KeycloakProvisioningResult("new@example.com", KeycloakProvisioningResult.Outcome.CREATED, "kc-1", null),
+                    new KeycloakProvisioningResult("old@example.com", KeycloakProvisioningResult.Outcome.EXISTING, "kc-2", null)));
+
+            authGrpcService.provisionUsers(ProvisionUsersRequest.newBuilder()
+                    .addUsers(user("New@Example.com"))
+                    .addUsers(user("not-an-email"))
+                    .addUsers(user("old@example.com"))
+                    .build(), provisionObserver);
+
+            ArgumentCaptor<List<KeycloakUserRepresentation>> usersCaptor = ArgumentCaptor.forClass(List.class);
+            verify(keycloakAdminClient).provisionUsers(usersCaptor.capture());
+            assertThat(usersCaptor.getValue()).extracting(KeycloakUserRepresentation::getUsername)
+                    .containsExactly("new@example.com", "old@example.com");
+            assertThat(usersCaptor.getValue()).allSatisfy(u -> {
+                assertThat(u.getEmailVerified()).isTrue();
+                assertThat(u.getCredentials()).isNull();
+            });
+
+            ProvisionUsersResponse response = captureResponse();
+            assertThat(response.getCreatedCount()).isEqualTo(1);
+            assertThat(response.getExistingCount()).isEqualTo(1);
+            assertThat(response.getFailedCount()).isEqualTo(1);
+            assertThat(response.getResults(0).getUser().getKeycloakUserId()).isEqualTo("kc-1");
+            assertThat(response.getResults(0).getUser().getCreated()).isTrue();
+            assertThat(response.getResults(1).getError().getCode()).isEqualTo("INVALID_ARGUMENT");
+            assertThat(response.getResults(2).getIndex()).isEqualTo(2);
+            assertThat(response.getResults(2).getUser().getCreated()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should report duplicate emails and failed chunks per user")
+        void shouldReportDuplicatesAndFailures() {
+            when(keycloakAdminClient.provisionUsers(any())).thenReturn(List.of(
+                    new KeycloakProvisioningResult(TEST_EMAIL, KeycloakProvisioningResult.Outcome.FAILED, null,
+                            "Keycloak partial import failed")));
+
+            authGrpcService.provisionUsers(ProvisionUsersRequest.newBuilder()
+                    .addUsers(user(TEST_EMAIL))
+                    .addUsers(user(TEST_EMAIL.toUpperCase()))
+                    .build(), provisionObserver);
+
+            ProvisionUsersResponse response = captureResponse();
+            assertThat(response.getFailedCount()).isEqualTo(2);
+            assertThat(response.getResults(0).getError().getCode()).isEqualTo("UNAVAILABLE");
+            assertThat(response.getResults(0).getError().getMessage()).isEqualTo("Keycloak partial import failed");
+            assertThat(response.getResults(1).getError().getCode()).isEqualTo("ALREADY_EXISTS");
+        }
+
+        @Test
+        @DisplayName("Should reject requests larger than the configured maximum")
+        void shouldRejectOversizedRequest() {
+            ProvisionUsersRequest.Builder request = ProvisionUsersRequest.newBuilder();
+            for (int i = 0; i <= MAX_BATCH_SIZE; i++) {
+                request.addUsers(user("user" + i + "@example.com"));
+            }
+
+            authGrpcService.provisionUsers(request.build(), provisionObserver);
+
+            ArgumentCaptor<StatusRuntimeException> errorCaptor =
+                    ArgumentCaptor.forClass(StatusRuntimeException.class);
+            verify(provisionObserver).onError(errorCaptor.capture());
+            assertThat(errorCaptor.getValue().getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+            verifyNoInteractions(keycloakAdminClient);
+        }
+
+        @Test
+        @DisplayName("Should return INTERNAL when provisioning throws")
+        void shouldReturnInternalOnUnexpectedFailure() {
+            when(keycloakAdminClient.provisionUsers(any())).thenThrow(new RuntimeException("boom"));
+
+            authGrpcService.provisionUsers(ProvisionUsersRequest.newBuilder()
+                    .addUsers(user(TEST_EMAIL))
+                    .build(), provisionObserver);
+
+            ArgumentCaptor<StatusRuntimeException> errorCaptor =
+                    ArgumentCaptor.forClass(StatusRuntimeException.class);
+            verify(provisionObserver).onError(errorCaptor.capture());
+            assertThat(errorCaptor.getValue().getStatus().getCode()).isEqualTo(Status.Code.INTERNAL);
+        }
+    }
+
     @Nested
     @DisplayName("deleteKeycloakUser")
     class DeleteKeycloakUserTests {
@@ -416,6 +679,62 @@ class AuthGrpcServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("deleteKeycloakUsers / disableKeycloakUsers")
+    class KeycloakUserBatchTests {
+
+        @Mock
+        private ServerCallStreamObserver<KeycloakUserOperationResult> batchObserver;
+
+        private final KeycloakUsersBatchRequest request = KeycloakUsersBatchRequest.newBuilder()
+                .addKeycloakUserIds("kc-1")
+                .addKeycloakUserIds("kc-2")
+                .build();
+
+        @Test
+        @DisplayName("Should hand delete batches to the processor with the delete operation")
+        @SuppressWarnings("unchecked")
+        void shouldDelegateDeleteBatch() {
+            authGrpcService.deleteKeycloakUsers(request, batchObserver);
+
+            ArgumentCaptor<Consumer<String>> operation = ArgumentCaptor.forClass(Consumer.class);
+            verify(keycloakUserBatchProcessor).process(eq(List.of("kc-1", "kc-2")), operation.capture(),
+                    eq("Failed to delete Keycloak user"), eq(batchObserver));
+            operation.getValue().accept("kc-1");
+            verify(keycloakAdminClient).deleteUser("kc-1");
+        }
+
+        @Test
+        @DisplayName("Should hand disable batches to the processor with the disable operation")
+        @SuppressWarnings("unchecked")
+        void shouldDelegateDisableBatch() {
+            authGrpcService.disableKeycloakUsers(request, batchObserver);
+
+            ArgumentCaptor<Consumer<String>> operation = ArgumentCaptor.forClass(Consumer.class);
+            verify(keycloakUserBatchProcessor).process(eq(List.of("kc-1", "kc-2")), operation.capture(),
+                    eq("Failed to disable Keycloak user"), eq(batchObserver));
+            operation.getValue().accept("kc-2");
+            verify(keycloakAdminClient).disableUser("kc-2");
+        }
+
+        @Test
+        @DisplayName("Should reject batches larger than the configured maximum")
+        void shouldRejectOversizedBatch() {
+            KeycloakUsersBatchRequest.Builder oversized = KeycloakUsersBatchRequest.newBuilder();
+            for (int i = 0; i <= MAX_BATCH_SIZE; i++) {
+                oversized.addKeycloakUserIds("kc-" + i);
+            }
+
+            authGrpcService.deleteKeycloakUsers(oversized.build(), batchObserver);
+
+            ArgumentCaptor<StatusRuntimeException> errorCaptor =
+                    ArgumentCaptor.forClass(StatusRuntimeException.class);
+            verify(batchObserver).onError(errorCaptor.capture());
+            assertThat(errorCaptor.getValue().getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+            verifyNoInteractions(keycloakUserBatchProcessor, keycloakAdminClient);
+        }
+    }
+
     @Nested
     @DisplayName("updateKeycloakUserEmail")
     class UpdateKeycloakUserEmailTests {
@@ -0,0 +1,83 @@
+package com.ecclesiaflow.springsecurity.io.grpc.server;
+
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.Status;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConcurrentCallLimitInterceptor - Unit tests")
+class ConcurrentCallLimitInterceptorTest {
+
+    @Mock
+    private ServerCall<String, String> call;
+
+    @Mock
+    private ServerCallHandler<String, String> next;
+
+    @Mock
+    private ServerCall.Listener<String> delegate;
+
+    private final Metadata headers = new Metadata();
+
+    @Test
+    @DisplayName("Should reject calls over the limit with RESOURCE_EXHAUSTED")
+    void shouldRejectCallsOverLimit() {
+        ConcurrentCallLimitInterceptor interceptor = new ConcurrentCallLimitInterceptor(1);
+        when(next.startCall(call, headers)).thenReturn(delegate);
+
+        interceptor.interceptCall(call, headers, next);
+        interceptor.interceptCall(call, headers, next);
+
+        ArgumentCaptor<Status> status = ArgumentCaptor.forClass(Status.class);
+        verify(call).close(status.capture(), any(Metadata.class));
+        assertThat(status.getValue().getCode()).isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+        verify(next, times(1)).startCall(call, headers);
+    }
+
+    @Test
+    @DisplayName("Should release the permit once when the call completes or is cancelled")
+    void shouldReleasePermitOnCompletion() {
+        ConcurrentCallLimitInterceptor interceptor = new ConcurrentCallLimitInterceptor(1);
+        when(next.startCall(call, headers)).thenReturn(delegate);
+
+        ServerCall.Listener<String> listener = interceptor.interceptCall(call, headers, next);
+        assertThat(interceptor.availablePermits()).isZero();
+
+        listener.onComplete();
+        listener.onCancel();
+
+        verify(delegate).onComplete();
+        verify(delegate).onCancel();
+        assertThat(interceptor.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should release the permit when the handler fails to start the call")
+    void shouldReleasePermitWhenStartFails() {
+        ConcurrentCallLimitInterceptor interceptor = new ConcurrentCallLimitInterceptor(1);
+        when(next.startCall(call, headers)).thenThrow(new IllegalStateException("boom"));
+
+        assertThatThrownBy(() -> interceptor.interceptCall(call, headers, next))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(interceptor.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive limit")
+    void shouldRejectNonPositiveLimit() {
+        assertThatThrownBy(() -> new ConcurrentCallLimitInterceptor(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,72 @@
+package com.ecclesiaflow.springsecurity.io.grpc.server;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("GrpcRequestValidator - Unit tests")
+class GrpcRequestValidatorTest {
+
+    @Nested
+    @DisplayName("validateEmail")
+    class ValidateEmailTests {
+
+        @Test
+        @DisplayName("Should accept a well-formed email")
+        void shouldAcceptValidEmail() {
+            assertThatCode(() -> GrpcRequestValidator.validateEmail("first.last+tag@example.org"))
+                    .doesNotThrowAnyException();
+        }
+
+        @Test
+        @DisplayName("Should reject a blank email")
+        void shouldRejectBlankEmail() {
+            assertThatThrownBy(() -> GrpcRequestValidator.validateEmail("  "))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Email cannot be empty");
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed email")
+        void shouldRejectMalformedEmail() {
+            assertThatThrownBy(() -> GrpcRequestValidator.validateEmail("user@localhost"))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid email format");
+        }
+    }
+
+    @Nested
+    @DisplayName("validateAndParseUUID")
+    class ValidateAndParseUuidTests {
+
+        @Test
+        @DisplayName("Should parse a valid UUID")
+        void shouldParseValidUuid() {
+            UUID id = UUID.randomUUID();
+
+            assertThat(GrpcRequestValidator.validateAndParseUUID(id.toString())).isEqualTo(id);
+        }
+
+        @Test
+        @DisplayName("Should reject a blank member id")
+        void shouldRejectBlankUuid() {
+            assertThatThrownBy(() -> GrpcRequestValidator.validateAndParseUUID(""))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("member_id cannot be empty");
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed member id")
+        void shouldRejectMalformedUuid() {
+            assertThatThrownBy(() -> GrpcRequestValidator.validateAndParseUUID("not-a-uuid"))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageStartingWith("member_id must be a valid UUID format");
+        }
+    }
+}
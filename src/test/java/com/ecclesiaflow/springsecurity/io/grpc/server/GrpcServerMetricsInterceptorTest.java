@@ -0,0 +1,148 @@
+package com.ecclesiaflow.springsecurity.io.grpc.server;
+
+import com.ecclesiaflow.grpc.auth.AuthServiceGrpc;
+import com.ecclesiaflow.grpc.auth.TemporaryTokenRequest;
+import com.ecclesiaflow.grpc.auth.TemporaryTokenResponse;
+import com.ecclesiaflow.springsecurity.io.grpc.GrpcCallMetrics;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GrpcServerMetricsInterceptor - Unit tests")
+class GrpcServerMetricsInterceptorTest {
+
+    @Mock
+    private ServerCall<TemporaryTokenRequest, TemporaryTokenResponse> call;
+
+    @Mock
+    private ServerCallHandler<TemporaryTokenRequest, TemporaryTokenResponse> next;
+
+    @Mock
+    private ServerCall.Listener<TemporaryTokenRequest> delegate;
+
+    private final Metadata headers = new Metadata();
+    private SimpleMeterRegistry registry;
+    private GrpcServerMetricsInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        interceptor = new GrpcServerMetricsInterceptor(new GrpcCallMetrics(
+                registry, "grpc.server", List.of(Duration.ofMillis(50), Duration.ofMillis(500))));
+        when(call.getMethodDescriptor()).thenReturn(AuthServiceGrpc.getGenerateTemporaryTokenMethod());
+    }
+
+    @Test
+    @DisplayName("Should time a call under its method and closing status, with SLO buckets")
+    void shouldTimeClosedCall() {
+        when(next.startCall(any(), eq(headers))).thenReturn(delegate);
+
+        interceptor.interceptCall(call, headers, next);
+        startedCall().close(Status.OK, new Metadata());
+
+        Timer timer = timer("OK");
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.getId().getTag("service")).isEqualTo("ecclesiaflow.auth.AuthService");
+        assertThat(timer.getId().getTag("type")).isEqualTo("UNARY");
+        assertThat(Arrays.stream(timer.takeSnapshot().histogramCounts())
+                .map(bucket -> (long) bucket.bucket(TimeUnit.MILLISECONDS)))
+                .containsExactly(50L, 500L);
+        verify(call).close(eq(Status.OK), any(Metadata.class));
+    }
+
+    @Test
+    @DisplayName("Should count the call in flight until it is closed")
+    void shouldTrackActiveCalls() {
+        when(next.startCall(any(), eq(headers))).thenReturn(delegate);
+
+        interceptor.interceptCall(call, headers, next);
+        assertThat(activeCalls()).isEqualTo(1);
+
+        startedCall().close(Status.INVALID_ARGUMENT, new Metadata());
+        assertThat(activeCalls()).isZero();
+        assertThat(timer("INVALID_ARGUMENT").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count messages received and sent")
+    void shouldCountMessages() {
+        when(next.startCall(any(), eq(headers))).thenReturn(delegate);
+
+        ServerCall.Listener<TemporaryTokenRequest> listener = interceptor.interceptCall(call, headers, next);
+        listener.onMessage(TemporaryTokenRequest.getDefaultInstance());
+        startedCall().sendMessage(TemporaryTokenResponse.getDefaultInstance());
+        startedCall().sendMessage(TemporaryTokenResponse.getDefaultInstance());
+
+        assertThat(registry.get("grpc.server.messages.received").counter().count()).isEqualTo(1);
+        assertThat(registry.get("grpc.server.messages.sent").counter().count()).isEqualTo(2);
+        verify(delegate).onMessage(TemporaryTokenRequest.getDefaultInstance());
+    }
+
+    @Test
+    @DisplayName("Should record a call cancelled before being closed once, as CANCELLED")
+    void shouldRecordCancelledCallOnce() {
+        when(next.startCall(any(), eq(headers))).thenReturn(delegate);
+
+        ServerCall.Listener<TemporaryTokenRequest> listener = interceptor.interceptCall(call, headers, next);
+        listener.onCancel();
+        startedCall().close(Status.CANCELLED, new Metadata());
+
+        assertThat(timer("CANCELLED").count()).isEqualTo(1);
+        assertThat(activeCalls()).isZero();
+        verify(delegate).onCancel();
+    }
+
+    @Test
+    @DisplayName("Should record a call whose handler fails to start")
+    void shouldRecordFailedStart() {
+        when(next.startCall(any(), eq(headers))).thenThrow(new IllegalStateException("boom"));
+
+        assertThatThrownBy(() -> interceptor.interceptCall(call, headers, next))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(timer("UNKNOWN").count()).isEqualTo(1);
+        assertThat(activeCalls()).isZero();
+    }
+
+    /** The call the interceptor handed to the handler. */
+    @SuppressWarnings("unchecked")
+    private ServerCall<TemporaryTokenRequest, TemporaryTokenResponse> startedCall() {
+        ArgumentCaptor<ServerCall<TemporaryTokenRequest, TemporaryTokenResponse>> monitored =
+                ArgumentCaptor.forClass(ServerCall.class);
+        verify(next).startCall(monitored.capture(), eq(headers));
+        return monitored.getValue();
+    }
+
+    private Timer timer(String status) {
+        return registry.get("grpc.server.calls")
+                .tag("method", "GenerateTemporaryToken")
+                .tag("status", status)
+                .timer();
+    }
+
+    private double activeCalls() {
+        return registry.get("grpc.server.calls.active").tag("method", "GenerateTemporaryToken").gauge().value();
+    }
+}
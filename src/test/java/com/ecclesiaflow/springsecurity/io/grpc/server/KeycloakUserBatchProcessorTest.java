@@ -0,0 +1,143 @@
+package com.ecclesiaflow.springsecurity.io.grpc.server;
+
+import com.ecclesiaflow.grpc.auth.KeycloakUserOperationResult;
+import io.grpc.Context;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("KeycloakUserBatchProcessor - Unit tests")
+class KeycloakUserBatchProcessorTest {
+
+    private static final int CONCURRENCY = 2;
+    private static final String FAILURE_MESSAGE = "Failed to delete Keycloak user";
+
+    @Mock
+    private ServerCallStreamObserver<KeycloakUserOperationResult> responseObserver;
+
+    private KeycloakUserBatchProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        processor = new KeycloakUserBatchProcessor();
+        ReflectionTestUtils.setField(processor, "concurrency", CONCURRENCY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        processor.shutdown();
+    }
+
+    private List<KeycloakUserOperationResult> awaitResults(int count) {
+        ArgumentCaptor<KeycloakUserOperationResult> captor = ArgumentCaptor.forClass(KeycloakUserOperationResult.class);
+        verify(responseObserver, timeout(5000)).onCompleted();
+        verify(responseObserver, times(count)).onNext(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private KeycloakUserOperationResult resultAt(List<KeycloakUserOperationResult> results, int index) {
+        return results.stream().filter(r -> r.getIndex() == index).findFirst().orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Should stream one result per id and complete")
+    void shouldStreamResultPerId() {
+        List<String> processed = new CopyOnWriteArrayList<>();
+        Consumer<String> operation = id -> {
+            if (id.equals("kc-fail")) {
+                throw new RuntimeException("404 Not Found");
+            }
+            processed.add(id);
+        };
+
+        processor.process(List.of("kc-1", "kc-fail", " ", "kc-1", "kc-2"), operation, FAILURE_MESSAGE, responseObserver);
+
+        List<KeycloakUserOperationResult> results = awaitResults(5);
+        assertThat(processed).containsExactlyInAnyOrder("kc-1", "kc-2");
+        assertThat(resultAt(results, 0).getSuccess()).isTrue();
+        assertThat(resultAt(results, 1).getError().getCode()).isEqualTo("INTERNAL");
+        assertThat(resultAt(results, 1).getError().getMessage()).isEqualTo(FAILURE_MESSAGE);
+        assertThat(resultAt(results, 2).getError().getCode()).isEqualTo("INVALID_ARGUMENT");
+        assertThat(resultAt(results, 3).getError().getCode()).isEqualTo("ALREADY_EXISTS");
+        assertThat(resultAt(results, 4).getKeycloakUserId()).isEqualTo("kc-2");
+        assertThat(resultAt(results, 4).getSuccess()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should never run more operations at once than the configured concurrency")
+    void shouldBoundConcurrency() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Consumer<String> operation = id -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+        };
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add("kc-" + i);
+        }
+
+        processor.process(ids, operation, FAILURE_MESSAGE, responseObserver);
+
+        assertThat(awaitResults(10)).allMatch(KeycloakUserOperationResult::getSuccess);
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(CONCURRENCY);
+    }
+
+    @Test
+    @DisplayName("Should stop dispatching and writing once the call is cancelled")
+    void shouldStopWhenCallCancelled() {
+        ReflectionTestUtils.setField(processor, "concurrency", 1);
+        AtomicReference<Runnable> cancelHandler = new AtomicReference<>();
+        doAnswer(invocation -> {
+            cancelHandler.set(invocation.getArgument(0));
+            return null;
+        }).when(responseObserver).setOnCancelHandler(any());
+        List<String> processed = new CopyOnWriteArrayList<>();
+
+        processor.process(List.of("kc-1", "kc-2", "kc-3"), id -> {
+            processed.add(id);
+            cancelHandler.get().run();
+        }, FAILURE_MESSAGE, responseObserver);
+
+        verify(responseObserver, after(300).never()).onCompleted();
+        verify(responseObserver, never()).onNext(any());
+        assertThat(processed).containsExactly("kc-1");
+    }
+
+    @Test
+    @DisplayName("Should not process any user when the gRPC context is already cancelled")
+    void shouldHonourCancelledContext() {
+        Consumer<String> operation = mock();
+        Context.CancellableContext context = Context.current().withCancellation();
+        context.cancel(null);
+
+        context.run(() -> processor.process(List.of("kc-1", "kc-2"), operation, FAILURE_MESSAGE, responseObserver));
+
+        verify(responseObserver, after(300).never()).onCompleted();
+        verifyNoInteractions(operation);
+    }
+}
@@ -0,0 +1,362 @@
+package com.ecclesiaflow.springsecurity.io.grpc.server;
+
+import com.ecclesiaflow.grpc.auth.*;
+import com.ecclesiaflow.springsecurity.business.services.SetupTokenService;
+import com.ecclesiaflow.springsecurity.io.keycloak.KeycloakAdminClient;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("TemporaryTokenStreamProcessor - Unit tests")
+class TemporaryTokenStreamProcessorTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final String EMAIL = "member@example.com";
+
+    @Mock
+    private SetupTokenService setupTokenService;
+
+    @Mock
+    private ServerCallStreamObserver<TemporaryTokenResult> responseObserver;
+
+    private TemporaryTokenStreamProcessor processor;
+
+    private final Function<String, TemporaryTokenResponse> tokenResponse =
+            token -> TemporaryTokenResponse.newBuilder().setTemporaryToken(token).build();
+
+    @BeforeEach
+    void setUp() {
+        processor = new TemporaryTokenStreamProcessor(setupTokenService);
+        // Batches are stored inline, so results can be verified right after each call
+        ReflectionTestUtils.setField(processor, "flushExecutor", MoreExecutors.newDirectExecutorService());
+        ReflectionTestUtils.setField(processor, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(processor, "lingerMs", 60_000L);
+        when(responseObserver.isReady()).thenReturn(true);
+        when(setupTokenService.generateSetupTokens(anyMap())).thenAnswer(invocation -> {
+            Map<UUID, String> input = invocation.getArgument(0);
+            Map<UUID, String> tokens = new LinkedHashMap<>();
+            input.keySet().forEach(memberId -> tokens.put(memberId, "token-" + memberId));
+            return tokens;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        processor.shutdown();
+    }
+
+    private static TemporaryTokenRequest request(String email, UUID memberId) {
+        return TemporaryTokenRequest.newBuilder().setEmail(email).setMemberId(memberId.toString()).build();
+    }
+
+    private List<TemporaryTokenResult> sentResults(int expected) {
+        ArgumentCaptor<TemporaryTokenResult> captor = ArgumentCaptor.forClass(TemporaryTokenResult.class);
+        verify(responseObserver, times(expected)).onNext(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private Runnable onReadyHandler() {
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(responseObserver).setOnReadyHandler(captor.capture());
+        return captor.getValue();
+    }
+
+    @Nested
+    @DisplayName("Flow control")
+    class FlowControlTests {
+
+        @Test
+        @DisplayName("Should disable automatic inbound flow control and request two batches up front")
+        void shouldRequestInitialWindow() {
+            processor.open(responseObserver, tokenResponse);
+
+            verify(responseObserver).disableAutoRequest();
+            verify(responseObserver).request(2 * BATCH_SIZE);
+        }
+
+        @Test
+        @DisplayName("Should buffer results and stop requesting while the client is not ready")
+        void shouldPauseWhileClientNotReady() {
+            when(responseObserver.isReady()).thenReturn(false);
+            StreamObserver<TemporaryTokenRequest> stream = processor.open(responseObserver, tokenResponse);
+
+            stream.onNext(request(EMAIL, UUID.randomUUID()));
+            stream.onNext(request(EMAIL, UUID.randomUUID()));
+            stream.onNext(request(EMAIL, UUID.randomUUID()));
+            stream.onNext(request(EMAIL, UUID.randomUUID()));
+
+            verify(responseObserver, never()).onNext(any());
+            verify(responseObserver, times(1)).request(anyInt());
+
+            when(responseObserver.isReady()).thenReturn(true);
+            onReadyHandler().run();
+
+            assertThat(sentResults(4)).extracting(TemporaryTokenResult::getIndex).containsExactly(0, 1, 2, 3);
+            verify(responseObserver, times(2)).request(anyInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("Micro-batching")
+    class MicroBatchingTests {
+
+        @Test
+        @DisplayName("Should issue a batch once it reaches the configured size")
+        void shouldFlushAtBatchSize() {
+            StreamObserver<TemporaryTokenRequest> stream = processor.open(responseObserver, tokenResponse);
+            UUID first = UUID.randomUUID();
+            UUID second = UUID.randomUUID();
+
+            stream.onNext(request(EMAIL, first));
+            verifyNoInteractions(setupTokenService);
+            stream.onNext(request(EMAIL, second));
+
+            verify(setupTokenService).generateSetupTokens(Map.of(first, EMAIL, second, EMAIL));
+            assertThat(sentResults(2)).extracting(result -> result.getToken().getTemporaryToken())
+                    .containsExactly("token-" + first, "token-" + second);
+        }
+
+        @Test
+        @DisplayName("Should issue a partial batch after the linger time")
+        void shouldFlushAfterLinger() {
+            ReflectionTestUtils.setField(processor, "lingerMs", 10L);
+            StreamObserver<TemporaryTokenRequest> stream = processor.open(responseObserver, tokenResponse);
+            UUID memberId = UUID.randomUUID();
+
+            stream.onNext(request(EMAIL, memberId));
+
+            verify(setupTokenService, timeout(2000)).generateSetupTokens(Map.of(memberId, EMAIL));
+            verify(responseObserver, timeout(2000)).onNext(any());
+        }
+
+        @Test
+        @DisplayName("Should keep reading requests while a batch is stored, and store the next batch after it")
+        void shouldStoreBatchesOffTheCallLock() throws Exception {
+            processor.shutdown();
+            processor = new TemporaryTokenStreamProcessor(setupTokenService);
+            ReflectionTestUtils.setField(processor, "batchSize", BATCH_SIZE);
+            ReflectionTestUtils.setField(processor, "lingerMs", 60_000L);
+            CountDownLatch storing = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            when(setupTokenService.generateSetupTokens(anyMap())).thenAnswer(invocation -> {
+                storing.countDown();
+                assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+                Map<UUID, String> input = invocation.getArgument(0);
+                Map<UUID, String> tokens = new LinkedHashMap<>();
+                input.keySet().forEach(memberId -> tokens.put(memberId, "token-" + memberId));
+                return tokens;
+            });
+            StreamObserver<TemporaryTokenRequest> stream = processor.open(responseObserver, tokenResponse);
+            UUID third = UUID.randomUUID();
+
+            stream.onNext(request(EMAIL, UUID.randomUUID()));
+            stream.onNext(request(EMAIL, UUID.randomUUID()));
+            assertThat(storing.await(2, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture.runAsync(() -> stream.onNext(request(EMAIL, third))).get(2, TimeUnit.SECONDS);
+            stream.onCompleted();
+
+            verify(setupTokenService, times(1)).generateSetupTokens(anyMap());
+            release.countDown();
+
+            verify(setupTokenService, timeout(2000)).generateSetupTokens(Map.of(third, EMAIL));
+            verify(responseObserver, timeout(2000)).onCompleted();
+            assertThat(sentResults(3)).extracting(TemporaryTokenResult::getIndex).containsExactly(0, 1, 2);
+        }
+
+        @Test
+        @DisplayName("Should flush pending requests and complete when the client half-closes")
+        void shouldFlushOnCompleted() {
+            StreamObserver<TemporaryTokenRequest> stream = processor.open(responseObserver, tokenResponse);
+
+            stream.onNext(request(EMAIL, UUID.randomUUID()));
+            stream.onCompleted();
+
+            verify(setupTokenService).generateSetupTokens(anyMap());
+            sentResults(1);
+            verify(responseObserver).onCompleted();
+        }
+
+        @Test
+        @DisplayName("Should complete only after buffered results are delivered")
+        void shouldDeferCompletionUntilDrained() {
+            when(responseObserver.isReady()).thenReturn(false);
+            StreamObserver<TemporaryTokenRequest> stream = processor.open(responseObserver, tokenResponse);
+
+            stream.onNext(request(EMAIL, UUID.randomUUID()));
+            stream.onCompleted();
+            verify(responseObserver, never()).onCompleted();
+
+            when(responseObserver.isReady()).thenReturn(true);
+            onReadyHandler().run();
+
+            sentResults(1);
+            verify(responseObserver).onCompleted();
+        }
+    }
+
+    @Nested
+    @DisplayName("Per-request errors")
+    class PerRequestErrorTests {
+
+        @Test
+        @DisplayName("Should answer invalid requests immediately without issuing tokens")
+        void shouldRejectInvalidRequest() {
+            StreamObserver<TemporaryTokenRequest> stream = processor.open(responseObserver, tokenResponse);
+
+            stream.onNext(TemporaryTokenRequest.newBuilder().setEmail("bad").setMemberId("x").build());
+
+            TemporaryTokenResult result = sentResults(1).getFirst();
+            assertThat(result.getError().getCode()).isEqualTo("INVALID_ARGUMENT");
+            verifyNoInteractions(setupTokenService);
+        }
+
+        @Test
+        @DisplayName("Should report a repeated member id within the same batch")
+        void shouldRejectDuplicateInBatch() {
+            StreamObserver<TemporaryTokenRequest> stream = processor.open(responseObserver, tokenResponse);
+            UUID memberId = UUID.randomUUID();
+
+            stream.onNext(request(EMAIL, memberId));
+            stream.onNext(request(EMAIL, memberId));
+
+            TemporaryTokenResult duplicate = sentResults(1).getFirst();
+            assertThat(duplicate.getIndex()).isEqualTo(1);
+            assertThat(duplicate.getError().getCode()).isEqualTo("ALREADY_EXISTS");
+        }
+
+        @Test
+        @DisplayName("Should report INTERNAL for every request of a batch that cannot be stored")
+        void shouldReportStorageFailurePerRequest() {
+            when(setupTokenService.generateSetupTokens(anyMap())).thenThrow(new RuntimeException("DB down"));
+            StreamObserver<TemporaryTokenRequest> stream = processor.open(responseObserver, tokenResponse);
+
+            stream.onNext(request(EMAIL, UUID.randomUUID()));
+            stream.onNext(request(EMAIL, UUID.randomUUID()));
+
+            assertThat(sentResults(2)).allSatisfy(result ->
+                    assertThat(result.getError().getCode()).isEqualTo("INTERNAL"));
+            verify(responseObserver, never()).onError(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Cancellation")
+    class CancellationTests {
+
+        @Test
+        @DisplayName("Should drop pending requests when the call is cancelled")
+        void shouldStopOnCancel() {
+            StreamObserver<TemporaryTokenRequest> stream = processor.open(responseObserver, tokenResponse);
+            ArgumentCaptor<Runnable> cancelHandler = ArgumentCaptor.forClass(Runnable.class);
+            verify(responseObserver).setOnCancelHandler(cancelHandler.capture());
+
+            stream.onNext(request(EMAIL, UUID.randomUUID()));
+            cancelHandler.getValue().run();
+            stream.onNext(request(EMAIL, UUID.randomUUID()));
+            stream.onCompleted();
+
+            verifyNoInteractions(setupTokenService);
+            verify(responseObserver, never()).onNext(any());
+            verify(responseObserver, never()).onCompleted();
+        }
+
+        @Test
+        @DisplayName("Should stop processing when the client fails the stream")
+        void shouldStopOnClientError() {
+            StreamObserver<TemporaryTokenRequest> stream = processor.open(responseObserver, tokenResponse);
+
+            stream.onNext(request(EMAIL, UUID.randomUUID()));
+            stream.onError(new RuntimeException("client gone"));
+            onReadyHandler().run();
+
+            verifyNoInteractions(setupTokenService);
+            verify(responseObserver, never()).onNext(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("In-process call")
+    class InProcessTests {
+
+        private Server server;
+        private ManagedChannel channel;
+
+        @AfterEach
+        void stopServer() {
+            channel.shutdownNow();
+            server.shutdownNow();
+        }
+
+        @Test
+        @DisplayName("Should stream one result per request over a real call")
+        void shouldStreamResultsEndToEnd() throws Exception {
+            AuthGrpcServiceImpl service = new AuthGrpcServiceImpl(
+                    setupTokenService, mock(KeycloakAdminClient.class), processor,
+                    mock(KeycloakUserBatchProcessor.class));
+            ReflectionTestUtils.setField(service, "setupTokenTtlHours", 24);
+            ReflectionTestUtils.setField(service, "passwordSetupEndpoint", "/ecclesiaflow/auth/password/setup");
+            String name = InProcessServerBuilder.generateName();
+            server = InProcessServerBuilder.forName(name).directExecutor().addService(service).build().start();
+            channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+
+            List<TemporaryTokenResult> results = new CopyOnWriteArrayList<>();
+            CountDownLatch completed = new CountDownLatch(1);
+            StreamObserver<TemporaryTokenRequest> requests = AuthServiceGrpc.newStub(channel)
+                    .streamTemporaryTokens(new StreamObserver<>() {
+                        @Override
+                        public void onNext(TemporaryTokenResult value) {
+                            results.add(value);
+                        }
+
+                        @Override
+                        public void onError(Throwable t) {
+                            completed.countDown();
+                        }
+
+                        @Override
+                        public void onCompleted() {
+                            completed.countDown();
+                        }
+                    });
+
+            for (int i = 0; i < 5; i++) {
+                requests.onNext(request(EMAIL, UUID.randomUUID()));
+            }
+            requests.onCompleted();
+
+            assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(results).hasSize(5).allSatisfy(result -> assertThat(result.hasToken()).isTrue());
+            verify(setupTokenService, times(3)).generateSetupTokens(anyMap());
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package com.ecclesiaflow.springsecurity.io.keycloak;
 
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpHeaders;
@@ -14,6 +21,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.util.MultiValueMap;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
@@ -32,12 +40,13 @@ class KeycloakAdminClientTest {
     @Mock
     private KeycloakAdminFeignClient adminClient;
 
-    @InjectMocks
+    @Mock
+    private KeycloakAdminTokenProvider adminTokenProvider;
+
+    private CircuitBreakerRegistry circuitBreakers;
     private KeycloakAdminClient keycloakAdminClient;
 
     private static final String REALM = "test-realm";
-    private static final String ADMIN_CLIENT_ID = "admin-client";
-    private static final String ADMIN_CLIENT_SECRET = "admin-secret";
     private static final String DIRECT_GRANT_CLIENT_ID = "ecclesiaflow-frontend";
     private static final String DIRECT_GRANT_CLIENT_SECRET = "frontend-secret";
     private static final String EMAIL = "user@test.com";
@@ -47,13 +56,18 @@ class KeycloakAdminClientTest {
 
     @BeforeEach
     void setUp() {
+        circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .failureRateThreshold(50)
+                .recordException(new KeycloakFailurePredicate())
+                .build());
+        keycloakAdminClient = new KeycloakAdminClient(tokenClient, adminClient, adminTokenProvider,
+                circuitBreakers, BulkheadRegistry.ofDefaults());
         ReflectionTestUtils.setField(keycloakAdminClient, "realm", REALM);
-        ReflectionTestUtils.setField(keycloakAdminClient, "adminClientId", ADMIN_CLIENT_ID);
-        ReflectionTestUtils.setField(keycloakAdminClient, "adminClientSecret", ADMIN_CLIENT_SECRET);
         ReflectionTestUtils.setField(keycloakAdminClient, "directGrantClientId", DIRECT_GRANT_CLIENT_ID);
         ReflectionTestUtils.setField(keycloakAdminClient, "directGrantClientSecret", DIRECT_GRANT_CLIENT_SECRET);
-        ReflectionTestUtils.setField(keycloakAdminClient, "cachedAccessToken", null);
-        ReflectionTestUtils.setField(keycloakAdminClient, "tokenExpiresAt", 0L);
+        ReflectionTestUtils.setField(keycloakAdminClient, "partialImportChunkSize", 2);
     }
 
     @Nested
@@ -190,14 +204,13 @@ class KeycloakAdminClientTest {
         @Test
         @DisplayName("Should throw KeycloakException when token acquisition fails")
         void shouldThrowExceptionWhenTokenAcquisitionFails() {
-            KeycloakTokenResponse emptyResponse = new KeycloakTokenResponse(
-                    null, null, 0, 0, null, null);
-            when(tokenClient.getToken(eq(REALM), any(MultiValueMap.class)))
-                    .thenReturn(emptyResponse);
+            when(adminTokenProvider.getAccessToken())
+                    .thenThrow(new KeycloakAdminClient.KeycloakException("Failed to obtain admin access token"));
 
             assertThatThrownBy(() -> keycloakAdminClient.createUser(EMAIL, PASSWORD, true))
                     .isInstanceOf(KeycloakAdminClient.KeycloakException.class)
                     .hasMessageContaining("Failed to obtain admin access token");
+            verifyNoInteractions(adminClient);
         }
     }
 
@@ -331,78 +344,6 @@ class KeycloakAdminClientTest {
         }
     }
 
-    @Nested
-    @DisplayName("Token caching")
-    class TokenCachingTests {
-
-        @Test
-        @DisplayName("Should cache access token")
-        void shouldCacheAccessToken() {
-            mockTokenAcquisition();
-            HttpHeaders headers = new HttpHeaders();
-            headers.add("Location", "http://keycloak/users/" + KEYCLOAK_USER_ID);
-            ResponseEntity<Void> response = new ResponseEntity<>(headers, HttpStatus.CREATED);
-            
-            when(adminClient.createUser(anyString(), eq(REALM), any(KeycloakUserRepresentation.class)))
-                    .thenReturn(response);
-
-            keycloakAdminClient.createUser(EMAIL, PASSWORD, true);
-            keycloakAdminClient.createUser(EMAIL, PASSWORD, true);
-
-            verify(tokenClient, times(1)).getToken(eq(REALM), any(MultiValueMap.class));
-        }
-
-        @Test
-        @DisplayName("Should refresh token when expired")
-        void shouldRefreshTokenWhenExpired() {
-            KeycloakTokenResponse tokenResponse = new KeycloakTokenResponse(
-                    ACCESS_TOKEN, null, 0, 0, "Bearer", null);
-            when(tokenClient.getToken(eq(REALM), any(MultiValueMap.class)))
-                    .thenReturn(tokenResponse);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.add("Location", "http://keycloak/users/" + KEYCLOAK_USER_ID);
-            ResponseEntity<Void> response = new ResponseEntity<>(headers, HttpStatus.CREATED);
-            
-            when(adminClient.createUser(anyString(), eq(REALM), any(KeycloakUserRepresentation.class)))
-                    .thenReturn(response);
-
-            keycloakAdminClient.createUser(EMAIL, PASSWORD, true);
-            
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-            
-            keycloakAdminClient.createUser(EMAIL, PASSWORD, true);
-
-            verify(tokenClient, atLeast(2)).getToken(eq(REALM), any(MultiValueMap.class));
-        }
-
-        @Test
-        @DisplayName("Should use cached token before expiration")
-        void shouldUseCachedTokenBeforeExpiration() {
-            KeycloakTokenResponse tokenResponse = new KeycloakTokenResponse(
-                    ACCESS_TOKEN, null, 3600, 0, "Bearer", null);
-            when(tokenClient.getToken(eq(REALM), any(MultiValueMap.class)))
-                    .thenReturn(tokenResponse);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.add("Location", "http://keycloak/users/" + KEYCLOAK_USER_ID);
-            ResponseEntity<Void> response = new ResponseEntity<>(headers, HttpStatus.CREATED);
-            
-            when(adminClient.createUser(anyString(), eq(REALM), any(KeycloakUserRepresentation.class)))
-                    .thenReturn(response);
-
-            keycloakAdminClient.createUser(EMAIL, PASSWORD, true);
-            keycloakAdminClient.updatePassword(KEYCLOAK_USER_ID, PASSWORD);
-            keycloakAdminClient.findUserByEmail(EMAIL);
-
-            verify(tokenClient, times(1)).getToken(eq(REALM), any(MultiValueMap.class));
-        }
-    }
-
     @Nested
     @DisplayName("KeycloakException")
     class KeycloakExceptionTests {
@@ -428,80 +369,6 @@ class KeycloakAdminClientTest {
         }
     }
 
-    @Nested
-    @DisplayName("Token acquisition - Edge cases")
-    class TokenAcquisitionEdgeCasesTests {
-
-        @Test
-        @DisplayName("Should use default expiration when expires_in is zero")
-        void shouldUseDefaultExpirationWhenMissing() {
-            KeycloakTokenResponse tokenResponse = new KeycloakTokenResponse(
-                    ACCESS_TOKEN, null, 0, 0, "Bearer", null);
-            when(tokenClient.getToken(eq(REALM), any(MultiValueMap.class)))
-                    .thenReturn(tokenResponse);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.add("Location", "http://keycloak/users/" + KEYCLOAK_USER_ID);
-            ResponseEntity<Void> response = new ResponseEntity<>(headers, HttpStatus.CREATED);
-            
-            when(adminClient.createUser(anyString(), eq(REALM), any(KeycloakUserRepresentation.class)))
-                    .thenReturn(response);
-
-            String userId = keycloakAdminClient.createUser(EMAIL, PASSWORD, true);
-
-            assertThat(userId).isEqualTo(KEYCLOAK_USER_ID);
-        }
-
-        @Test
-        @DisplayName("Should throw exception when response is null")
-        void shouldThrowExceptionWhenResponseIsNull() {
-            when(tokenClient.getToken(eq(REALM), any(MultiValueMap.class)))
-                    .thenReturn(null);
-
-            assertThatThrownBy(() -> keycloakAdminClient.createUser(EMAIL, PASSWORD, true))
-                    .isInstanceOf(KeycloakAdminClient.KeycloakException.class)
-                    .hasMessageContaining("Failed to obtain admin access token");
-        }
-
-        @Test
-        @DisplayName("Should throw exception when access_token is missing")
-        void shouldThrowExceptionWhenAccessTokenMissing() {
-            KeycloakTokenResponse tokenResponse = new KeycloakTokenResponse(
-                    null, null, 3600, 0, null, null);
-            when(tokenClient.getToken(eq(REALM), any(MultiValueMap.class)))
-                    .thenReturn(tokenResponse);
-
-            assertThatThrownBy(() -> keycloakAdminClient.createUser(EMAIL, PASSWORD, true))
-                    .isInstanceOf(KeycloakAdminClient.KeycloakException.class)
-                    .hasMessageContaining("Failed to obtain admin access token");
-        }
-
-        @Test
-        @DisplayName("Should use cached token in synchronized block when still valid")
-        void shouldUseCachedTokenInSynchronizedBlock() throws Exception {
-            KeycloakTokenResponse tokenResponse = new KeycloakTokenResponse(
-                    ACCESS_TOKEN, null, 3600, 0, "Bearer", null);
-            when(tokenClient.getToken(eq(REALM), any(MultiValueMap.class)))
-                    .thenReturn(tokenResponse);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.add("Location", "http://keycloak/users/" + KEYCLOAK_USER_ID);
-            ResponseEntity<Void> response = new ResponseEntity<>(headers, HttpStatus.CREATED);
-            
-            when(adminClient.createUser(anyString(), eq(REALM), any(KeycloakUserRepresentation.class)))
-                    .thenReturn(response);
-
-            // First call - caches
-            keycloakAdminClient.createUser(EMAIL, PASSWORD, true);
-            
-            // Second call immediate - should use the cache (double-check in synchronized)
-            keycloakAdminClient.createUser(EMAIL, PASSWORD, true);
-
-            // Tests that we called getToken only once
-            verify(tokenClient, times(1)).getToken(eq(REALM), any(MultiValueMap.class));
-        }
-    }
-
     @Nested
     @DisplayName("disableUser")
     class DisableUserTests {
@@ -613,10 +480,133 @@ class KeycloakAdminClientTest {
         }
     }
 
+    @Nested
+    @DisplayName("provisionUsers - Bulk partial import")
+    class ProvisionUsersTests {
+
+        private KeycloakUserRepresentation user(String username) {
+            return KeycloakUserRepresentation.builder().username(username).email(username).enabled(true).build();
+        }
+
+        private KeycloakPartialImportResponse.Result userResult(String action, String username, String id) {
+            return new KeycloakPartialImportResponse.Result(action, "USER", username, id);
+        }
+
+        @Test
+        @DisplayName("Should import users in chunks and map results back in input order")
+        void shouldImportInChunks() {
+            mockTokenAcquisition();
+            when(adminClient.partialImport(eq("Bearer " + ACCESS_TOKEN), eq(REALM), any(KeycloakPartialImportRequest.class)))
+                    .thenReturn(new KeycloakPartialImportResponse(1, 1, 0, List.of(
+                            userResult("SKIPPED", "b@test.com", "kc-b"),
+                            userResult("ADDED", "a@test.com", "kc-a"))))
+                    .thenReturn(new KeycloakPartialImportResponse(1, 0, 0, List.of(
+                            userResult("ADDED", "c@test.com", "kc-c"))));
+
+            List<KeycloakProvisioningResult> results = keycloakAdminClient.provisionUsers(
+                    List.of(user("a@test.com"), user("b@test.com"), user("c@test.com")));
+
+            assertThat(results).extracting(KeycloakProvisioningResult::username)
+                    .containsExactly("a@test.com", "b@test.com", "c@test.com");
+            assertThat(results).extracting(KeycloakProvisioningResult::outcome).containsExactly(
+                    KeycloakProvisioningResult.Outcome.CREATED,
+                    KeycloakProvisioningResult.Outcome.EXISTING,
+                    KeycloakProvisioningResult.Outcome.CREATED);
+            assertThat(results).extracting(KeycloakProvisioningResult::keycloakUserId)
+                    .containsExactly("kc-a", "kc-b", "kc-c");
+            verify(adminClient, times(2)).partialImport(anyString(), eq(REALM), argThat(request ->
+                    "SKIP".equals(request.getIfResourceExists()) && request.getUsers().size() <= 2));
+        }
+
+        @Test
+        @DisplayName("Should fail only the users of a chunk whose import call fails")
+        void shouldFailOnlyFailedChunk() {
+            mockTokenAcquisition();
+            when(adminClient.partialImport(anyString(), eq(REALM), any(KeycloakPartialImportRequest.class)))
+                    .thenThrow(new RuntimeException("409 Conflict"))
+                    .thenReturn(new KeycloakPartialImportResponse(1, 0, 0, List.of(
+                            userResult("ADDED", "c@test.com", "kc-c"))));
+
+            List<KeycloakProvisioningResult> results = keycloakAdminClient.provisionUsers(
+                    List.of(user("a@test.com"), user("b@test.com"), user("c@test.com")));
+
+            assertThat(results).extracting(KeycloakProvisioningResult::outcome).containsExactly(
+                    KeycloakProvisioningResult.Outcome.FAILED,
+                    KeycloakProvisioningResult.Outcome.FAILED,
+                    KeycloakProvisioningResult.Outcome.CREATED);
+            assertThat(results.getFirst().failureReason()).isEqualTo("Keycloak partial import failed");
+            assertThat(results.getFirst().keycloakUserId()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should report users missing from the import results as failed")
+        void shouldFailUsersWithoutResult() {
+            mockTokenAcquisition();
+            when(adminClient.partialImport(anyString(), eq(REALM), any(KeycloakPartialImportRequest.class)))
+                    .thenReturn(new KeycloakPartialImportResponse(1, 0, 0, List.of(
+                            userResult("ADDED", "A@TEST.COM", "kc-a"))));
+
+            List<KeycloakProvisioningResult> results = keycloakAdminClient.provisionUsers(
+                    List.of(user("a@test.com"), user("b@test.com")));
+
+            assertThat(results.get(0).outcome()).isEqualTo(KeycloakProvisioningResult.Outcome.CREATED);
+            assertThat(results.get(1).outcome()).isEqualTo(KeycloakProvisioningResult.Outcome.FAILED);
+            assertThat(results.get(1).failureReason()).isEqualTo("Missing partial import result");
+        }
+
+        @Test
+        @DisplayName("Should not call Keycloak for an empty list")
+        void shouldSkipEmptyList() {
+            assertThat(keycloakAdminClient.provisionUsers(List.of())).isEmpty();
+            verifyNoInteractions(adminClient, adminTokenProvider);
+        }
+    }
+
+    @Nested
+    @DisplayName("Circuit breaker")
+    class CircuitBreakerTests {
+
+        private FeignException status(int status) {
+            Request request = Request.create(Request.HttpMethod.DELETE, "/admin/realms/test-realm/users/kc",
+                    Map.of(), null, StandardCharsets.UTF_8, null);
+            return FeignException.errorStatus("deleteUser",
+                    Response.builder().status(status).reason("error").request(request).headers(Map.of()).build());
+        }
+
+        @Test
+        @DisplayName("Should fail fast with KeycloakException once Keycloak keeps failing")
+        void shouldFailFastWhenOpen() {
+            mockTokenAcquisition();
+            doThrow(status(503)).when(adminClient).deleteUser(anyString(), eq(REALM), anyString());
+
+            for (int i = 0; i < 2; i++) {
+                assertThatThrownBy(() -> keycloakAdminClient.deleteUser(KEYCLOAK_USER_ID))
+                        .isInstanceOf(FeignException.class);
+            }
+
+            assertThatThrownBy(() -> keycloakAdminClient.findUserByEmail(EMAIL))
+                    .isInstanceOf(KeycloakAdminClient.KeycloakException.class)
+                    .hasCauseInstanceOf(CallNotPermittedException.class);
+            verify(adminClient, never()).findUsersByEmail(anyString(), anyString(), anyString(), anyBoolean());
+            assertThat(circuitBreakers.circuitBreaker("keycloak").getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        }
+
+        @Test
+        @DisplayName("Should not count client errors against Keycloak")
+        void shouldIgnoreClientErrors() {
+            mockTokenAcquisition();
+            doThrow(status(404)).when(adminClient).deleteUser(anyString(), eq(REALM), anyString());
+
+            for (int i = 0; i < 3; i++) {
+                assertThatThrownBy(() -> keycloakAdminClient.deleteUser(KEYCLOAK_USER_ID))
+                        .isInstanceOf(FeignException.NotFound.class);
+            }
+
+            assertThat(circuitBreakers.circuitBreaker("keycloak").getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        }
+    }
+
     private void mockTokenAcquisition() {
-        KeycloakTokenResponse tokenResponse = new KeycloakTokenResponse(
-                ACCESS_TOKEN, null, 3600, 0, "Bearer", null);
-        when(tokenClient.getToken(eq(REALM), any(MultiValueMap.class)))
-                .thenReturn(tokenResponse);
+        when(adminTokenProvider.getAccessToken()).thenReturn(ACCESS_TOKEN);
     }
 }
@@ -0,0 +1,243 @@
+package com.ecclesiaflow.springsecurity.io.keycloak;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.MultiValueMap;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("KeycloakAdminTokenProvider - Unit Tests")
+class KeycloakAdminTokenProviderTest {
+
+    private static final String REALM = "test-realm";
+    private static final String ADMIN_CLIENT_ID = "admin-client";
+    private static final String ADMIN_CLIENT_SECRET = "admin-secret";
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+    @Mock
+    private KeycloakTokenFeignClient tokenClient;
+
+    private MeterRegistry meterRegistry;
+    private KeycloakAdminTokenProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        provider = new KeycloakAdminTokenProvider(tokenClient, meterRegistry);
+        ReflectionTestUtils.setField(provider, "realm", REALM);
+        ReflectionTestUtils.setField(provider, "adminClientId", ADMIN_CLIENT_ID);
+        ReflectionTestUtils.setField(provider, "adminClientSecret", ADMIN_CLIENT_SECRET);
+        ReflectionTestUtils.setField(provider, "refreshRatio", 0.75);
+        ReflectionTestUtils.setField(provider, "retryDelay", Duration.ofSeconds(5));
+        setClock(NOW);
+    }
+
+    @AfterEach
+    void tearDown() {
+        provider.shutdown();
+    }
+
+    private void setClock(Instant instant) {
+        ReflectionTestUtils.setField(provider, "clock", Clock.fixed(instant, ZoneOffset.UTC));
+    }
+
+    private static KeycloakTokenResponse tokenResponse(String accessToken, int expiresIn) {
+        return new KeycloakTokenResponse(accessToken, null, expiresIn, 0, "Bearer", null);
+    }
+
+    private double failureCount() {
+        return meterRegistry.get("keycloak.admin_token.refresh.failures").counter().count();
+    }
+
+    @Nested
+    @DisplayName("getAccessToken")
+    class GetAccessTokenTests {
+
+        @Test
+        @DisplayName("Should request a client-credentials token and cache it")
+        void shouldRequestAndCacheToken() {
+            when(tokenClient.getToken(eq(REALM), any(MultiValueMap.class)))
+                    .thenReturn(tokenResponse("token-1", 300));
+
+            assertThat(provider.getAccessToken()).isEqualTo("token-1");
+            assertThat(provider.getAccessToken()).isEqualTo("token-1");
+
+            verify(tokenClient, times(1)).getToken(eq(REALM), argThat(form ->
+                    "client_credentials".equals(form.getFirst("grant_type"))
+                            && ADMIN_CLIENT_ID.equals(form.getFirst("client_id"))
+                            && ADMIN_CLIENT_SECRET.equals(form.getFirst("client_secret"))));
+            assertThat(meterRegistry.get("keycloak.admin_token.refresh").tag("outcome", "success").timer().count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should fetch a new token once the current one is within the expiry margin")
+        void shouldFetchWhenExpired() {
+            when(tokenClient.getToken(eq(REALM), any(MultiValueMap.class)))
+                    .thenReturn(tokenResponse("token-1", 300), tokenResponse("token-2", 300));
+            provider.getAccessToken();
+
+            setClock(NOW.plusSeconds(269));
+            assertThat(provider.getAccessToken()).isEqualTo("token-1");
+
+            setClock(NOW.plusSeconds(270));
+            assertThat(provider.getAccessToken()).isEqualTo("token-2");
+        }
+
+        @Test
+        @DisplayName("Should not keep a token without lifetime")
+        void shouldNotCacheTokenWithoutLifetime() {
+            when(tokenClient.getToken(eq(REALM), any(MultiValueMap.class)))
+                    .thenReturn(tokenResponse("token-1", 0));
+
+            provider.getAccessToken();
+            provider.getAccessToken();
+
+            verify(tokenClient, times(2)).getToken(eq(REALM), any(MultiValueMap.class));
+            assertThat(ReflectionTestUtils.getField(provider, "pendingRefresh")).isNull();
+        }
+
+        @Test
+        @DisplayName("Should throw KeycloakException when the response is null")
+        void shouldThrowWhenResponseIsNull() {
+            when(tokenClient.getToken(eq(REALM), any(MultiValueMap.class))).thenReturn(null);
+
+            assertThatThrownBy(() -> provider.getAccessToken())
+                    .isInstanceOf(KeycloakAdminClient.KeycloakException.class)
+                    .hasMessageContaining("Failed to obtain admin access token");
+            assertThat(failureCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should throw KeycloakException when access_token is missing")
+        void shouldThrowWhenAccessTokenMissing() {
+            when(tokenClient.getToken(eq(REALM), any(MultiValueMap.class)))
+                    .thenReturn(tokenResponse(null, 300));
+
+            assertThatThrownBy(() -> provider.getAccessToken())
+                    .isInstanceOf(KeycloakAdminClient.KeycloakException.class)
+                    .hasMessageContaining("Failed to obtain admin access token");
+        }
+
+        @Test
+        @DisplayName("Should wrap transport errors in KeycloakException")
+        void shouldWrapTransportErrors() {
+            when(tokenClient.getToken(eq(REALM), any(MultiValueMap.class)))
+                    .thenThrow(new IllegalStateException("connection refused"));
+
+            assertThatThrownBy(() -> provider.getAccessToken())
+                    .isInstanceOf(KeycloakAdminClient.KeycloakException.class)
+                    .hasMessageContaining("Failed to obtain admin access token")
+                    .hasCauseInstanceOf(IllegalStateException.class);
+            assertThat(meterRegistry.get("keycloak.admin_token.refresh").tag("outcome", "failure").timer().count())
+                    .isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Background refresh")
+    class BackgroundRefreshTests {
+
+        @Test
+        @DisplayName("Should renew the token ahead of expiry without a caller asking")
+        void shouldRefreshAhead() {
+            ReflectionTestUtils.setField(provider, "clock", Clock.systemUTC());
+            ReflectionTestUtils.setField(provider, "refreshRatio", 0.1);
+            when(tokenClient.getToken(eq(REALM), any(MultiValueMap.class)))
+                    .thenReturn(tokenResponse("token-1", 2), tokenResponse("token-2", 300));
+
+            assertThat(provider.getAccessToken()).isEqualTo("token-1");
+
+            verify(tokenClient, timeout(2000).times(2)).getToken(eq(REALM), any(MultiValueMap.class));
+            assertThat(provider.getAccessToken()).isEqualTo("token-2");
+        }
+
+        @Test
+        @DisplayName("Should keep serving the current token while a renewal is in flight")
+        void shouldServeCurrentTokenDuringRefresh() throws Exception {
+            CountDownLatch renewalStarted = new CountDownLatch(1);
+            CountDownLatch releaseRenewal = new CountDownLatch(1);
+            when(tokenClient.getToken(eq(REALM), any(MultiValueMap.class)))
+                    .thenReturn(tokenResponse("token-1", 300))
+                    .thenAnswer(invocation -> {
+                        renewalStarted.countDown();
+                        releaseRenewal.await(5, TimeUnit.SECONDS);
+                        return tokenResponse("token-2", 300);
+                    });
+            provider.getAccessToken();
+
+            CompletableFuture<Void> renewal = CompletableFuture.runAsync(provider::refreshInBackground);
+            assertThat(renewalStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(provider.getAccessToken()).isEqualTo("token-1");
+
+            releaseRenewal.countDown();
+            renewal.get(5, TimeUnit.SECONDS);
+            assertThat(provider.getAccessToken()).isEqualTo("token-2");
+        }
+
+        @Test
+        @DisplayName("Should keep the current token when Keycloak is unavailable")
+        void shouldKeepTokenOnRefreshFailure() {
+            when(tokenClient.getToken(eq(REALM), any(MultiValueMap.class)))
+                    .thenReturn(tokenResponse("token-1", 300))
+                    .thenThrow(new IllegalStateException("Keycloak down"));
+            provider.getAccessToken();
+
+            provider.refreshInBackground();
+
+            assertThat(provider.getAccessToken()).isEqualTo("token-1");
+            assertThat(failureCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should stop retrying once the current token would expire before the next attempt")
+        void shouldStopRetryingNearExpiry() {
+            when(tokenClient.getToken(eq(REALM), any(MultiValueMap.class)))
+                    .thenReturn(tokenResponse("token-1", 300))
+                    .thenThrow(new IllegalStateException("Keycloak down"));
+            provider.getAccessToken();
+            ScheduledFuture<?> scheduled = (ScheduledFuture<?>) ReflectionTestUtils.getField(provider, "pendingRefresh");
+
+            setClock(NOW.plusSeconds(268));
+            provider.refreshInBackground();
+
+            assertThat(ReflectionTestUtils.getField(provider, "pendingRefresh")).isSameAs(scheduled);
+        }
+
+        @Test
+        @DisplayName("Should not schedule renewals after shutdown")
+        void shouldNotScheduleAfterShutdown() {
+            when(tokenClient.getToken(eq(REALM), any(MultiValueMap.class)))
+                    .thenReturn(tokenResponse("token-1", 300));
+            provider.shutdown();
+
+            assertThat(provider.getAccessToken()).isEqualTo("token-1");
+            assertThat(ReflectionTestUtils.getField(provider, "pendingRefresh")).isNull();
+        }
+    }
+}
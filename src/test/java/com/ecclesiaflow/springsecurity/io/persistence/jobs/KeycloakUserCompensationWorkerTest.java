@@ -0,0 +1,228 @@
+package com.ecclesiaflow.springsecurity.io.persistence.jobs;
+
+import com.ecclesiaflow.springsecurity.io.keycloak.KeycloakAdminClient;
+import com.ecclesiaflow.springsecurity.io.persistence.jpa.KeycloakUserCompensationEntity;
+import com.ecclesiaflow.springsecurity.io.persistence.repositories.KeycloakUserCompensationJpaRepository;
+import feign.FeignException;
+import feign.Request;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("KeycloakUserCompensationWorker - Unit tests")
+class KeycloakUserCompensationWorkerTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final KeycloakUserCompensationEntity.Status PENDING = KeycloakUserCompensationEntity.Status.PENDING;
+    private static final KeycloakUserCompensationEntity.Status DEAD = KeycloakUserCompensationEntity.Status.DEAD;
+
+    @Mock
+    private KeycloakUserCompensationJpaRepository jpaRepository;
+
+    @Mock
+    private KeycloakAdminClient keycloakAdminClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+    private KeycloakUserCompensationWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        worker = new KeycloakUserCompensationWorker(jpaRepository, keycloakAdminClient, transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(worker, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(worker, "maxBatchesPerRun", 5);
+        ReflectionTestUtils.setField(worker, "concurrency", 1);
+        ReflectionTestUtils.setField(worker, "lease", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(worker, "maxAttempts", 3);
+        ReflectionTestUtils.setField(worker, "initialBackoff", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(worker, "maxBackoff", Duration.ofSeconds(60));
+        lenient().when(jpaRepository.findOldestCreatedAt(PENDING)).thenReturn(Optional.empty());
+    }
+
+    private static KeycloakUserCompensationEntity row(int attempts) {
+        return KeycloakUserCompensationEntity.builder()
+                .id(UUID.randomUUID())
+                .keycloakUserId("kc-" + UUID.randomUUID())
+                .status(PENDING)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    private void givenDue(KeycloakUserCompensationEntity... rows) {
+        when(jpaRepository.findDueForUpdate(eq(PENDING), any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE))))
+                .thenReturn(new ArrayList<>(List.of(rows)), new ArrayList<>());
+    }
+
+    private static FeignException.NotFound notFound() {
+        Request request = Request.create(Request.HttpMethod.DELETE, "/admin/realms/test/users/kc",
+                Map.of(), null, StandardCharsets.UTF_8, null);
+        return new FeignException.NotFound("User not found", request, null, Map.of());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<KeycloakUserCompensationEntity> savedRows() {
+        ArgumentCaptor<List<KeycloakUserCompensationEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jpaRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    @Nested
+    @DisplayName("Deletes")
+    class DeleteTests {
+
+        @Test
+        @DisplayName("Should delete queued users and remove their rows")
+        void shouldDeleteQueuedUsers() {
+            KeycloakUserCompensationEntity first = row(0);
+            KeycloakUserCompensationEntity second = row(0);
+            givenDue(first, second);
+
+            int deleted = worker.compensate();
+
+            assertThat(deleted).isEqualTo(2);
+            verify(keycloakAdminClient).deleteUser(first.getKeycloakUserId());
+            verify(keycloakAdminClient).deleteUser(second.getKeycloakUserId());
+            verify(jpaRepository).deleteAllByIdIn(List.of(first.getId(), second.getId()));
+            verify(jpaRepository, never()).saveAll(anyList());
+            assertThat(meterRegistry.counter("keycloak_user.compensation.deleted").count()).isEqualTo(2.0);
+        }
+
+        @Test
+        @DisplayName("Should treat a user Keycloak no longer knows as deleted")
+        void shouldTreatNotFoundAsDeleted() {
+            KeycloakUserCompensationEntity gone = row(1);
+            givenDue(gone);
+            doThrow(notFound()).when(keycloakAdminClient).deleteUser(gone.getKeycloakUserId());
+
+            int deleted = worker.compensate();
+
+            assertThat(deleted).isEqualTo(1);
+            verify(jpaRepository).deleteAllByIdIn(List.of(gone.getId()));
+        }
+
+        @Test
+        @DisplayName("Should publish queue depth, dead rows and oldest age")
+        void shouldPublishQueueGauges() {
+            when(jpaRepository.findDueForUpdate(eq(PENDING), any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE))))
+                    .thenReturn(List.of());
+            when(jpaRepository.countByStatus(PENDING)).thenReturn(4L);
+            when(jpaRepository.countByStatus(DEAD)).thenReturn(1L);
+            when(jpaRepository.findOldestCreatedAt(PENDING))
+                    .thenReturn(Optional.of(LocalDateTime.now().minusMinutes(10)));
+
+            worker.compensate();
+
+            assertThat(meterRegistry.get("keycloak_user.compensation.pending").gauge().value()).isEqualTo(4.0);
+            assertThat(meterRegistry.get("keycloak_user.compensation.dead").gauge().value()).isEqualTo(1.0);
+            assertThat(meterRegistry.get("keycloak_user.compensation.oldest_age_seconds").gauge().value())
+                    .isBetween(599.0, 601.0);
+            verifyNoInteractions(keycloakAdminClient);
+        }
+
+        @Test
+        @DisplayName("Should run at most concurrency deletes at once")
+        void shouldBoundConcurrentDeletes() {
+            givenDue(row(0), row(0));
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger peak = new AtomicInteger();
+            doAnswer(invocation -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                running.decrementAndGet();
+                return null;
+            }).when(keycloakAdminClient).deleteUser(anyString());
+
+            int deleted = worker.compensate();
+
+            assertThat(deleted).isEqualTo(2);
+            assertThat(peak.get()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Failures")
+    class FailureTests {
+
+        @Test
+        @DisplayName("Should reschedule a failed delete after a jittered exponential backoff")
+        void shouldRescheduleFailedDelete() {
+            KeycloakUserCompensationEntity due = row(1);
+            givenDue(due);
+            doThrow(new RuntimeException("Connection refused")).when(keycloakAdminClient).deleteUser(due.getKeycloakUserId());
+            LocalDateTime before = LocalDateTime.now();
+
+            int deleted = worker.compensate();
+
+            assertThat(deleted).isZero();
+            assertThat(savedRows()).singleElement().satisfies(saved -> {
+                assertThat(saved.getStatus()).isEqualTo(PENDING);
+                assertThat(saved.getAttempts()).isEqualTo(2);
+                assertThat(saved.getLastError()).isEqualTo("Connection refused");
+                // 20s backoff, jittered to [10s, 20s]
+                assertThat(saved.getNextAttemptAt()).isBetween(before.plusSeconds(10), before.plusSeconds(21));
+            });
+            verify(jpaRepository, never()).deleteAllByIdIn(anyList());
+            assertThat(meterRegistry.counter("keycloak_user.compensation.failed").count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should mark a row dead after its last attempt")
+        void shouldMarkDeadAfterMaxAttempts() {
+            KeycloakUserCompensationEntity due = row(2);
+            givenDue(due);
+            doThrow(new RuntimeException("Forbidden")).when(keycloakAdminClient).deleteUser(due.getKeycloakUserId());
+
+            worker.compensate();
+
+            assertThat(savedRows()).singleElement()
+                    .extracting(KeycloakUserCompensationEntity::getStatus)
+                    .isEqualTo(DEAD);
+        }
+
+        @Test
+        @DisplayName("Should keep going after a failed delete in the same batch")
+        void shouldContinueAfterFailure() {
+            KeycloakUserCompensationEntity ko = row(0);
+            KeycloakUserCompensationEntity ok = row(0);
+            givenDue(ko, ok);
+            doThrow(new RuntimeException("Timeout")).when(keycloakAdminClient).deleteUser(ko.getKeycloakUserId());
+
+            int deleted = worker.compensate();
+
+            assertThat(deleted).isEqualTo(1);
+            verify(jpaRepository).deleteAllByIdIn(List.of(ok.getId()));
+            assertThat(savedRows()).containsExactly(ko);
+        }
+    }
+}
@@ -0,0 +1,398 @@
+package com.ecclesiaflow.springsecurity.io.persistence.jobs;
+
+import com.ecclesiaflow.springsecurity.business.domain.member.MembersClient;
+import com.ecclesiaflow.springsecurity.io.keycloak.KeycloakAdminClient;
+import com.ecclesiaflow.springsecurity.io.members.MembersGrpcClient.MembersServiceUnavailableException;
+import com.ecclesiaflow.springsecurity.io.persistence.jpa.MemberNotificationOutboxEntity;
+import com.ecclesiaflow.springsecurity.io.persistence.repositories.KeycloakUserCompensationJpaRepository;
+import com.ecclesiaflow.springsecurity.io.persistence.repositories.MemberNotificationOutboxJpaRepository;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MemberNotificationDispatcher - Unit tests")
+class MemberNotificationDispatcherTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_IN_FLIGHT = 1;
+    private static final MemberNotificationOutboxEntity.Status PENDING = MemberNotificationOutboxEntity.Status.PENDING;
+    private static final MemberNotificationOutboxEntity.Status RESERVED = MemberNotificationOutboxEntity.Status.RESERVED;
+
+    @Mock
+    private MemberNotificationOutboxJpaRepository jpaRepository;
+
+    @Mock
+    private KeycloakUserCompensationJpaRepository compensationJpaRepository;
+
+    @Mock
+    private MembersClient membersClient;
+
+    @Mock
+    private KeycloakAdminClient keycloakAdminClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+    private MemberNotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new MemberNotificationDispatcher(
+                jpaRepository, compensationJpaRepository, membersClient, keycloakAdminClient, transactionManager, meterRegistry, MAX_IN_FLIGHT);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(dispatcher, "maxBatchesPerRun", 5);
+        ReflectionTestUtils.setField(dispatcher, "lease", Duration.ofMinutes(2));
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "initialBackoff", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(dispatcher, "maxBackoff", Duration.ofSeconds(30));
+        lenient().when(jpaRepository.findDueForUpdate(eq(RESERVED), any(), any())).thenReturn(List.of());
+    }
+
+    private static MemberNotificationOutboxEntity row(int attempts) {
+        return MemberNotificationOutboxEntity.builder()
+                .id(UUID.randomUUID())
+                .type(MemberNotificationOutboxEntity.Type.ACCOUNT_ACTIVATED)
+                .memberId(UUID.randomUUID())
+                .keycloakUserId("kc-" + UUID.randomUUID())
+                .email("member@example.com")
+                .status(PENDING)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static MemberNotificationOutboxEntity reservation() {
+        return MemberNotificationOutboxEntity.builder()
+                .id(UUID.randomUUID())
+                .type(MemberNotificationOutboxEntity.Type.ACCOUNT_ACTIVATED)
+                .memberId(UUID.randomUUID())
+                .email("member@example.com")
+                .status(RESERVED)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    private void givenDue(List<MemberNotificationOutboxEntity> first) {
+        when(jpaRepository.findDueForUpdate(eq(PENDING), any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE))))
+                .thenReturn(new ArrayList<>(first), new ArrayList<>());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<MemberNotificationOutboxEntity> savedRows() {
+        ArgumentCaptor<List<MemberNotificationOutboxEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jpaRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    @Nested
+    @DisplayName("Delivery")
+    class DeliveryTests {
+
+        @Test
+        @DisplayName("Should deliver a batch and delete the delivered rows")
+        void shouldDeliverAndDelete() {
+            MemberNotificationOutboxEntity first = row(0);
+            when(jpaRepository.findDueForUpdate(eq(PENDING), any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE))))
+                    .thenReturn(new ArrayList<>(List.of(first)));
+            when(membersClient.notifyAccountActivatedWithCredentialsAsync(first.getMemberId(), first.getKeycloakUserId()))
+                    .thenReturn(CompletableFuture.completedFuture(true));
+
+            int delivered = dispatcher.dispatch();
+
+            assertThat(delivered).isEqualTo(1);
+            verify(jpaRepository).deleteAllByIdIn(List.of(first.getId()));
+            verify(jpaRepository, never()).saveAll(anyList());
+            assertThat(meterRegistry.counter("member_notification.outbox.delivered").count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should lease claimed rows before delivering them")
+        void shouldLeaseClaimedRows() {
+            MemberNotificationOutboxEntity due = row(0);
+            LocalDateTime before = LocalDateTime.now();
+            givenDue(List.of(due));
+            when(membersClient.notifyAccountActivatedWithCredentialsAsync(any(), any()))
+                    .thenAnswer(invocation -> {
+                        assertThat(due.getNextAttemptAt()).isAfterOrEqualTo(before.plusMinutes(2));
+                        return CompletableFuture.completedFuture(true);
+                    });
+
+            dispatcher.dispatch();
+
+            verify(jpaRepository).deleteAllByIdIn(List.of(due.getId()));
+        }
+
+        @Test
+        @DisplayName("Should keep claiming batches while they are full")
+        void shouldContinueWhileBatchesAreFull() {
+            givenDue(List.of(row(0), row(0)));
+            when(membersClient.notifyAccountActivatedWithCredentialsAsync(any(), any()))
+                    .thenReturn(CompletableFuture.completedFuture(true));
+
+            int delivered = dispatcher.dispatch();
+
+            assertThat(delivered).isEqualTo(2);
+            verify(jpaRepository, times(2)).findDueForUpdate(eq(PENDING), any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE)));
+        }
+
+        @Test
+        @DisplayName("Should publish the pending backlog after a run")
+        void shouldPublishPendingGauge() {
+            when(jpaRepository.findDueForUpdate(eq(PENDING), any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE))))
+                    .thenReturn(List.of());
+            when(jpaRepository.countByStatus(PENDING)).thenReturn(7L);
+            when(jpaRepository.countByStatus(MemberNotificationOutboxEntity.Status.DEAD)).thenReturn(2L);
+
+            dispatcher.dispatch();
+
+            assertThat(meterRegistry.get("member_notification.outbox.pending").gauge().value()).isEqualTo(7.0);
+            assertThat(meterRegistry.get("member_notification.outbox.dead").gauge().value()).isEqualTo(2.0);
+            verifyNoInteractions(membersClient);
+        }
+    }
+
+    @Nested
+    @DisplayName("Failures")
+    class FailureTests {
+
+        @Test
+        @DisplayName("Should reschedule a failed row after a jittered exponential backoff")
+        void shouldRescheduleFailedRow() {
+            MemberNotificationOutboxEntity due = row(1);
+            when(jpaRepository.findDueForUpdate(eq(PENDING), any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE))))
+                    .thenReturn(new ArrayList<>(List.of(due)));
+            when(membersClient.notifyAccountActivatedWithCredentialsAsync(any(), any()))
+                    .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Members service is unavailable")));
+            LocalDateTime before = LocalDateTime.now();
+
+            int delivered = dispatcher.dispatch();
+
+            assertThat(delivered).isZero();
+            assertThat(savedRows()).singleElement().satisfies(saved -> {
+                assertThat(saved.getStatus()).isEqualTo(PENDING);
+                assertThat(saved.getAttempts()).isEqualTo(2);
+                assertThat(saved.getLastError()).isEqualTo("Members service is unavailable");
+                // 10s backoff, jittered to [5s, 10s]
+                assertThat(saved.getNextAttemptAt()).isBetween(before.plusSeconds(5), before.plusSeconds(11));
+            });
+            verify(jpaRepository, never()).deleteAllByIdIn(anyList());
+            assertThat(meterRegistry.counter("member_notification.outbox.failed").count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should mark a row dead after its last attempt")
+        void shouldMarkDeadAfterMaxAttempts() {
+            when(jpaRepository.findDueForUpdate(eq(PENDING), any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE))))
+                    .thenReturn(new ArrayList<>(List.of(row(2))));
+            when(membersClient.notifyAccountActivatedWithCredentialsAsync(any(), any()))
+                    .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Timeout exceeded")));
+
+            dispatcher.dispatch();
+
+            assertThat(savedRows()).singleElement()
+                    .extracting(MemberNotificationOutboxEntity::getStatus)
+                    .isEqualTo(MemberNotificationOutboxEntity.Status.DEAD);
+        }
+
+        @Test
+        @DisplayName("Should mark a row dead at once when the Members module rejects it as invalid")
+        void shouldMarkDeadWhenRejectedAsInvalid() {
+            when(jpaRepository.findDueForUpdate(eq(PENDING), any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE))))
+                    .thenReturn(new ArrayList<>(List.of(row(0))));
+            when(membersClient.notifyAccountActivatedWithCredentialsAsync(any(), any()))
+                    .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("Invalid member_id")));
+
+            dispatcher.dispatch();
+
+            assertThat(savedRows()).singleElement().satisfies(saved -> {
+                assertThat(saved.getStatus()).isEqualTo(MemberNotificationOutboxEntity.Status.DEAD);
+                assertThat(saved.getAttempts()).isEqualTo(1);
+            });
+        }
+
+        @Test
+        @DisplayName("Should delete delivered rows and reschedule failed ones from the same batch")
+        void shouldSplitMixedBatch() {
+            MemberNotificationOutboxEntity ok = row(0);
+            MemberNotificationOutboxEntity ko = row(0);
+            when(jpaRepository.findDueForUpdate(eq(PENDING), any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE))))
+                    .thenReturn(new ArrayList<>(List.of(ok, ko)), new ArrayList<>());
+            when(membersClient.notifyAccountActivatedWithCredentialsAsync(ok.getMemberId(), ok.getKeycloakUserId()))
+                    .thenReturn(CompletableFuture.completedFuture(true));
+            when(membersClient.notifyAccountActivatedWithCredentialsAsync(ko.getMemberId(), ko.getKeycloakUserId()))
+                    .thenThrow(new RuntimeException("Channel shut down"));
+
+            int delivered = dispatcher.dispatch();
+
+            assertThat(delivered).isEqualTo(1);
+            verify(jpaRepository).deleteAllByIdIn(List.of(ok.getId()));
+            assertThat(savedRows()).containsExactly(ko);
+        }
+
+        @Test
+        @DisplayName("Should reschedule a send turned down locally without using up an attempt")
+        void shouldDeferLocalRejection() {
+            MemberNotificationOutboxEntity due = row(1);
+            when(jpaRepository.findDueForUpdate(eq(PENDING), any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE))))
+                    .thenReturn(new ArrayList<>(List.of(due)));
+            when(membersClient.notifyAccountActivatedWithCredentialsAsync(any(), any()))
+                    .thenReturn(CompletableFuture.failedFuture(new MembersServiceUnavailableException("Members call rejected",
+                            BulkheadFullException.createBulkheadFullException(Bulkhead.ofDefaults("members")))));
+            LocalDateTime before = LocalDateTime.now();
+
+            dispatcher.dispatch();
+
+            assertThat(savedRows()).singleElement().satisfies(saved -> {
+                assertThat(saved.getStatus()).isEqualTo(PENDING);
+                assertThat(saved.getAttempts()).isEqualTo(1);
+                assertThat(saved.getNextAttemptAt()).isBetween(before.plusSeconds(5), before.plusSeconds(6));
+            });
+            assertThat(meterRegistry.counter("member_notification.outbox.deferred").count()).isEqualTo(1.0);
+            assertThat(meterRegistry.counter("member_notification.outbox.failed").count()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should count an unavailable Members service as a failed attempt")
+        void shouldCountRemoteUnavailabilityAsAttempt() {
+            when(jpaRepository.findDueForUpdate(eq(PENDING), any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE))))
+                    .thenReturn(new ArrayList<>(List.of(row(0))));
+            when(membersClient.notifyAccountActivatedWithCredentialsAsync(any(), any()))
+                    .thenReturn(CompletableFuture.failedFuture(new MembersServiceUnavailableException(
+                            "Members service is unavailable", new RuntimeException("UNAVAILABLE"))));
+
+            dispatcher.dispatch();
+
+            assertThat(savedRows()).singleElement()
+                    .extracting(MemberNotificationOutboxEntity::getAttempts)
+                    .isEqualTo(1);
+            assertThat(meterRegistry.counter("member_notification.outbox.failed").count()).isEqualTo(1.0);
+        }
+    }
+
+    @Nested
+    @DisplayName("In-flight bound")
+    class InFlightTests {
+
+        @Test
+        @DisplayName("Should never have more than max-in-flight sends outstanding")
+        void shouldBoundInFlightSends() {
+            givenDue(List.of(row(0), row(0)));
+            AtomicInteger outstanding = new AtomicInteger();
+            AtomicInteger peak = new AtomicInteger();
+            when(membersClient.notifyAccountActivatedWithCredentialsAsync(any(), any()))
+                    .thenAnswer(invocation -> {
+                        peak.accumulateAndGet(outstanding.incrementAndGet(), Math::max);
+                        return CompletableFuture.supplyAsync(() -> {
+                            outstanding.decrementAndGet();
+                            return true;
+                        }, CompletableFuture.delayedExecutor(20, TimeUnit.MILLISECONDS));
+                    });
+
+            int delivered = dispatcher.dispatch();
+
+            assertThat(delivered).isEqualTo(2);
+            assertThat(peak.get()).isEqualTo(MAX_IN_FLIGHT);
+        }
+    }
+
+    @Nested
+    @DisplayName("Abandoned reservations")
+    class ReservationRecoveryTests {
+
+        private void givenAbandoned(MemberNotificationOutboxEntity reservation) {
+            when(jpaRepository.findDueForUpdate(eq(RESERVED), any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE))))
+                    .thenReturn(new ArrayList<>(List.of(reservation)));
+        }
+
+        @Test
+        @DisplayName("Should make a reservation deliverable when its Keycloak user exists")
+        void shouldRecoverReservation() {
+            MemberNotificationOutboxEntity reservation = reservation();
+            givenAbandoned(reservation);
+            when(keycloakAdminClient.findUserByUsername("member@example.com")).thenReturn("kc-found");
+
+            dispatcher.dispatch();
+
+            assertThat(savedRows()).singleElement().satisfies(saved -> {
+                assertThat(saved.getStatus()).isEqualTo(PENDING);
+                assertThat(saved.getKeycloakUserId()).isEqualTo("kc-found");
+                assertThat(saved.getNextAttemptAt()).isBeforeOrEqualTo(LocalDateTime.now());
+            });
+            assertThat(meterRegistry.counter("member_notification.outbox.recovered").count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should drop a reservation whose Keycloak user is queued for deletion")
+        void shouldDropReservationOfCompensatedUser() {
+            MemberNotificationOutboxEntity reservation = reservation();
+            givenAbandoned(reservation);
+            when(keycloakAdminClient.findUserByUsername("member@example.com")).thenReturn("kc-orphan");
+            when(compensationJpaRepository.existsByKeycloakUserId("kc-orphan")).thenReturn(true);
+
+            dispatcher.dispatch();
+
+            verify(jpaRepository).deleteAllByIdIn(List.of(reservation.getId()));
+            verify(jpaRepository, never()).saveAll(anyList());
+        }
+
+        @Test
+        @DisplayName("Should drop a reservation whose Keycloak user was never created")
+        void shouldDropReservationWithoutUser() {
+            MemberNotificationOutboxEntity reservation = reservation();
+            givenAbandoned(reservation);
+            when(keycloakAdminClient.findUserByUsername("member@example.com")).thenReturn(null);
+
+            dispatcher.dispatch();
+
+            verify(jpaRepository).deleteAllByIdIn(List.of(reservation.getId()));
+            verify(jpaRepository, never()).saveAll(anyList());
+            assertThat(meterRegistry.counter("member_notification.outbox.abandoned").count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should retry a reservation whose Keycloak lookup fails")
+        void shouldRetryFailedLookup() {
+            givenAbandoned(reservation());
+            when(keycloakAdminClient.findUserByUsername(anyString()))
+                    .thenThrow(new KeycloakAdminClient.KeycloakException("Keycloak down"));
+
+            dispatcher.dispatch();
+
+            assertThat(savedRows()).singleElement().satisfies(saved -> {
+                assertThat(saved.getStatus()).isEqualTo(RESERVED);
+                assertThat(saved.getAttempts()).isEqualTo(1);
+                assertThat(saved.getLastError()).isEqualTo("Keycloak down");
+            });
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.ecclesiaflow.springsecurity.io.persistence.jobs;
+
+import com.ecclesiaflow.springsecurity.io.persistence.jpa.KeycloakUserCompensationEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RetrySchedule - Unit tests")
+class RetryScheduleTest {
+
+    private static final RetrySchedule SCHEDULE = new RetrySchedule(
+            Duration.ofMinutes(5), 3, Duration.ofSeconds(10), Duration.ofSeconds(60));
+
+    private static KeycloakUserCompensationEntity row(int attempts) {
+        return KeycloakUserCompensationEntity.builder()
+                .keycloakUserId("kc-user")
+                .status(KeycloakUserCompensationEntity.Status.PENDING)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Lease")
+    class LeaseTests {
+
+        @Test
+        @DisplayName("Should push claimed rows to the end of the lease")
+        void shouldLeaseRows() {
+            LocalDateTime now = LocalDateTime.now();
+            List<KeycloakUserCompensationEntity> rows = List.of(row(0), row(1));
+
+            assertThat(SCHEDULE.lease(rows, now))
+                    .isSameAs(rows)
+                    .allSatisfy(row -> assertThat(row.getNextAttemptAt()).isEqualTo(now.plusMinutes(5)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Failures")
+    class FailureTests {
+
+        @Test
+        @DisplayName("Should reschedule a failed row after a jittered backoff")
+        void shouldReschedule() {
+            KeycloakUserCompensationEntity row = row(0);
+            LocalDateTime now = LocalDateTime.now();
+
+            boolean dead = SCHEDULE.recordFailure(row, new RuntimeException("Timeout"), now, false);
+
+            assertThat(dead).isFalse();
+            assertThat(row.getAttempts()).isEqualTo(1);
+            assertThat(row.getLastError()).isEqualTo("Timeout");
+            assertThat(row.getStatus()).isEqualTo(KeycloakUserCompensationEntity.Status.PENDING);
+            assertThat(row.getNextAttemptAt()).isBetween(now.plusSeconds(5), now.plusSeconds(10));
+        }
+
+        @Test
+        @DisplayName("Should give up on a row after its last attempt")
+        void shouldGiveUpAfterMaxAttempts() {
+            KeycloakUserCompensationEntity row = row(2);
+
+            boolean dead = SCHEDULE.recordFailure(row, new RuntimeException("Forbidden"), LocalDateTime.now(), false);
+
+            assertThat(dead).isTrue();
+            assertThat(row.getStatus()).isEqualTo(KeycloakUserCompensationEntity.Status.DEAD);
+        }
+
+        @Test
+        @DisplayName("Should give up at once on a permanent failure")
+        void shouldGiveUpOnPermanentFailure() {
+            KeycloakUserCompensationEntity row = row(0);
+
+            boolean dead = SCHEDULE.recordFailure(row, new IllegalArgumentException("Invalid"), LocalDateTime.now(), true);
+
+            assertThat(dead).isTrue();
+            assertThat(row.getAttempts()).isEqualTo(1);
+            assertThat(row.getStatus()).isEqualTo(KeycloakUserCompensationEntity.Status.DEAD);
+        }
+
+        @Test
+        @DisplayName("Should truncate long error messages to the column length")
+        void shouldTruncateLastError() {
+            KeycloakUserCompensationEntity row = row(0);
+
+            SCHEDULE.recordFailure(row, new RuntimeException("x".repeat(300)), LocalDateTime.now(), false);
+
+            assertThat(row.getLastError()).hasSize(RetrySchedule.MAX_ERROR_LENGTH);
+        }
+
+        @Test
+        @DisplayName("Should keep the jittered backoff between half and all of the capped delay")
+        void shouldJitterCappedBackoff() {
+            for (int i = 0; i < 50; i++) {
+                assertThat(SCHEDULE.backoff(1)).isBetween(Duration.ofSeconds(5), Duration.ofSeconds(10));
+                assertThat(SCHEDULE.backoff(100)).isBetween(Duration.ofSeconds(30), Duration.ofSeconds(60));
+            }
+        }
+    }
+}
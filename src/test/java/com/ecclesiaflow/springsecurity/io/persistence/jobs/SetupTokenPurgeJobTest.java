@@ -0,0 +1,154 @@
+package com.ecclesiaflow.springsecurity.io.persistence.jobs;
+
+import com.ecclesiaflow.springsecurity.io.persistence.repositories.SetupTokenJpaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SetupTokenPurgeJob - Unit tests")
+class SetupTokenPurgeJobTest {
+
+    private static final int CHUNK_SIZE = 3;
+
+    @Mock
+    private SetupTokenJpaRepository jpaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+    private SetupTokenPurgeJob purgeJob;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        purgeJob = new SetupTokenPurgeJob(jpaRepository, transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(purgeJob, "chunkSize", CHUNK_SIZE);
+        ReflectionTestUtils.setField(purgeJob, "pauseMs", 0L);
+        ReflectionTestUtils.setField(purgeJob, "maxChunksPerRun", 10);
+    }
+
+    private static List<UUID> ids(int count) {
+        return IntStream.range(0, count).mapToObj(i -> UUID.randomUUID()).toList();
+    }
+
+    @Nested
+    @DisplayName("Chunked deletes")
+    class ChunkedDeleteTests {
+
+        @Test
+        @DisplayName("Should delete full chunks of expired tokens until a partial chunk")
+        void shouldDeleteUntilPartialChunk() {
+            when(jpaRepository.findExpiredIds(any(LocalDateTime.class), eq(Limit.of(CHUNK_SIZE))))
+                    .thenReturn(ids(3), ids(1));
+            when(jpaRepository.findIdsByStatusInAndNotExpired(eq(SetupTokenPurgeJob.PURGEABLE_STATUSES),
+                    any(LocalDateTime.class), eq(Limit.of(2)))).thenReturn(List.of());
+            when(jpaRepository.deleteAllByIdIn(anyList())).thenAnswer(invocation ->
+                    ((List<?>) invocation.getArgument(0)).size());
+
+            int deleted = purgeJob.purge();
+
+            assertThat(deleted).isEqualTo(4);
+            verify(jpaRepository, times(2)).deleteAllByIdIn(anyList());
+            verify(transactionManager, times(2)).commit(any());
+        }
+
+        @Test
+        @DisplayName("Should top up a partial chunk with revoked tokens")
+        void shouldTopUpWithRevokedTokens() {
+            List<UUID> expired = ids(1);
+            List<UUID> revoked = ids(2);
+            when(jpaRepository.findExpiredIds(any(LocalDateTime.class), eq(Limit.of(CHUNK_SIZE))))
+                    .thenReturn(expired, List.of());
+            when(jpaRepository.findIdsByStatusInAndNotExpired(eq(SetupTokenPurgeJob.PURGEABLE_STATUSES),
+                    any(LocalDateTime.class), any(Limit.class))).thenReturn(revoked, List.of());
+            when(jpaRepository.deleteAllByIdIn(anyList())).thenReturn(3);
+
+            int deleted = purgeJob.purge();
+
+            assertThat(deleted).isEqualTo(3);
+            verify(jpaRepository).deleteAllByIdIn(List.of(expired.get(0), revoked.get(0), revoked.get(1)));
+        }
+
+        @Test
+        @DisplayName("Should not delete anything when nothing is purgeable")
+        void shouldSkipDeleteWhenNothingPurgeable() {
+            when(jpaRepository.findExpiredIds(any(), any())).thenReturn(List.of());
+            when(jpaRepository.findIdsByStatusInAndNotExpired(any(), any(), any())).thenReturn(List.of());
+
+            int deleted = purgeJob.purge();
+
+            assertThat(deleted).isZero();
+            verify(jpaRepository, never()).deleteAllByIdIn(anyList());
+        }
+
+        @Test
+        @DisplayName("Should stop after the maximum number of chunks per run")
+        void shouldStopAtMaxChunksPerRun() {
+            ReflectionTestUtils.setField(purgeJob, "maxChunksPerRun", 2);
+            when(jpaRepository.findExpiredIds(any(), any())).thenAnswer(invocation -> ids(CHUNK_SIZE));
+            when(jpaRepository.deleteAllByIdIn(anyList())).thenReturn(CHUNK_SIZE);
+
+            int deleted = purgeJob.purge();
+
+            assertThat(deleted).isEqualTo(2 * CHUNK_SIZE);
+            verify(jpaRepository, times(2)).deleteAllByIdIn(anyList());
+        }
+
+        @Test
+        @DisplayName("Should stop and keep the interrupt flag when interrupted during the pause")
+        void shouldStopWhenInterrupted() {
+            ReflectionTestUtils.setField(purgeJob, "pauseMs", 1_000L);
+            when(jpaRepository.findExpiredIds(any(), any())).thenAnswer(invocation -> ids(CHUNK_SIZE));
+            when(jpaRepository.deleteAllByIdIn(anyList())).thenReturn(CHUNK_SIZE);
+
+            Thread.currentThread().interrupt();
+            int deleted = purgeJob.purge();
+
+            assertThat(Thread.interrupted()).isTrue();
+            assertThat(deleted).isEqualTo(CHUNK_SIZE);
+        }
+    }
+
+    @Nested
+    @DisplayName("Metrics")
+    class MetricsTests {
+
+        @Test
+        @DisplayName("Should record deleted rows, chunk latency and remaining backlog")
+        void shouldRecordMetrics() {
+            when(jpaRepository.findExpiredIds(any(), any())).thenReturn(ids(2));
+            when(jpaRepository.findIdsByStatusInAndNotExpired(any(), any(), any())).thenReturn(List.of());
+            when(jpaRepository.deleteAllByIdIn(anyList())).thenReturn(2);
+            when(jpaRepository.countByExpiresAtBefore(any())).thenReturn(5L);
+            when(jpaRepository.countByStatusInAndExpiresAtGreaterThanEqual(any(), any())).thenReturn(7L);
+
+            purgeJob.purge();
+
+            assertThat(meterRegistry.get("setup_token.purge.deleted").counter().count()).isEqualTo(2.0);
+            assertThat(meterRegistry.get("setup_token.purge.chunk").timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("setup_token.purge.backlog").gauge().value()).isEqualTo(12.0);
+        }
+    }
+}
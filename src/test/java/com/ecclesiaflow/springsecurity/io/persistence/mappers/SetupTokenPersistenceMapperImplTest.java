@@ -1,6 +1,7 @@
 package com.ecclesiaflow.springsecurity.io.persistence.mappers;
 
 import com.ecclesiaflow.springsecurity.business.domain.token.SetupToken;
+import com.ecclesiaflow.springsecurity.business.domain.token.TokenHash;
 import com.ecclesiaflow.springsecurity.io.persistence.jpa.SetupTokenEntity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -52,7 +53,7 @@ class SetupTokenPersistenceMapperImplTest {
 
             assertThat(result).isNotNull();
             assertThat(result.getId()).isEqualTo(entity.getId());
-            assertThat(result.getTokenHash()).isEqualTo(entity.getTokenHash());
+            assertThat(result.getTokenHash()).isEqualTo(TokenHash.fromBase64(entity.getTokenHash()));
             assertThat(result.getEmail()).isEqualTo(entity.getEmail());
             assertThat(result.getMemberId()).isEqualTo(entity.getMemberId());
             assertThat(result.getPurpose()).isEqualTo(SetupToken.TokenPurpose.PASSWORD_SETUP);
@@ -128,7 +129,7 @@ class SetupTokenPersistenceMapperImplTest {
         void shouldConvertCompleteDomainToEntity() {
             SetupToken domain = SetupToken.builder()
                     .id(UUID.randomUUID())
-                    .tokenHash("hash123")
+                    .tokenHash(TokenHash.fromBase64("hash123"))
                     .email("test@example.com")
                     .memberId(UUID.randomUUID())
                     .purpose(SetupToken.TokenPurpose.PASSWORD_SETUP)
@@ -141,7 +142,7 @@ class SetupTokenPersistenceMapperImplTest {
 
             assertThat(result).isNotNull();
             assertThat(result.getId()).isEqualTo(domain.getId());
-            assertThat(result.getTokenHash()).isEqualTo(domain.getTokenHash());
+            assertThat(result.getTokenHash()).isNull();
             assertThat(result.getEmail()).isEqualTo(domain.getEmail());
             assertThat(result.getMemberId()).isEqualTo(domain.getMemberId());
             assertThat(result.getPurpose()).isEqualTo(SetupToken.TokenPurpose.PASSWORD_SETUP);
@@ -167,7 +168,7 @@ class SetupTokenPersistenceMapperImplTest {
         void shouldHandleNullPurposeInDomain() {
             SetupToken domain = SetupToken.builder()
                     .id(UUID.randomUUID())
-                    .tokenHash("hash")
+                    .tokenHash(TokenHash.fromBase64("hash"))
                     .email("test@example.com")
                     .memberId(UUID.randomUUID())
                     .purpose(null)
@@ -186,7 +187,7 @@ class SetupTokenPersistenceMapperImplTest {
         void shouldHandleNullStatusInDomain() {
             SetupToken domain = SetupToken.builder()
                     .id(UUID.randomUUID())
-                    .tokenHash("hash")
+                    .tokenHash(TokenHash.fromBase64("hash"))
                     .email("test@example.com")
                     .memberId(UUID.randomUUID())
                     .purpose(SetupToken.TokenPurpose.PASSWORD_SETUP)
@@ -223,7 +224,6 @@ class SetupTokenPersistenceMapperImplTest {
             SetupTokenEntity result = mapper.toEntity(domain);
 
             assertThat(result.getId()).isEqualTo(original.getId());
-            assertThat(result.getTokenHash()).isEqualTo(original.getTokenHash());
             assertThat(result.getEmail()).isEqualTo(original.getEmail());
             assertThat(result.getMemberId()).isEqualTo(original.getMemberId());
             assertThat(result.getPurpose()).isEqualTo(original.getPurpose());
@@ -237,7 +237,7 @@ class SetupTokenPersistenceMapperImplTest {
         void shouldMaintainDataDuringDomainToEntityToDomain() {
             SetupToken original = SetupToken.builder()
                     .id(UUID.randomUUID())
-                    .tokenHash("hash123")
+                    .tokenHash(TokenHash.fromBase64("hash123"))
                     .email("test@example.com")
                     .memberId(UUID.randomUUID())
                     .purpose(SetupToken.TokenPurpose.PASSWORD_SETUP)
@@ -250,7 +250,6 @@ class SetupTokenPersistenceMapperImplTest {
             SetupToken result = mapper.toDomain(entity);
 
             assertThat(result.getId()).isEqualTo(original.getId());
-            assertThat(result.getTokenHash()).isEqualTo(original.getTokenHash());
             assertThat(result.getEmail()).isEqualTo(original.getEmail());
             assertThat(result.getMemberId()).isEqualTo(original.getMemberId());
             assertThat(result.getPurpose()).isEqualTo(original.getPurpose());
@@ -277,7 +276,7 @@ class SetupTokenPersistenceMapperImplTest {
     private SetupToken createDomainWithStatus(SetupToken.TokenStatus status) {
         return SetupToken.builder()
                 .id(UUID.randomUUID())
-                .tokenHash("hash")
+                .tokenHash(TokenHash.fromBase64("hash"))
                 .email("test@example.com")
                 .memberId(UUID.randomUUID())
                 .purpose(SetupToken.TokenPurpose.PASSWORD_SETUP)
@@ -1,6 +1,7 @@
 package com.ecclesiaflow.springsecurity.io.persistence.mappers;
 
 import com.ecclesiaflow.springsecurity.business.domain.token.SetupToken;
+import com.ecclesiaflow.springsecurity.business.domain.token.TokenHash;
 import com.ecclesiaflow.springsecurity.io.persistence.jpa.SetupTokenEntity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -36,7 +37,7 @@ class SetupTokenPersistenceMapperTest {
 
             assertThat(domain).isNotNull();
             assertThat(domain.getId()).isEqualTo(entity.getId());
-            assertThat(domain.getTokenHash()).isEqualTo(entity.getTokenHash());
+            assertThat(domain.getTokenHash()).isEqualTo(TokenHash.fromBase64(entity.getTokenHash()));
             assertThat(domain.getEmail()).isEqualTo(entity.getEmail());
             assertThat(domain.getMemberId()).isEqualTo(entity.getMemberId());
             assertThat(domain.getPurpose().name()).isEqualTo(entity.getPurpose().name());
@@ -67,7 +68,7 @@ class SetupTokenPersistenceMapperTest {
 
             assertThat(entity).isNotNull();
             assertThat(entity.getId()).isEqualTo(domain.getId());
-            assertThat(entity.getTokenHash()).isEqualTo(domain.getTokenHash());
+            assertThat(entity.getTokenHash()).isNull();
             assertThat(entity.getEmail()).isEqualTo(domain.getEmail());
             assertThat(entity.getMemberId()).isEqualTo(domain.getMemberId());
             assertThat(entity.getPurpose().name()).isEqualTo(domain.getPurpose().name());
@@ -146,7 +147,6 @@ class SetupTokenPersistenceMapperTest {
             SetupTokenEntity resultEntity = mapper.toEntity(domain);
 
             assertThat(resultEntity.getId()).isEqualTo(originalEntity.getId());
-            assertThat(resultEntity.getTokenHash()).isEqualTo(originalEntity.getTokenHash());
             assertThat(resultEntity.getEmail()).isEqualTo(originalEntity.getEmail());
             assertThat(resultEntity.getMemberId()).isEqualTo(originalEntity.getMemberId());
             assertThat(resultEntity.getPurpose()).isEqualTo(originalEntity.getPurpose());
@@ -162,7 +162,6 @@ class SetupTokenPersistenceMapperTest {
             SetupToken resultDomain = mapper.toDomain(entity);
 
             assertThat(resultDomain.getId()).isEqualTo(originalDomain.getId());
-            assertThat(resultDomain.getTokenHash()).isEqualTo(originalDomain.getTokenHash());
             assertThat(resultDomain.getEmail()).isEqualTo(originalDomain.getEmail());
             assertThat(resultDomain.getMemberId()).isEqualTo(originalDomain.getMemberId());
             assertThat(resultDomain.getPurpose()).isEqualTo(originalDomain.getPurpose());
@@ -227,7 +226,7 @@ class SetupTokenPersistenceMapperTest {
     private SetupToken createValidDomain() {
         return SetupToken.builder()
                 .id(UUID.randomUUID())
-                .tokenHash("hashed-token")
+                .tokenHash(TokenHash.fromBase64("hashed-token"))
                 .email("test@example.com")
                 .memberId(UUID.randomUUID())
                 .purpose(SetupToken.TokenPurpose.PASSWORD_SETUP)
@@ -9,9 +9,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -34,6 +37,8 @@ class SetupTokenJpaRepositoryIntegrationTest {
 
     private static final String EMAIL = "user@ecclesiaflow.com";
     private static final UUID MEMBER_ID = UUID.randomUUID();
+    private static final List<SetupToken.TokenStatus> REVOCABLE =
+            List.of(SetupToken.TokenStatus.ISSUED, SetupToken.TokenStatus.CONSUMED);
 
     private SetupTokenEntity createAndPersistToken(String tokenHash,
                                                     SetupToken.TokenStatus status,
@@ -49,6 +54,25 @@ class SetupTokenJpaRepositoryIntegrationTest {
         return entityManager.persistAndFlush(entity);
     }
 
+    private SetupTokenEntity createAndPersistBinaryToken(String tokenHash, byte[] tokenHashBin) {
+        SetupTokenEntity entity = SetupTokenEntity.builder()
+                .tokenHash(tokenHash)
+                .tokenHashBin(tokenHashBin)
+                .email(EMAIL)
+                .memberId(MEMBER_ID)
+                .purpose(SetupToken.TokenPurpose.PASSWORD_SETUP)
+                .status(SetupToken.TokenStatus.ISSUED)
+                .expiresAt(LocalDateTime.now().plusHours(24))
+                .build();
+        return entityManager.persistAndFlush(entity);
+    }
+
+    private static byte[] binaryHash(int seed) {
+        byte[] hash = new byte[32];
+        Arrays.fill(hash, (byte) seed);
+        return hash;
+    }
+
     @Nested
     @DisplayName("findValidToken")
     class FindValidTokenTests {
@@ -104,6 +128,89 @@ class SetupTokenJpaRepositoryIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("claimToken")
+    class ClaimTokenTests {
+
+        @Test
+        @DisplayName("Should consume an issued token exactly once, by hash")
+        void shouldClaimOnce() {
+            SetupTokenEntity token = createAndPersistToken(
+                    "claim-hash", SetupToken.TokenStatus.ISSUED, LocalDateTime.now().plusHours(1));
+
+            int first = repository.claimToken("claim-hash", SetupToken.TokenPurpose.PASSWORD_SETUP,
+                    SetupToken.TokenStatus.CONSUMED, SetupToken.TokenStatus.ISSUED, LocalDateTime.now());
+            int second = repository.claimToken("claim-hash", SetupToken.TokenPurpose.PASSWORD_SETUP,
+                    SetupToken.TokenStatus.CONSUMED, SetupToken.TokenStatus.ISSUED, LocalDateTime.now());
+            entityManager.clear();
+
+            assertThat(first).isEqualTo(1);
+            assertThat(second).isZero();
+            assertThat(repository.findByTokenHash("claim-hash")).get()
+                    .extracting(SetupTokenEntity::getId, SetupTokenEntity::getStatus)
+                    .containsExactly(token.getId(), SetupToken.TokenStatus.CONSUMED);
+        }
+
+        @Test
+        @DisplayName("Should not consume an expired token")
+        void shouldNotClaimExpiredToken() {
+            createAndPersistToken(
+                    "expired-claim-hash", SetupToken.TokenStatus.ISSUED, LocalDateTime.now().minusMinutes(1));
+
+            assertThat(repository.claimToken("expired-claim-hash", SetupToken.TokenPurpose.PASSWORD_SETUP,
+                    SetupToken.TokenStatus.CONSUMED, SetupToken.TokenStatus.ISSUED, LocalDateTime.now())).isZero();
+        }
+
+        @Test
+        @DisplayName("Should make a released token claimable again")
+        void shouldReleaseClaimedToken() {
+            SetupTokenEntity token = createAndPersistToken(
+                    "release-hash", SetupToken.TokenStatus.ISSUED, LocalDateTime.now().plusHours(1));
+            repository.claimToken("release-hash", SetupToken.TokenPurpose.PASSWORD_SETUP,
+                    SetupToken.TokenStatus.CONSUMED, SetupToken.TokenStatus.ISSUED, LocalDateTime.now());
+
+            int released = repository.releaseToken(token.getId(),
+                    SetupToken.TokenStatus.ISSUED, SetupToken.TokenStatus.CONSUMED);
+
+            assertThat(released).isEqualTo(1);
+            assertThat(repository.claimToken("release-hash", SetupToken.TokenPurpose.PASSWORD_SETUP,
+                    SetupToken.TokenStatus.CONSUMED, SetupToken.TokenStatus.ISSUED, LocalDateTime.now())).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Binary hash lookups")
+    class BinaryHashLookupTests {
+
+        @Test
+        @DisplayName("Should find a token by its binary hash when the Base64 column is null")
+        void shouldFindByBinaryHash() {
+            createAndPersistBinaryToken(null, binaryHash(1));
+
+            Optional<SetupTokenEntity> result = repository.findValidTokenByHashBin(
+                    binaryHash(1), SetupToken.TokenStatus.ISSUED, LocalDateTime.now());
+
+            assertThat(result).isPresent();
+            assertThat(result.get().getTokenHash()).isNull();
+            assertThat(repository.findValidTokenByHashBin(
+                    binaryHash(2), SetupToken.TokenStatus.ISSUED, LocalDateTime.now())).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should match legacy and binary rows during the dual phase")
+        void shouldFindByEitherHash() {
+            createAndPersistToken("legacy-hash", SetupToken.TokenStatus.ISSUED, LocalDateTime.now().plusHours(24));
+            createAndPersistBinaryToken(null, binaryHash(3));
+
+            assertThat(repository.findValidTokenByEitherHash(
+                    binaryHash(4), "legacy-hash", SetupToken.TokenStatus.ISSUED, LocalDateTime.now())).isPresent();
+            assertThat(repository.findValidTokenByEitherHash(
+                    binaryHash(3), "unknown-hash", SetupToken.TokenStatus.ISSUED, LocalDateTime.now())).isPresent();
+            assertThat(repository.findValidTokenByEitherHash(
+                    binaryHash(5), "unknown-hash", SetupToken.TokenStatus.ISSUED, LocalDateTime.now())).isEmpty();
+        }
+    }
+
     @Nested
     @DisplayName("revokeTokensForMember")
     class RevokeTokensForMemberTests {
@@ -116,7 +223,7 @@ class SetupTokenJpaRepositoryIntegrationTest {
             createAndPersistToken("hash-b", SetupToken.TokenStatus.ISSUED, future);
 
             int revoked = repository.revokeTokensForMember(
-                    MEMBER_ID, SetupToken.TokenStatus.REVOKED, SetupToken.TokenStatus.ISSUED);
+                    MEMBER_ID, SetupToken.TokenStatus.REVOKED, REVOCABLE);
 
             assertThat(revoked).isEqualTo(2);
         }
@@ -129,11 +236,24 @@ class SetupTokenJpaRepositoryIntegrationTest {
             createAndPersistToken("hash-c", SetupToken.TokenStatus.ISSUED, future);
 
             int revoked = repository.revokeTokensForMember(
-                    otherMember, SetupToken.TokenStatus.REVOKED, SetupToken.TokenStatus.ISSUED);
+                    otherMember, SetupToken.TokenStatus.REVOKED, REVOCABLE);
 
             assertThat(revoked).isZero();
         }
 
+        @Test
+        @DisplayName("Should revoke consumed tokens so they cannot be released")
+        void shouldRevokeConsumedTokens() {
+            LocalDateTime future = LocalDateTime.now().plusHours(24);
+            SetupTokenEntity consumed = createAndPersistToken("hash-c", SetupToken.TokenStatus.CONSUMED, future);
+
+            repository.revokeTokensForMember(MEMBER_ID, SetupToken.TokenStatus.REVOKED, REVOCABLE);
+            int released = repository.releaseToken(
+                    consumed.getId(), SetupToken.TokenStatus.ISSUED, SetupToken.TokenStatus.CONSUMED);
+
+            assertThat(released).isZero();
+        }
+
         @Test
         @DisplayName("Should not revoke already revoked tokens")
         void shouldNotRevokeAlreadyRevokedTokens() {
@@ -141,12 +261,88 @@ class SetupTokenJpaRepositoryIntegrationTest {
             createAndPersistToken("hash-d", SetupToken.TokenStatus.REVOKED, future);
 
             int revoked = repository.revokeTokensForMember(
-                    MEMBER_ID, SetupToken.TokenStatus.REVOKED, SetupToken.TokenStatus.ISSUED);
+                    MEMBER_ID, SetupToken.TokenStatus.REVOKED, REVOCABLE);
 
             assertThat(revoked).isZero();
         }
     }
 
+    @Nested
+    @DisplayName("revokeTokensForMembers")
+    class RevokeTokensForMembersTests {
+
+        @Test
+        @DisplayName("Should revoke issued tokens of every listed member in one update")
+        void shouldRevokeIssuedTokensOfListedMembers() {
+            UUID otherMember = UUID.randomUUID();
+            UUID untouchedMember = UUID.randomUUID();
+            LocalDateTime future = LocalDateTime.now().plusHours(24);
+            createAndPersistToken("hash-m1", SetupToken.TokenStatus.ISSUED, future);
+            SetupTokenEntity other = createAndPersistToken("hash-m2", SetupToken.TokenStatus.ISSUED, future);
+            other.setMemberId(otherMember);
+            SetupTokenEntity untouched = createAndPersistToken("hash-m3", SetupToken.TokenStatus.ISSUED, future);
+            untouched.setMemberId(untouchedMember);
+            createAndPersistToken("hash-m4", SetupToken.TokenStatus.REVOKED, future);
+            entityManager.flush();
+
+            int revoked = repository.revokeTokensForMembers(
+                    List.of(MEMBER_ID, otherMember), SetupToken.TokenStatus.REVOKED, REVOCABLE);
+            entityManager.clear();
+
+            assertThat(revoked).isEqualTo(2);
+            assertThat(repository.findValidToken("hash-m3", SetupToken.TokenStatus.ISSUED, LocalDateTime.now()))
+                    .isPresent();
+        }
+    }
+
+    @Nested
+    @DisplayName("Purge queries")
+    class PurgeQueryTests {
+
+        @Test
+        @DisplayName("Should select expired token ids up to the limit")
+        void shouldSelectExpiredIdsUpToLimit() {
+            LocalDateTime past = LocalDateTime.now().minusHours(1);
+            createAndPersistToken("purge-1", SetupToken.TokenStatus.ISSUED, past);
+            createAndPersistToken("purge-2", SetupToken.TokenStatus.REVOKED, past);
+            createAndPersistToken("purge-3", SetupToken.TokenStatus.ISSUED, past);
+            createAndPersistToken("keep-1", SetupToken.TokenStatus.ISSUED, LocalDateTime.now().plusHours(1));
+
+            assertThat(repository.findExpiredIds(LocalDateTime.now(), Limit.of(2))).hasSize(2);
+            assertThat(repository.countByExpiresAtBefore(LocalDateTime.now())).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should select revoked tokens that are not yet expired")
+        void shouldSelectRevokedNotExpiredIds() {
+            LocalDateTime future = LocalDateTime.now().plusHours(1);
+            SetupTokenEntity revoked = createAndPersistToken("revoked-1", SetupToken.TokenStatus.REVOKED, future);
+            createAndPersistToken("issued-1", SetupToken.TokenStatus.ISSUED, future);
+            createAndPersistToken("revoked-expired", SetupToken.TokenStatus.REVOKED, LocalDateTime.now().minusHours(1));
+
+            List<UUID> ids = repository.findIdsByStatusInAndNotExpired(
+                    List.of(SetupToken.TokenStatus.REVOKED), LocalDateTime.now(), Limit.of(10));
+
+            assertThat(ids).containsExactly(revoked.getId());
+            assertThat(repository.countByStatusInAndExpiresAtGreaterThanEqual(
+                    List.of(SetupToken.TokenStatus.REVOKED), LocalDateTime.now())).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should delete tokens by id")
+        void shouldDeleteById() {
+            LocalDateTime future = LocalDateTime.now().plusHours(1);
+            SetupTokenEntity first = createAndPersistToken("delete-1", SetupToken.TokenStatus.REVOKED, future);
+            createAndPersistToken("delete-2", SetupToken.TokenStatus.ISSUED, future);
+
+            int deleted = repository.deleteAllByIdIn(List.of(first.getId()));
+            entityManager.clear();
+
+            assertThat(deleted).isEqualTo(1);
+            assertThat(repository.count()).isEqualTo(1);
+        }
+    }
+
     @Nested
     @DisplayName("existsByMemberIdAndStatusAndExpiresAtAfter")
     class ExistsValidTokenTests {
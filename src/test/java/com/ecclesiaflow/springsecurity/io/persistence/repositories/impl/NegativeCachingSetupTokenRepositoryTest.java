@@ -0,0 +1,243 @@
+package com.ecclesiaflow.springsecurity.io.persistence.repositories.impl;
+
+import com.ecclesiaflow.springsecurity.business.domain.token.SetupToken;
+import com.ecclesiaflow.springsecurity.business.domain.token.TokenHash;
+import com.ecclesiaflow.springsecurity.business.domain.token.TokenHasher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NegativeCachingSetupTokenRepository - Unit tests")
+class NegativeCachingSetupTokenRepositoryTest {
+
+    private static final TokenHasher TOKEN_HASHER = new TokenHasher();
+    private static final TokenHash TOKEN_HASH = TOKEN_HASHER.hash("token-value");
+
+    @Mock
+    private SetupTokenRepositoryImpl delegate;
+
+    private MeterRegistry meterRegistry;
+    private NegativeCachingSetupTokenRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        repository = new NegativeCachingSetupTokenRepository(delegate, meterRegistry, 100, Duration.ofMinutes(10));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tags("cache", NegativeCachingSetupTokenRepository.CACHE_NAME, "result", result)
+                .functionCounter().count();
+    }
+
+    private static SetupToken token(TokenHash tokenHash) {
+        return SetupToken.builder()
+                .id(UUID.randomUUID())
+                .tokenHash(tokenHash)
+                .email("member@example.com")
+                .memberId(UUID.randomUUID())
+                .purpose(SetupToken.TokenPurpose.PASSWORD_SETUP)
+                .status(SetupToken.TokenStatus.ISSUED)
+                .expiresAt(LocalDateTime.now().plusHours(24))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Nested
+    @DisplayName("findValidToken")
+    class FindValidTokenTests {
+
+        @Test
+        @DisplayName("Should answer a rejected hash from memory on the next lookup")
+        void shouldCacheRejectedHash() {
+            when(delegate.findValidToken(eq(TOKEN_HASH), any())).thenReturn(Optional.empty());
+
+            assertThat(repository.findValidToken(TOKEN_HASH, LocalDateTime.now())).isEmpty();
+            assertThat(repository.findValidToken(TOKEN_HASH, LocalDateTime.now())).isEmpty();
+
+            verify(delegate, times(1)).findValidToken(eq(TOKEN_HASH), any());
+            assertThat(cacheGets("miss")).isEqualTo(1);
+            assertThat(cacheGets("hit")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should not cache a hash that resolved to a valid token")
+        void shouldNotCacheValidToken() {
+            SetupToken token = token(TOKEN_HASH);
+            when(delegate.findValidToken(eq(TOKEN_HASH), any())).thenReturn(Optional.of(token));
+
+            assertThat(repository.findValidToken(TOKEN_HASH, LocalDateTime.now())).contains(token);
+            assertThat(repository.findValidToken(TOKEN_HASH, LocalDateTime.now())).contains(token);
+
+            verify(delegate, times(2)).findValidToken(eq(TOKEN_HASH), any());
+        }
+
+        @Test
+        @DisplayName("Should query the database again once the entry has expired")
+        void shouldExpireEntries() {
+            repository = new NegativeCachingSetupTokenRepository(
+                    delegate, new SimpleMeterRegistry(), 100, Duration.ZERO);
+            when(delegate.findValidToken(eq(TOKEN_HASH), any())).thenReturn(Optional.empty());
+
+            repository.findValidToken(TOKEN_HASH, LocalDateTime.now());
+            repository.findValidToken(TOKEN_HASH, LocalDateTime.now());
+
+            verify(delegate, times(2)).findValidToken(eq(TOKEN_HASH), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidation on issue")
+    class InvalidationTests {
+
+        @Test
+        @DisplayName("Should forget a rejected hash when a token with that hash is saved")
+        void shouldInvalidateOnSave() {
+            SetupToken token = token(TOKEN_HASH);
+            when(delegate.findValidToken(eq(TOKEN_HASH), any()))
+                    .thenReturn(Optional.empty())
+                    .thenReturn(Optional.of(token));
+            when(delegate.save(token)).thenReturn(token);
+            repository.findValidToken(TOKEN_HASH, LocalDateTime.now());
+
+            assertThat(repository.save(token)).isSameAs(token);
+
+            assertThat(repository.findValidToken(TOKEN_HASH, LocalDateTime.now())).contains(token);
+        }
+
+        @Test
+        @DisplayName("Should forget rejected hashes issued through saveAll")
+        void shouldInvalidateOnSaveAll() {
+            SetupToken token = token(TOKEN_HASH);
+            List<SetupToken> tokens = List.of(token, token(TOKEN_HASHER.hash("other-token")));
+            when(delegate.findValidToken(eq(TOKEN_HASH), any()))
+                    .thenReturn(Optional.empty())
+                    .thenReturn(Optional.of(token));
+            when(delegate.saveAll(tokens)).thenReturn(tokens);
+            repository.findValidToken(TOKEN_HASH, LocalDateTime.now());
+
+            assertThat(repository.saveAll(tokens)).isSameAs(tokens);
+
+            assertThat(repository.findValidToken(TOKEN_HASH, LocalDateTime.now())).contains(token);
+        }
+    }
+
+    @Nested
+    @DisplayName("claim")
+    class ClaimTests {
+
+        private static final SetupToken.TokenPurpose PURPOSE = SetupToken.TokenPurpose.PASSWORD_SETUP;
+
+        @Test
+        @DisplayName("Should cache the hash of a consumed token")
+        void shouldCacheConsumedHash() {
+            when(delegate.claim(eq(TOKEN_HASH), eq(PURPOSE), any())).thenReturn(true);
+
+            assertThat(repository.claim(TOKEN_HASH, PURPOSE, LocalDateTime.now())).isTrue();
+
+            assertThat(repository.findValidToken(TOKEN_HASH, LocalDateTime.now())).isEmpty();
+            verify(delegate, never()).findValidToken(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should cache a consumed hash only once the transaction commits")
+        void shouldCacheConsumedHashAfterCommit() {
+            SetupToken token = token(TOKEN_HASH);
+            when(delegate.claim(eq(TOKEN_HASH), eq(PURPOSE), any())).thenReturn(true);
+            when(delegate.findValidToken(eq(TOKEN_HASH), any())).thenReturn(Optional.of(token));
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                repository.claim(TOKEN_HASH, PURPOSE, LocalDateTime.now());
+                assertThat(repository.findValidToken(TOKEN_HASH, LocalDateTime.now())).contains(token);
+
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            assertThat(repository.findValidToken(TOKEN_HASH, LocalDateTime.now())).isEmpty();
+            verify(delegate, times(1)).findValidToken(eq(TOKEN_HASH), any());
+        }
+
+        @Test
+        @DisplayName("Should not cache anything when the claim is lost")
+        void shouldNotCacheLostClaim() {
+            SetupToken token = token(TOKEN_HASH);
+            when(delegate.claim(eq(TOKEN_HASH), eq(PURPOSE), any())).thenReturn(false);
+            when(delegate.findValidToken(eq(TOKEN_HASH), any())).thenReturn(Optional.of(token));
+
+            assertThat(repository.claim(TOKEN_HASH, PURPOSE, LocalDateTime.now())).isFalse();
+
+            assertThat(repository.findValidToken(TOKEN_HASH, LocalDateTime.now())).contains(token);
+        }
+
+        @Test
+        @DisplayName("Should not issue an update for a rejected hash")
+        void shouldNotClaimRejectedHash() {
+            when(delegate.findValidToken(eq(TOKEN_HASH), any())).thenReturn(Optional.empty());
+            repository.findValidToken(TOKEN_HASH, LocalDateTime.now());
+
+            assertThat(repository.claim(TOKEN_HASH, PURPOSE, LocalDateTime.now())).isFalse();
+
+            verify(delegate, never()).claim(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should stop rejecting the hash of a released token")
+        void shouldForgetReleasedHash() {
+            SetupToken token = token(TOKEN_HASH);
+            when(delegate.claim(eq(TOKEN_HASH), eq(PURPOSE), any())).thenReturn(true);
+            repository.claim(TOKEN_HASH, PURPOSE, LocalDateTime.now());
+
+            repository.release(token);
+
+            verify(delegate).release(token);
+            assertThat(repository.claim(TOKEN_HASH, PURPOSE, LocalDateTime.now())).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Delegation")
+    class DelegationTests {
+
+        @Test
+        @DisplayName("Should delegate writes and member queries unchanged")
+        void shouldDelegate() {
+            UUID memberId = UUID.randomUUID();
+            SetupToken token = token(TOKEN_HASH);
+            LocalDateTime now = LocalDateTime.now();
+            when(delegate.revokeTokensForMember(memberId)).thenReturn(1);
+            when(delegate.revokeTokensForMembers(Set.of(memberId))).thenReturn(2);
+            when(delegate.existsValidTokenForMember(memberId, now)).thenReturn(true);
+
+            repository.delete(token);
+
+            verify(delegate).delete(token);
+            assertThat(repository.revokeTokensForMember(memberId)).isEqualTo(1);
+            assertThat(repository.revokeTokensForMembers(Set.of(memberId))).isEqualTo(2);
+            assertThat(repository.existsValidTokenForMember(memberId, now)).isTrue();
+        }
+    }
+}
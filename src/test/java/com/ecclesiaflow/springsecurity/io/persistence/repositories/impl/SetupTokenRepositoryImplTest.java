@@ -1,20 +1,29 @@
 package com.ecclesiaflow.springsecurity.io.persistence.repositories.impl;
 
 import com.ecclesiaflow.springsecurity.business.domain.token.SetupToken;
+import com.ecclesiaflow.springsecurity.business.domain.token.TokenHash;
 import com.ecclesiaflow.springsecurity.io.persistence.jpa.SetupTokenEntity;
 import com.ecclesiaflow.springsecurity.io.persistence.mappers.SetupTokenPersistenceMapper;
 import com.ecclesiaflow.springsecurity.io.persistence.repositories.SetupTokenJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -35,10 +44,16 @@ class SetupTokenRepositoryImplTest {
     private SetupTokenRepositoryImpl setupTokenRepository;
 
     private static final String TOKEN_HASH = "hashed-token";
+    private static final TokenHash HASH = TokenHash.fromBase64(TOKEN_HASH);
     private static final String EMAIL = "user@test.com";
     private static final UUID MEMBER_ID = UUID.randomUUID();
     private static final UUID TOKEN_ID = UUID.randomUUID();
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(setupTokenRepository, "storageMode", TokenHashStorageMode.BASE64);
+    }
+
     @Nested
     @DisplayName("findValidToken - Success scenarios")
     class FindValidTokenSuccessTests {
@@ -53,7 +68,7 @@ class SetupTokenRepositoryImplTest {
             when(jpaRepository.findValidToken(TOKEN_HASH, SetupToken.TokenStatus.ISSUED, now)).thenReturn(Optional.of(entity));
             when(mapper.toDomainOrThrow(entity)).thenReturn(domain);
 
-            Optional<SetupToken> result = setupTokenRepository.findValidToken(TOKEN_HASH, now);
+            Optional<SetupToken> result = setupTokenRepository.findValidToken(HASH, now);
 
             assertThat(result).isPresent();
             assertThat(result.get()).isEqualTo(domain);
@@ -68,7 +83,7 @@ class SetupTokenRepositoryImplTest {
 
             when(jpaRepository.findValidToken(TOKEN_HASH, SetupToken.TokenStatus.ISSUED, now)).thenReturn(Optional.empty());
 
-            Optional<SetupToken> result = setupTokenRepository.findValidToken(TOKEN_HASH, now);
+            Optional<SetupToken> result = setupTokenRepository.findValidToken(HASH, now);
 
             assertThat(result).isEmpty();
             verify(jpaRepository).findValidToken(TOKEN_HASH, SetupToken.TokenStatus.ISSUED, now);
@@ -82,7 +97,7 @@ class SetupTokenRepositoryImplTest {
 
             when(jpaRepository.findValidToken(TOKEN_HASH, SetupToken.TokenStatus.ISSUED, now)).thenReturn(Optional.empty());
 
-            setupTokenRepository.findValidToken(TOKEN_HASH, now);
+            setupTokenRepository.findValidToken(HASH, now);
 
             verify(jpaRepository).findValidToken(eq(TOKEN_HASH), eq(SetupToken.TokenStatus.ISSUED), eq(now));
         }
@@ -199,18 +214,18 @@ class SetupTokenRepositoryImplTest {
         void shouldRevokeTokensForMemberSuccessfully() {
             int revokedCount = 3;
 
-            when(jpaRepository.revokeTokensForMember(MEMBER_ID, SetupToken.TokenStatus.REVOKED, SetupToken.TokenStatus.ISSUED)).thenReturn(revokedCount);
+            when(jpaRepository.revokeTokensForMember(MEMBER_ID, SetupToken.TokenStatus.REVOKED, SetupTokenRepositoryImpl.REVOCABLE_STATUSES)).thenReturn(revokedCount);
 
             int result = setupTokenRepository.revokeTokensForMember(MEMBER_ID);
 
             assertThat(result).isEqualTo(revokedCount);
-            verify(jpaRepository).revokeTokensForMember(MEMBER_ID, SetupToken.TokenStatus.REVOKED, SetupToken.TokenStatus.ISSUED);
+            verify(jpaRepository).revokeTokensForMember(MEMBER_ID, SetupToken.TokenStatus.REVOKED, SetupTokenRepositoryImpl.REVOCABLE_STATUSES);
         }
 
         @Test
         @DisplayName("Should return zero when no tokens revoked")
         void shouldReturnZeroWhenNoTokensRevoked() {
-            when(jpaRepository.revokeTokensForMember(MEMBER_ID, SetupToken.TokenStatus.REVOKED, SetupToken.TokenStatus.ISSUED)).thenReturn(0);
+            when(jpaRepository.revokeTokensForMember(MEMBER_ID, SetupToken.TokenStatus.REVOKED, SetupTokenRepositoryImpl.REVOCABLE_STATUSES)).thenReturn(0);
 
             int result = setupTokenRepository.revokeTokensForMember(MEMBER_ID);
 
@@ -220,11 +235,75 @@ class SetupTokenRepositoryImplTest {
         @Test
         @DisplayName("Should pass correct member ID to JPA repository")
         void shouldPassCorrectMemberIdToJpaRepository() {
-            when(jpaRepository.revokeTokensForMember(MEMBER_ID, SetupToken.TokenStatus.REVOKED, SetupToken.TokenStatus.ISSUED)).thenReturn(1);
+            when(jpaRepository.revokeTokensForMember(MEMBER_ID, SetupToken.TokenStatus.REVOKED, SetupTokenRepositoryImpl.REVOCABLE_STATUSES)).thenReturn(1);
 
             setupTokenRepository.revokeTokensForMember(MEMBER_ID);
 
-            verify(jpaRepository).revokeTokensForMember(eq(MEMBER_ID), eq(SetupToken.TokenStatus.REVOKED), eq(SetupToken.TokenStatus.ISSUED));
+            verify(jpaRepository).revokeTokensForMember(eq(MEMBER_ID), eq(SetupToken.TokenStatus.REVOKED), eq(SetupTokenRepositoryImpl.REVOCABLE_STATUSES));
+        }
+    }
+
+    @Nested
+    @DisplayName("revokeTokensForMembers - Set-based revocation")
+    class RevokeTokensForMembersTests {
+
+        @Test
+        @DisplayName("Should revoke all members in a single update when below chunk size")
+        void shouldRevokeInSingleUpdate() {
+            List<UUID> memberIds = List.of(MEMBER_ID, UUID.randomUUID());
+            when(jpaRepository.revokeTokensForMembers(memberIds, SetupToken.TokenStatus.REVOKED, SetupTokenRepositoryImpl.REVOCABLE_STATUSES)).thenReturn(2);
+
+            int result = setupTokenRepository.revokeTokensForMembers(memberIds);
+
+            assertThat(result).isEqualTo(2);
+            verify(jpaRepository, times(1)).revokeTokensForMembers(any(), any(), any());
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        @DisplayName("Should split large member lists into chunks and sum revoked rows")
+        void shouldChunkLargeMemberLists() {
+            int total = SetupTokenRepositoryImpl.IN_CLAUSE_CHUNK_SIZE * 2 + 1;
+            List<UUID> memberIds = IntStream.range(0, total).mapToObj(i -> UUID.randomUUID()).toList();
+            when(jpaRepository.revokeTokensForMembers(any(), eq(SetupToken.TokenStatus.REVOKED), eq(SetupTokenRepositoryImpl.REVOCABLE_STATUSES))).thenReturn(1);
+
+            int result = setupTokenRepository.revokeTokensForMembers(memberIds);
+
+            assertThat(result).isEqualTo(3);
+            ArgumentCaptor<Collection<UUID>> captor = ArgumentCaptor.forClass(Collection.class);
+            verify(jpaRepository, times(3)).revokeTokensForMembers(captor.capture(), any(), any());
+            assertThat(captor.getAllValues()).extracting(Collection::size)
+                    .containsExactly(SetupTokenRepositoryImpl.IN_CLAUSE_CHUNK_SIZE, SetupTokenRepositoryImpl.IN_CLAUSE_CHUNK_SIZE, 1);
+        }
+
+        @Test
+        @DisplayName("Should not query for empty member list")
+        void shouldNotQueryForEmptyList() {
+            int result = setupTokenRepository.revokeTokensForMembers(List.of());
+
+            assertThat(result).isZero();
+            verifyNoInteractions(jpaRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("saveAll - Batch insert")
+    class SaveAllTests {
+
+        @Test
+        @DisplayName("Should map all tokens and save them in one call")
+        void shouldSaveAllTokensInOneCall() {
+            SetupToken domain = createDomain();
+            SetupTokenEntity entity = createEntity();
+            when(mapper.toEntity(domain)).thenReturn(entity);
+            when(jpaRepository.saveAll(List.of(entity, entity))).thenReturn(List.of(entity, entity));
+            when(mapper.toDomainOrThrow(entity)).thenReturn(domain);
+
+            List<SetupToken> result = setupTokenRepository.saveAll(List.of(domain, domain));
+
+            assertThat(result).containsExactly(domain, domain);
+            verify(jpaRepository, times(1)).saveAll(any());
+            verify(jpaRepository, never()).save(any());
         }
     }
 
@@ -307,12 +386,165 @@ class SetupTokenRepositoryImplTest {
 
             when(jpaRepository.findValidToken(TOKEN_HASH, SetupToken.TokenStatus.ISSUED, now)).thenReturn(Optional.empty());
 
-            setupTokenRepository.findValidToken(TOKEN_HASH, now);
+            setupTokenRepository.findValidToken(HASH, now);
 
             verify(mapper, never()).toDomainOrThrow(any());
         }
     }
 
+    @Nested
+    @DisplayName("claim - Conditional update")
+    class ClaimTests {
+
+        private static final SetupToken.TokenPurpose PURPOSE = SetupToken.TokenPurpose.PASSWORD_SETUP;
+
+        @Test
+        @DisplayName("Should report success when the issued token was updated")
+        void shouldClaimIssuedToken() {
+            LocalDateTime now = LocalDateTime.now();
+            when(jpaRepository.claimToken(TOKEN_HASH, PURPOSE,
+                    SetupToken.TokenStatus.CONSUMED, SetupToken.TokenStatus.ISSUED, now)).thenReturn(1);
+
+            assertThat(setupTokenRepository.claim(HASH, PURPOSE, now)).isTrue();
+            verify(jpaRepository, never()).findValidToken(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should report failure when no row matched")
+        void shouldNotClaimAlreadyConsumedToken() {
+            LocalDateTime now = LocalDateTime.now();
+            when(jpaRepository.claimToken(TOKEN_HASH, PURPOSE,
+                    SetupToken.TokenStatus.CONSUMED, SetupToken.TokenStatus.ISSUED, now)).thenReturn(0);
+
+            assertThat(setupTokenRepository.claim(HASH, PURPOSE, now)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should load a claimed token by hash")
+        void shouldFindClaimedToken() {
+            SetupTokenEntity entity = createEntity();
+            SetupToken domain = createDomain();
+            when(jpaRepository.findByTokenHash(TOKEN_HASH)).thenReturn(Optional.of(entity));
+            when(mapper.toDomainOrThrow(entity)).thenReturn(domain);
+
+            assertThat(setupTokenRepository.findByTokenHash(HASH)).contains(domain);
+        }
+
+        @Test
+        @DisplayName("Should move a consumed token back to issued")
+        void shouldReleaseToken() {
+            setupTokenRepository.release(createDomain());
+
+            verify(jpaRepository).releaseToken(TOKEN_ID, SetupToken.TokenStatus.ISSUED, SetupToken.TokenStatus.CONSUMED);
+        }
+    }
+
+    @Nested
+    @DisplayName("Hash storage modes")
+    class HashStorageModeTests {
+
+        private final byte[] hashBin = new byte[32];
+        private final String base64Hash;
+        private final TokenHash tokenHash;
+
+        HashStorageModeTests() {
+            Arrays.fill(hashBin, (byte) 0x5a);
+            base64Hash = Base64.getEncoder().encodeToString(hashBin);
+            tokenHash = TokenHash.of(hashBin);
+        }
+
+        private SetupToken domainWithHash() {
+            return createDomain().toBuilder().tokenHash(tokenHash).build();
+        }
+
+        @Test
+        @DisplayName("DUAL - Should write both columns")
+        void dualShouldWriteBothColumns() {
+            ReflectionTestUtils.setField(setupTokenRepository, "storageMode", TokenHashStorageMode.DUAL);
+            SetupToken domain = domainWithHash();
+            SetupTokenEntity entity = createEntity();
+            entity.setTokenHash(base64Hash);
+            when(mapper.toEntity(domain)).thenReturn(entity);
+            when(jpaRepository.save(entity)).thenReturn(entity);
+            when(mapper.toDomainOrThrow(entity)).thenReturn(domain);
+
+            setupTokenRepository.save(domain);
+
+            assertThat(entity.getTokenHash()).isEqualTo(base64Hash);
+            assertThat(entity.getTokenHashBin()).isEqualTo(hashBin);
+        }
+
+        @Test
+        @DisplayName("DUAL - Should look up a row matching either column")
+        void dualShouldLookUpEitherColumn() {
+            ReflectionTestUtils.setField(setupTokenRepository, "storageMode", TokenHashStorageMode.DUAL);
+            LocalDateTime now = LocalDateTime.now();
+            when(jpaRepository.findValidTokenByEitherHash(hashBin, base64Hash, SetupToken.TokenStatus.ISSUED, now))
+                    .thenReturn(Optional.empty());
+
+            assertThat(setupTokenRepository.findValidToken(tokenHash, now)).isEmpty();
+
+            verify(jpaRepository, never()).findValidToken(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("DUAL - Should claim a row matching either column")
+        void dualShouldClaimEitherColumn() {
+            ReflectionTestUtils.setField(setupTokenRepository, "storageMode", TokenHashStorageMode.DUAL);
+            LocalDateTime now = LocalDateTime.now();
+            when(jpaRepository.claimTokenByEitherHash(hashBin, base64Hash, SetupToken.TokenPurpose.PASSWORD_SETUP,
+                    SetupToken.TokenStatus.CONSUMED, SetupToken.TokenStatus.ISSUED, now)).thenReturn(1);
+
+            assertThat(setupTokenRepository.claim(tokenHash, SetupToken.TokenPurpose.PASSWORD_SETUP, now)).isTrue();
+        }
+
+        @Test
+        @DisplayName("BINARY - Should claim by the binary column")
+        void binaryShouldClaimBinaryColumn() {
+            ReflectionTestUtils.setField(setupTokenRepository, "storageMode", TokenHashStorageMode.BINARY);
+            LocalDateTime now = LocalDateTime.now();
+            when(jpaRepository.claimTokenByHashBin(hashBin, SetupToken.TokenPurpose.PASSWORD_SETUP,
+                    SetupToken.TokenStatus.CONSUMED, SetupToken.TokenStatus.ISSUED, now)).thenReturn(1);
+
+            assertThat(setupTokenRepository.claim(tokenHash, SetupToken.TokenPurpose.PASSWORD_SETUP, now)).isTrue();
+        }
+
+        @Test
+        @DisplayName("BINARY - Should write only the binary column")
+        void binaryShouldWriteOnlyBinaryColumn() {
+            ReflectionTestUtils.setField(setupTokenRepository, "storageMode", TokenHashStorageMode.BINARY);
+            SetupToken domain = domainWithHash();
+            SetupTokenEntity entity = createEntity();
+            entity.setTokenHash(base64Hash);
+            when(mapper.toEntity(domain)).thenReturn(entity);
+            when(jpaRepository.save(entity)).thenReturn(entity);
+            when(mapper.toDomainOrThrow(entity)).thenAnswer(invocation -> createDomain().toBuilder().tokenHash(null).build());
+
+            SetupToken result = setupTokenRepository.save(domain);
+
+            assertThat(entity.getTokenHash()).isNull();
+            assertThat(entity.getTokenHashBin()).isEqualTo(hashBin);
+            assertThat(result.getTokenHash()).isSameAs(tokenHash);
+        }
+
+        @Test
+        @DisplayName("BINARY - Should look up by the binary column and restore the hash")
+        void binaryShouldLookUpBinaryColumn() {
+            ReflectionTestUtils.setField(setupTokenRepository, "storageMode", TokenHashStorageMode.BINARY);
+            LocalDateTime now = LocalDateTime.now();
+            SetupTokenEntity entity = createEntity();
+            entity.setTokenHash(null);
+            entity.setTokenHashBin(hashBin);
+            when(jpaRepository.findValidTokenByHashBin(hashBin, SetupToken.TokenStatus.ISSUED, now))
+                    .thenReturn(Optional.of(entity));
+            when(mapper.toDomainOrThrow(entity)).thenReturn(createDomain().toBuilder().tokenHash(null).build());
+
+            Optional<SetupToken> result = setupTokenRepository.findValidToken(tokenHash, now);
+
+            assertThat(result).get().extracting(SetupToken::getTokenHash).isSameAs(tokenHash);
+        }
+    }
+
     @Nested
     @DisplayName("Edge cases")
     class EdgeCasesTests {
@@ -323,8 +555,8 @@ class SetupTokenRepositoryImplTest {
             UUID memberId1 = UUID.randomUUID();
             UUID memberId2 = UUID.randomUUID();
 
-            when(jpaRepository.revokeTokensForMember(memberId1, SetupToken.TokenStatus.REVOKED, SetupToken.TokenStatus.ISSUED)).thenReturn(1);
-            when(jpaRepository.revokeTokensForMember(memberId2, SetupToken.TokenStatus.REVOKED, SetupToken.TokenStatus.ISSUED)).thenReturn(2);
+            when(jpaRepository.revokeTokensForMember(memberId1, SetupToken.TokenStatus.REVOKED, SetupTokenRepositoryImpl.REVOCABLE_STATUSES)).thenReturn(1);
+            when(jpaRepository.revokeTokensForMember(memberId2, SetupToken.TokenStatus.REVOKED, SetupTokenRepositoryImpl.REVOCABLE_STATUSES)).thenReturn(2);
 
             int result1 = setupTokenRepository.revokeTokensForMember(memberId1);
             int result2 = setupTokenRepository.revokeTokensForMember(memberId2);
@@ -354,7 +586,7 @@ class SetupTokenRepositoryImplTest {
     private SetupToken createDomain() {
         return SetupToken.builder()
                 .id(TOKEN_ID)
-                .tokenHash(TOKEN_HASH)
+                .tokenHash(HASH)
                 .email(EMAIL)
                 .memberId(MEMBER_ID)
                 .purpose(SetupToken.TokenPurpose.PASSWORD_SETUP)
@@ -42,7 +42,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         "spring.datasource.url=jdbc:h2:mem:controller-test",
         "spring.jpa.hibernate.ddl-auto=create-drop",
         "spring.security.oauth2.resourceserver.jwt.issuer-uri=http://localhost:8180/realms/test",
-        "auth.token.setup.ttl-hours=24"
+        "auth.token.setup.ttl-hours=24",
+        // Tokens are inserted straight through JPA with a fixed raw value, bypassing the negative cache
+        "auth.token.negative-cache.enabled=false"
 })
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
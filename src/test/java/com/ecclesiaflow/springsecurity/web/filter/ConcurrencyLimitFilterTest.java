@@ -0,0 +1,65 @@
+package com.ecclesiaflow.springsecurity.web.filter;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ConcurrencyLimitFilter - Unit tests")
+class ConcurrencyLimitFilterTest {
+
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(10));
+
+    @Test
+    @DisplayName("Should pass the request through and release its slot afterwards")
+    void shouldPassRequestThrough() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest(), response, chain);
+
+        verify(chain).doFilter(any(), any());
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(filter.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should answer 503 with Retry-After when no slot frees up in time")
+    void shouldRejectWhenSaturated() throws Exception {
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        FilterChain innerChain = mock(FilterChain.class);
+        FilterChain outerChain = (request, response) -> {
+            // Second request arrives while the first one still holds the only slot
+            MockHttpServletResponse second = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest(), second, innerChain);
+            nested.set(second);
+        };
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), outerChain);
+
+        assertThat(nested.get().getStatus()).isEqualTo(503);
+        assertThat(nested.get().getHeader("Retry-After")).isEqualTo("1");
+        verifyNoInteractions(innerChain);
+        assertThat(filter.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should release the slot when the chain throws")
+    void shouldReleaseSlotOnFailure() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+        doThrow(new IllegalStateException("boom")).when(chain).doFilter(any(), any());
+
+        assertThatThrownBy(() -> filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(filter.availablePermits()).isEqualTo(1);
+    }
+}
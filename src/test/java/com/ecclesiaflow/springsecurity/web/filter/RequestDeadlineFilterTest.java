@@ -0,0 +1,95 @@
+package com.ecclesiaflow.springsecurity.web.filter;
+
+import io.grpc.Context;
+import io.grpc.Deadline;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RequestDeadlineFilter - Unit tests")
+class RequestDeadlineFilterTest {
+
+    private final RequestDeadlineFilter filter = new RequestDeadlineFilter(Duration.ofSeconds(2));
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void tearDown() {
+        filter.destroy();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should run the request in a context whose deadline is the budget")
+    void shouldAttachDeadline() throws Exception {
+        AtomicReference<Context> requestContext = new AtomicReference<>();
+        FilterChain chain = (request, response) -> requestContext.set(Context.current());
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain);
+
+        Deadline deadline = requestContext.get().getDeadline();
+        assertThat(deadline).isNotNull();
+        assertThat(deadline.timeRemaining(TimeUnit.MILLISECONDS)).isLessThanOrEqualTo(2000);
+    }
+
+    @Test
+    @DisplayName("Should keep an earlier deadline of the enclosing context")
+    void shouldKeepEarlierDeadline() throws Exception {
+        AtomicReference<Deadline> requestDeadline = new AtomicReference<>();
+        FilterChain chain = (request, response) -> requestDeadline.set(Context.current().getDeadline());
+        Context.CancellableContext outer = Context.current().withDeadlineAfter(100, TimeUnit.MILLISECONDS, scheduler);
+
+        outer.run(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        outer.cancel(null);
+
+        assertThat(requestDeadline.get().timeRemaining(TimeUnit.MILLISECONDS)).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should cancel the request context and restore the previous one afterwards")
+    void shouldCancelContextAfterRequest() throws Exception {
+        AtomicReference<Context> requestContext = new AtomicReference<>();
+        FilterChain chain = (request, response) -> requestContext.set(Context.current());
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain);
+
+        assertThat(requestContext.get().isCancelled()).isTrue();
+        assertThat(Context.current()).isSameAs(Context.ROOT);
+    }
+
+    @Test
+    @DisplayName("Should cancel the request context when the chain throws")
+    void shouldCancelContextOnFailure() throws Exception {
+        AtomicReference<Context> requestContext = new AtomicReference<>();
+        FilterChain chain = mock(FilterChain.class);
+        doAnswer(invocation -> {
+            requestContext.set(Context.current());
+            throw new IllegalStateException("boom");
+        }).when(chain).doFilter(any(), any());
+
+        assertThatThrownBy(() -> filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(requestContext.get().isCancelled()).isTrue();
+        assertThat(Context.current()).isSameAs(Context.ROOT);
+    }
+}